@@ -0,0 +1,52 @@
+package benchmarks;
+
+import game2D.Animation;
+import gameExtended2D.AnimationExtended;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures advancing the animations of many entities by one tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+    private static final int FRAMES = 6;
+
+    @Param({"16", "256", "2048"})
+    public int entityCount;
+
+    private Animation[] animations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BufferedImage frame = new BufferedImage(48, 64, BufferedImage.TYPE_INT_ARGB);
+        this.animations = new Animation[this.entityCount];
+        for (int i = 0; i < this.entityCount; i++) {
+            AnimationExtended animation = new AnimationExtended(true);
+            for (int f = 0; f < FRAMES; f++) {
+                animation.addFrame(frame, 120);
+            }//end for loop
+            animation.update(i * 37L); //start everyone on a different frame
+            this.animations[i] = animation;
+        }//end for loop
+    }//end setUp
+
+    /**
+     * Advances every entity's animation by one tick.
+     */
+    @Benchmark
+    public Animation[] update() {
+        for (Animation animation : this.animations) {
+            animation.update(16);
+        }//end for loop
+        return this.animations;
+    }//end update
+
+}//end class
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import gameExtended2D.AnimationExtended;
+import gameExtended2D.MapGenerator;
+import gameExtended2D.SpriteExtended;
+import gameExtended2D.TileMapExtended;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Builds the maps and sprites the benchmarks run against.
+ * <p>
+ * Maps are made by {@link MapGenerator} and written to a temporary folder that links back to the real tile images,
+ * so benchmarks must be run from the project root.
+ */
+public class BenchmarkMaps {
+    public static final int PLATFORM_ENDS = 55; //same codes as GamePlayState
+    public static final int GROUND_ENDS = 181;
+
+    /**
+     * Parses a map size parameter such as {@code "40x10"}.
+     *
+     * @param size the size in tiles, width first
+     * @return the width and height
+     */
+    public static int[] parseSize(String size) {
+        String[] parts = size.split("x");
+        return new int[] { Integer.parseInt(parts[0]), Integer.parseInt(parts[1]) };
+    }//end parseSize
+
+    /**
+     * Writes a generated map into a new temporary folder laid out like {@code maps}.
+     *
+     * @param width  the width of the map in tiles
+     * @param height the height of the map in tiles
+     * @return the folder to pass to {@link TileMapExtended#loadMap(String, String)}, the map file is {@code bench.txt}
+     */
+    public static Path write(int width, int height) {
+        try {
+            Path folder = Files.createTempDirectory("endless-adventure-bench");
+            Files.createDirectories(folder.resolve("mapLevels"));
+            Path images = Path.of("maps", "tilesImages").toAbsolutePath();
+            if (!Files.isDirectory(images)) {
+                throw new IllegalStateException("Run the benchmarks from the project root, " + images + " was not found");
+            }//end if
+            Files.createSymbolicLink(folder.resolve("tilesImages"), images);
+
+            Files.writeString(folder.resolve("mapLevels").resolve("bench.txt"), MapGenerator.generate(width, height));
+            return folder;
+        }//end try
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }//end catch
+    }//end write
+
+    /**
+     * Generates and loads a map.
+     *
+     * @param size the size in tiles, e.g. {@code "40x10"}
+     * @return the loaded map
+     */
+    public static TileMapExtended load(String size) {
+        int[] dimensions = parseSize(size);
+        TileMapExtended tileMap = new TileMapExtended(PLATFORM_ENDS, GROUND_ENDS);
+        tileMap.loadMap("maps", new StringReader(MapGenerator.generate(dimensions[0], dimensions[1])), size);
+        return tileMap;
+    }//end load
+
+    /**
+     * Creates a sprite with a single blank frame, the size of an enemy.
+     *
+     * @return the new sprite
+     */
+    public static SpriteExtended createSprite() {
+        AnimationExtended animation = new AnimationExtended(true);
+        animation.addFrame(new BufferedImage(48, 64, BufferedImage.TYPE_INT_ARGB), 100);
+        SpriteExtended sprite = new SpriteExtended();
+        sprite.setAnimation(animation);
+        return sprite;
+    }//end createSprite
+
+}//end class
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the benchmarks with JMH, writing the results as JSON to {@code benchmarks/results.json}
+ * unless another format or file is given on the command line.
+ * <p>
+ * Takes the usual JMH arguments, e.g. {@code -p entityCount=256 Collision} to run one parameter of one benchmark.
+ * Must be run from the project root so the benchmarks can find the game's images.
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "benchmarks/results.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }//end if
+        if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }//end if
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }//end if
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }//end if
+        new Runner(options.build()).run();
+    }//end main
+
+}//end class
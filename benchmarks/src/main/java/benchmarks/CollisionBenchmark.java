@@ -0,0 +1,100 @@
+package benchmarks;
+
+import gameExtended2D.SpriteExtended;
+import gameExtended2D.TileMapExtended;
+import org.openjdk.jmh.annotations.*;
+import settings.Collision;
+import settings.TileContact;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick of collision work for a crowd of entities.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final long TICK = 16; //milliseconds
+
+    @Param({"16", "256", "2048"})
+    public int entityCount;
+
+    @Param({"40x10", "200x50"})
+    public String mapSize;
+
+    private TileMapExtended tileMap;
+    private SpriteExtended player;
+    private SpriteExtended[] sprites;
+    private final TileContact contact = new TileContact();
+
+    //where the sprite-to-sprite benchmark puts everything back to, so every call resolves the same overlaps
+    private float[] startX;
+    private float[] startY;
+    private float playerX;
+    private float playerY;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.tileMap = BenchmarkMaps.load(this.mapSize);
+        Random random = new Random(42);
+
+        this.player = BenchmarkMaps.createSprite();
+        this.playerX = this.tileMap.getPixelWidth() / 2f;
+        this.playerY = this.tileMap.getPixelHeight() / 2f;
+        this.player.setPosition(this.playerX, this.playerY);
+
+        this.sprites = new SpriteExtended[this.entityCount];
+        this.startX = new float[this.entityCount];
+        this.startY = new float[this.entityCount];
+        for (int i = 0; i < this.entityCount; i++) {
+            SpriteExtended sprite = BenchmarkMaps.createSprite();
+            float x = this.tileMap.getTileWidth() + random.nextFloat() * (this.tileMap.getPixelWidth() - 3 * this.tileMap.getTileWidth());
+            float y = this.tileMap.getTileHeight() + random.nextFloat() * (this.tileMap.getPixelHeight() - 4 * this.tileMap.getTileHeight());
+            sprite.setPosition(x, y);
+            sprite.setVelocityX(random.nextBoolean() ? 0.05f : -0.05f);
+            this.sprites[i] = sprite;
+
+            //crowd around the player, half of them overlapping it
+            this.startX[i] = this.player.getX() + (random.nextFloat() - 0.5f) * this.player.getWidth() * 4;
+            this.startY[i] = this.player.getY() + (random.nextFloat() - 0.5f) * this.player.getHeight() * 2;
+        }//end for loop
+    }//end setUp
+
+    /**
+     * Moves every sprite by one tick of gravity and velocity, then sweeps it against the tile map.
+     */
+    @Benchmark
+    public float spriteToTile() {
+        float total = 0;
+        for (SpriteExtended sprite : this.sprites) {
+            sprite.storePreviousPosition();
+            sprite.setVelocityY(Math.min(sprite.getVelocityY() + 0.3f, 1.5f));
+            sprite.update(TICK);
+            Collision.collisionSpriteToTile(sprite, this.tileMap, this.contact);
+            total += this.contact.getY();
+        }//end for loop
+        return total;
+    }//end spriteToTile
+
+    /**
+     * Resolves the player against every sprite in a crowd around it.
+     */
+    @Benchmark
+    public float spriteToSprite() {
+        float total = 0;
+        this.player.setPosition(this.playerX, this.playerY);
+        for (int i = 0; i < this.sprites.length; i++) {
+            SpriteExtended sprite = this.sprites[i];
+            sprite.setPosition(this.startX[i], this.startY[i]);
+            Collision.collisionSpriteToSprite(this.player, sprite);
+            total += sprite.getX();
+        }//end for loop
+        return total + this.player.getX();
+    }//end spriteToSprite
+
+}//end class
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import gameExtended2D.TileMapExtended;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a map file, including its tile images, collision flags and navigation graph.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapLoadBenchmark {
+    @Param({"40x10", "200x50"})
+    public String mapSize;
+
+    private Path folder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] size = BenchmarkMaps.parseSize(this.mapSize);
+        this.folder = BenchmarkMaps.write(size[0], size[1]);
+    }//end setUp
+
+    @Benchmark
+    public TileMapExtended loadMap() {
+        TileMapExtended tileMap = new TileMapExtended(BenchmarkMaps.PLATFORM_ENDS, BenchmarkMaps.GROUND_ENDS);
+        tileMap.loadMap(this.folder.toString(), "bench.txt");
+        return tileMap;
+    }//end loadMap
+
+}//end class
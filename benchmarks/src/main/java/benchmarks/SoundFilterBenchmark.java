@@ -0,0 +1,45 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sound.NovelSound;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link NovelSound} low-pass filter over blocks of 16-bit audio.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoundFilterBenchmark {
+    private static final int BYTES_PER_SAMPLE = 2;
+
+    @Param({"4096", "176400"}) //the buffer NovelSound reads with, and one second of 44.1kHz stereo
+    public int bufferBytes;
+
+    @Param({"1", "2"})
+    public int channels;
+
+    private byte[] buffer;
+    private byte[] filtered;
+    private int[] previousSamples;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.buffer = new byte[this.bufferBytes];
+        new Random(42).nextBytes(this.buffer);
+        this.filtered = new byte[this.bufferBytes];
+        this.previousSamples = new int[this.channels];
+    }//end setUp
+
+    @Benchmark
+    public byte[] lowPassFilter() {
+        NovelSound.lowPassFilter(this.buffer, this.filtered, this.bufferBytes, BYTES_PER_SAMPLE, this.channels, this.previousSamples);
+        return this.filtered;
+    }//end lowPassFilter
+
+}//end class
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import gameExtended2D.AnimationExtended;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building an enemy's walk animation from its sprite sheet, from disk and from the shared frame cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteSheetBenchmark {
+    private static final String SHEET = "images/Enemy/1/Walk.png";
+    private static final int FRAMES = 6;
+
+    /**
+     * Reads, cuts, flips and scales the sprite sheet, as every enemy did when it was spawned.
+     */
+    @Benchmark
+    public AnimationExtended createAnimation() {
+        return new AnimationExtended().createAnimation(SHEET, FRAMES, 1, 120, 0, FRAMES, true, true);
+    }//end createAnimation
+
+    /**
+     * Builds the same animation from the shared frame cache.
+     */
+    @Benchmark
+    public AnimationExtended createSharedAnimation() {
+        return AnimationExtended.createSharedAnimation(SHEET, FRAMES, 1, 120, 0, FRAMES, true, true);
+    }//end createSharedAnimation
+
+}//end class
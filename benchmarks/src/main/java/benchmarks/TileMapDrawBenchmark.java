@@ -0,0 +1,56 @@
+package benchmarks;
+
+import gameExtended2D.TileMapExtended;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing a map into an offscreen image the size of the screen, as the game does every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TileMapDrawBenchmark {
+    @Param({"40x10", "200x50"})
+    public String mapSize;
+
+    @Param({"1280x720", "1920x1080"})
+    public String screenSize;
+
+    private TileMapExtended tileMap;
+    private BufferedImage screen;
+    private Graphics2D g;
+    private int xOffset;
+    private int yOffset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.tileMap = BenchmarkMaps.load(this.mapSize);
+
+        //same buffer type as GameCore, with the camera over the middle of the map
+        int[] screenSize = BenchmarkMaps.parseSize(this.screenSize);
+        this.screen = new BufferedImage(screenSize[0], screenSize[1], BufferedImage.TYPE_INT_RGB);
+        this.g = this.screen.createGraphics();
+        this.g.setClip(0, 0, screenSize[0], screenSize[1]);
+        this.xOffset = screenSize[0] / 2 - this.tileMap.getPixelWidth() / 2;
+        this.yOffset = screenSize[1] / 2 - this.tileMap.getPixelHeight() / 2;
+    }//end setUp
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.g.dispose();
+    }//end tearDown
+
+    @Benchmark
+    public BufferedImage draw() {
+        this.tileMap.draw(this.g, this.xOffset, this.yOffset);
+        return this.screen;
+    }//end draw
+
+}//end class
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import ecs.AnimationClip;
+import ecs.AnimationSystem;
+import ecs.GravitySystem;
+import ecs.MovementSystem;
+import ecs.TileCollisionSystem;
+import ecs.World;
+import gameExtended2D.TileMapExtended;
+import org.openjdk.jmh.annotations.*;
+import settings.Settings;
+import settings.TileContact;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick of the entity systems for a crowd of enemies, the way the game runs them:
+ * movement, animation, gravity and tile collision, each over every entity in the world at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+    private static final long TICK = 16; //milliseconds
+
+    @Param({"16", "256", "2500"})
+    public int entityCount;
+
+    private TileMapExtended tileMap;
+    private World world;
+    private final TileContact contact = new TileContact();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.tileMap = BenchmarkMaps.load("200x50");
+        Random random = new Random(42);
+
+        //a walk cycle of blank frames, the size of an enemy
+        Image[] frames = new Image[6];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new BufferedImage(48, 64, BufferedImage.TYPE_INT_ARGB);
+        }//end for loop
+        AnimationClip walk = new AnimationClip(frames, 120, true);
+
+        this.world = new World(this.entityCount);
+        for (int i = 0; i < this.entityCount; i++) {
+            //every fourth entity is far from the camera, and like a far enemy it is left out of the systems
+            int flags = i % 4 == 3 ? World.RENDER
+                    : World.MOVEMENT | World.ANIMATION | World.GRAVITY | World.TILE_COLLISION | World.RENDER;
+            int slot = this.world.slotOf(this.world.create(World.KIND_ENEMY, flags));
+
+            float x = this.tileMap.getTileWidth() + random.nextFloat() * (this.tileMap.getPixelWidth() - 3 * this.tileMap.getTileWidth());
+            float y = this.tileMap.getTileHeight() + random.nextFloat() * (this.tileMap.getPixelHeight() - 4 * this.tileMap.getTileHeight());
+            this.world.setPosition(slot, x, y);
+            this.world.setVelocityX(slot, random.nextBoolean() ? 0.05f : -0.05f);
+            AnimationSystem.play(this.world, slot, walk);
+        }//end for loop
+    }//end setUp
+
+    /**
+     * Runs the systems over every entity for one tick.
+     */
+    @Benchmark
+    public float tick() {
+        MovementSystem.update(this.world, TICK);
+        AnimationSystem.update(this.world, TICK);
+        GravitySystem.update(this.world, Settings.getGravity(), Settings.getGravityLimit());
+        TileCollisionSystem.update(this.world, this.tileMap, this.contact);
+        return this.world.getY(this.world.getCount() - 1);
+    }//end tick
+
+}//end class
@@ -0,0 +1,170 @@
+package debug;
+
+import settings.Settings;
+
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Tracks the garbage collector and the heap while debug mode is on, and shows them under the profiler overlay
+ * along with the bytes the game thread and the render thread allocate per frame (counted by {@link Profiler}).
+ * <p>
+ * The collector and heap are sampled a few times a second rather than every frame, and a summary line is
+ * logged every {@link #LOG_INTERVAL} so a run can be followed from the console too.
+ */
+public class MemoryTelemetry {
+    private static final long SAMPLE_INTERVAL = 250_000_000L; //nanoseconds
+    private static final long LOG_INTERVAL = 5_000_000_000L;
+
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    //Overlay
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 170);
+    private static final Color HEAP_COLOR = new Color(80, 160, 230);
+    private static final Color GC_COLOR = new Color(230, 200, 60);
+    private static final int LINES = 4;
+
+    private static boolean active = false;
+    private static long lastSample = 0;
+    private static long lastLog = 0;
+
+    //latest sample
+    private static long gcCount = 0;
+    private static long gcTime = 0;   //milliseconds
+    private static long heapUsed = 0;
+    private static long heapCommitted = 0;
+    private static long heapMax = 0;
+
+    //totals when debug mode was turned on and at the last log line
+    private static long startGcCount = 0;
+    private static long startGcTime = 0;
+    private static long logGcCount = 0;
+    private static long logGcTime = 0;
+    private static long lastGcCount = 0;
+    private static long lastGcTime = 0;   //time of the last sample's newest collections, shown until the next one
+    private static long lastGcPause = 0;
+
+    /**
+     * Samples the collector and heap when it's time to. Called once per frame by the game loop, after the profiler.
+     */
+    public static void endFrame() {
+        if (!Profiler.ENABLED) return;
+
+        boolean debug = Settings.getDebugMode();
+        long now = System.nanoTime();
+        if (debug && !active) {
+            //turned on, count from here
+            sample();
+            startGcCount = gcCount;
+            startGcTime = gcTime;
+            logGcCount = gcCount;
+            logGcTime = gcTime;
+            lastGcCount = gcCount;
+            lastGcTime = gcTime;
+            lastSample = now;
+            lastLog = now;
+        }//end if
+        else if (debug && now - lastSample >= SAMPLE_INTERVAL) {
+            sample();
+            if (gcCount > lastGcCount) {
+                //average pause of the collections since the last sample
+                lastGcPause = (gcTime - lastGcTime) / (gcCount - lastGcCount);
+            }//end if
+            lastGcCount = gcCount;
+            lastGcTime = gcTime;
+            lastSample = now;
+
+            if (now - lastLog >= LOG_INTERVAL) {
+                log();
+                lastLog = now;
+            }//end if
+        }//end else if
+        active = debug;
+    }//end endFrame
+
+    /**
+     * Reads the collection totals of every collector and the heap usage.
+     */
+    private static void sample() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            count += Math.max(0, collector.getCollectionCount());
+            time += Math.max(0, collector.getCollectionTime());
+        }//end for loop
+        gcCount = count;
+        gcTime = time;
+
+        MemoryUsage heap = MEMORY.getHeapMemoryUsage();
+        heapUsed = heap.getUsed();
+        heapCommitted = heap.getCommitted();
+        heapMax = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+    }//end sample
+
+    /**
+     * Logs the allocations, collections and heap since the last log line.
+     */
+    private static void log() {
+        System.out.printf("Memory: %.1f KB/frame allocated, %d GCs taking %d ms in the last %d s, heap %d/%d MB%n",
+                Profiler.getFrameAllocationAverage() / 1024.0, gcCount - logGcCount, gcTime - logGcTime,
+                LOG_INTERVAL / 1_000_000_000L, heapUsed / 1_048_576, heapMax / 1_048_576);
+        logGcCount = gcCount;
+        logGcTime = gcTime;
+    }//end log
+
+    /**
+     * Draws the allocations per frame, the collections since debug mode was turned on and a bar of the heap.
+     *
+     * @param g the graphics context to draw on
+     * @param x the x-position of the top-left corner of the panel
+     * @param y the y-position of the top-left corner of the panel
+     * @return the height of the panel in pixels
+     */
+    public static int drawOverlay(Graphics2D g, int x, int y) {
+        if (!Profiler.ENABLED) return 0;
+
+        Font oldFont = g.getFont();
+        g.setFont(FONT);
+        int lineHeight = g.getFontMetrics().getHeight();
+        int width = Profiler.HISTORY + 16;
+        int height = lineHeight * LINES + 12;
+
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(x, y, width, height);
+
+        int textX = x + 4;
+        int textY = y + 2 + lineHeight;
+        g.setColor(Color.WHITE);
+        g.drawString(String.format("alloc %8.1f KB/frame", Profiler.getFrameAllocationAverage() / 1024.0), textX, textY);
+
+        textY += lineHeight;
+        g.setColor(GC_COLOR);
+        g.drawString(String.format("gc    %d (%d ms), last %d ms", gcCount - startGcCount, gcTime - startGcTime, lastGcPause), textX, textY);
+
+        textY += lineHeight;
+        g.setColor(Color.WHITE);
+        g.drawString(String.format("heap  %d / %d MB (%d committed)",
+                heapUsed / 1_048_576, heapMax / 1_048_576, heapCommitted / 1_048_576), textX, textY);
+
+        //heap bar: used, committed outline, full width is the max heap
+        int barY = textY + 6;
+        int barWidth = width - 8;
+        if (heapMax > 0) {
+            g.setColor(HEAP_COLOR);
+            g.fillRect(textX, barY, (int) (barWidth * heapUsed / heapMax), lineHeight - 4);
+            g.setColor(Color.WHITE);
+            g.drawRect(textX, barY, (int) (barWidth * heapCommitted / heapMax), lineHeight - 4);
+        }//end if
+        g.drawRect(textX, barY, barWidth, lineHeight - 4);
+
+        g.setFont(oldFont);
+        return height;
+    }//end drawOverlay
+
+}//end class
@@ -0,0 +1,408 @@
+package debug;
+
+import com.sun.management.ThreadMXBean;
+import render.RecordingGraphics;
+import render.TripleBuffer;
+import settings.Settings;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * A lightweight frame profiler that times the main parts of every frame.
+ * <p>
+ * Code to be timed is wrapped in {@link #begin(int)} and {@link #end(int)} with one of the scope constants.
+ * Scopes can be nested and can be entered several times a frame; their times add up until the end of the tick or frame.
+ * Every thread that times scopes counts them on its own: the game thread hands over what it counted in each tick
+ * with {@link #endTick()}, and {@link #endFrame()}, on the thread that shows the frames, adds the newest tick to what it
+ * counted itself and stores the frame in a ring buffer holding the last {@link #HISTORY} frames, along with the time between frames.
+ * When frames are drawn on a render thread, the update scopes are therefore the game thread's last tick
+ * and the draw and blit scopes the render thread's frame. Otherwise both are the same thread.
+ * <p>
+ * Every scope also counts the bytes its thread allocates inside it, and every frame the bytes the game thread allocated in its tick
+ * and the thread showing the frame allocated since the last frame. F10 switches the overlay to "top allocators", listing the scopes
+ * by how much they allocate instead of by time. Work done on other threads (the enemy AI workers, sounds) is not counted.
+ * <p>
+ * The overlay also shows how many draw commands the last frame replayed, and how many times replaying them
+ * changed the graphics state or the image being drawn, see {@link #countCommands(RecordingGraphics)}.
+ * <p>
+ * Samples are only recorded while debug mode is on, so the overlay shown with F11 always starts from fresh data.
+ * The overlay draws a summary handed over at the end of every frame, so it can be drawn on any one thread.
+ * Setting {@link #ENABLED} to false compiles every call down to an empty method, which the JIT removes entirely.
+ */
+public class Profiler {
+    /** Set to false to compile the profiler out of the game. */
+    public static final boolean ENABLED = true;
+
+    public static final int HISTORY = 240; //frames kept, about 4 seconds at 60 FPS
+
+    //Scopes
+    public static final int UPDATE = 0;
+    public static final int AI = 1;
+    public static final int COLLISION = 2;
+    public static final int DRAW = 3;
+    public static final int TILES = 4;
+    public static final int ENTITIES = 5;
+    public static final int FX = 6;
+    public static final int HUD = 7;
+    public static final int BLIT = 8;
+    private static final int SCOPE_COUNT = 9;
+
+    private static final String[] SCOPE_NAMES = { "update", "ai", "collision", "draw", "tiles", "entities", "fx", "hud", "blit" };
+    private static final int[] SCOPE_DEPTH = { 0, 1, 1, 0, 1, 1, 1, 1, 0 }; //indentation in the overlay
+
+    //Overlay
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 170);
+    private static final Color FAST_COLOR = new Color(80, 200, 80);
+    private static final Color SLOW_COLOR = new Color(230, 200, 60);
+    private static final Color DROPPED_COLOR = new Color(230, 70, 70);
+    private static final long TARGET_FRAME = 16_666_667L; //60 FPS in nanoseconds
+    private static final int GRAPH_HEIGHT = 60;
+
+    //allocation counting, null if the JVM can't count allocated bytes per thread
+    private static final ThreadMXBean THREADS = allocationCounter();
+
+    /**
+     * What one thread has counted since its last tick or frame. Only that thread uses it.
+     */
+    private static final class Counters {
+        private final long[] scopeStart = new long[SCOPE_COUNT];
+        private final long[] scopeAllocationStart = new long[SCOPE_COUNT];
+        private final long[] scopeTime = new long[SCOPE_COUNT];
+        private final long[] scopeAllocation = new long[SCOPE_COUNT];
+        private long allocatedStart = 0; //the bytes the thread had allocated at its last tick or frame
+        private boolean counting = false; //scopes are only counted from a tick or frame on, never from halfway through one
+
+        /**
+         * Starts counting a new tick or frame.
+         */
+        private void restart(boolean counting) {
+            Arrays.fill(scopeTime, 0);
+            Arrays.fill(scopeAllocation, 0);
+            this.allocatedStart = allocatedBytes();
+            this.counting = counting;
+        }//end restart
+    }//end class
+
+    /**
+     * A finished tick of the game thread, handed to the thread showing the frames.
+     */
+    private static final class Tick {
+        private final long[] scopeTime = new long[SCOPE_COUNT];
+        private final long[] scopeAllocation = new long[SCOPE_COUNT];
+        private long allocated = 0;
+    }//end class
+
+    /**
+     * What the overlay shows, worked out from the history at the end of a frame and handed to the thread drawing the overlay.
+     */
+    private static final class Summary {
+        private final long[] frames = new long[HISTORY]; //oldest first
+        private int filled = 0;
+        private long p50 = 0;
+        private long p95 = 0;
+        private long p99 = 0;
+        private final long[] scopeAverage = new long[SCOPE_COUNT];
+        private final long[] scopeAllocationAverage = new long[SCOPE_COUNT];
+        private int commands = 0;
+        private int stateChanges = 0;
+        private int imageChanges = 0;
+    }//end class
+
+    private static final ThreadLocal<Counters> COUNTERS = ThreadLocal.withInitial(Counters::new);
+    private static final TripleBuffer<Tick> ticks = new TripleBuffer<>(Tick::new);
+    private static final TripleBuffer<Summary> summaries = new TripleBuffer<>(Summary::new);
+
+    //Only used by the thread showing the frames
+    private static final long[][] scopeAllocationSamples = new long[SCOPE_COUNT][HISTORY];
+    private static final long[] frameAllocationSamples = new long[HISTORY];
+    private static final long[][] scopeSamples = new long[SCOPE_COUNT][HISTORY];
+    private static final long[] frameSamples = new long[HISTORY];
+    private static final long[] sorted = new long[HISTORY];
+    private static int cursor = 0;   //where the next frame is written
+    private static int filled = 0;   //how many frames of history are valid
+    private static long lastFrameEnd = 0;
+    private static Tick lastTick = null;
+
+    //draw commands replayed this frame, also only used by the thread showing the frames
+    private static int commandsCurrent = 0;
+    private static int stateChangesCurrent = 0;
+    private static int imageChangesCurrent = 0;
+
+    //Only used by the thread drawing the overlay
+    private static final Integer[] scopeOrder = new Integer[SCOPE_COUNT];
+    private static Summary shown = new Summary();
+
+    private static volatile boolean active = false;
+    private static volatile boolean showAllocators = false;
+    private static volatile long frameAllocationAverage = 0;
+
+    /**
+     * Starts timing a scope on the current thread.
+     *
+     * @param scope one of the scope constants
+     */
+    public static void begin(int scope) {
+        if (!ENABLED || !active) return;
+        Counters counters = COUNTERS.get();
+        if (!counters.counting) return;
+        counters.scopeAllocationStart[scope] = allocatedBytes();
+        counters.scopeStart[scope] = System.nanoTime();
+    }//end begin
+
+    /**
+     * Stops timing a scope and adds the time to the current thread's total for it.
+     *
+     * @param scope one of the scope constants
+     */
+    public static void end(int scope) {
+        if (!ENABLED || !active) return;
+        Counters counters = COUNTERS.get();
+        if (!counters.counting) return;
+        counters.scopeTime[scope] += System.nanoTime() - counters.scopeStart[scope];
+        counters.scopeAllocation[scope] += allocatedBytes() - counters.scopeAllocationStart[scope];
+    }//end end
+
+    /**
+     * Adds the commands a recording drew in its last replay to this frame's count.
+     * Called on the thread showing the frames.
+     *
+     * @param recording a recording that has just been replayed
+     */
+    public static void countCommands(RecordingGraphics recording) {
+        if (!ENABLED || !active) return;
+        commandsCurrent += recording.getCommandCount();
+        stateChangesCurrent += recording.getReplayedStateChanges();
+        imageChangesCurrent += recording.getReplayedImageChanges();
+    }//end countCommands
+
+    /**
+     * Hands what the game thread counted in this tick to the thread showing the frames, then starts a new tick.
+     * Called once per tick by the game loop, on the game thread.
+     */
+    public static void endTick() {
+        if (!ENABLED) return;
+
+        Counters counters = COUNTERS.get();
+        if (counters.counting) {
+            Tick tick = ticks.back();
+            System.arraycopy(counters.scopeTime, 0, tick.scopeTime, 0, SCOPE_COUNT);
+            System.arraycopy(counters.scopeAllocation, 0, tick.scopeAllocation, 0, SCOPE_COUNT);
+            tick.allocated = allocatedBytes() - counters.allocatedStart;
+            ticks.publish();
+        }//end if
+        counters.restart(active);
+    }//end endTick
+
+    /**
+     * Stores this frame's scope times, added to the newest tick's, and the time since the last frame, then starts a new frame.
+     * Called once per frame by the game loop, on the thread showing the frames.
+     */
+    public static void endFrame() {
+        if (!ENABLED) return;
+
+        long now = System.nanoTime();
+        Counters counters = COUNTERS.get();
+        Tick tick = ticks.latest();
+        if (tick != null) {
+            lastTick = tick;
+        }//end if
+        boolean debug = Settings.getDebugMode();
+        if (debug && !active) {
+            //turned on, drop anything left over from last time
+            filled = 0;
+            cursor = 0;
+            lastTick = null;
+        }//end if
+        else if (active && counters.counting) {
+            //a frame without a new tick shows the last tick again, it was drawn from that tick
+            frameSamples[cursor] = now - lastFrameEnd;
+            frameAllocationSamples[cursor] = allocatedBytes() - counters.allocatedStart + (lastTick == null ? 0 : lastTick.allocated);
+            for (int s = 0; s < SCOPE_COUNT; s++) {
+                scopeSamples[s][cursor] = counters.scopeTime[s] + (lastTick == null ? 0 : lastTick.scopeTime[s]);
+                scopeAllocationSamples[s][cursor] = counters.scopeAllocation[s] + (lastTick == null ? 0 : lastTick.scopeAllocation[s]);
+            }//end for loop
+            cursor = (cursor + 1) % HISTORY;
+            filled = Math.min(filled + 1, HISTORY);
+        }//end else if
+        if (debug) {
+            publishSummary();
+        }//end if
+        commandsCurrent = 0;
+        stateChangesCurrent = 0;
+        imageChangesCurrent = 0;
+        active = debug;
+        counters.restart(debug);
+        lastFrameEnd = now;
+    }//end endFrame
+
+    /**
+     * Works out what the overlay shows from the history and hands it over.
+     */
+    private static void publishSummary() {
+        Summary summary = summaries.back();
+        for (int i = 0; i < filled; i++) {
+            summary.frames[i] = frameSamples[(cursor - filled + i + HISTORY) % HISTORY];
+        }//end for loop
+        summary.filled = filled;
+        summary.p50 = getFramePercentile(0.50);
+        summary.p95 = getFramePercentile(0.95);
+        summary.p99 = getFramePercentile(0.99);
+        for (int s = 0; s < SCOPE_COUNT; s++) {
+            summary.scopeAverage[s] = average(scopeSamples[s]);
+            summary.scopeAllocationAverage[s] = average(scopeAllocationSamples[s]);
+        }//end for loop
+        summary.commands = commandsCurrent;
+        summary.stateChanges = stateChangesCurrent;
+        summary.imageChanges = imageChangesCurrent;
+        summaries.publish();
+        frameAllocationAverage = average(frameAllocationSamples);
+    }//end publishSummary
+
+    /**
+     * Returns a percentile of the recorded frame times.
+     *
+     * @param percentile the percentile between 0 and 1, e.g. 0.99
+     * @return the frame time in nanoseconds, or 0 if nothing has been recorded
+     */
+    private static long getFramePercentile(double percentile) {
+        if (filled == 0) return 0;
+        System.arraycopy(frameSamples, 0, sorted, 0, filled);
+        Arrays.sort(sorted, 0, filled);
+        int index = (int) Math.ceil(percentile * filled) - 1;
+        return sorted[Math.max(0, Math.min(index, filled - 1))];
+    }//end getFramePercentile
+
+    /**
+     * Returns the average number of bytes the game thread and the thread showing the frames allocated per frame.
+     * Can be called on any thread.
+     *
+     * @return the average in bytes, or 0 if nothing has been recorded or allocations can't be counted
+     */
+    public static long getFrameAllocationAverage() {
+        return frameAllocationAverage;
+    }//end getFrameAllocationAverage
+
+    /**
+     * Switches the overlay between timing the scopes and listing them by how much they allocate.
+     */
+    public static void toggleAllocators() {
+        showAllocators = !showAllocators;
+    }//end toggleAllocators
+
+    /**
+     * Draws a graph of recent frame times, the frame time percentiles, the last frame's draw commands and the average time of every scope,
+     * or in "top allocators" mode every scope's allocations, largest first.
+     * Frames faster than 60 FPS are green, up to 30 FPS yellow and anything slower red.
+     *
+     * @param g the graphics context to draw on
+     * @param x the x-position of the top-left corner of the overlay
+     * @param y the y-position of the top-left corner of the overlay
+     * @return the height of the overlay in pixels
+     */
+    public static int drawOverlay(Graphics2D g, int x, int y) {
+        if (!ENABLED) return 0;
+        Summary latest = summaries.latest();
+        if (latest != null) {
+            shown = latest;
+        }//end if
+        Summary summary = shown;
+
+        Font oldFont = g.getFont();
+        g.setFont(FONT);
+        int lineHeight = g.getFontMetrics().getHeight();
+        int width = HISTORY + 16;
+        int height = GRAPH_HEIGHT + lineHeight * (SCOPE_COUNT + 3) + 12;
+
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(x, y, width, height);
+
+        //frame graph, oldest on the left, the top of the graph is two target frames
+        int graphX = x + 4;
+        int graphBottom = y + 4 + GRAPH_HEIGHT;
+        for (int i = 0; i < summary.filled; i++) {
+            long frame = summary.frames[i];
+            int barHeight = (int) Math.min(GRAPH_HEIGHT, frame * GRAPH_HEIGHT / (TARGET_FRAME * 2));
+            g.setColor(frame <= TARGET_FRAME ? FAST_COLOR : frame <= TARGET_FRAME * 2 ? SLOW_COLOR : DROPPED_COLOR);
+            g.drawLine(graphX + i, graphBottom, graphX + i, graphBottom - barHeight);
+        }//end for loop
+        g.setColor(Color.WHITE);
+        g.drawLine(graphX, graphBottom - GRAPH_HEIGHT / 2, graphX + HISTORY, graphBottom - GRAPH_HEIGHT / 2);
+
+        //percentiles
+        int textY = graphBottom + 4 + lineHeight;
+        g.drawString(String.format("frame p50 %.1f  p95 %.1f  p99 %.1f ms",
+                toMillis(summary.p50), toMillis(summary.p95), toMillis(summary.p99)), graphX, textY);
+
+        //draw commands
+        textY += lineHeight;
+        g.drawString(String.format("commands %d  state %d  images %d", summary.commands, summary.stateChanges, summary.imageChanges), graphX, textY);
+
+        //scopes
+        if (showAllocators) {
+            drawAllocators(g, summary, graphX, textY, lineHeight);
+        }//end if
+        else {
+            for (int s = 0; s < SCOPE_COUNT; s++) {
+                textY += lineHeight;
+                String indent = SCOPE_DEPTH[s] == 0 ? "" : "  ";
+                g.drawString(String.format("%-12s %6.2f ms", indent + SCOPE_NAMES[s], toMillis(summary.scopeAverage[s])), graphX, textY);
+            }//end for loop
+        }//end else
+
+        g.setFont(oldFont);
+        return height;
+    }//end drawOverlay
+
+    /**
+     * Lists the scopes by the bytes they allocate per frame, largest first.
+     * Nested scopes are included in their parent's bytes, so only top-level scopes add up to the frame.
+     */
+    private static void drawAllocators(Graphics2D g, Summary summary, int x, int textY, int lineHeight) {
+        if (THREADS == null) {
+            g.drawString("allocations can't be counted on this JVM", x, textY + lineHeight);
+            return;
+        }//end if
+        for (int s = 0; s < SCOPE_COUNT; s++) {
+            scopeOrder[s] = s;
+        }//end for loop
+        long[] averages = summary.scopeAllocationAverage;
+        Arrays.sort(scopeOrder, (a, b) -> Long.compare(averages[b], averages[a]));
+        for (int s : scopeOrder) {
+            textY += lineHeight;
+            String name = SCOPE_DEPTH[s] == 0 ? SCOPE_NAMES[s] : SCOPE_NAMES[s] + "*";
+            g.drawString(String.format("%-12s %7.1f KB", name, averages[s] / 1024.0), x, textY);
+        }//end for loop
+    }//end drawAllocators
+
+    /**
+     * @return the bytes the current thread has allocated so far, or 0 if they can't be counted
+     */
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }//end allocatedBytes
+
+    private static ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }//end if
+        return null;
+    }//end allocationCounter
+
+    private static long average(long[] samples) {
+        if (filled == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < filled; i++) {
+            total += samples[i];
+        }//end for loop
+        return total / filled;
+    }//end average
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }//end toMillis
+
+}//end class
@@ -0,0 +1,20 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a heavy game object is built during play, such as an enemy being spawned or an effect
+ * pool running dry. These are the allocations most likely to show up as GC pauses.
+ */
+@Name("endlessadventure.Allocation")
+@Label("Game Object Allocation")
+@Category({"Endless Adventure", "Memory"})
+public class AllocationEvent extends jdk.jfr.Event {
+    @Label("Kind")
+    public String kind;
+
+    @Label("Type")
+    public String type;
+}//end class
@@ -0,0 +1,95 @@
+package debug.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Starts a Java Flight Recorder recording from inside the game, so hitches can be diagnosed with
+ * JDK Mission Control or the {@code jfr} tool without any JVM flags.
+ * <p>
+ * The recording uses the JDK's "default" settings plus every game event in this package,
+ * and is written to its file when the game closes.
+ */
+public class FlightRecording {
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            FrameEvent.class, RenderFrameEvent.class, LoadingStepEvent.class, StateTransitionEvent.class,
+            SoundEvent.class, SpriteSheetLoadEvent.class, AllocationEvent.class
+    );
+
+    private static Recording recording;
+
+    /**
+     * Starts recording into a new timestamped file in a folder.
+     *
+     * @param folder the folder to write the recording to, created if it does not exist
+     * @return the file the recording will be written to, or null if it could not be started
+     */
+    public static synchronized Path start(String folder) {
+        if (recording != null) return recording.getDestination();
+
+        try {
+            Path destination = Path.of(folder, "endless-adventure_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".jfr");
+            Files.createDirectories(destination.getParent());
+
+            //register up front so every game event type is listed in the recording, even ones that never fired
+            for (Class<? extends Event> event : EVENTS) {
+                FlightRecorder.register(event);
+            }//end for loop
+
+            recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("Endless Adventure");
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+            recording.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(FlightRecording::stop, "flight-recording-dump"));
+
+            System.out.println("Flight recording to " + destination.toAbsolutePath());
+            return destination;
+        }//end try
+        catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Failed to start flight recording: " + e);
+            recording = null;
+            return null;
+        }//end catch
+    }//end start
+
+    /**
+     * Stops the recording, which writes it to its file. Does nothing if no recording is running.
+     */
+    public static synchronized void stop() {
+        if (recording == null) return;
+
+        try {
+            recording.stop();
+        }//end try
+        catch (IllegalStateException e) {
+            System.err.println("Failed to stop flight recording: " + e);
+        }//end catch
+        finally {
+            recording.close();
+            recording = null;
+        }//end finally
+    }//end stop
+
+    /**
+     * Returns whether a recording started with {@link #start(String)} is running.
+     *
+     * @return true if recording
+     */
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }//end isRecording
+
+}//end class
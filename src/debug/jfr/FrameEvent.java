@@ -0,0 +1,40 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded once per frame by the game loop. The event's own duration covers the update, draw and blit,
+ * not the sleep at the end of the frame. With threaded rendering the loop only records the frame for the render thread,
+ * which times drawing and showing it in a {@link RenderFrameEvent} of its own.
+ */
+@Name("endlessadventure.Frame")
+@Label("Frame")
+@Category({"Endless Adventure", "Game Loop"})
+@Description("One pass of the game loop")
+public class FrameEvent extends jdk.jfr.Event {
+    @Label("Frame Number")
+    public long frame;
+
+    @Label("Elapsed")
+    @Description("Game time passed to update")
+    @Timespan(Timespan.MILLISECONDS)
+    public long elapsed;
+
+    @Label("Update Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long updateDuration;
+
+    @Label("Threaded Rendering")
+    @Description("Whether the frame is drawn on the render thread, see the Render Frame event")
+    public boolean threaded;
+
+    @Label("Draw Duration")
+    @Description("Time spent recording the frame, then drawing it into the back buffer and copying it to the screen. "
+            + "With threaded rendering only recording it and handing it to the render thread")
+    @Timespan(Timespan.NANOSECONDS)
+    public long drawDuration;
+}//end class
@@ -0,0 +1,22 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every step of the level loading screen, timing the work of that step alone.
+ */
+@Name("endlessadventure.LoadingStep")
+@Label("Level Loading Step")
+@Category({"Endless Adventure", "Loading"})
+public class LoadingStepEvent extends jdk.jfr.Event {
+    @Label("Step")
+    public int step;
+
+    @Label("Message")
+    public String message;
+
+    @Label("Level")
+    public int level;
+}//end class
@@ -0,0 +1,31 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded once per frame by the render thread when frames are drawn on a thread of their own.
+ * The event's own duration covers drawing the frame and copying it to the screen, not the wait for the next frame.
+ */
+@Name("endlessadventure.RenderFrame")
+@Label("Render Frame")
+@Category({"Endless Adventure", "Game Loop"})
+@Description("A recorded frame drawn and shown by the render thread")
+public class RenderFrameEvent extends jdk.jfr.Event {
+    @Label("Frame Number")
+    @Description("The game loop frame the drawing was recorded in")
+    public long frame;
+
+    @Label("Draw Duration")
+    @Description("Time spent replaying the recorded frame into the back buffer")
+    @Timespan(Timespan.NANOSECONDS)
+    public long drawDuration;
+
+    @Label("Present Duration")
+    @Description("Time spent copying the back buffer to the screen")
+    @Timespan(Timespan.NANOSECONDS)
+    public long presentDuration;
+}//end class
@@ -0,0 +1,19 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a sound effect or music track is started, timing how long it took to start it.
+ */
+@Name("endlessadventure.Sound")
+@Label("Sound Triggered")
+@Category({"Endless Adventure", "Sound"})
+public class SoundEvent extends jdk.jfr.Event {
+    @Label("Sound")
+    public String sound;
+
+    @Label("Kind")
+    public String kind;
+}//end class
@@ -0,0 +1,22 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a sprite sheet is read from disk and cut, flipped and scaled into animation frames.
+ */
+@Name("endlessadventure.SpriteSheetLoad")
+@Label("Sprite Sheet Load")
+@Category({"Endless Adventure", "Loading"})
+public class SpriteSheetLoadEvent extends jdk.jfr.Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Frames")
+    public int frames;
+
+    @Label("Flipped")
+    public boolean flipped;
+}//end class
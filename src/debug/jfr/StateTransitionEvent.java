@@ -0,0 +1,19 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the game switches state, timing the old state's exit and the new state's enter.
+ */
+@Name("endlessadventure.StateTransition")
+@Label("State Transition")
+@Category({"Endless Adventure", "Game States"})
+public class StateTransitionEvent extends jdk.jfr.Event {
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+}//end class
@@ -0,0 +1,74 @@
+package ecs;
+
+import gameExtended2D.AnimationExtended;
+
+import java.awt.*;
+
+/**
+ * An immutable list of animation frames that any number of entities can play at once.
+ * <p>
+ * Unlike {@link AnimationExtended}, a clip does not store how far through it is playing;
+ * each entity keeps its own cursor in the {@link World} animation components, see {@link AnimationSystem}.
+ */
+public class AnimationClip {
+    final Image[] frames;
+    final long frameDuration;
+    final boolean loop;
+
+    /**
+     * Constructs a new clip from a set of frames.
+     *
+     * @param frames        the frames to play in order
+     * @param frameDuration how long each frame is shown in milliseconds
+     * @param loop          whether the clip starts over after the last frame
+     */
+    public AnimationClip(Image[] frames, long frameDuration, boolean loop) {
+        this.frames = frames;
+        this.frameDuration = Math.max(frameDuration, 1);
+        this.loop = loop;
+    }//end constructor
+
+    /**
+     * Creates a clip from a sprite sheet, reusing frames already loaded by other animations.
+     *
+     * @param spriteSheetPath the path to the sprite sheet
+     * @param col             the number of columns in the sprite sheet
+     * @param row             the number of rows in the sprite sheet
+     * @param frameDuration   the duration of each frame in milliseconds
+     * @param frameStart      the starting frame index
+     * @param numFrames       the number of frames to use
+     * @param flipped         whether the frames should be flipped horizontally
+     * @param loop            whether the clip should loop
+     * @return the new clip
+     */
+    public static AnimationClip fromSheet(String spriteSheetPath, int col, int row, long frameDuration, int frameStart, int numFrames, boolean flipped, boolean loop) {
+        AnimationExtended animation = AnimationExtended.createSharedAnimation(spriteSheetPath, col, row, frameDuration, frameStart, numFrames, flipped, loop);
+        Image[] frames = new Image[animation.getFrames().size()];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = animation.getFrameImage(i);
+        }//end for loop
+        return new AnimationClip(frames, frameDuration, loop);
+    }//end fromSheet
+
+    /**
+     * Returns the total length of the clip.
+     *
+     * @return the length of the clip in milliseconds
+     */
+    public long getTotalDuration() {
+        return this.frameDuration * this.frames.length;
+    }//end getTotalDuration
+
+    public int getFrameCount() {
+        return this.frames.length;
+    }//end getFrameCount
+
+    public Image getFrame(int index) {
+        return this.frames[index];
+    }//end getFrame
+
+    public boolean isLoop() {
+        return this.loop;
+    }//end isLoop
+
+}//end class
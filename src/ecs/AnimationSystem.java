@@ -0,0 +1,126 @@
+package ecs;
+
+import settings.Settings;
+
+import java.awt.*;
+
+/**
+ * Plays the clip of every entity with the {@link World#ANIMATION} flag.
+ * <p>
+ * Each entity keeps its own cursor (time and frame) into a shared {@link AnimationClip}, and it follows the same rules
+ * as {@link game2D.Animation}: a looping clip starts over once it reaches its end, any other clip stops on its last frame,
+ * and either way the {@link World#LOOPED} flag is set until the clip is started again.
+ * The entity's bounds follow the size of the frame it shows, like a sprite's do.
+ */
+public class AnimationSystem {
+
+    /**
+     * Moves every animation forward.
+     *
+     * @param world   the world to update
+     * @param elapsed the time since the last update in milliseconds
+     */
+    public static void update(World world, long elapsed) {
+        int count = world.getCount();
+        int[] flags = world.flags;
+
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & (World.ANIMATION | World.ADAPTED)) != World.ANIMATION) continue;
+            advance(world, i, elapsed);
+        }//end for loop
+    }//end update
+
+    /**
+     * Moves one entity's animation forward.
+     * Only touches that entity's slot, so different entities can be advanced on different threads.
+     *
+     * @param world   the world to update
+     * @param slot    the slot of the entity
+     * @param elapsed the time to move forward in milliseconds
+     */
+    public static void advance(World world, int slot, long elapsed) {
+        AnimationClip clip = world.clip[slot];
+        if (clip == null || clip.frames.length <= 1) return;
+
+        long time = world.animationTime[slot] + elapsed;
+        long total = clip.getTotalDuration();
+        if (time >= total) {
+            time = clip.loop ? time % total : total;
+            world.flags[slot] |= World.LOOPED;
+        }//end if
+        world.animationTime[slot] = time;
+        setFrame(world, slot, frameAt(clip, time));
+    }//end advance
+
+    /**
+     * Switches an entity to another clip. Like {@link game2D.Sprite#setAnimation(game2D.Animation)} this does not
+     * start the clip over, the entity carries on from the same point in time.
+     *
+     * @param world the world to update
+     * @param slot  the slot of the entity
+     * @param clip  the clip to play
+     */
+    public static void play(World world, int slot, AnimationClip clip) {
+        if (world.clip[slot] == clip) return;
+
+        world.clip[slot] = clip;
+        long time = Math.min(world.animationTime[slot], clip.getTotalDuration());
+        world.animationTime[slot] = time;
+        setFrame(world, slot, frameAt(clip, time));
+    }//end play
+
+    /**
+     * Starts an entity's clip over from its first frame and clears {@link World#LOOPED}.
+     *
+     * @param world the world to update
+     * @param slot  the slot of the entity
+     */
+    public static void start(World world, int slot) {
+        world.animationTime[slot] = 0;
+        world.flags[slot] &= ~World.LOOPED;
+        setFrame(world, slot, 0);
+    }//end start
+
+    /**
+     * Returns the image an entity shows.
+     *
+     * @param world the world to read from
+     * @param slot  the slot of the entity
+     * @return the current frame, or null if the entity has no clip
+     */
+    public static Image getImage(World world, int slot) {
+        AnimationClip clip = world.clip[slot];
+        return clip == null ? null : clip.frames[world.frame[slot]];
+    }//end getImage
+
+    /**
+     * Finds the frame shown at a point in a clip, the first one that has not ended yet.
+     *
+     * @param clip the clip
+     * @param time the time into the clip in milliseconds
+     * @return the index of the frame
+     */
+    private static int frameAt(AnimationClip clip, long time) {
+        int frame = (int) ((time + clip.frameDuration - 1) / clip.frameDuration) - 1;
+        return Math.max(0, Math.min(frame, clip.frames.length - 1));
+    }//end frameAt
+
+    /**
+     * Shows a frame and sizes the entity's bounds to it.
+     *
+     * @param world the world to update
+     * @param slot  the slot of the entity
+     * @param frame the index of the frame
+     */
+    private static void setFrame(World world, int slot, int frame) {
+        world.frame[slot] = frame;
+        AnimationClip clip = world.clip[slot];
+        if (clip == null) return;
+
+        Image image = clip.frames[frame];
+        int scale = Settings.getAssetScale();
+        world.width[slot] = image.getWidth(null) * scale;
+        world.height[slot] = image.getHeight(null) * scale;
+    }//end setFrame
+
+}//end class
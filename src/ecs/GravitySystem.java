@@ -0,0 +1,42 @@
+package ecs;
+
+/**
+ * Pulls every entity with the {@link World#GRAVITY} flag down.
+ * <p>
+ * Uses the same rule the game has always used: gravity is added to the vertical velocity once per tick,
+ * and if that goes over the limit the velocity drops back to a single step of gravity.
+ */
+public class GravitySystem {
+
+    /**
+     * Applies one tick of gravity.
+     *
+     * @param world   the world to update
+     * @param gravity how much vertical velocity is added each tick
+     * @param limit   the highest vertical velocity allowed
+     */
+    public static void update(World world, float gravity, float limit) {
+        int count = world.getCount();
+        int[] flags = world.flags;
+        float[] velocityY = world.velocityY;
+
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & (World.GRAVITY | World.ADAPTED)) != World.GRAVITY) continue;
+            velocityY[i] = apply(velocityY[i], gravity, limit);
+        }//end for loop
+    }//end update
+
+    /**
+     * Applies one tick of gravity to a vertical velocity, for sprites that aren't in a world yet.
+     *
+     * @param velocityY the vertical velocity
+     * @param gravity   how much vertical velocity is added each tick
+     * @param limit     the highest vertical velocity allowed
+     * @return the new vertical velocity
+     */
+    public static float apply(float velocityY, float gravity, float limit) {
+        float next = velocityY + gravity;
+        return next > limit ? gravity : next;
+    }//end apply
+
+}//end class
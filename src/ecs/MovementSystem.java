@@ -0,0 +1,36 @@
+package ecs;
+
+/**
+ * Moves every entity with the {@link World#MOVEMENT} flag by its velocity.
+ * <p>
+ * Where the entity was before moving is kept, so the {@link TileCollisionSystem} can sweep along the whole move.
+ */
+public class MovementSystem {
+
+    /**
+     * Integrates the velocity of every entity.
+     *
+     * @param world   the world to update
+     * @param elapsed the time since the last update in milliseconds
+     */
+    public static void update(World world, long elapsed) {
+        int count = world.getCount();
+        int[] flags = world.flags;
+        float[] x = world.x;
+        float[] y = world.y;
+        float[] previousX = world.previousX;
+        float[] previousY = world.previousY;
+        float[] velocityX = world.velocityX;
+        float[] velocityY = world.velocityY;
+
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & (World.MOVEMENT | World.ADAPTED)) != World.MOVEMENT) continue;
+
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            x[i] += velocityX[i] * elapsed;
+            y[i] += velocityY[i] * elapsed;
+        }//end for loop
+    }//end update
+
+}//end class
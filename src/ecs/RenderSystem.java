@@ -0,0 +1,68 @@
+package ecs;
+
+import render.Camera;
+import settings.Settings;
+
+import java.awt.*;
+
+/**
+ * Draws every entity with the {@link World#RENDER} flag at the frame its clip is showing.
+ * Entities outside the view are skipped.
+ */
+public class RenderSystem {
+
+    /**
+     * Draws every entity.
+     *
+     * @param world  the world to draw
+     * @param g      the graphics context to draw on, in world coordinates
+     * @param camera the camera, entities it can't see are skipped
+     * @param margin how far outside the view, in pixels, an entity is still drawn
+     */
+    public static void draw(World world, Graphics2D g, Camera camera, int margin) {
+        int count = world.getCount();
+        int[] flags = world.flags;
+        int scale = Settings.getAssetScale();
+
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & (World.RENDER | World.ADAPTED)) != World.RENDER) continue;
+            if (!camera.isVisible(world.x[i], world.y[i], world.width[i], world.height[i], margin)) continue;
+
+            Image image = AnimationSystem.getImage(world, i);
+            if (image == null) continue;
+
+            int x = Math.round(world.x[i]);
+            int y = Math.round(world.y[i]);
+            if (scale == 1) {
+                g.drawImage(image, x, y, null);
+            }//end if
+            else {
+                g.drawImage(image, x, y, image.getWidth(null) * scale, image.getHeight(null) * scale, null);
+            }//end else
+        }//end for loop
+    }//end draw
+
+    /**
+     * Draws the bounding box and circle of every entity drawn by this system, used in debug mode.
+     *
+     * @param world  the world to draw
+     * @param g      the graphics context to draw on, in world coordinates, with the colour to draw in
+     * @param camera the camera, entities it can't see are skipped
+     * @param margin how far outside the view, in pixels, an entity is still drawn
+     */
+    public static void drawBounds(World world, Graphics2D g, Camera camera, int margin) {
+        int count = world.getCount();
+        for (int i = 0; i < count; i++) {
+            if ((world.flags[i] & (World.RENDER | World.ADAPTED)) != World.RENDER) continue;
+            if (!camera.isVisible(world.x[i], world.y[i], world.width[i], world.height[i], margin)) continue;
+
+            int x = (int) world.x[i];
+            int y = (int) world.y[i];
+            int width = (int) world.width[i];
+            int height = (int) world.height[i];
+            g.drawRect(x, y, width, height);
+            g.drawArc(x, y, width, height, 0, 360);
+        }//end for loop
+    }//end drawBounds
+
+}//end class
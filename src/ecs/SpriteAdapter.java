@@ -0,0 +1,46 @@
+package ecs;
+
+import gameExtended2D.SpriteExtended;
+
+/**
+ * Links the {@link SpriteExtended} classes that have not been moved onto the systems yet (the player) to the {@link World}.
+ * <p>
+ * An adapted entity carries the {@link World#ADAPTED} flag and keeps running its own update, collision and draw code.
+ * The systems skip it, and its components are not kept up to date, so nothing is copied between the sprite and
+ * the world each tick. The world only knows what kind of entity it is, so code that goes through the world's entities
+ * can tell it apart and reach its sprite.
+ */
+public class SpriteAdapter {
+
+    /**
+     * Creates an entity for an existing sprite.
+     *
+     * @param world  the world to add the entity to
+     * @param sprite the sprite to link
+     * @param kind   what the sprite represents, one of the {@code KIND_} constants
+     * @return the id of the new entity
+     */
+    public static int attach(World world, SpriteExtended sprite, byte kind) {
+        int id = world.create(kind, World.ADAPTED);
+        world.sprite[world.slotOf(id)] = sprite;
+        return id;
+    }//end attach
+
+    /**
+     * Finds the entity linked to a sprite.
+     *
+     * @param world  the world to search
+     * @param sprite the linked sprite
+     * @return the id of the entity, or -1 if the sprite is not linked
+     */
+    public static int find(World world, SpriteExtended sprite) {
+        int count = world.getCount();
+        for (int i = 0; i < count; i++) {
+            if (world.sprite[i] == sprite) {
+                return world.getId(i);
+            }//end if
+        }//end for loop
+        return -1;
+    }//end find
+
+}//end class
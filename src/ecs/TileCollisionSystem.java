@@ -0,0 +1,55 @@
+package ecs;
+
+import gameExtended2D.TileMapExtended;
+import settings.Collision;
+import settings.TileContact;
+
+/**
+ * Keeps entities with the {@link World#TILE_COLLISION} flag out of solid tiles.
+ * <p>
+ * Works like {@link Collision#collisionSpriteToTile}: the entity's box is swept from where it was before it last moved
+ * to where it is now plus one step of its velocity, so fast entities cannot tunnel through thin tiles,
+ * and it is pulled back and stopped on each axis it hit something on.
+ */
+public class TileCollisionSystem {
+
+    /**
+     * Resolves tile collisions for every entity.
+     *
+     * @param world   the world to update
+     * @param tileMap the tile map to collide with
+     * @param contact filled with each entity's contacts in turn, kept by the caller so nothing is allocated
+     */
+    public static void update(World world, TileMapExtended tileMap, TileContact contact) {
+        int count = world.getCount();
+        int[] flags = world.flags;
+        float[] x = world.x;
+        float[] y = world.y;
+        float[] velocityX = world.velocityX;
+        float[] velocityY = world.velocityY;
+
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & (World.TILE_COLLISION | World.ADAPTED)) != World.TILE_COLLISION) continue;
+
+            float startX = world.previousX[i];
+            float startY = world.previousY[i];
+
+            //how far the entity moved this tick, plus the velocity used as a one step look ahead
+            float moveX = (x[i] - startX) + velocityX[i];
+            float moveY = (y[i] - startY) + velocityY[i];
+
+            Collision.sweepTiles(tileMap, startX, startY, world.width[i], world.height[i], moveX, moveY, contact);
+
+            if (contact.isHitX()) {
+                //only pull the entity back, never forward into a wall it only touched in the look ahead
+                x[i] = moveX > 0 ? Math.min(x[i], contact.getX()) : Math.max(x[i], contact.getX());
+                velocityX[i] = 0;
+            }//end if
+            if (contact.isHitY()) {
+                y[i] = moveY > 0 ? Math.min(y[i], contact.getY()) : Math.max(y[i], contact.getY());
+                velocityY[i] = 0;
+            }//end if
+        }//end for loop
+    }//end update
+
+}//end class
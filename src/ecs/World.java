@@ -0,0 +1,459 @@
+package ecs;
+
+import gameExtended2D.SpriteExtended;
+
+import java.util.Arrays;
+
+/**
+ * Stores every entity of a level as a set of dense component arrays.
+ * <p>
+ * Instead of one object per entity, each component (position, velocity, bounds, animation cursor,
+ * health, AI state...) lives in its own primitive array and an entity is simply a slot shared by all of them.
+ * The live entities always occupy slots {@code 0..getCount()-1} with no gaps, so systems can run over
+ * contiguous memory without checking types. Removing an entity moves the last one into its slot.
+ * <p>
+ * Entities are referred to from outside by an id that stays the same while the entity is alive,
+ * even though its slot can change. Ids are recycled once the entity is destroyed.
+ * <p>
+ * Which systems run on an entity is described by the flag bits ({@link #GRAVITY}, {@link #TILE_COLLISION}...),
+ * so an entity can be moved in and out of a system by changing its flags. Entities that still belong to an old
+ * {@link SpriteExtended} class are linked to it through {@link SpriteAdapter} and carry the {@link #ADAPTED} flag;
+ * the systems skip them and the sprite updates and draws itself.
+ */
+public class World {
+
+    // <editor-fold desc = "KINDS">
+    public static final byte KIND_PLAYER = 0;
+    public static final byte KIND_ENEMY = 1;
+    public static final byte KIND_FX = 2;
+    public static final byte KIND_INTERACTABLE = 3;
+    private static final int KIND_COUNT = 4;
+    //</editor-fold> KINDS
+
+    // <editor-fold desc = "FLAGS">
+    //systems
+    public static final int GRAVITY = 1;
+    public static final int ADAPTED = 1 << 1;        //updated and drawn by a linked SpriteExtended
+    public static final int MOVEMENT = 1 << 2;       //moved by its velocity, see MovementSystem
+    public static final int TILE_COLLISION = 1 << 3; //kept out of solid tiles, see TileCollisionSystem
+    public static final int ANIMATION = 1 << 4;      //plays its clip, see AnimationSystem
+    public static final int RENDER = 1 << 5;         //drawn by the RenderSystem
+
+    //state
+    public static final int LOOPED = 1 << 16;        //the clip has reached its end since it was started
+    public static final int FACING_LEFT = 1 << 17;
+    public static final int FULL_DETAIL = 1 << 18;   //near the camera, so every system runs on it
+    public static final int ATTACKING = 1 << 19;
+    public static final int DYING = 1 << 20;
+    //</editor-fold> FLAGS
+
+    // <editor-fold desc = "COMPONENTS">
+    //every array is indexed by slot, not by id
+    float[] x, y;
+    float[] previousX, previousY; //where the entity was before it last moved, so tile collisions can sweep its path
+    float[] velocityX, velocityY;
+    float[] width, height;
+    int[] flags;
+    byte[] kind;
+    SpriteExtended[] sprite;
+
+    AnimationClip[] clip;
+    long[] animationTime;
+    int[] frame;
+
+    float[] health, healthMax;
+
+    byte[] aiState;
+    long[] aiTime;        //when the AI last acted, e.g. attacked, in game time
+    long[] coarseElapsed; //time waiting to be simulated by the next coarse update
+    //</editor-fold> COMPONENTS
+
+    // <editor-fold desc = "IDENTITY">
+    private int[] idOfSlot;
+    private int[] slotOfId;
+    private int[] freeIds;
+    private int freeIdCount = 0;
+    private int nextId = 0;
+    private int count = 0;
+    private final int[] kindCount = new int[KIND_COUNT];
+
+    private int[] pendingDestroy = new int[16];
+    private int pendingDestroyCount = 0;
+    //</editor-fold> IDENTITY
+
+    /**
+     * Constructs a new, empty world.
+     *
+     * @param initialCapacity how many entities to make room for before the arrays have to grow
+     */
+    public World(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.previousX = new float[capacity];
+        this.previousY = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.width = new float[capacity];
+        this.height = new float[capacity];
+        this.flags = new int[capacity];
+        this.kind = new byte[capacity];
+        this.sprite = new SpriteExtended[capacity];
+        this.clip = new AnimationClip[capacity];
+        this.animationTime = new long[capacity];
+        this.frame = new int[capacity];
+        this.health = new float[capacity];
+        this.healthMax = new float[capacity];
+        this.aiState = new byte[capacity];
+        this.aiTime = new long[capacity];
+        this.coarseElapsed = new long[capacity];
+        this.idOfSlot = new int[capacity];
+        this.slotOfId = new int[capacity];
+        this.freeIds = new int[capacity];
+        Arrays.fill(this.slotOfId, -1);
+    }//end constructor
+
+    // <editor-fold desc = "ENTITIES">
+    /**
+     * Creates a new entity with every component zeroed.
+     *
+     * @param kind  what the entity represents, one of the {@code KIND_} constants
+     * @param flags the systems that run on the entity, any of the flags
+     * @return the id of the new entity
+     */
+    public int create(byte kind, int flags) {
+        if (this.count == this.x.length) {
+            grow(this.x.length * 2);
+        }//end if
+
+        int id;
+        if (this.freeIdCount > 0) {
+            id = this.freeIds[--this.freeIdCount];
+        }//end if
+        else {
+            id = this.nextId++;
+            if (id >= this.slotOfId.length) {
+                int oldLength = this.slotOfId.length;
+                this.slotOfId = Arrays.copyOf(this.slotOfId, oldLength * 2);
+                Arrays.fill(this.slotOfId, oldLength, this.slotOfId.length, -1);
+            }//end if
+        }//end else
+
+        int slot = this.count++;
+        this.idOfSlot[slot] = id;
+        this.slotOfId[id] = slot;
+
+        this.x[slot] = 0;
+        this.y[slot] = 0;
+        this.previousX[slot] = 0;
+        this.previousY[slot] = 0;
+        this.velocityX[slot] = 0;
+        this.velocityY[slot] = 0;
+        this.width[slot] = 0;
+        this.height[slot] = 0;
+        this.flags[slot] = flags;
+        this.kind[slot] = kind;
+        this.sprite[slot] = null;
+        this.clip[slot] = null;
+        this.animationTime[slot] = 0;
+        this.frame[slot] = 0;
+        this.health[slot] = 0;
+        this.healthMax[slot] = 0;
+        this.aiState[slot] = 0;
+        this.aiTime[slot] = 0;
+        this.coarseElapsed[slot] = 0;
+
+        this.kindCount[kind]++;
+        return id;
+    }//end create
+
+    /**
+     * Removes an entity straight away by moving the last entity into its slot.
+     * Must not be called while a system is iterating, use {@link #destroyLater(int)} there instead.
+     *
+     * @param id the id of the entity to remove
+     */
+    public void destroy(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) return;
+
+        int last = --this.count;
+        this.kindCount[this.kind[slot]]--;
+
+        if (slot != last) {
+            this.x[slot] = this.x[last];
+            this.y[slot] = this.y[last];
+            this.previousX[slot] = this.previousX[last];
+            this.previousY[slot] = this.previousY[last];
+            this.velocityX[slot] = this.velocityX[last];
+            this.velocityY[slot] = this.velocityY[last];
+            this.width[slot] = this.width[last];
+            this.height[slot] = this.height[last];
+            this.flags[slot] = this.flags[last];
+            this.kind[slot] = this.kind[last];
+            this.sprite[slot] = this.sprite[last];
+            this.clip[slot] = this.clip[last];
+            this.animationTime[slot] = this.animationTime[last];
+            this.frame[slot] = this.frame[last];
+            this.health[slot] = this.health[last];
+            this.healthMax[slot] = this.healthMax[last];
+            this.aiState[slot] = this.aiState[last];
+            this.aiTime[slot] = this.aiTime[last];
+            this.coarseElapsed[slot] = this.coarseElapsed[last];
+
+            int movedId = this.idOfSlot[last];
+            this.idOfSlot[slot] = movedId;
+            this.slotOfId[movedId] = slot;
+        }//end if
+
+        //let the garbage collector have them
+        this.sprite[last] = null;
+        this.clip[last] = null;
+        this.slotOfId[id] = -1;
+        if (this.freeIdCount == this.freeIds.length) {
+            this.freeIds = Arrays.copyOf(this.freeIds, this.freeIds.length * 2);
+        }//end if
+        this.freeIds[this.freeIdCount++] = id;
+    }//end destroy
+
+    /**
+     * Marks an entity to be removed the next time {@link #flushDestroyed()} is called.
+     * Safe to call while iterating over the slots.
+     *
+     * @param id the id of the entity to remove
+     */
+    public void destroyLater(int id) {
+        if (this.pendingDestroyCount == this.pendingDestroy.length) {
+            this.pendingDestroy = Arrays.copyOf(this.pendingDestroy, this.pendingDestroy.length * 2);
+        }//end if
+        this.pendingDestroy[this.pendingDestroyCount++] = id;
+    }//end destroyLater
+
+    /**
+     * Removes every entity marked with {@link #destroyLater(int)}.
+     */
+    public void flushDestroyed() {
+        for (int i = 0; i < this.pendingDestroyCount; i++) {
+            destroy(this.pendingDestroy[i]);
+        }//end for loop
+        this.pendingDestroyCount = 0;
+    }//end flushDestroyed
+
+    /**
+     * Removes every entity.
+     */
+    public void clear() {
+        Arrays.fill(this.sprite, 0, this.count, null);
+        Arrays.fill(this.clip, 0, this.count, null);
+        Arrays.fill(this.slotOfId, -1);
+        Arrays.fill(this.kindCount, 0);
+        this.count = 0;
+        this.nextId = 0;
+        this.freeIdCount = 0;
+        this.pendingDestroyCount = 0;
+    }//end clear
+
+    /**
+     * Grows every component array to the given capacity.
+     *
+     * @param capacity the new capacity
+     */
+    private void grow(int capacity) {
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.previousX = Arrays.copyOf(this.previousX, capacity);
+        this.previousY = Arrays.copyOf(this.previousY, capacity);
+        this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+        this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+        this.width = Arrays.copyOf(this.width, capacity);
+        this.height = Arrays.copyOf(this.height, capacity);
+        this.flags = Arrays.copyOf(this.flags, capacity);
+        this.kind = Arrays.copyOf(this.kind, capacity);
+        this.sprite = Arrays.copyOf(this.sprite, capacity);
+        this.clip = Arrays.copyOf(this.clip, capacity);
+        this.animationTime = Arrays.copyOf(this.animationTime, capacity);
+        this.frame = Arrays.copyOf(this.frame, capacity);
+        this.health = Arrays.copyOf(this.health, capacity);
+        this.healthMax = Arrays.copyOf(this.healthMax, capacity);
+        this.aiState = Arrays.copyOf(this.aiState, capacity);
+        this.aiTime = Arrays.copyOf(this.aiTime, capacity);
+        this.coarseElapsed = Arrays.copyOf(this.coarseElapsed, capacity);
+        this.idOfSlot = Arrays.copyOf(this.idOfSlot, capacity);
+    }//end grow
+    //</editor-fold> ENTITIES
+
+    // <editor-fold desc = "GETTERS AND SETTERS">
+    /**
+     * Returns the number of live entities. They occupy slots {@code 0} to {@code getCount()-1}.
+     *
+     * @return the number of live entities
+     */
+    public int getCount() {
+        return this.count;
+    }//end getCount
+
+    /**
+     * Returns the number of live entities of a kind.
+     *
+     * @param kind one of the {@code KIND_} constants
+     * @return the number of live entities of that kind
+     */
+    public int getCount(byte kind) {
+        return this.kindCount[kind];
+    }//end getCount
+
+    /**
+     * Returns the slot currently used by an entity.
+     *
+     * @param id the id of the entity
+     * @return the slot of the entity, or -1 if it does not exist
+     */
+    public int slotOf(int id) {
+        if (id < 0 || id >= this.slotOfId.length) return -1;
+        return this.slotOfId[id];
+    }//end slotOf
+
+    /**
+     * Returns the radius used for circle collisions, half the longest side of the entity's bounds.
+     *
+     * @param slot the slot of the entity
+     * @return the radius in pixels
+     */
+    public float getRadius(int slot) {
+        return Math.max(this.width[slot], this.height[slot]) / 2.0f;
+    }//end getRadius
+
+    public int getId(int slot) {
+        return this.idOfSlot[slot];
+    }//end getId
+
+    public byte getKind(int slot) {
+        return this.kind[slot];
+    }//end getKind
+
+    public int getFlags(int slot) {
+        return this.flags[slot];
+    }//end getFlags
+
+    public void setFlags(int slot, int flags) {
+        this.flags[slot] = flags;
+    }//end setFlags
+
+    public boolean hasFlags(int slot, int flags) {
+        return (this.flags[slot] & flags) == flags;
+    }//end hasFlags
+
+    public void addFlags(int slot, int flags) {
+        this.flags[slot] |= flags;
+    }//end addFlags
+
+    public void removeFlags(int slot, int flags) {
+        this.flags[slot] &= ~flags;
+    }//end removeFlags
+
+    public SpriteExtended getSprite(int slot) {
+        return this.sprite[slot];
+    }//end getSprite
+
+    public float getX(int slot) {
+        return this.x[slot];
+    }//end getX
+
+    public float getY(int slot) {
+        return this.y[slot];
+    }//end getY
+
+    public void setX(int slot, float x) {
+        this.x[slot] = x;
+    }//end setX
+
+    public void setY(int slot, float y) {
+        this.y[slot] = y;
+    }//end setY
+
+    public void setPosition(int slot, float x, float y) {
+        this.x[slot] = x;
+        this.y[slot] = y;
+    }//end setPosition
+
+    public float getVelocityX(int slot) {
+        return this.velocityX[slot];
+    }//end getVelocityX
+
+    public float getVelocityY(int slot) {
+        return this.velocityY[slot];
+    }//end getVelocityY
+
+    public void setVelocityX(int slot, float velocityX) {
+        this.velocityX[slot] = velocityX;
+    }//end setVelocityX
+
+    public void setVelocityY(int slot, float velocityY) {
+        this.velocityY[slot] = velocityY;
+    }//end setVelocityY
+
+    public void setVelocity(int slot, float velocityX, float velocityY) {
+        this.velocityX[slot] = velocityX;
+        this.velocityY[slot] = velocityY;
+    }//end setVelocity
+
+    public float getWidth(int slot) {
+        return this.width[slot];
+    }//end getWidth
+
+    public float getHeight(int slot) {
+        return this.height[slot];
+    }//end getHeight
+
+    public void setBounds(int slot, float width, float height) {
+        this.width[slot] = width;
+        this.height[slot] = height;
+    }//end setBounds
+
+    public AnimationClip getClip(int slot) {
+        return this.clip[slot];
+    }//end getClip
+
+    public float getHealth(int slot) {
+        return this.health[slot];
+    }//end getHealth
+
+    public float getHealthMax(int slot) {
+        return this.healthMax[slot];
+    }//end getHealthMax
+
+    public void setHealth(int slot, float health) {
+        this.health[slot] = health;
+    }//end setHealth
+
+    public void setHealth(int slot, float health, float healthMax) {
+        this.health[slot] = health;
+        this.healthMax[slot] = healthMax;
+    }//end setHealth
+
+    public byte getAiState(int slot) {
+        return this.aiState[slot];
+    }//end getAiState
+
+    public void setAiState(int slot, byte aiState) {
+        this.aiState[slot] = aiState;
+    }//end setAiState
+
+    public long getAiTime(int slot) {
+        return this.aiTime[slot];
+    }//end getAiTime
+
+    public void setAiTime(int slot, long aiTime) {
+        this.aiTime[slot] = aiTime;
+    }//end setAiTime
+
+    public long getCoarseElapsed(int slot) {
+        return this.coarseElapsed[slot];
+    }//end getCoarseElapsed
+
+    public void setCoarseElapsed(int slot, long coarseElapsed) {
+        this.coarseElapsed[slot] = coarseElapsed;
+    }//end setCoarseElapsed
+    //</editor-fold> GETTERS AND SETTERS
+
+}//end class
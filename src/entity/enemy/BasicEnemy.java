@@ -1,8 +1,6 @@
 package entity.enemy;
 
-import entity.player.Player;
-import gameExtended2D.AnimationExtended;
-import gameExtended2D.TileMapExtended;
+import ecs.AnimationClip;
 
 /**
  * A basic type of enemy that appears in the game.
@@ -10,46 +8,37 @@ import gameExtended2D.TileMapExtended;
  * This enemy has standard animations for idle, walking, attacking, and dying.
  * It interacts with the player and the environment based on the game's tile map and settings.
  */
-public class BasicEnemy extends Enemy {
+public class BasicEnemy extends EnemyType {
 
     /**
-     * Constructs a new BasicEnemy instance with the specified position, world level,
-     * tile map, and player reference.
+     * Constructs the basic enemy type for a world level.
      *
-     * @param x          the x-coordinate position of the enemy
-     * @param y          the y-coordinate position of the enemy
-     * @param worldLevel the level of the game world this enemy belongs to
-     * @param tileMap    the tile map the enemy uses for movement and collision
-     * @param player     the player this enemy may interact or collide with
+     * @param worldLevel the level of the game world the enemies belong to
      */
-    public BasicEnemy(float x, float y, int worldLevel, TileMapExtended tileMap, Player player) {
-        super(x, y, worldLevel, player, tileMap);
+    public BasicEnemy(int worldLevel) {
+        super(worldLevel);
     }//end constructor
 
     @Override
     protected void setUpAnimations() {
-        AnimationExtended animTemplate = new AnimationExtended();
+        //every enemy shares the same frames, the sheets are only loaded once
         String path = "images/Enemy/1/";
 
         //IDLE
-        this.idleRight = animTemplate.createAnimation(path + "Idle.png", 4, 1, 150, 0, 4, false, true);
-        this.idleLeft = animTemplate.createAnimation(path + "Idle.png", 4, 1, 150, 0, 4, true, true);
+        this.idleRight = AnimationClip.fromSheet(path + "Idle.png", 4, 1, 150, 0, 4, false, true);
+        this.idleLeft = AnimationClip.fromSheet(path + "Idle.png", 4, 1, 150, 0, 4, true, true);
 
         //WALK
-        this.walkRight = animTemplate.createAnimation(path + "Walk.png", 6, 1, 120, 0, 6, false, true);
-        this.walkLeft = animTemplate.createAnimation(path + "Walk.png", 6, 1, 120, 0, 6, true, true);
+        this.walkRight = AnimationClip.fromSheet(path + "Walk.png", 6, 1, 120, 0, 6, false, true);
+        this.walkLeft = AnimationClip.fromSheet(path + "Walk.png", 6, 1, 120, 0, 6, true, true);
 
         //DYING
-        this.dyingRight = animTemplate.createAnimation(path + "Death.png", 8, 1, 50, 0, 8, false, false);
-        this.dyingLeft = animTemplate.createAnimation(path + "Death.png", 8, 1, 50, 0, 8, true, false);
+        this.dyingRight = AnimationClip.fromSheet(path + "Death.png", 8, 1, 50, 0, 8, false, false);
+        this.dyingLeft = AnimationClip.fromSheet(path + "Death.png", 8, 1, 50, 0, 8, true, false);
 
         //ATTACK
-        this.attackRight = animTemplate.createAnimation(path + "Attack.png", 6, 1, 100, 0, 6, false, false);
-        this.attackLeft  = animTemplate.createAnimation(path + "Attack.png", 6, 1, 100, 0, 6, true, false);
-
-        //Start with idle
-        setAnimation(this.idleLeft);
-        playAnimation();
+        this.attackRight = AnimationClip.fromSheet(path + "Attack.png", 6, 1, 100, 0, 6, false, false);
+        this.attackLeft  = AnimationClip.fromSheet(path + "Attack.png", 6, 1, 100, 0, 6, true, false);
     }//end setupAnimations
 
 }//end class
@@ -0,0 +1,138 @@
+package entity.enemy;
+
+import entity.player.PlayerSnapshot;
+import navigation.FlowField;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Updates the AI of every enemy in a level, spreading large groups across all CPU cores.
+ * <p>
+ * Each tick the player is copied into a {@link PlayerSnapshot}, the map's {@link FlowField} is pointed at the span
+ * the player stands on, and the enemies are split into fixed-size chunks.
+ * Every enemy only writes to its own slot of the {@link ecs.World}, so the chunks never share any state.
+ * The chunks are updated on a shared {@link ForkJoinPool}, each writing to its own {@link EnemyCommandBuffer}.
+ * Once every chunk is done the buffers are applied to the player in chunk order on the calling thread,
+ * so the outcome does not depend on how the work was scheduled.
+ * <p>
+ * Small groups are updated on the calling thread, where handing work to other threads would cost more than it saves.
+ */
+public class EnemyAiScheduler {
+    private static final int PARALLEL_THRESHOLD = 64; //fewer enemies than this are updated on the calling thread
+    private static final int CHUNK_SIZE = 16;         //enemies updated together by one task
+
+    private static ForkJoinPool pool;
+
+    private final PlayerSnapshot snapshot = new PlayerSnapshot();
+    private EnemyCommandBuffer[] buffers = { new EnemyCommandBuffer() };
+
+    /**
+     * Updates the AI of the given enemies for this tick, then applies their actions to the player.
+     *
+     * @param enemies the enemies of the level, with the player they react to and the map they move through
+     * @param slots   the slots of the enemies to update
+     * @param count   how many entries of {@code slots} to use
+     * @param elapsed the time since the last update in milliseconds
+     */
+    public void update(EnemySystem enemies, int[] slots, int count, long elapsed) {
+        if (count == 0) return;
+
+        this.snapshot.capture(enemies.getPlayer());
+
+        //one search for every chaser, and only when the player reaches a new span
+        FlowField flowField = enemies.getTileMap().getFlowField();
+        if (flowField != null && this.snapshot.isPresent()) {
+            flowField.setTarget(flowField.getGraph().spanUnder(
+                    this.snapshot.getX() + this.snapshot.getWidth() / 2f, this.snapshot.getY() + this.snapshot.getHeight()));
+        }//end if
+
+        if (count < PARALLEL_THRESHOLD) {
+            EnemyCommandBuffer commands = this.buffers[0];
+            for (int i = 0; i < count; i++) {
+                enemies.update(slots[i], elapsed, this.snapshot, commands);
+            }//end for loop
+            commands.applyTo(enemies.getPlayer());
+            return;
+        }//end if
+
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ensureBuffers(chunks);
+        getPool().invoke(new ChunkTask(enemies, slots, count, elapsed, 0, chunks));
+
+        //apply in a fixed order so the result is the same whichever thread finished first
+        for (int c = 0; c < chunks; c++) {
+            this.buffers[c].applyTo(enemies.getPlayer());
+        }//end for loop
+    }//end update
+
+    /**
+     * Makes sure there is a command buffer for every chunk.
+     *
+     * @param chunks the number of chunks this tick
+     */
+    private void ensureBuffers(int chunks) {
+        if (this.buffers.length >= chunks) return;
+
+        EnemyCommandBuffer[] grown = new EnemyCommandBuffer[Math.max(chunks, this.buffers.length * 2)];
+        System.arraycopy(this.buffers, 0, grown, 0, this.buffers.length);
+        for (int i = this.buffers.length; i < grown.length; i++) {
+            grown[i] = new EnemyCommandBuffer();
+        }//end for loop
+        this.buffers = grown;
+    }//end ensureBuffers
+
+    /**
+     * Returns the pool shared by every scheduler, creating it the first time.
+     * Its threads are daemon threads, so they never keep the game from closing.
+     *
+     * @return the shared pool
+     */
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }//end if
+        return pool;
+    }//end getPool
+
+    /**
+     * Updates a range of chunks, splitting it in half until a single chunk is left.
+     */
+    private class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EnemySystem enemies; //tasks are never serialised
+        private final int[] slots;
+        private final int count;
+        private final long elapsed;
+        private final int firstChunk;
+        private final int endChunk;
+
+        ChunkTask(EnemySystem enemies, int[] slots, int count, long elapsed, int firstChunk, int endChunk) {
+            this.enemies = enemies;
+            this.slots = slots;
+            this.count = count;
+            this.elapsed = elapsed;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }//end constructor
+
+        @Override
+        protected void compute() {
+            if (this.endChunk - this.firstChunk > 1) {
+                int middle = (this.firstChunk + this.endChunk) >>> 1;
+                invokeAll(new ChunkTask(this.enemies, this.slots, this.count, this.elapsed, this.firstChunk, middle),
+                        new ChunkTask(this.enemies, this.slots, this.count, this.elapsed, middle, this.endChunk));
+                return;
+            }//end if
+
+            EnemyCommandBuffer commands = buffers[this.firstChunk];
+            int start = this.firstChunk * CHUNK_SIZE;
+            int end = Math.min(start + CHUNK_SIZE, this.count);
+            for (int i = start; i < end; i++) {
+                this.enemies.update(this.slots[i], this.elapsed, snapshot, commands);
+            }//end for loop
+        }//end compute
+    }//end ChunkTask
+
+}//end class
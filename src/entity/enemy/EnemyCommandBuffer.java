@@ -0,0 +1,64 @@
+package entity.enemy;
+
+import entity.player.Player;
+
+import java.util.Arrays;
+
+/**
+ * Records what enemies want to do to the player during the AI phase, so it can be done later on the game thread.
+ * <p>
+ * Each chunk of enemies updated by the {@link EnemyAiScheduler} writes into its own buffer, so no locking is needed.
+ * The buffers are then applied one after the other in chunk order, which gives the same result
+ * no matter how the chunks were spread across threads.
+ */
+public class EnemyCommandBuffer {
+    public static final byte DAMAGE_PLAYER = 0;
+
+    private byte[] types = new byte[8];
+    private float[] physical = new float[8];
+    private float[] magic = new float[8];
+    private int count = 0;
+
+    /**
+     * Queues damage to be dealt to the player.
+     *
+     * @param physicalDamage the physical damage to deal
+     * @param magicDamage    the magic damage to deal
+     */
+    public void damagePlayer(float physicalDamage, float magicDamage) {
+        if (this.count == this.types.length) {
+            int capacity = this.count * 2;
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.physical = Arrays.copyOf(this.physical, capacity);
+            this.magic = Arrays.copyOf(this.magic, capacity);
+        }//end if
+        this.types[this.count] = DAMAGE_PLAYER;
+        this.physical[this.count] = physicalDamage;
+        this.magic[this.count] = magicDamage;
+        this.count++;
+    }//end damagePlayer
+
+    /**
+     * Carries out every queued command in the order they were recorded, then empties the buffer.
+     *
+     * @param player the player the commands act on
+     */
+    public void applyTo(Player player) {
+        for (int i = 0; i < this.count; i++) {
+            if (this.types[i] == DAMAGE_PLAYER && player != null) {
+                player.takeDamage(this.physical[i], this.magic[i]);
+            }//end if
+        }//end for loop
+        this.count = 0;
+    }//end applyTo
+
+    /**
+     * Returns how many commands are waiting to be applied.
+     *
+     * @return the number of queued commands
+     */
+    public int size() {
+        return this.count;
+    }//end size
+
+}//end class
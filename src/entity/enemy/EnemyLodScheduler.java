@@ -0,0 +1,92 @@
+package entity.enemy;
+
+import ecs.World;
+import render.Camera;
+import settings.Settings;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Decides how much simulation each enemy gets depending on how close it is to the camera.
+ * <p>
+ * Enemies inside the activity area around the view are updated every tick with full AI, animation,
+ * gravity and collision. Enemies outside it only get a cheap patrol step every few ticks
+ * (see {@link EnemySystem#updateCoarse(int)}), with the time in between added up so they still move at the right speed.
+ * Coarse updates are staggered by entity id so the work is spread evenly over the ticks.
+ * <p>
+ * An enemy is promoted once it enters the inner margin and only demoted after leaving the camera's wider
+ * active area (see {@link Camera#getActive()}), so enemies sitting on the border do not keep switching back and forth.
+ * Dying enemies are never demoted, so they always finish dying and are removed from the level.
+ */
+public class EnemyLodScheduler {
+    private static final int COARSE_INTERVAL = 4; //far enemies are updated once every this many ticks
+    private static final int PROMOTE_MARGIN_TILES = 3; //distance outside the view at which enemies wake up
+
+    private int tick = 0;
+    private int[] fullDetail = new int[16]; //slots of the enemies that need a full update this tick
+
+    /**
+     * Sorts enemies into full and coarse simulation and runs the coarse updates that are due this tick.
+     * The slots of the full detail enemies are then available from {@link #getFullDetail()}.
+     *
+     * @param enemies the enemies of the level
+     * @param elapsed the time since the last tick in milliseconds
+     * @param camera  the camera, enemies go back to sleep once they leave its active area
+     * @return the number of enemies that need a full update this tick
+     */
+    public int update(EnemySystem enemies, long elapsed, Camera camera) {
+        World world = enemies.getWorld();
+        int promoteMargin = PROMOTE_MARGIN_TILES * Settings.getTileSize();
+        Rectangle active = camera.getActive();
+        int fullDetailCount = 0;
+
+        for (int i = 0; i < world.getCount(); i++) {
+            if (world.getKind(i) != World.KIND_ENEMY) continue;
+
+            float x = world.getX(i);
+            float y = world.getY(i);
+            float width = world.getWidth(i);
+            float height = world.getHeight(i);
+
+            //a dying enemy finishes its death animation and is removed, which only full updates do
+            if (world.hasFlags(i, World.DYING)) {
+                enemies.setFullDetail(i, true);
+            }//end if
+            else if (world.hasFlags(i, World.FULL_DETAIL)) {
+                if (!active.intersects(x, y, width, height)) {
+                    enemies.setFullDetail(i, false);
+                }//end if
+            }//end if
+            else if (camera.isVisible(x, y, width, height, promoteMargin)) {
+                enemies.setFullDetail(i, true);
+            }//end else if
+
+            if (world.hasFlags(i, World.FULL_DETAIL)) {
+                if (fullDetailCount == this.fullDetail.length) {
+                    this.fullDetail = Arrays.copyOf(this.fullDetail, fullDetailCount * 2);
+                }//end if
+                this.fullDetail[fullDetailCount++] = i;
+            }//end if
+            else {
+                world.setCoarseElapsed(i, world.getCoarseElapsed(i) + elapsed);
+                if ((this.tick + world.getId(i)) % COARSE_INTERVAL == 0) {
+                    enemies.updateCoarse(i);
+                }//end if
+            }//end else
+        }//end for loop
+        this.tick++;
+        return fullDetailCount;
+    }//end update
+
+    /**
+     * Returns the slots of the enemies that need a full update, in slot order.
+     * Only the first entries, as many as the last {@link #update(EnemySystem, long, Camera)} returned, are valid.
+     *
+     * @return the slots of the full detail enemies
+     */
+    public int[] getFullDetail() {
+        return this.fullDetail;
+    }//end getFullDetail
+
+}//end class
@@ -0,0 +1,613 @@
+package entity.enemy;
+
+import debug.jfr.AllocationEvent;
+import ecs.AnimationSystem;
+import ecs.World;
+import entity.player.Player;
+import entity.player.PlayerSnapshot;
+import fx.ParticleEmitter;
+import gameExtended2D.TileMapExtended;
+import navigation.FlowField;
+import navigation.NavigationGraph;
+import render.Camera;
+import render.Layer;
+import settings.Collision;
+import settings.Settings;
+import utilities.GameClock;
+import utilities.GameRandom;
+
+import java.awt.*;
+
+/**
+ * Runs the behaviour of every enemy in a level over the {@link World}'s component arrays.
+ * <p>
+ * An enemy is an entity of kind {@link World#KIND_ENEMY}. Its position, velocity, health, animation cursor and AI state
+ * are all components, and what it has in common with the other enemies (stats and clips) comes from its {@link EnemyType}.
+ * Moving, falling, landing on tiles, playing clips and drawing are done by the shared systems in {@link ecs};
+ * this class only decides what the enemy wants to do (patrol, chase or attack) and sets its velocity and clip to match.
+ * <p>
+ * The AI of an enemy only writes to that enemy's own slot, and anything that would affect the player is recorded in an
+ * {@link EnemyCommandBuffer}, so different enemies can be updated on different threads (see {@link EnemyAiScheduler}).
+ */
+public class EnemySystem {
+    //AI states, stored in the world's aiState component
+    public static final byte PATROL = 0;
+    public static final byte CHASE = 1;
+    public static final byte ATTACK = 2;
+
+    //the systems a full detail enemy runs through, see setFullDetail()
+    private static final int FULL_DETAIL_SYSTEMS = World.FULL_DETAIL | World.MOVEMENT | World.GRAVITY
+            | World.TILE_COLLISION | World.ANIMATION;
+
+    private final World world;
+    private final EnemyType type;
+    private final Player player;
+    private final TileMapExtended tileMap;
+
+    /**
+     * Constructs the system for the enemies of one level.
+     *
+     * @param world   the world the enemies are stored in
+     * @param type    the kind of enemy, with its stats and clips
+     * @param player  the player the enemies fight
+     * @param tileMap the map the enemies move through
+     */
+    public EnemySystem(World world, EnemyType type, Player player, TileMapExtended tileMap) {
+        this.world = world;
+        this.type = type;
+        this.player = player;
+        this.tileMap = tileMap;
+    }//end constructor
+
+    /**
+     * Creates a new enemy at full health facing a random direction.
+     *
+     * @param x the x-coordinate of the enemy's spawn location
+     * @param y the y-coordinate of the enemy's spawn location
+     * @return the id of the new enemy
+     */
+    public int spawn(float x, float y) {
+        AllocationEvent event = new AllocationEvent();
+        event.begin();
+        int id = this.world.create(World.KIND_ENEMY, FULL_DETAIL_SYSTEMS | World.RENDER);
+        int slot = this.world.slotOf(id);
+        this.world.setHealth(slot, this.type.getHealthMax(), this.type.getHealthMax()); //start with full health
+        AnimationSystem.play(this.world, slot, this.type.getIdle(true));
+        this.world.setPosition(slot, x, y);
+
+        // 50/50 chance to start facing left or right
+        if (GameRandom.nextBoolean()) {
+            this.world.addFlags(slot, World.FACING_LEFT);
+        }//end if
+        event.kind = "enemy";
+        event.type = this.type.getClass().getSimpleName();
+        event.commit();
+        return id;
+    }//end spawn
+
+    /**
+     * Updates an enemy's AI against a copy of the player instead of the player itself.
+     * <p>
+     * Handles state transitions (patrol, chase, attack) and sets the velocity and clip the other systems then use.
+     * Only this enemy's own slot is changed. Anything that would affect the player, such as an attack landing,
+     * is recorded in the command buffer instead.
+     *
+     * @param slot        the slot of the enemy
+     * @param elapsedTime the time elapsed since the last update (in milliseconds)
+     * @param snapshot    the state of the player captured at the start of this tick
+     * @param commands    where to record actions against the player
+     */
+    public void update(int slot, long elapsedTime, PlayerSnapshot snapshot, EnemyCommandBuffer commands) {
+        if (this.world.hasFlags(slot, World.DYING)) return; //only the death animation plays now
+        checkBackstab(slot, snapshot);
+
+        boolean left = this.world.hasFlags(slot, World.FACING_LEFT);
+        switch (this.world.getAiState(slot)) {
+            case PATROL -> {
+                //Look for the player
+                if (isPlayerInDetectionZone(slot, snapshot)) {
+                    this.world.setAiState(slot, CHASE);
+                    if(Settings.getDebugMode()){
+                        System.out.println("Enemy spotted the player!");
+                    }//end if
+                }//end if
+
+                // Movement
+                patrolLogic(slot);
+                left = this.world.hasFlags(slot, World.FACING_LEFT);
+                this.world.setVelocityX(slot, left ? -this.type.getMovementSpeed() : this.type.getMovementSpeed());
+                AnimationSystem.play(this.world, slot, this.type.getWalk(left));
+            }//end PATROL
+
+            case CHASE -> {
+                if (this.world.hasFlags(slot, World.ATTACKING)) {
+                    AnimationSystem.start(this.world, slot);
+                    this.world.removeFlags(slot, World.ATTACKING);
+                }//end if
+                chasePlayer(slot, snapshot);
+
+                //Check for attack range
+                if (isPlayerWithinAttackRange(slot, snapshot)) {
+                    this.world.setAiState(slot, ATTACK);
+                }//end if
+
+                //Lost the player? (they can be on another platform, the navigation graph gets us there)
+                if (!isPlayerWithinChaseRange(slot, snapshot)) {
+                    this.world.setAiState(slot, PATROL);
+                    if(Settings.getDebugMode()){
+                        System.out.println("Enemy lost the player...");
+                    }//end if
+                }//end if
+            }//end CHASE
+
+            case ATTACK -> {
+                //Recheck range — if player escaped, chase again
+                if (!isPlayerWithinAttackRange(slot, snapshot)) {
+                    this.world.setAiState(slot, CHASE);
+                    this.world.removeFlags(slot, World.ATTACKING);
+                    AnimationSystem.start(this.world, slot);
+                    return;
+                }//end if
+
+                this.world.setVelocityX(slot, 0); //Stand still
+
+                long now = GameClock.now();
+                boolean readyToAttack = now - this.world.getAiTime(slot) >= this.type.getAttackCooldown();
+
+                if (readyToAttack) {
+                    if (!this.world.hasFlags(slot, World.ATTACKING)) {
+                        //Start slowed attack animation
+                        AnimationSystem.play(this.world, slot, this.type.getAttack(left));
+                        AnimationSystem.start(this.world, slot);
+                        this.world.addFlags(slot, World.ATTACKING);
+                    }//end if
+
+                    AnimationSystem.advance(this.world, slot, elapsedTime);
+                    if (this.world.hasFlags(slot, World.LOOPED)) {
+                        tryAttackPlayer(slot, commands);
+                        this.world.removeFlags(slot, World.ATTACKING);
+                        AnimationSystem.start(this.world, slot);
+                    }//end if
+                }//end if
+                else {
+                    //Show idle animation while waiting for cooldown
+                    AnimationSystem.play(this.world, slot, this.type.getIdle(left));
+                    this.world.removeFlags(slot, World.ATTACKING);
+                }//end else
+            }//end ATTACK
+
+            default -> throw new IllegalStateException("Unknown enemy state: " + this.world.getAiState(slot));
+        }//end switch
+    }//end update
+
+    /**
+     * Checks whether the player is within the enemy's attack range.
+     *
+     * @param slot     the slot of the enemy
+     * @param snapshot the state of the player this tick
+     * @return true if the player is within attack range, false otherwise
+     */
+    private boolean isPlayerWithinAttackRange(int slot, PlayerSnapshot snapshot) {
+        if (!snapshot.isPresent()) return false;
+
+        //Buffer size (how much larger the range box is)
+        float buffer = 10f;
+
+        Rectangle attackRangeBox = new Rectangle(
+                (int) (this.world.getX(slot) - buffer), (int) (this.world.getY(slot) - buffer),
+                (int) (this.world.getWidth(slot) + buffer * 2), (int) (this.world.getHeight(slot) + buffer * 2));
+
+        Rectangle playerBox = new Rectangle(
+                (int) snapshot.getX(), (int) snapshot.getY(),
+                snapshot.getWidth(), snapshot.getHeight());
+
+        return attackRangeBox.intersects(playerBox);
+    }//end isPlayerWithinAttackRange
+
+    /**
+     * Handles patrol movement and direction change if a ledge or wall is detected.
+     * While standing on a span of the navigation graph the enemy simply turns at its ends,
+     * otherwise the tiles ahead are checked.
+     *
+     * @param slot the slot of the enemy
+     */
+    private void patrolLogic(int slot) {
+        float x = this.world.getX(slot);
+        float y = this.world.getY(slot);
+        float width = this.world.getWidth(slot);
+        float height = this.world.getHeight(slot);
+        float futureX = x + (this.world.hasFlags(slot, World.FACING_LEFT) ? -2 : width + 2);
+
+        NavigationGraph navigation = this.tileMap.getNavigationGraph();
+        int span = navigation == null ? -1 : navigation.spanUnder(x + width / 2f, y + height);
+        if (span >= 0) {
+            int frontColumn = (int) Math.floor(futureX / this.tileMap.getTileWidth());
+            if (frontColumn < navigation.getSpanStart(span) || frontColumn > navigation.getSpanEnd(span)) {
+                reverseDirection(slot);
+            }//end if
+            return;
+        }//end if
+
+        float belowY = y + height + 1;
+        float midY = y + height / 2f;
+
+        int tileX = (int)(futureX / this.tileMap.getTileWidth());
+        int tileBelowY = (int)(belowY / this.tileMap.getTileHeight());
+        int tileWallY = (int)(midY / this.tileMap.getTileHeight());
+
+        boolean ledge = !this.tileMap.isSolid(tileX, tileBelowY);
+        boolean wall = this.tileMap.isSolid(tileX, tileWallY);
+
+        if (ledge || wall) {
+            reverseDirection(slot);
+        }//end if
+    }//end patrolLogic
+
+    /**
+     * Attempts to damage the player if the cooldown is ready.
+     * Queues physical and magic damage to be applied to the player once the AI phase is over.
+     *
+     * @param slot     the slot of the enemy
+     * @param commands where to record the damage dealt to the player
+     */
+    private void tryAttackPlayer(int slot, EnemyCommandBuffer commands) {
+        if (this.player == null || this.world.hasFlags(slot, World.DYING)) return;
+
+        long now = GameClock.now();
+        if (now - this.world.getAiTime(slot) >= this.type.getAttackCooldown()) {
+            commands.damagePlayer(this.type.getPhysicalDamage(), this.type.getMagicDamage());
+            this.world.setAiTime(slot, now);
+        }//end if
+    }//end tryAttackPlayer
+
+    /**
+     * Reverses the enemy's current walking direction.
+     *
+     * @param slot the slot of the enemy
+     */
+    private void reverseDirection(int slot) {
+        this.world.setFlags(slot, this.world.getFlags(slot) ^ World.FACING_LEFT);
+    }//end reverseDirection
+
+    /**
+     * Checks if the player is within the enemy's detection zone.
+     *
+     * @param slot     the slot of the enemy
+     * @param snapshot the state of the player this tick
+     * @return true if the player is within the detection area, false otherwise
+     */
+    private boolean isPlayerInDetectionZone(int slot, PlayerSnapshot snapshot) {
+        if (!snapshot.isPresent()) return false;
+
+        //Detection box parameters
+        float detectionWidth = 400;
+        float detectionHeight = this.world.getHeight(slot) * 1.5f;
+
+        float visionX = this.world.hasFlags(slot, World.FACING_LEFT)
+                ? this.world.getX(slot) - detectionWidth : this.world.getX(slot) + this.world.getWidth(slot);
+        float visionY = this.world.getY(slot);
+
+        Rectangle detectionBox = new Rectangle(
+                (int) visionX, (int) visionY,
+                (int) detectionWidth, (int) detectionHeight);
+
+        Rectangle playerBox = new Rectangle(
+                (int) snapshot.getX(), (int) snapshot.getY(),
+                snapshot.getWidth(), snapshot.getHeight());
+
+        return detectionBox.intersects(playerBox);
+    }//end isPlayerInDetectionZone
+
+    /**
+     * Checks if the player is still close enough to keep chasing.
+     * Unlike the detection zone this looks in both directions and a few rows up and down,
+     * so the enemy keeps following the player onto other platforms.
+     *
+     * @param slot     the slot of the enemy
+     * @param snapshot the state of the player this tick
+     * @return true if the player is within chasing distance
+     */
+    private boolean isPlayerWithinChaseRange(int slot, PlayerSnapshot snapshot) {
+        if (!snapshot.isPresent()) return false;
+
+        float width = this.world.getWidth(slot);
+        float rangeX = 400 + width;
+        float rangeY = (NavigationGraph.MAX_JUMP_ROWS + 2) * this.tileMap.getTileHeight();
+        float dx = (snapshot.getX() + snapshot.getWidth() / 2f) - (this.world.getX(slot) + width / 2f);
+        float dy = (snapshot.getY() + snapshot.getHeight()) - (this.world.getY(slot) + this.world.getHeight(slot));
+        return Math.abs(dx) <= rangeX && Math.abs(dy) <= rangeY;
+    }//end isPlayerWithinChaseRange
+
+    /**
+     * Checks if the enemy is standing on a solid tile.
+     *
+     * @param slot the slot of the enemy
+     * @return true if there is ground right under the enemy's feet and it is not moving up
+     */
+    private boolean isStandingOnGround(int slot) {
+        if (this.world.getVelocityY(slot) < 0) return false;
+
+        float x = this.world.getX(slot);
+        int row = (int) Math.floor((this.world.getY(slot) + this.world.getHeight(slot) + 1) / this.tileMap.getTileHeight());
+        int left = (int) Math.floor((x + 2) / this.tileMap.getTileWidth());
+        int right = (int) Math.floor((x + this.world.getWidth(slot) - 2) / this.tileMap.getTileWidth());
+        return this.tileMap.findInRow(row, left, right, TileMapExtended.FLAG_SOLID) >= 0;
+    }//end isStandingOnGround
+
+    /**
+     * Moves the enemy toward the player with a slight speed boost
+     * and updates the animation accordingly.
+     * <p>
+     * If the player is standing on a different span, the enemy follows the map's {@link FlowField} instead:
+     * it walks to the takeoff column of the link the field gives for its span and then
+     * drops or jumps towards its landing column. While in the air it keeps the speed it jumped with.
+     *
+     * @param slot     the slot of the enemy
+     * @param snapshot the state of the player this tick
+     */
+    private void chasePlayer(int slot, PlayerSnapshot snapshot) {
+        if (!snapshot.isPresent()) return;
+
+        boolean onGround = isStandingOnGround(slot);
+        if (!onGround && this.world.getVelocityY(slot) != 0) return; //mid jump or fall, carry on
+
+        float x = this.world.getX(slot);
+        float width = this.world.getWidth(slot);
+        float chaseSpeed = this.type.getMovementSpeed() * 5f; //Slight speed boost for chasing
+        float targetX = snapshot.getX();
+        boolean jump = false;
+
+        FlowField flowField = this.tileMap.getFlowField();
+        if (flowField != null && onGround) {
+            NavigationGraph navigation = flowField.getGraph();
+            float tileWidth = this.tileMap.getTileWidth();
+            float centreX = x + width / 2f;
+            int link = flowField.nextLink(navigation.spanUnder(centreX, this.world.getY(slot) + this.world.getHeight(slot)));
+
+            if (link >= 0) {
+                float takeoffX = (navigation.getLinkTakeoff(link) + 0.5f) * tileWidth;
+                float landingX = (navigation.getLinkLanding(link) + 0.5f) * tileWidth;
+                boolean atTakeoff = Math.abs(centreX - takeoffX) <= tileWidth / 4f;
+
+                if (navigation.getLinkType(link) == NavigationGraph.LINK_JUMP && atTakeoff) {
+                    targetX = landingX - width / 2f;
+                    jump = true;
+                }//end if
+                else {
+                    targetX = takeoffX - width / 2f; //for a drop this walks off the edge
+                }//end else
+            }//end if
+        }//end if
+
+        float speed = jump ? this.type.getMovementSpeed() * 10f : chaseSpeed; //jump at the player's running speed to clear gaps
+        boolean left = targetX < x;
+        if (left) {
+            this.world.addFlags(slot, World.FACING_LEFT);
+        }//end if
+        else {
+            this.world.removeFlags(slot, World.FACING_LEFT);
+        }//end else
+        this.world.setVelocityX(slot, left ? -speed : speed);
+        AnimationSystem.play(this.world, slot, this.type.getWalk(left));
+
+        if (jump) {
+            this.world.setVelocityY(slot, -this.type.getJumpStrength());
+        }//end if
+    }//end chasePlayer
+
+    /**
+     * Checks if the player has touched the enemy from behind.
+     * If so, the enemy turns around and starts chasing.
+     *
+     * @param slot     the slot of the enemy
+     * @param snapshot the state of the player this tick
+     */
+    private void checkBackstab(int slot, PlayerSnapshot snapshot) {
+        if (!snapshot.isPresent()) return;
+
+        float x = this.world.getX(slot);
+        float width = this.world.getWidth(slot);
+        boolean isTouching = Collision.preciseCollision(x, this.world.getY(slot), width, this.world.getHeight(slot),
+                this.world.getRadius(slot),
+                snapshot.getX(), snapshot.getY(), snapshot.getWidth(), snapshot.getHeight(), snapshot.getRadius());
+
+        if (!isTouching) return;
+
+        float playerCenterX = snapshot.getX() + snapshot.getWidth() / 2f;
+        float enemyCenterX = x + width / 2f;
+
+        boolean left = this.world.hasFlags(slot, World.FACING_LEFT);
+        boolean behind = (left && playerCenterX > enemyCenterX) || (!left && playerCenterX < enemyCenterX);
+
+        if (behind) {
+            reverseDirection(slot);
+            this.world.setAiState(slot, CHASE);
+        }//end if
+    }//end checkBackstab
+
+    /**
+     * Switches an enemy between full and coarse simulation.
+     * <p>
+     * A coarse enemy is taken out of the movement, gravity, tile collision and animation systems.
+     * When demoted the enemy forgets what it was doing and goes back to patrolling, since it can no longer
+     * see the player. When promoted it simply carries on from where its coarse updates left it.
+     *
+     * @param slot       the slot of the enemy
+     * @param fullDetail true to update the enemy every tick, false to only run coarse updates
+     */
+    public void setFullDetail(int slot, boolean fullDetail) {
+        if (this.world.hasFlags(slot, World.FULL_DETAIL) == fullDetail) return;
+        this.world.setCoarseElapsed(slot, 0);
+
+        if (fullDetail) {
+            this.world.addFlags(slot, FULL_DETAIL_SYSTEMS);
+            return;
+        }//end if
+
+        this.world.removeFlags(slot, FULL_DETAIL_SYSTEMS);
+        if (!this.world.hasFlags(slot, World.DYING)) {
+            this.world.setAiState(slot, PATROL);
+            this.world.removeFlags(slot, World.ATTACKING);
+            this.world.setVelocityY(slot, 0);
+        }//end if
+    }//end setFullDetail
+
+    /**
+     * Cheap update used while the enemy is far from the camera.
+     * <p>
+     * Only walks the enemy along its platform, turning at walls and ledges, covering all the time stored in its
+     * coarseElapsed component in one step. The animation does not advance and there is no gravity,
+     * tile collision or player interaction, as nobody can see the enemy and the ledge check keeps it on its platform.
+     *
+     * @param slot the slot of the enemy
+     */
+    public void updateCoarse(int slot) {
+        long elapsedTime = this.world.getCoarseElapsed(slot);
+        this.world.setCoarseElapsed(slot, 0);
+        if (this.world.hasFlags(slot, World.DYING) || elapsedTime <= 0) return;
+
+        patrolLogic(slot);
+        float velocityX = this.world.hasFlags(slot, World.FACING_LEFT) ? -this.type.getMovementSpeed() : this.type.getMovementSpeed();
+        this.world.setVelocity(slot, velocityX, 0);
+        this.world.setX(slot, this.world.getX(slot) + velocityX * elapsedTime);
+    }//end updateCoarse
+
+    /**
+     * Reduces the enemy's health based on incoming physical and magic damage,
+     * accounting for armor (not implemented yet).
+     * Also displays floating damage text with hit sparks and triggers death if health reaches 0.
+     *
+     * @param slot        the slot of the enemy
+     * @param physicalDmg the physical damage to apply
+     * @param magicDmg    the magic damage to apply
+     */
+    public void takeDamage(int slot, float physicalDmg, float magicDmg) {
+        //TODO this only makes sense if the player will have a penetrate armor stats
+        // if time allows to implement the stat, add them to the enemy type
+        float physicalArmor = 0;
+        float magicArmor = 0;
+
+        //calculate the damage taken
+        float reducedPhysicalDmg = Math.max(0, physicalDmg - physicalArmor);
+        float reducedMagicDmg = Math.max(0, magicDmg - magicArmor);
+        this.world.setHealth(slot, this.world.getHealth(slot) - (reducedPhysicalDmg + reducedMagicDmg));
+
+        float x = this.world.getX(slot);
+        float y = this.world.getY(slot);
+        float width = this.world.getWidth(slot);
+        boolean dying = this.world.hasFlags(slot, World.DYING);
+        if (!dying) {
+            ParticleEmitter.global().emitNumber(reducedPhysicalDmg + reducedMagicDmg, x + width / 2f, y - 10, Color.white);
+        }//end if
+        ParticleEmitter.global().emitSparks(x + width / 2f, y + this.world.getHeight(slot) / 2f, 8, Color.ORANGE);
+
+        //if health reached 0, die
+        if (this.world.getHealth(slot) <= 0 && !dying) {
+            die(slot);
+        }//end if
+    }//end takeDamage
+
+    /**
+     * Triggers the death state for the enemy, stopping movement and playing the death animation.
+     * Awards experience to the player.
+     *
+     * @param slot the slot of the enemy
+     */
+    public void die(int slot) {
+        this.world.addFlags(slot, World.DYING);
+        this.world.setVelocity(slot, 0, 0);
+        AnimationSystem.play(this.world, slot, this.type.getDying(this.world.hasFlags(slot, World.FACING_LEFT)));
+        AnimationSystem.start(this.world, slot);
+        this.player.addExp(this.type.getExp());
+    }//end die
+
+    /**
+     * Checks whether the enemy has completed its death animation.
+     *
+     * @param slot the slot of the enemy
+     * @return true if the death animation has completed, false otherwise
+     */
+    public boolean isDead(int slot) {
+        return this.world.hasFlags(slot, World.DYING | World.LOOPED);
+    }//end isDead
+
+    /**
+     * Draws the health bar of every enemy in view, and its detection box if debug mode is enabled.
+     * The enemies themselves are drawn by the {@link ecs.RenderSystem}.
+     *
+     * @param g      the graphics context to draw on, in world coordinates
+     * @param camera the camera, enemies it can't see are skipped
+     * @param margin how far outside the view, in pixels, an enemy is still drawn
+     */
+    public void draw(Graphics2D g, Camera camera, int margin) {
+        boolean debug = Settings.getDebugMode();
+
+        for (int i = 0; i < this.world.getCount(); i++) {
+            if (this.world.getKind(i) != World.KIND_ENEMY) continue;
+
+            float x = this.world.getX(i);
+            float y = this.world.getY(i);
+            float width = this.world.getWidth(i);
+            float height = this.world.getHeight(i);
+            if (!camera.isVisible(x, y, width, height, margin)) continue;
+
+            //Draw health bar above enemy
+            float healthMax = this.world.getHealthMax(i);
+            if (!this.world.hasFlags(i, World.DYING) && healthMax > 0) {
+                int barWidth = 40;
+                int barHeight = 6;
+                int barX = (int)(x + (int) width / 2 - barWidth / 2);
+                int barY = (int)(y - 10);
+
+                float healthRatio = Math.max(0, this.world.getHealth(i) / healthMax);
+
+                //Each part goes on its own layer, so all the bars are drawn with three colour changes
+                //Background bar
+                Layer.set(g, Layer.BAR_BACK);
+                g.setColor(Color.DARK_GRAY);
+                g.fillRect(barX, barY, barWidth, barHeight);
+
+                //Health amount
+                Layer.set(g, Layer.BAR_FILL);
+                g.setColor(Color.RED);
+                g.fillRect(barX, barY, (int)(barWidth * healthRatio), barHeight);
+
+                //Add border
+                Layer.set(g, Layer.BAR_BORDER);
+                g.setColor(Color.BLACK);
+                g.drawRect(barX, barY, barWidth, barHeight);
+            }//end if
+
+            //Debug mode
+            if (debug) {
+                float detectionWidth = 400;
+                float detectionHeight = height * 1.5f;
+                float boxX = this.world.hasFlags(i, World.FACING_LEFT) ? x - detectionWidth : x + width;
+
+                Layer.set(g, Layer.DEBUG);
+                g.setColor(Color.YELLOW);
+                g.drawRect((int) boxX, (int) y, (int) detectionWidth, (int) detectionHeight);
+            }//end if
+        }//end for loop
+        Layer.set(g, Layer.ENTITIES);
+    }//end draw
+
+    // <editor-fold desc= "GETTERS">
+    public World getWorld() {
+        return this.world;
+    }//end getWorld
+
+    public EnemyType getType() {
+        return this.type;
+    }//end getType
+
+    public Player getPlayer() {
+        return this.player;
+    }//end getPlayer
+
+    public TileMapExtended getTileMap() {
+        return this.tileMap;
+    }//end getTileMap
+    //</editor-fold> GETTERS
+
+}//end class
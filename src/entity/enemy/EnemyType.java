@@ -0,0 +1,132 @@
+package entity.enemy;
+
+import ecs.AnimationClip;
+import settings.Settings;
+
+/**
+ * Describes a kind of enemy: its stats at the current level and the clips it plays.
+ * <p>
+ * Enemies themselves are entities in the {@link ecs.World}, and this class holds what they have in common, so
+ * nothing is stored per enemy that is the same for all of them. {@link EnemySystem} runs their behaviour.
+ * <p>
+ * Concrete enemy types (like {@link BasicEnemy}) must extend this class
+ * and provide their own implementation for {@link #setUpAnimations()}.
+ */
+public abstract class EnemyType {
+    //Stats
+    private final float movementSpeed = 0.05f;
+    private final float jumpStrength = 2.5f + Settings.getGravity(); //same jump as the player, used to follow jump links
+    private final long attackCooldown = 1000; //milliseconds between attacks
+    private final float healthMax;
+    private final float physicalDamage;
+    private final float magicDamage;
+    private final int goldDropped;
+    private final float exp;
+
+    //Animation
+    protected AnimationClip idleRight, idleLeft, walkRight, walkLeft, dyingRight, dyingLeft;
+    protected AnimationClip attackLeft, attackRight;
+
+    /**
+     * Constructs an enemy type, scaling its stats (health, damage, gold, and experience) with the world level,
+     * and calls the {@link #setUpAnimations()} method.
+     *
+     * @param worldLevel the level of the world (used to scale stats)
+     */
+    public EnemyType(int worldLevel) {
+        this.healthMax = calculateFloatLevelModifier(worldLevel, 3f);
+        this.physicalDamage = calculateFloatLevelModifier(worldLevel, 0.1f);
+        this.magicDamage = calculateFloatLevelModifier(worldLevel, 0.1f);
+        this.goldDropped = calculateIntLevelModifier(worldLevel, 0.5f);
+        this.exp = calculateIntLevelModifier(worldLevel, 0.2f);
+        setUpAnimations();
+    }//end constructor
+
+    /**
+     * Calculates a stat value scaled by the level and modifier.
+     * Returns at least 1.
+     *
+     * @param level    the world level
+     * @param modifier the stat modifier
+     * @return the scaled integer value
+     */
+    private int calculateIntLevelModifier(int level, float modifier){
+        int total = (int) Math.floor((float) level * modifier);
+        return Math.max(total, 1);
+    }//end calculateLevelModifier
+
+    /**
+     * Calculates a stat value scaled by the level and modifier.
+     * Returns at least 1.0f.
+     *
+     * @param level    the world level
+     * @param modifier the stat modifier
+     * @return the scaled float value
+     */
+    private float calculateFloatLevelModifier(int level, float modifier){
+        float total = level * modifier;
+        if (total < 1){
+            return 1;
+        }//end if
+        return total;
+    }//end calculateLevelModifier
+
+    /**
+     * Set up the clips that the enemies will play
+     * <p></p>
+     * !!!You will require an idle, walk, dying and attack clip, facing left and facing right
+     * <p></p>
+     */
+    protected abstract void setUpAnimations();
+
+    // <editor-fold desc= "GETTERS">
+    public float getMovementSpeed() {
+        return movementSpeed;
+    }//end getMovementSpeed
+
+    public float getJumpStrength() {
+        return jumpStrength;
+    }//end getJumpStrength
+
+    public long getAttackCooldown() {
+        return attackCooldown;
+    }//end getAttackCooldown
+
+    public float getHealthMax() {
+        return healthMax;
+    }//end getHealthMax
+
+    public float getPhysicalDamage() {
+        return physicalDamage;
+    }//end getPhysicalDamage
+
+    public float getMagicDamage() {
+        return magicDamage;
+    }//end getMagicDamage
+
+    public int getGoldDropped() {
+        return goldDropped;
+    }//end getGoldDropped
+
+    public float getExp() {
+        return exp;
+    }//end getExp
+
+    public AnimationClip getIdle(boolean left) {
+        return left ? idleLeft : idleRight;
+    }//end getIdle
+
+    public AnimationClip getWalk(boolean left) {
+        return left ? walkLeft : walkRight;
+    }//end getWalk
+
+    public AnimationClip getDying(boolean left) {
+        return left ? dyingLeft : dyingRight;
+    }//end getDying
+
+    public AnimationClip getAttack(boolean left) {
+        return left ? attackLeft : attackRight;
+    }//end getAttack
+    //</editor-fold> GETTERS
+
+}//end class
@@ -1,17 +1,16 @@
 package entity.player;
 
 import fx.EffectsManager;
-import fx.FloatingText;
-import fx.effects.PhysicalAttackFx;
+import fx.ParticleEmitter;
 import gameExtended2D.AnimationExtended;
 import gameExtended2D.SpriteExtended;
 import settings.CollidableEntity;
 import settings.KeyHandler;
 import settings.Settings;
 import sound.SoundManager;
+import utilities.GameClock;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * Represents the player character in the game world.
@@ -21,9 +20,6 @@ import java.util.ArrayList;
 public class Player extends SpriteExtended implements CollidableEntity {
 
     // <editor-fold desc= "INSTANCE VARIABLES">
-    @SuppressWarnings("FieldMayBeFinal")
-    private ArrayList<FloatingText> floatingTexts = new ArrayList<>();
-
     // <editor-fold desc= "Stats">
     private float movementSpeed = 0.5f;
     private float jumpStrength = 2.5f + Settings.getGravity(); // Initial upward velocity
@@ -261,7 +257,7 @@ public class Player extends SpriteExtended implements CollidableEntity {
 
         //<editor-fold desc= "JUMPING">
         if (keyHandler.upPressed && (isOnGround || isOnPlatform)) {
-            long now = System.currentTimeMillis();
+            long now = GameClock.now();
             if((now - lastJumpTime) > jumpCooldown){
                 setY(getY() - 2);
                 setJumping();
@@ -288,11 +284,11 @@ public class Player extends SpriteExtended implements CollidableEntity {
             float offSet = 10f;
             if (direction == Directions.LEFT){
                 changeAnimation(this.animationPhysicalAttackLeft);
-                this.effectsManager.addEffect(new PhysicalAttackFx(getX()-offSet, getY(), this.spriteHeavyAttackDuration, this.direction, this, this.physicalDamage, this.magicalDamage));
+                this.effectsManager.addPhysicalAttackEffect(getX()-offSet, getY(), this.spriteHeavyAttackDuration, this.direction, this, this.physicalDamage, this.magicalDamage);
             }//end if
             else if (direction == Directions.RIGHT){
                 changeAnimation(this.animationPhysicalAttackRight);
-                this.effectsManager.addEffect(new PhysicalAttackFx(getX()+offSet, getY(), this.spriteHeavyAttackDuration, this.direction, this, this.physicalDamage, this.magicalDamage));
+                this.effectsManager.addPhysicalAttackEffect(getX()+offSet, getY(), this.spriteHeavyAttackDuration, this.direction, this, this.physicalDamage, this.magicalDamage);
             }//end else if
             canChangeAnimation = false;
         }//end if
@@ -323,6 +319,7 @@ public class Player extends SpriteExtended implements CollidableEntity {
             this.canChangeAnimation = true;
             if(!this.isJumping ){
                 SoundManager.playFilteredSound("landing");
+                ParticleEmitter.global().emitDust(getX() + getWidth() / 2f, getY() + getHeight(), 6);
             }
         }//end if
         this.isOnGround = true;
@@ -336,6 +333,7 @@ public class Player extends SpriteExtended implements CollidableEntity {
             this.canChangeAnimation = true;
             if(!this.isJumping){
                 SoundManager.playFilteredSound("landing");
+                ParticleEmitter.global().emitDust(getX() + getWidth() / 2f, getY() + getHeight(), 6);
             }//end if
         }//end if
         this.isOnPlatform = true;
@@ -374,8 +372,7 @@ public class Player extends SpriteExtended implements CollidableEntity {
     }//end setJumping
 
     /**
-     * Called every frame to update animation, key input, active effects,
-     * and floating text elements.
+     * Called every frame to update animation, key input and active effects.
      *
      * @param elapsedTime the time elapsed since the last update
      */
@@ -386,27 +383,16 @@ public class Player extends SpriteExtended implements CollidableEntity {
         keyControls();
         //update fx
         this.effectsManager.updateEffects(elapsedTime);
-
-        //floating text
-        floatingTexts.removeIf(FloatingText::isExpired);
-        for (FloatingText ft : floatingTexts) {
-            ft.update(elapsedTime);
-        }//end for loop
     }//end update method
 
     /**
-     * Draws all visual effects (such as attacks) and floating texts associated with the player.
+     * Draws all visual effects (such as attacks) associated with the player.
+     * Floating texts are drawn by the global {@link ParticleEmitter}.
      *
-     * @param g the graphics context
-     * @param x the horizontal screen offset
-     * @param y the vertical screen offset
+     * @param g the graphics context, in world coordinates
      */
-    public void drawEffects(Graphics2D g, int x, int y){
-        this.effectsManager.drawWithOffSets(g, x, y);
-
-        for (FloatingText ft : floatingTexts) {
-            ft.draw(g, x, y);
-        }//end for loop
+    public void drawEffects(Graphics2D g){
+        this.effectsManager.draw(g);
     }//end drawEffects
 
     /**
@@ -471,7 +457,7 @@ public class Player extends SpriteExtended implements CollidableEntity {
         addFloatingText(amount+"exp", Color.CYAN);
         this.expCurrent += amount;
         while (this.expCurrent >= this.expRequired){
-            floatingTexts.add(FloatingText.createLevelUpText(getX() + getWidth() / 2f, getY() - 40));
+            ParticleEmitter.global().emitLevelUpText(getX() + getWidth() / 2f, getY() - 40);
             SoundManager.playSound("levelUp");
             this.level++; //increase the level
             this.expCurrent -= this.expRequired; //take away the experience needed to level up
@@ -486,7 +472,7 @@ public class Player extends SpriteExtended implements CollidableEntity {
      * @param color the color of the text
      */
     public void addFloatingText(String msg, Color color) {
-        floatingTexts.add(new FloatingText(msg, getX() + getWidth() / 2f, getY() - 10, color));
+        ParticleEmitter.global().emitText(msg, getX() + getWidth() / 2f, getY() - 10, color);
     }//end addFloatingText
 
     /**
@@ -496,7 +482,7 @@ public class Player extends SpriteExtended implements CollidableEntity {
      * @param color  the color of the number
      */
     public void addFloatingNumber(float number, Color color) {
-        floatingTexts.add(new FloatingText(number, getX() + getWidth() / 2f, getY() - 10, color));
+        ParticleEmitter.global().emitNumber(number, getX() + getWidth() / 2f, getY() - 10, color);
     }//end addFloatingNumber
 
     //GETTERS AND SETTERS
@@ -0,0 +1,63 @@
+package entity.player;
+
+/**
+ * A read-only copy of the parts of the {@link Player} that enemy AI looks at.
+ * <p>
+ * Enemies can be updated on several threads at once, so they must not read the live player
+ * while the game thread might change it. The snapshot is captured once per tick before the
+ * AI phase starts and only exposes getters to the enemies.
+ */
+public class PlayerSnapshot {
+    private float x;
+    private float y;
+    private int width;
+    private int height;
+    private float radius;
+    private boolean present;
+
+    /**
+     * Copies the current state of the player into this snapshot.
+     *
+     * @param player the player to copy, or null if there is no player
+     */
+    public void capture(Player player) {
+        this.present = player != null;
+        if (!this.present) return;
+
+        this.x = player.getX();
+        this.y = player.getY();
+        this.width = player.getWidth();
+        this.height = player.getHeight();
+        this.radius = player.getRadius();
+    }//end capture
+
+    /**
+     * Returns whether a player was captured.
+     *
+     * @return false if the snapshot was captured without a player
+     */
+    public boolean isPresent() {
+        return present;
+    }//end isPresent
+
+    public float getX() {
+        return x;
+    }//end getX
+
+    public float getY() {
+        return y;
+    }//end getY
+
+    public int getWidth() {
+        return width;
+    }//end getWidth
+
+    public int getHeight() {
+        return height;
+    }//end getHeight
+
+    public float getRadius() {
+        return radius;
+    }//end getRadius
+
+}//end class
@@ -1,11 +1,12 @@
 package fx;
 
+import entity.player.Player;
+import fx.effects.PhysicalAttackFx;
 import settings.Settings;
 
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Iterator;
 
 /**
  * Manages all active visual effects ({@link Fx}) in the game,
@@ -14,15 +15,39 @@ import java.util.Iterator;
  */
 public class EffectsManager {
     private List<Fx> effects;
+    private FxPool<PhysicalAttackFx> physicalAttackPool;
 
     /**
      * Constructs a new EffectsManager and initializes the internal list of effects.
      */
     public EffectsManager() {
         //create an array that will store all the effects
-        effects = new ArrayList<>();
+        effects = new ArrayList<>(16);
     }//end constructor
 
+    /**
+     * Plays a physical attack effect, reusing a finished one if available.
+     * The pool is created on first use and filled with a couple of effects so that
+     * fast consecutive swings do not need to build anything new.
+     *
+     * @param x              the x-position to spawn the effect
+     * @param y              the y-position to spawn the effect
+     * @param duration       how long each frame of the effect lasts (in milliseconds)
+     * @param direction      the direction the player is facing (left or right)
+     * @param player         the player who triggered the effect
+     * @param physicalDamage the amount of physical damage this effect represents
+     * @param magicDamage    the amount of magical damage this effect represents
+     */
+    public void addPhysicalAttackEffect(float x, float y, int duration, Player.Directions direction, Player player, float physicalDamage, float magicDamage) {
+        if (this.physicalAttackPool == null) {
+            this.physicalAttackPool = new FxPool<>(() -> new PhysicalAttackFx(duration), 2);
+        }//end if
+
+        PhysicalAttackFx fx = this.physicalAttackPool.acquire();
+        fx.launch(x, y, duration, direction, player, physicalDamage, magicDamage);
+        effects.add(fx);
+    }//end addPhysicalAttackEffect
+
     /**
      * Adds a new {@link Fx} visual effect to the manager to be updated and rendered.
      *
@@ -39,18 +64,23 @@ public class EffectsManager {
      * @param elapsedTime the time elapsed since the last update in milliseconds
      */
     public void updateEffects(long elapsedTime) {
-        //Create an iterator to loop through the list of effects
-        //Using an iterator as it will throw a ConcurrentModificationException since we are modifying the list during iteration
-        Iterator<Fx> iterator = effects.iterator();
-
-        while (iterator.hasNext()) { //Loop through each effect
-            Fx effect = iterator.next(); //Get the next effect
+        //Index loop instead of an iterator so nothing is allocated each frame
+        int i = 0;
+        while (i < effects.size()) { //Loop through each effect
+            Fx effect = effects.get(i); //Get the next effect
 
             effect.update(elapsedTime); //Call the update method of the effect
 
             if (!effect.isActive()) { //Check if the effect is no longer active
-                iterator.remove(); //Remove the effect from the list safely
+                //Draw order of effects does not matter, so move the last one into this slot instead of shifting the list
+                int last = effects.size() - 1;
+                effects.set(i, effects.get(last));
+                effects.remove(last);
+                effect.release(); //Hand it back to its pool, if it has one
             }//end if
+            else {
+                i++;
+            }//end else
         }//end while
     }//end updateEffects
 
@@ -61,7 +91,8 @@ public class EffectsManager {
      * @param g the graphics context to draw on
      */
     public void draw(Graphics2D g){
-        for (Fx effect: this.effects){
+        for (int i = 0; i < this.effects.size(); i++){
+            Fx effect = this.effects.get(i);
             effect.draw(g);
             if (Settings.getDebugMode()){
                 effect.drawBoundingBox(g);
@@ -80,7 +111,8 @@ public class EffectsManager {
      * @param y the vertical offset to apply to all effects
      */
     public void drawWithOffSets(Graphics2D g, int x, int y){
-        for (Fx effect: this.effects){
+        for (int i = 0; i < this.effects.size(); i++){
+            Fx effect = this.effects.get(i);
             effect.setOffsets(x,y);
             effect.draw(g);
             if (Settings.getDebugMode()){
@@ -1,6 +1,7 @@
 package fx;
 
-import entity.enemy.Enemy;
+import ecs.World;
+import entity.enemy.EnemySystem;
 import entity.player.Player;
 import fx.effects.PhysicalAttackFx;
 import gameExtended2D.AnimationExtended;
@@ -8,9 +9,7 @@ import gameExtended2D.SpriteExtended;
 import settings.Collision;
 import states.GamePlayState;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
 
 /**
  * Represents a visual and damaging effect (FX) in the game.
@@ -35,7 +34,8 @@ public class Fx extends SpriteExtended {
     private boolean hasHit = false;
     protected float physicalDamage = 0f;
     protected float magicDamage = 0f;
-    private Set<Enemy> hitEnemies = new HashSet<>();
+    private final BitSet hitEnemies = new BitSet(); //indexed by the enemies' entity ids
+    private FxPool<?> pool; //the pool this effect is returned to once finished, if any
 
     /**
      * Constructs a new Fx instance with a specified sprite sheet, position, duration,
@@ -60,6 +60,29 @@ public class Fx extends SpriteExtended {
         this.magicDamage = magicDamage;
     }//end constructor
 
+    /**
+     * Prepares a pooled effect to be played again from the start.
+     * Clears everything left over from its previous use, such as the enemies it already hit.
+     *
+     * @param x               the x-coordinate to spawn the effect
+     * @param y               the y-coordinate to spawn the effect
+     * @param owner           the player that triggered this effect
+     * @param physicalDamage  the amount of physical damage this effect will deal
+     * @param magicDamage     the amount of magical damage this effect will deal
+     */
+    protected void reset(float x, float y, Player owner, float physicalDamage, float magicDamage) {
+        setPosition(x,y);
+        setVelocity(0,0);
+        this.timer = 0;
+        this.active = true;
+        this.hasHit = false;
+        this.hitEnemies.clear();
+        this.owner = owner;
+        this.physicalDamage = physicalDamage;
+        this.magicDamage = magicDamage;
+        show();
+    }//end reset
+
     /**
      * Creates the left-facing animation for this effect.
      *
@@ -71,7 +94,7 @@ public class Fx extends SpriteExtended {
      * @param loop       whether the animation should loop
      */
     protected void setAnimationLeft(int col, int row, int framStart, int noOfFrames, boolean flipped, boolean loop){
-        this.animationLeft = new AnimationExtended().createAnimation(this.spriteSheetPath, col, row, duration, framStart, noOfFrames, flipped, loop);
+        this.animationLeft = AnimationExtended.createSharedAnimation(this.spriteSheetPath, col, row, duration, framStart, noOfFrames, flipped, loop);
     }//end setAnimationLeft
 
     /**
@@ -85,7 +108,7 @@ public class Fx extends SpriteExtended {
      * @param loop       whether the animation should loop
      */
     protected void setAnimationRight(int col, int row, int framStart, int noOfFrames, boolean flipped, boolean loop){
-        this.animationRight = new AnimationExtended().createAnimation(this.spriteSheetPath, col, row, duration, framStart, noOfFrames, flipped, loop);
+        this.animationRight = AnimationExtended.createSharedAnimation(this.spriteSheetPath, col, row, duration, framStart, noOfFrames, flipped, loop);
     }//end setAnimationRight
 
     /**
@@ -117,16 +140,18 @@ public class Fx extends SpriteExtended {
      * Checks for collisions with multiple enemies in the scene.
      * Applies damage to each enemy once and tracks them to avoid repeat hits.
      *
-     * @param entities the list of entities to check against (expected to include enemies)
+     * @param enemies the enemies of the level
      */
-    protected void checkCollisionWithEnemies(ArrayList<SpriteExtended> entities) {
-        for (SpriteExtended entity : entities) {
-            if (!(entity instanceof Enemy enemy)) continue;
-
-            if (!hitEnemies.contains(enemy) && Collision.preciseCollisionSpriteToSprite(this, enemy)) {
-                enemy.takeDamage(physicalDamage, magicDamage);
+    protected void checkCollisionWithEnemies(EnemySystem enemies) {
+        World world = enemies.getWorld();
+        for (int i = 0; i < world.getCount(); i++) {
+            if (world.getKind(i) != World.KIND_ENEMY) continue;
+
+            int id = world.getId(i);
+            if (!hitEnemies.get(id) && Collision.preciseCollisionSpriteToEntity(this, world, i)) {
+                enemies.takeDamage(i, physicalDamage, magicDamage);
                 System.out.println("Damage given");
-                hitEnemies.add(enemy);
+                hitEnemies.set(id);
             }//end if
         }//end for loop
     }//end checkCollisionWithEnemies
@@ -135,16 +160,17 @@ public class Fx extends SpriteExtended {
      * Checks for a collision with a single enemy.
      * Once a collision is detected, applies damage, marks the effect as hit, and hides it.
      *
-     * @param entities the list of entities to check against (expected to include enemies)
+     * @param enemies the enemies of the level
      */
-    protected void checkCollisionWithEnemy(ArrayList<SpriteExtended> entities) {
+    protected void checkCollisionWithEnemy(EnemySystem enemies) {
         if (hasHit) return;
 
-        for (SpriteExtended entity : entities) {
-            if (!(entity instanceof Enemy enemy)) continue;
+        World world = enemies.getWorld();
+        for (int i = 0; i < world.getCount(); i++) {
+            if (world.getKind(i) != World.KIND_ENEMY) continue;
 
-            if (Collision.preciseCollisionSpriteToSprite(this, entity)) {
-                enemy.takeDamage(physicalDamage, magicDamage);
+            if (Collision.preciseCollisionSpriteToEntity(this, world, i)) {
+                enemies.takeDamage(i, physicalDamage, magicDamage);
                 hasHit = true; //Prevent future collisions
                 this.hide();
                 break;
@@ -161,12 +187,12 @@ public class Fx extends SpriteExtended {
     public void update(long elapsedTime) {
         super.update(elapsedTime);
         fxFinished();
-        if (!isActive()) return;
+        if (!isActive() || GamePlayState.getEnemies() == null) return;
         if(this.singleTarget){
-            checkCollisionWithEnemy(GamePlayState.getEntities());
+            checkCollisionWithEnemy(GamePlayState.getEnemies());
         }//end if
         else {
-            checkCollisionWithEnemies(GamePlayState.getEntities());
+            checkCollisionWithEnemies(GamePlayState.getEnemies());
         }//end else
     }//end update
 
@@ -179,4 +205,23 @@ public class Fx extends SpriteExtended {
         return active;
     }//end isActive
 
+    /**
+     * Sets the pool this effect belongs to.
+     *
+     * @param pool the pool to return this effect to once it finishes
+     */
+    void setPool(FxPool<?> pool) {
+        this.pool = pool;
+    }//end setPool
+
+    /**
+     * Hands this effect back to the pool it came from.
+     * Effects created without a pool are simply left for the garbage collector.
+     */
+    void release() {
+        if (this.pool != null) {
+            this.pool.release(this);
+        }//end if
+    }//end release
+
 }//end class
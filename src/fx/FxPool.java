@@ -0,0 +1,94 @@
+package fx;
+
+import debug.jfr.AllocationEvent;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * A free list of reusable {@link Fx} instances of a single type.
+ * <p>
+ * Effects are taken out with {@link #acquire()} and handed back automatically by the
+ * {@link EffectsManager} once they finish, so attacks that fire every few hundred
+ * milliseconds do not create a new sprite, animation and hit set every time.
+ *
+ * @param <T> the type of effect held by this pool
+ */
+public class FxPool<T extends Fx> {
+    private final ArrayList<T> free;
+    private final Supplier<T> factory;
+    private int created = 0;
+
+    /**
+     * Constructs a new pool and fills it with a number of ready-made effects.
+     *
+     * @param factory the function used to build a new effect when the pool is empty
+     * @param prewarm the number of effects to build straight away
+     */
+    public FxPool(Supplier<T> factory, int prewarm) {
+        this.factory = factory;
+        this.free = new ArrayList<>(Math.max(prewarm, 4));
+        for (int i = 0; i < prewarm; i++) {
+            this.free.add(create());
+        }//end for loop
+    }//end constructor
+
+    /**
+     * Builds a new effect that belongs to this pool.
+     *
+     * @return the new effect
+     */
+    private T create(){
+        AllocationEvent event = new AllocationEvent();
+        event.begin();
+        T fx = this.factory.get();
+        fx.setPool(this);
+        this.created++;
+        event.kind = "effect";
+        event.type = fx.getClass().getSimpleName();
+        event.commit();
+        return fx;
+    }//end create
+
+    /**
+     * Takes an effect out of the pool, building a new one only if none are free.
+     * The caller is expected to reset the effect before adding it to an {@link EffectsManager}.
+     *
+     * @return an effect that is not currently in use
+     */
+    public T acquire() {
+        if (this.free.isEmpty()) {
+            return create();
+        }//end if
+        return this.free.remove(this.free.size() - 1);
+    }//end acquire
+
+    /**
+     * Returns a finished effect to the pool so it can be reused.
+     *
+     * @param fx the effect to return, must have been acquired from this pool
+     */
+    @SuppressWarnings("unchecked")
+    void release(Fx fx) {
+        this.free.add((T) fx);
+    }//end release
+
+    /**
+     * Returns how many effects are waiting to be reused.
+     *
+     * @return the number of free effects
+     */
+    public int getFreeCount() {
+        return this.free.size();
+    }//end getFreeCount
+
+    /**
+     * Returns how many effects this pool has ever built.
+     *
+     * @return the number of effects created by this pool
+     */
+    public int getCreatedCount() {
+        return this.created;
+    }//end getCreatedCount
+
+}//end class
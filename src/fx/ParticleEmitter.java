@@ -0,0 +1,437 @@
+package fx;
+
+import render.Camera;
+import render.Layer;
+import settings.Settings;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * A fixed-capacity emitter for short-lived visual particles such as floating damage numbers,
+ * level-up messages, hit sparks and landing dust.
+ * <p>
+ * All particle data lives in parallel primitive arrays (struct-of-arrays) so emitting, updating
+ * and expiring particles never allocates. Expired particles are removed by swapping the last live
+ * particle into their slot, and the age of every particle is driven by the game's elapsed time
+ * instead of the wall clock.
+ * <p>
+ * A single global emitter is shared by the whole game, see {@link #global()}.
+ * It has its own random generator so particles can't shift the game's sequence, see {@link utilities.GameRandom},
+ * but it is seeded from the level's seed with {@link #setSeed(long)} so a replayed level draws the same particles.
+ */
+public class ParticleEmitter {
+
+    // <editor-fold desc = "CONSTANTS">
+    /** Particle kinds */
+    public static final byte KIND_TEXT = 0;
+    public static final byte KIND_SPARK = 1;
+    public static final byte KIND_DUST = 2;
+
+    /** Font used by a text particle */
+    private static final byte FONT_NORMAL = 0;
+    private static final byte FONT_LARGE = 1;
+
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int MAX_COLOURS = 32;
+    private static final int ALPHA_STEPS = 32;
+    private static final int CULL_MARGIN = 100; //text is drawn to the right of its position, so give it room
+
+    //Numbers are cached as strings so damage numbers do not allocate every hit
+    private static final int CACHED_NUMBERS = 1000;
+    private static final String[] NUMBER_STRINGS = new String[CACHED_NUMBERS];
+
+    //Composites are cached in steps since AlphaComposite.getInstance allocates for any alpha below 1
+    private static final AlphaComposite[] ALPHA_COMPOSITES = new AlphaComposite[ALPHA_STEPS + 1];
+
+    private static final ParticleEmitter GLOBAL = new ParticleEmitter(DEFAULT_CAPACITY);
+
+    static {
+        for (int i = 0; i <= ALPHA_STEPS; i++) {
+            ALPHA_COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) i / ALPHA_STEPS);
+        }//end for loop
+    }//end static
+
+    //</editor-fold> CONSTANTS
+
+    // <editor-fold desc = "PARTICLE DATA">
+    private final int capacity;
+    private int count;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] gravity;
+    private final int[] life;
+    private final int[] age;
+    private final byte[] colour;
+    private final byte[] kind;
+    private final byte[] size;
+    private final String[] text;
+
+    //</editor-fold> PARTICLE DATA
+
+    // <editor-fold desc = "SHARED RESOURCES">
+    private final Color[] palette = new Color[MAX_COLOURS];
+    private int paletteSize;
+    private final Random random = new Random(0);
+    private Font normalFont;
+    private Font largeFont;
+    private int fontScreenHeight;
+
+    //</editor-fold> SHARED RESOURCES
+
+    /**
+     * Creates an emitter that can hold up to {@code capacity} live particles.
+     * Once full, new particles are dropped instead of growing the arrays.
+     *
+     * @param capacity the maximum number of live particles
+     */
+    public ParticleEmitter(int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.gravity = new float[capacity];
+        this.life = new int[capacity];
+        this.age = new int[capacity];
+        this.colour = new byte[capacity];
+        this.kind = new byte[capacity];
+        this.size = new byte[capacity];
+        this.text = new String[capacity];
+    }//end constructor
+
+    /**
+     * Returns the emitter shared by the whole game.
+     *
+     * @return the global emitter
+     */
+    public static ParticleEmitter global() {
+        return GLOBAL;
+    }//end global
+
+    // <editor-fold desc = "EMITTING">
+    /**
+     * Emits a floating text that rises and fades out.
+     *
+     * @param message the text to display
+     * @param x       the world x-coordinate where the text appears
+     * @param y       the world y-coordinate where the text appears
+     * @param color   the colour of the text
+     */
+    public void emitText(String message, float x, float y, Color color) {
+        int i = allocate();
+        if (i < 0) return;
+
+        this.kind[i] = KIND_TEXT;
+        this.text[i] = message;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.velocityX[i] = 0;
+        this.velocityY[i] = -randomRange(0.04f, 0.12f);
+        this.gravity[i] = 0;
+        this.life[i] = 800 + random.nextInt(500);
+        this.colour[i] = colourIndex(color);
+        this.size[i] = FONT_NORMAL;
+    }//end emitText
+
+    /**
+     * Emits a floating number (such as damage or healing), rounded to the nearest whole number.
+     *
+     * @param number the number to display
+     * @param x      the world x-coordinate where the number appears
+     * @param y      the world y-coordinate where the number appears
+     * @param color  the colour of the number
+     */
+    public void emitNumber(float number, float x, float y, Color color) {
+        emitText(numberToString(Math.round(number)), x, y, color);
+    }//end emitNumber
+
+    /**
+     * Emits the special "Level Up!" text, using a larger font, a slower rise and a longer lifespan.
+     *
+     * @param x the world x-coordinate where the text appears
+     * @param y the world y-coordinate where the text appears
+     */
+    public void emitLevelUpText(float x, float y) {
+        int i = allocate();
+        if (i < 0) return;
+
+        this.kind[i] = KIND_TEXT;
+        this.text[i] = "Level Up!";
+        this.x[i] = x;
+        this.y[i] = y;
+        this.velocityX[i] = 0;
+        this.velocityY[i] = -0.04f; //slower rise
+        this.gravity[i] = 0;
+        this.life[i] = 1600; //longer lifespan
+        this.colour[i] = colourIndex(Color.YELLOW);
+        this.size[i] = FONT_LARGE;
+    }//end emitLevelUpText
+
+    /**
+     * Emits a burst of sparks flying outwards and falling, used when something gets hit.
+     *
+     * @param x      the world x-coordinate of the hit
+     * @param y      the world y-coordinate of the hit
+     * @param amount how many sparks to emit
+     * @param color  the colour of the sparks
+     */
+    public void emitSparks(float x, float y, int amount, Color color) {
+        byte colourIndex = colourIndex(color);
+        for (int n = 0; n < amount; n++) {
+            int i = allocate();
+            if (i < 0) return;
+
+            this.kind[i] = KIND_SPARK;
+            this.text[i] = null;
+            this.x[i] = x;
+            this.y[i] = y;
+            this.velocityX[i] = randomRange(-0.3f, 0.3f);
+            this.velocityY[i] = randomRange(-0.35f, -0.05f);
+            this.gravity[i] = 0.0012f;
+            this.life[i] = 200 + random.nextInt(200);
+            this.colour[i] = colourIndex;
+            this.size[i] = (byte) (2 + random.nextInt(3));
+        }//end for loop
+    }//end emitSparks
+
+    /**
+     * Emits a small puff of dust drifting sideways along the ground, used when landing.
+     *
+     * @param x      the world x-coordinate of the centre of the puff
+     * @param y      the world y-coordinate of the ground
+     * @param amount how many dust particles to emit
+     */
+    public void emitDust(float x, float y, int amount) {
+        byte colourIndex = colourIndex(Color.LIGHT_GRAY);
+        for (int n = 0; n < amount; n++) {
+            int i = allocate();
+            if (i < 0) return;
+
+            this.kind[i] = KIND_DUST;
+            this.text[i] = null;
+            this.x[i] = x + randomRange(-8f, 8f);
+            this.y[i] = y - randomRange(0f, 4f);
+            this.velocityX[i] = randomRange(-0.08f, 0.08f);
+            this.velocityY[i] = randomRange(-0.03f, -0.01f);
+            this.gravity[i] = 0;
+            this.life[i] = 300 + random.nextInt(250);
+            this.colour[i] = colourIndex;
+            this.size[i] = (byte) (3 + random.nextInt(4));
+        }//end for loop
+    }//end emitDust
+
+    /**
+     * Claims the next free slot in the arrays.
+     *
+     * @return the slot index, or -1 if the emitter is full
+     */
+    private int allocate() {
+        if (this.count >= this.capacity) {
+            return -1;
+        }//end if
+        this.age[this.count] = 0;
+        return this.count++;
+    }//end allocate
+
+    //</editor-fold> EMITTING
+
+    // <editor-fold desc = "UPDATE">
+    /**
+     * Moves and ages every live particle, removing the ones that have outlived their lifespan.
+     *
+     * @param elapsedTime the game time elapsed since the last update in milliseconds
+     */
+    public void update(long elapsedTime) {
+        int i = 0;
+        while (i < this.count) {
+            this.age[i] += (int) elapsedTime;
+
+            if (this.age[i] >= this.life[i]) {
+                removeAt(i); //the last particle is now in slot i, so check it again
+                continue;
+            }//end if
+
+            this.velocityY[i] += this.gravity[i] * elapsedTime;
+            this.x[i] += this.velocityX[i] * elapsedTime;
+            this.y[i] += this.velocityY[i] * elapsedTime;
+            i++;
+        }//end while loop
+    }//end update
+
+    /**
+     * Removes the particle at the given slot by moving the last live particle into it.
+     *
+     * @param i the slot to remove
+     */
+    private void removeAt(int i) {
+        int last = --this.count;
+        if (i != last) {
+            this.x[i] = this.x[last];
+            this.y[i] = this.y[last];
+            this.velocityX[i] = this.velocityX[last];
+            this.velocityY[i] = this.velocityY[last];
+            this.gravity[i] = this.gravity[last];
+            this.life[i] = this.life[last];
+            this.age[i] = this.age[last];
+            this.colour[i] = this.colour[last];
+            this.kind[i] = this.kind[last];
+            this.size[i] = this.size[last];
+            this.text[i] = this.text[last];
+        }//end if
+        this.text[last] = null; //don't keep the string alive
+    }//end removeAt
+
+    /**
+     * Removes every live particle, e.g. when a new level is loaded.
+     */
+    public void clear() {
+        for (int i = 0; i < this.count; i++) {
+            this.text[i] = null;
+        }//end for loop
+        this.count = 0;
+    }//end clear
+
+    /**
+     * Restarts the particles' random sequence, e.g. from the seed of a new level.
+     *
+     * @param seed the seed to start from
+     */
+    public void setSeed(long seed) {
+        this.random.setSeed(seed);
+    }//end setSeed
+
+    //</editor-fold> UPDATE
+
+    // <editor-fold desc = "DRAW">
+    /**
+     * Draws every live particle on screen, fading each one out over its lifespan.
+     * Texts are drawn with a black outline for visibility.
+     *
+     * @param g      the graphics context, in world coordinates
+     * @param camera the camera, particles it can't see are skipped
+     */
+    public void draw(Graphics2D g, Camera camera) {
+        if (this.count == 0) return;
+
+        updateFonts();
+        Composite originalComp = g.getComposite();
+
+        for (int i = 0; i < this.count; i++) {
+            int alphaStep = ALPHA_STEPS - (this.age[i] * ALPHA_STEPS) / this.life[i];
+            if (alphaStep <= 0) continue;
+
+            if (!camera.isVisible(this.x[i], this.y[i], 0, 0, CULL_MARGIN)) continue;
+            int drawX = (int) this.x[i];
+            int drawY = (int) this.y[i];
+            g.setComposite(ALPHA_COMPOSITES[alphaStep]);
+
+            if (this.kind[i] == KIND_TEXT) {
+                Layer.set(g, Layer.TEXT);
+                String message = this.text[i];
+                g.setFont(this.size[i] == FONT_LARGE ? this.largeFont : this.normalFont);
+
+                //Outline effect
+                g.setColor(Color.BLACK);
+                g.drawString(message, drawX - 1, drawY);
+                g.drawString(message, drawX + 1, drawY);
+                g.drawString(message, drawX, drawY - 1);
+                g.drawString(message, drawX, drawY + 1);
+
+                //Main text
+                g.setColor(this.palette[this.colour[i]]);
+                g.drawString(message, drawX, drawY);
+            }//end if
+            else {
+                Layer.set(g, Layer.EFFECTS);
+                int particleSize = this.size[i];
+                g.setColor(this.palette[this.colour[i]]);
+                g.fillRect(drawX - particleSize / 2, drawY - particleSize / 2, particleSize, particleSize);
+            }//end else
+        }//end for loop
+
+        g.setComposite(originalComp);
+        Layer.set(g, Layer.EFFECTS);
+    }//end draw
+
+    /**
+     * Creates the fonts once, and again only if the screen resolution changed since they were made.
+     */
+    private void updateFonts() {
+        int screenHeight = Settings.getScreenHeight();
+        if (this.normalFont == null || this.fontScreenHeight != screenHeight) {
+            this.normalFont = new Font("Arial", Font.BOLD, screenHeight / 50);
+            this.largeFont = new Font("Arial", Font.BOLD, screenHeight / 40); //Bigger
+            this.fontScreenHeight = screenHeight;
+        }//end if
+    }//end updateFonts
+
+    //</editor-fold> DRAW
+
+    // <editor-fold desc = "HELPERS">
+    /**
+     * Finds the palette slot of a colour, adding it to the palette if it's new.
+     * Falls back to the first colour if the palette is full.
+     *
+     * @param color the colour to look up
+     * @return the palette index of the colour
+     */
+    private byte colourIndex(Color color) {
+        for (int i = 0; i < this.paletteSize; i++) {
+            if (this.palette[i].equals(color)) {
+                return (byte) i;
+            }//end if
+        }//end for loop
+
+        if (this.paletteSize >= MAX_COLOURS) {
+            return 0;
+        }//end if
+        this.palette[this.paletteSize] = color;
+        return (byte) this.paletteSize++;
+    }//end colourIndex
+
+    /**
+     * Returns the text for a whole number, reusing cached strings for common values.
+     *
+     * @param number the number to convert
+     * @return the number as a string
+     */
+    private static String numberToString(int number) {
+        if (number < 0 || number >= CACHED_NUMBERS) {
+            return String.valueOf(number);
+        }//end if
+        String cached = NUMBER_STRINGS[number];
+        if (cached == null) {
+            cached = String.valueOf(number);
+            NUMBER_STRINGS[number] = cached;
+        }//end if
+        return cached;
+    }//end numberToString
+
+    /**
+     * Returns a random float between min (inclusive) and max (exclusive).
+     */
+    private float randomRange(float min, float max) {
+        return min + this.random.nextFloat() * (max - min);
+    }//end randomRange
+
+    /**
+     * @return the number of live particles
+     */
+    public int getCount() {
+        return count;
+    }//end getCount
+
+    /**
+     * @return the maximum number of live particles
+     */
+    public int getCapacity() {
+        return capacity;
+    }//end getCapacity
+
+    //</editor-fold> HELPERS
+
+}//end class
@@ -2,6 +2,7 @@ package fx.effects;
 
 import entity.player.Player;
 import fx.Fx;
+import gameExtended2D.AnimationExtended;
 
 /**
  * Represents the visual effect triggered when the player performs a physical attack.
@@ -13,6 +14,23 @@ public class PhysicalAttackFx extends Fx {
     //TODO in the fx class, change the set and play animation to take into consideration the direction of the player
     // and to automatically load the right animation in. Set the col, row, frame etc, into the constructor of the fx class
     // so when you call super() you put the numbers there, and it reduces so much work and stuff to remember for it
+    //The frame duration the shared animations were built with, used to play them faster or slower when needed
+    private final int builtDuration;
+
+    /**
+     * Constructs a new PhysicalAttackFx instance ready to be pooled.
+     * Both directional animations are created once here and reused every time the effect is played,
+     * the effect does nothing until {@link #launch} is called.
+     *
+     * @param duration how long each frame of the effect lasts (in milliseconds)
+     */
+    public PhysicalAttackFx(int duration) {
+        super("images/FX/PhysicalAttackFx.png", 0, 0, duration, null, 0, 0);
+        this.builtDuration = duration;
+        setAnimationLeft(7,1,0,7,true,false);
+        setAnimationRight(7,1,0,7,false,false);
+    }//end constructor
+
     /**
      * Constructs a new PhysicalAttackFx instance.
      * Loads the appropriate directional animation based on the player's facing direction,
@@ -27,16 +45,29 @@ public class PhysicalAttackFx extends Fx {
      * @param magicDamage    the amount of magical damage this effect represents
      */
     public PhysicalAttackFx(float x, float y, int duration, Player.Directions direction, Player player, float physicalDamage, float magicDamage) {
-        super("images/FX/PhysicalAttackFx.png", x, y, duration, player, physicalDamage, magicDamage);
-
-        if (direction == Player.Directions.LEFT){
-            setAnimationLeft(7,1,0,7,true,false);
-            super.setAndPlayAnimation(super.animationLeft);
-        }//end if
-        else {
-            setAnimationRight(7,1,0,7,false,false);
-            super.setAndPlayAnimation(super.animationRight);
-        }//end else
+        this(duration);
+        launch(x, y, duration, direction, player, physicalDamage, magicDamage);
     }//end constructor
 
+    /**
+     * Plays this effect from the start at a new position.
+     * Picks the animation matching the player's facing direction and clears any enemies hit by a previous swing.
+     *
+     * @param x              the x-position to spawn the effect
+     * @param y              the y-position to spawn the effect
+     * @param duration       how long each frame of the effect lasts (in milliseconds)
+     * @param direction      the direction the player is facing (left or right)
+     * @param player         the player who triggered the effect
+     * @param physicalDamage the amount of physical damage this effect represents
+     * @param magicDamage    the amount of magical damage this effect represents
+     */
+    public void launch(float x, float y, int duration, Player.Directions direction, Player player, float physicalDamage, float magicDamage) {
+        super.reset(x, y, player, physicalDamage, magicDamage);
+
+        AnimationExtended animation = (direction == Player.Directions.LEFT) ? super.animationLeft : super.animationRight;
+        //the shared frames keep the duration they were built with, so speed the playback up or down instead
+        animation.setAnimationSpeed(duration > 0 ? (float) this.builtDuration / duration : 1f);
+        super.setAndPlayAnimation(animation);
+    }//end launch
+
 }//end class
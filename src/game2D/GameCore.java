@@ -1,9 +1,20 @@
 package game2D;
 
+import debug.MemoryTelemetry;
+import debug.Profiler;
+import debug.jfr.FrameEvent;
+import debug.jfr.RenderFrameEvent;
+import render.RenderSnapshot;
+import render.TripleBuffer;
+import utilities.ResolutionScaler;
+
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.*;
 
@@ -19,15 +30,39 @@ public abstract class GameCore extends JFrame implements KeyListener {
 	private static final long serialVersionUID = 1L;
 	protected static final int FONT_SIZE = 12;
     
-    private boolean stop;			// true if the game loop should continue
+    private volatile boolean stop;	// true if the game loop should continue
     private	long startTime;				// The time the game started
     private long currTime;				// The current time
     private long elapsedTime;			// Elapsed time since previous check
     
-    private long frames;				// Used to calculate frames per second (FPS)
+    private volatile long frames;		// Used to calculate frames per second (FPS)
     
     private BufferedImage buffer=null;	// buffer is used as a buffered image for drawing offscreen
     private Graphics2D 	  bg=null;    		// The virtual Graphics2D device associated with the above image
+    private int bufferWidth=0;			// Size of the game screen passed to run()
+    private int bufferHeight=0;
+
+    private BufferStrategy strategy=null;		// Flips (or copies) finished frames to the screen
+    private GraphicsDevice fullScreenDevice=null;	// The screen in exclusive full screen mode, null when windowed
+
+    private int renderWidth=0;			// Size of the buffer in pixels, 0 to use the size of the window
+    private int renderHeight=0;
+    private double renderScale=1;		// Scale from the units draw() uses to pixels of the buffer
+    private int presentScale=1;			// Whole number the buffer is upscaled by when drawn to the window
+    private int presentX=0;				// Where the upscaled buffer is drawn in the window
+    private int presentY=0;
+
+    private ResolutionScaler resolutionScaler=null;	// Picks the scale the world is drawn at, null to always draw it at full size
+    private BufferedImage worldBuffer=null;			// The world is drawn here when it is scaled down, then stretched onto buffer
+    private Graphics2D 	  wg=null;
+    private final AffineTransform identity = new AffineTransform();
+
+    private static final long RENDER_WAIT = 2_000_000L;	// Longest the render thread sleeps waiting for a snapshot, in nanoseconds
+    private boolean threadedRendering=false;		// Draw on a separate render thread
+    private TripleBuffer<RenderSnapshot> snapshots=null;	// Recorded frames passed from the game loop to the render thread
+    private RenderSnapshot snapshot=null;			// The recorded frame when drawing on the game loop thread
+    private RenderSnapshot lastSnapshot=null;		// The last snapshot recorded, its state carries over to the next
+    private Thread renderThread=null;
     
     
     /**
@@ -81,15 +116,160 @@ public abstract class GameCore extends JFrame implements KeyListener {
      * @param yres	Height in pixels of game screen
      */
     private void init(boolean full, int xres, int yres) {
-    	
+    	bufferWidth = xres;
+    	bufferHeight = yres;
+
+    	// We draw every frame ourselves, so ignore repaint requests from the OS
+    	setIgnoreRepaint(true);
+    	if (full)
+    		initFullScreen(xres, yres);
+    	else
+    		setVisible(true);
+
+    	// Page flipping in exclusive full screen mode, otherwise the best copy the platform has
+    	createBufferStrategy(2);
+    	strategy = getBufferStrategy();
 
-        setVisible(true);
-        
         addKeyListener(this);
         setFont(new Font("Dialog", Font.PLAIN, FONT_SIZE));
     }
+
+    /**
+     * Makes the window cover the screen. Uses exclusive full screen mode with the
+     * smallest display mode that fits the game screen if the platform supports it,
+     * otherwise a borderless window the size of the screen. Must be called before
+     * the window is first shown.
+     *
+     * @param xres	Width in pixels of game screen
+     * @param yres	Height in pixels of game screen
+     */
+    private void initFullScreen(int xres, int yres)
+    {
+    	GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+    	setUndecorated(true);
+    	setResizable(false);
+
+    	if (!device.isFullScreenSupported())
+    	{
+    		System.out.println("Exclusive full screen is not supported, using a borderless window");
+    		setBounds(device.getDefaultConfiguration().getBounds());
+    		setVisible(true);
+    		return;
+    	}
+
+    	device.setFullScreenWindow(this);
+    	fullScreenDevice = device;
+    	if (device.isDisplayChangeSupported())
+    	{
+    		DisplayMode mode = findDisplayMode(device, xres, yres);
+    		if (mode != null)
+    		{
+    			try
+    			{
+    				device.setDisplayMode(mode);
+    			}
+    			catch (IllegalArgumentException | UnsupportedOperationException e)
+    			{
+    				System.out.println("Could not change the display mode, keeping the desktop's: " + e);
+    			}
+    		}
+    	}
+    	setSize(device.getDisplayMode().getWidth(), device.getDisplayMode().getHeight());
+    }
+
+    /**
+     * Finds the smallest display mode that the game screen fits in, keeping the
+     * desktop's bit depth and preferring the highest refresh rate.
+     *
+     * @param device The screen to search
+     * @param xres	Width in pixels of game screen
+     * @param yres	Height in pixels of game screen
+     * @return The display mode, or null if none fits
+     */
+    private DisplayMode findDisplayMode(GraphicsDevice device, int xres, int yres)
+    {
+    	DisplayMode current = device.getDisplayMode();
+    	DisplayMode best = null;
+    	for (DisplayMode mode : device.getDisplayModes())
+    	{
+    		if (mode.getWidth() < xres || mode.getHeight() < yres) continue;
+    		if (mode.getBitDepth() != current.getBitDepth()
+    				&& mode.getBitDepth() != DisplayMode.BIT_DEPTH_MULTI
+    				&& current.getBitDepth() != DisplayMode.BIT_DEPTH_MULTI) continue;
+    		if (best == null
+    				|| mode.getWidth() * mode.getHeight() < best.getWidth() * best.getHeight()
+    				|| (mode.getWidth() == best.getWidth() && mode.getHeight() == best.getHeight()
+    					&& mode.getRefreshRate() > best.getRefreshRate()))
+    			best = mode;
+    	}
+    	return best;
+    }
     
 
+    /**
+     * Draws the game into a fixed size buffer instead of one the size of the window. Each frame
+     * the buffer is upscaled by the largest whole number that fits the window, using nearest
+     * neighbour, and centred with black bars around it. Call this before run().
+     *
+     * @param width Width of the buffer in pixels
+     * @param height Height of the buffer in pixels
+     * @param scale Scale from the units draw() uses to pixels of the buffer, e.g. 0.5 to draw a
+     * 1280x720 screen into a 640x360 buffer
+     */
+    public void setRenderTarget(int width, int height, double scale)
+    {
+    	renderWidth = width;
+    	renderHeight = height;
+    	renderScale = scale;
+    }
+
+    /**
+     * Lets the scaler lower the resolution the world is drawn at when frames take too long.
+     * Only draw() is scaled, drawHud() is always drawn at full resolution. Call this before run().
+     *
+     * @param scaler The scaler to use, or null to always draw the world at full resolution
+     */
+    public void setResolutionScaler(ResolutionScaler scaler)
+    {
+    	resolutionScaler = scaler;
+    }
+
+    /**
+     * Draws on a separate render thread so update() doesn't wait for the frame to be drawn.
+     * After each update the game loop records draw() and drawHud() into a snapshot, which
+     * the render thread draws and shows while the next update runs. draw() and drawHud()
+     * still run on the game loop thread, so they can read the game's state as before, but
+     * they must only draw: the Graphics2D they get records, so it can't be read back.
+     * Call this before run().
+     *
+     * @param threaded True to draw on a separate thread
+     */
+    public void setThreadedRendering(boolean threaded)
+    {
+    	threadedRendering = threaded;
+    }
+
+    /**
+     * @return The scale the world is currently drawn at, 1 for full resolution
+     */
+    public double getRenderScale()
+    {
+    	return resolutionScaler == null ? 1 : resolutionScaler.getScale();
+    }
+
+    /**
+     * Converts a position in the window, e.g. of the mouse, to the units draw() uses.
+     *
+     * @param x The x position in the window
+     * @param y The y position in the window
+     * @return The same position in the units draw() uses
+     */
+    public Point toRenderPoint(int x, int y)
+    {
+    	return new Point((int)((x - presentX) / presentScale / renderScale),
+    			(int)((y - presentY) / presentScale / renderScale));
+    }
+
     /**
      * Loads an image with the given 'fileName'
      * 
@@ -106,46 +286,278 @@ public abstract class GameCore extends JFrame implements KeyListener {
      *  
      *  This method will call your update() method followed by your draw()
      *  method to display the updated game state. It implements double buffering
-     *  for both full screen and windowed mode.
+     *  for both full screen and windowed mode, and restores the display when
+     *  the loop ends in full screen mode.
      */
     public void gameLoop() {
         startTime = System.currentTimeMillis();
         currTime = startTime;
         frames = 1;		// Keep a note of frames for performance measure
 
-        Graphics2D g;
         stop = false;
         
-        // Create our own buffer
-        buffer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
-        bg = (Graphics2D)buffer.createGraphics();
-        bg.setClip(0, 0, getWidth(), getHeight());
+        // Create our own buffer, either the size of the window or the fixed render target
+        if (renderWidth > 0)
+        {
+        	buffer = new BufferedImage(renderWidth, renderHeight, BufferedImage.TYPE_INT_RGB);
+        	bg = buffer.createGraphics();
+        	bg.scale(renderScale, renderScale);
+        	bg.setClip(0, 0, (int)Math.ceil(renderWidth / renderScale), (int)Math.ceil(renderHeight / renderScale));
+        }
+        else
+        {
+        	buffer = new BufferedImage(bufferWidth, bufferHeight, BufferedImage.TYPE_INT_RGB);
+        	bg = buffer.createGraphics();
+        	bg.setClip(0, 0, bufferWidth, bufferHeight);
+        }
+        if (resolutionScaler != null)
+        {
+        	worldBuffer = new BufferedImage(buffer.getWidth(), buffer.getHeight(), BufferedImage.TYPE_INT_RGB);
+        	wg = worldBuffer.createGraphics();
+        }
+
+        // Frames are recorded and then drawn sorted by layer, on a thread of their own if threaded
+        Rectangle screen = bg.getClipBounds();
+        AffineTransform device = bg.getTransform();
+        if (threadedRendering)
+        {
+        	snapshots = new TripleBuffer<>(() -> new RenderSnapshot(screen.width, screen.height, device));
+        	renderThread = new Thread(this::renderLoop, "Render");
+        	renderThread.start();
+        }
+        else
+        	snapshot = new RenderSnapshot(screen.width, screen.height, device);
         
         while (!stop) {
             elapsedTime = System.currentTimeMillis() - currTime;
             currTime += elapsedTime;
 
+            FrameEvent frameEvent = new FrameEvent();
+            frameEvent.begin();
+
             // Call the overridden update method
+            long updateStart = System.nanoTime();
+            Profiler.begin(Profiler.UPDATE);
             update(elapsedTime);
+            Profiler.end(Profiler.UPDATE);
+            long drawStart = System.nanoTime();
 
-	        // Get the current graphics device 	            
-            g = (Graphics2D)getGraphics();
-            
-            
-	        if (g != null)
-	        {
-	            	draw(bg);
-	            	g.drawImage(buffer,null,0,0);
+            if (snapshots != null)
+            {
+            	recordFrame(snapshots.back());
+            	snapshots.publish();
+            	LockSupport.unpark(renderThread);
+            }
+            else
+            {
+            	Profiler.begin(Profiler.DRAW);
+            	recordFrame(snapshot);
+            	drawFrame(snapshot);
+            	Profiler.end(Profiler.DRAW);
+            	Profiler.begin(Profiler.BLIT);
+            	present();
+            	Profiler.end(Profiler.BLIT);
+            }
+
+            frameEvent.end();
+            if (frameEvent.shouldCommit()) {
+                frameEvent.frame = frames;
+                frameEvent.elapsed = elapsedTime;
+                frameEvent.updateDuration = drawStart - updateStart;
+                frameEvent.threaded = snapshots != null;
+                frameEvent.drawDuration = System.nanoTime() - drawStart;
+                frameEvent.commit();
             }
             
-            frames++;
+            Profiler.endTick();
+            if (snapshots == null) endFrame(System.nanoTime() - updateStart);
 
             // take a nap
             try { Thread.sleep(10); } catch (InterruptedException ex) { }
         }
+        if (renderThread != null)
+        {
+        	LockSupport.unpark(renderThread);
+        	try { renderThread.join(); } catch (InterruptedException ex) { }
+        }
+        if (fullScreenDevice != null) fullScreenDevice.setFullScreenWindow(null);
         System.exit(0);
     }
+
+    /**
+     * Records draw() and drawHud() into a snapshot.
+     *
+     * @param snapshot The snapshot to record into
+     */
+    private void recordFrame(RenderSnapshot snapshot)
+    {
+    	snapshot.reset(frames, lastSnapshot);
+    	draw(snapshot.getWorld());
+    	drawHud(snapshot.beginHud());
+    	lastSnapshot = snapshot;
+    }
+
+    /**
+     * The render thread: draws the newest snapshot whenever there is one, until the game stops.
+     * Snapshots that were replaced before it got to them are skipped.
+     */
+    private void renderLoop()
+    {
+    	try
+    	{
+    		while (!stop)
+    		{
+    			RenderSnapshot snapshot = snapshots.latest();
+    			if (snapshot == null)
+    			{
+    				LockSupport.parkNanos(RENDER_WAIT);
+    				continue;
+    			}
+    			RenderFrameEvent renderEvent = new RenderFrameEvent();
+    			renderEvent.begin();
+    			long drawStart = System.nanoTime();
+    			Profiler.begin(Profiler.DRAW);
+    			drawFrame(snapshot);
+    			Profiler.end(Profiler.DRAW);
+    			long presentStart = System.nanoTime();
+    			Profiler.begin(Profiler.BLIT);
+    			present();
+    			Profiler.end(Profiler.BLIT);
+    			long presentEnd = System.nanoTime();
+    			renderEvent.end();
+    			if (renderEvent.shouldCommit())
+    			{
+    				renderEvent.frame = snapshot.getFrame();
+    				renderEvent.drawDuration = presentStart - drawStart;
+    				renderEvent.presentDuration = presentEnd - presentStart;
+    				renderEvent.commit();
+    			}
+    			endFrame(presentEnd - drawStart);
+    		}
+    	}
+    	catch (RuntimeException e)
+    	{
+    		e.printStackTrace();
+    		stop();
+    	}
+    }
+
+    /**
+     * Counts a frame that reached the screen and passes its time to the resolution scaler and the profiler.
+     *
+     * @param workNanos How long this thread worked on the frame, without the time the loop sleeps or waits for a snapshot.
+     * 					Threaded, that is drawing and presenting it, the only part the world's scale changes
+     */
+    private void endFrame(long workNanos)
+    {
+    	frames++;
+    	if (resolutionScaler != null)
+    		resolutionScaler.addFrame(workNanos);
+    	Profiler.endFrame();
+    	MemoryTelemetry.endFrame();
+    }
     
+    /**
+     * Draws a recorded frame into the buffer, the world and then the HUD. When the world is scaled down
+     * it is drawn into the top left of worldBuffer and stretched over the buffer, nearest neighbour.
+     *
+     * @param snapshot The recorded frame to draw
+     */
+    private void drawFrame(RenderSnapshot snapshot)
+    {
+    	double scale = getRenderScale();
+    	int width = buffer.getWidth();
+    	int height = buffer.getHeight();
+    	int w = (int)Math.ceil(width * scale);
+    	int h = (int)Math.ceil(height * scale);
+
+    	Graphics2D world = bg;
+    	if (scale < 1)
+    	{
+    		wg.setTransform(identity);
+    		wg.scale(renderScale * scale, renderScale * scale);
+    		wg.setClip(0, 0, (int)Math.ceil(width / renderScale), (int)Math.ceil(height / renderScale));
+    		world = wg;
+    	}
+
+    	snapshot.getWorld().replay(world);
+
+    	if (scale < 1)
+    	{
+    		AffineTransform transform = bg.getTransform();
+    		bg.setTransform(identity);
+    		bg.drawImage(worldBuffer, 0, 0, width, height, 0, 0, w, h, null);
+    		bg.setTransform(transform);
+    	}
+
+    	snapshot.getHud().replay(bg);
+    	Profiler.countCommands(snapshot.getWorld());
+    	Profiler.countCommands(snapshot.getHud());
+    }
+
+    /**
+     * Shows the finished buffer on the screen through the buffer strategy,
+     * drawing it again if the strategy's contents were lost.
+     */
+    private void present()
+    {
+    	do
+    	{
+    		do
+    		{
+    			Graphics2D g = (Graphics2D)strategy.getDrawGraphics();
+    			try
+    			{
+    				drawBuffer(g);
+    			}
+    			finally
+    			{
+    				g.dispose();
+    			}
+    		} while (strategy.contentsRestored());
+    		strategy.show();
+    	} while (strategy.contentsLost());
+    }
+
+    /**
+     * Draws the buffer centred in the window and fills the rest of the window with black.
+     * A fixed size render target is upscaled by the largest whole number that fits, nearest neighbour.
+     *
+     * @param g The Graphics2D object of the window
+     */
+    private void drawBuffer(Graphics2D g)
+    {
+    	int width = getWidth();
+    	int height = getHeight();
+    	presentScale = renderWidth > 0 ? Math.max(1, Math.min(width / renderWidth, height / renderHeight)) : 1;
+    	int w = buffer.getWidth() * presentScale;
+    	int h = buffer.getHeight() * presentScale;
+    	presentX = Math.max(0, (width - w) / 2);
+    	presentY = Math.max(0, (height - h) / 2);
+
+    	if (presentScale == 1)
+    	{
+    		g.drawImage(buffer, presentX, presentY, null);
+    	}
+    	else
+    	{
+    		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    		g.drawImage(buffer, presentX, presentY, w, h, null);
+    	}
+
+    	g.setColor(Color.BLACK);
+    	if (presentX > 0)
+    	{
+    		g.fillRect(0, 0, presentX, height);
+    		g.fillRect(presentX + w, 0, width - presentX - w, height);
+    	}
+    	if (presentY > 0)
+    	{
+    		g.fillRect(presentX, 0, w, presentY);
+    		g.fillRect(presentX, presentY + h, w, height - presentY - h);
+    	}
+    }
+
     /**
      * @return The current frames per second (FPS)
      */
@@ -190,4 +602,12 @@ public abstract class GameCore extends JFrame implements KeyListener {
      * @param g The Graphics2D object to draw with.
      */
     public abstract void draw(Graphics2D g);
+
+    /**
+     * Draws anything that should stay at full resolution, e.g. text, on top of
+     * what draw() drew. Override this if the world may be scaled down.
+     *
+     * @param g The Graphics2D object to draw with.
+     */
+    public void drawHud(Graphics2D g) { /* do nothing */ }
 }
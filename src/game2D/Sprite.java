@@ -1,5 +1,7 @@
 package game2D;
 
+import settings.Settings;
+
 import java.awt.Image;
 import java.awt.*;
 import java.awt.geom.*;
@@ -37,6 +39,9 @@ public class Sprite {
 
     // If render is 'true', the sprite will be drawn when requested
     private boolean render;
+
+    // Reused by drawTransformed, so drawing doesn't allocate a transform every frame
+    private final AffineTransform transform = new AffineTransform();
     
     // The draw offset associated with this sprite. Used to draw it
     // relative to specific on screen position (usually the entity.player)
@@ -204,20 +209,20 @@ public class Sprite {
     
     /**
         Gets this Sprite's width, based on the size of the
-        current image.
+        current image and the asset scale in Settings.
     */
     public int getWidth() 
     {
-        return (int)(anim.getImage().getWidth(null)*Math.abs(xscale));
+        return (int)(anim.getImage().getWidth(null)*Settings.getAssetScale()*Math.abs(xscale));
     }
 
     /**
         Gets this Sprite's height, based on the size of the
-        current image.
+        current image and the asset scale in Settings.
     */
     public int getHeight() 
     {
-        return (int)(anim.getImage().getHeight(null)*Math.abs(yscale));
+        return (int)(anim.getImage().getHeight(null)*Settings.getAssetScale()*Math.abs(yscale));
     }
 
     /**
@@ -364,13 +369,18 @@ public class Sprite {
 	/**
 		Draws the sprite with the graphics object 'g' at
 		the current x and y co-ordinates. Scaling and rotation
-		transforms are NOT applied.
+		transforms are NOT applied, only the asset scale.
 	*/
     public void draw(Graphics2D g)
     {
     	if (!render) return;
 
-    	g.drawImage(getImage(),(int)x+xoff,(int)y+yoff,null);
+		Image img = getImage();
+		int scale = Settings.getAssetScale();
+		if (scale == 1)
+			g.drawImage(img,(int)x+xoff,(int)y+yoff,null);
+		else
+			g.drawImage(img,(int)x+xoff,(int)y+yoff,img.getWidth(null)*scale,img.getHeight(null)*scale,null);
     }
 
     /**
@@ -382,7 +392,8 @@ public class Sprite {
     	if (!render) return;
 
 		Image img = getImage();
-    	g.drawRect((int)x+xoff,(int)y+yoff,img.getWidth(null),img.getHeight(null));
+		int scale = Settings.getAssetScale();
+    	g.drawRect((int)x+xoff,(int)y+yoff,img.getWidth(null)*scale,img.getHeight(null)*scale);
     }
     
     /**
@@ -394,8 +405,9 @@ public class Sprite {
     	if (!render) return;
 
 		Image img = getImage();
+		int scale = Settings.getAssetScale();
 		
-    	g.drawArc((int)x+xoff,(int)y+yoff,img.getWidth(null),img.getHeight(null),0, 360);
+    	g.drawArc((int)x+xoff,(int)y+yoff,img.getWidth(null)*scale,img.getHeight(null)*scale,0, 360);
     }
     
 	/**
@@ -409,7 +421,19 @@ public class Sprite {
     {
     	if (!render) return;
 
-		AffineTransform transform = new AffineTransform();
+		// Nothing to transform, flipping is already in the animation frames
+		if (xscale == 1 && yscale == 1 && rotation == 0)
+		{
+			Image img = getImage();
+			int scale = Settings.getAssetScale();
+			if (scale == 1)
+				g.drawImage(img,Math.round(x)+xoff,Math.round(y)+yoff,null);
+			else
+				g.drawImage(img,Math.round(x)+xoff,Math.round(y)+yoff,img.getWidth(null)*scale,img.getHeight(null)*scale,null);
+			return;
+		}
+
+		transform.setToIdentity();
 		
 		// Apply scaling to current x and y positions to 
 		// ensure shifted left and up when flipped due to scaling.
@@ -419,7 +443,7 @@ public class Sprite {
 		if (yscale < 0) shifty = getHeight();
 		
 		transform.translate(Math.round(x)+shiftx+xoff,Math.round(y)+shifty+yoff);
-		transform.scale(xscale,yscale);
+		transform.scale(xscale*Settings.getAssetScale(),yscale*Settings.getAssetScale());
 		transform.rotate(rotation,getImage().getWidth(null)/2,getImage().getHeight(null)/2);
 		// Apply transform to the image and draw it
 		g.drawImage(getImage(),transform,null);
@@ -335,22 +335,30 @@ public class TileMap
 		if (g == null) return;
 	
 		Image img=null;
-		Rectangle rect = (Rectangle)g.getClip();
+		Rectangle rect = g.getClipBounds();
 		int xc,yc;
 		
-		for (int r=0; r<mapHeight; r++)
+		// Only visit the tiles inside the clip, which is in the same coordinates as the
+		// offsets, so the map can also be drawn through a translated graphics device
+		int firstCol = 0, lastCol = mapWidth-1;
+		int firstRow = 0, lastRow = mapHeight-1;
+		if (rect != null)
 		{
-			for (int c=0; c<mapWidth; c++)
+			firstCol = Math.max(firstCol, Math.floorDiv(rect.x - xoff, tileWidth));
+			lastCol = Math.min(lastCol, Math.floorDiv(rect.x + rect.width - 1 - xoff, tileWidth));
+			firstRow = Math.max(firstRow, Math.floorDiv(rect.y - yoff, tileHeight));
+			lastRow = Math.min(lastRow, Math.floorDiv(rect.y + rect.height - 1 - yoff, tileHeight));
+		}
+		
+		for (int r=firstRow; r<=lastRow; r++)
+		{
+			for (int c=firstCol; c<=lastCol; c++)
 			{
 				img = getTileImage(c, r);
 				if (img == null) continue;
 				xc = xoff + c*tileWidth;
 				yc = yoff + r*tileHeight;
-				
-				// Only draw the tile if it is on screen, otherwise go back round the loop
-				if (xc+tileWidth < 0 || xc >= rect.x + rect.width) continue;
-				if (yc+tileHeight < 0 || yc >= rect.y + rect.height) continue;
-				g.drawImage(img,xc,yc,null);
+				g.drawImage(img,xc,yc,tileWidth,tileHeight,null);
 			}
 		}		
 	}
@@ -1,5 +1,6 @@
 package gameExtended2D;
 
+import debug.jfr.SpriteSheetLoadEvent;
 import game2D.Animation;
 import settings.Settings;
 
@@ -8,6 +9,8 @@ import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * An extended version of the base {@link Animation} class that adds features like:
@@ -19,6 +22,9 @@ import java.util.ArrayList;
  */
 public class AnimationExtended extends Animation {
 
+    //Frames that have already been loaded, flipped and scaled, shared between animations
+    private static final Map<String, Image[]> SHARED_FRAMES = new HashMap<>();
+
     //instance variables
     private String spriteSheetPath;
     private int spriteSheetCol;
@@ -110,15 +116,17 @@ public class AnimationExtended extends Animation {
     }//end scaleImage method
 
     /**
-     * Scales all frames of an animation based on the global tile scale defined in {@link Settings}.
+     * Scales all frames of an animation based on the image scale defined in {@link Settings}.
+     * In low resolution mode the frames are kept at their source size.
      *
      * @param animation the animation whose frames should be scaled
      */
     private void scaleAnimation(AnimationExtended animation){
+        if (Settings.getImageScale() == 1) return;
         for(int i = 0; i < animation.getFrames().size(); i++){
             BufferedImage bufferedImage = (BufferedImage) animation.getFrameImage(i);
-            int widthSize = bufferedImage.getWidth() * Settings.getTileScale();
-            int heightSize = bufferedImage.getHeight() * Settings.getTileScale();
+            int widthSize = bufferedImage.getWidth() * Settings.getImageScale();
+            int heightSize = bufferedImage.getHeight() * Settings.getImageScale();
             animation.setFrameImage(i, scaleImage(bufferedImage, widthSize, heightSize));
         }//end for loop
     }//end scaleAnimation
@@ -150,15 +158,61 @@ public class AnimationExtended extends Animation {
      * @return the created and configured AnimationExtended
      */
     public AnimationExtended createAnimation(String spriteSheetPath, int spriteSheetCol, int spriteSheetRow, long spriteSheetFrameDuration, int frameStartNo, int numFrames, boolean flipped, boolean loop){
+        SpriteSheetLoadEvent event = new SpriteSheetLoadEvent();
+        event.begin();
         AnimationExtended animation = new AnimationExtended(loop);
         animation.loadAnimationSeries(spriteSheetPath, spriteSheetCol, spriteSheetRow, spriteSheetFrameDuration, frameStartNo, numFrames);
         if(flipped){
             flipAnimationHorizontally(animation);
         }//end if
         scaleAnimation(animation); //scale the animation
+        event.path = spriteSheetPath;
+        event.frames = animation.getFrames().size();
+        event.flipped = flipped;
+        event.commit();
         return animation;
     }//end createAnimation method
 
+    /**
+     * Creates a new AnimationExtended from a sprite sheet, reusing frames that were already loaded.
+     * <p>
+     * The sprite sheet is only read from disk, flipped and scaled the first time a given
+     * combination of parameters is requested. Every call after that returns a new animation
+     * with its own playback position that shares the cached frame images, so it costs no I/O.
+     *
+     * @param spriteSheetPath          the path to the sprite sheet
+     * @param spriteSheetCol           the number of columns in the sprite sheet
+     * @param spriteSheetRow           the number of rows in the sprite sheet
+     * @param spriteSheetFrameDuration the duration of each frame in milliseconds
+     * @param frameStartNo             the starting frame index
+     * @param numFrames                the number of frames to use
+     * @param flipped                  whether the frames should be flipped horizontally
+     * @param loop                     whether the animation should loop
+     * @return a new AnimationExtended sharing its frame images with every other animation of the same clip
+     */
+    public static AnimationExtended createSharedAnimation(String spriteSheetPath, int spriteSheetCol, int spriteSheetRow, long spriteSheetFrameDuration, int frameStartNo, int numFrames, boolean flipped, boolean loop){
+        String key = spriteSheetPath + ":" + spriteSheetCol + ":" + spriteSheetRow + ":" + frameStartNo + ":" + numFrames + ":" + flipped;
+
+        Image[] frames;
+        synchronized (SHARED_FRAMES) {
+            frames = SHARED_FRAMES.get(key);
+            if (frames == null) {
+                AnimationExtended loaded = new AnimationExtended().createAnimation(spriteSheetPath, spriteSheetCol, spriteSheetRow, spriteSheetFrameDuration, frameStartNo, numFrames, flipped, loop);
+                frames = new Image[loaded.getFrames().size()];
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = loaded.getFrameImage(i);
+                }//end for loop
+                SHARED_FRAMES.put(key, frames);
+            }//end if
+        }//end synchronized
+
+        AnimationExtended animation = new AnimationExtended(loop);
+        for (Image frame : frames) {
+            animation.addFrame(frame, spriteSheetFrameDuration);
+        }//end for loop
+        return animation;
+    }//end createSharedAnimation method
+
     /**
      * Returns the list of animation frames in this animation.
      *
@@ -0,0 +1,57 @@
+package gameExtended2D;
+
+/**
+ * Generates maps of any size in the same format as the files in {@code maps/mapLevels}, for stress tests and
+ * benchmarks: walls around the edge, ground along the bottom and rows of platforms every four tiles.
+ * <p>
+ * The result can be loaded with {@link TileMapExtended#loadMap(String, java.io.Reader, String)} and a
+ * {@link java.io.StringReader}, with {@code "maps"} as the folder so the normal tile images are used.
+ */
+public class MapGenerator {
+    private static final int WALL = 108;
+    private static final int GROUND_TOP = 60;
+    private static final int PLATFORM_LEFT = 0;
+    private static final int PLATFORM_MIDDLE = 1;
+    private static final int PLATFORM_RIGHT = 2;
+    private static final int EMPTY = -1;
+
+    /**
+     * Generates a map.
+     *
+     * @param width  the width of the map in tiles
+     * @param height the height of the map in tiles
+     * @return the map in the map file format
+     */
+    public static String generate(int width, int height) {
+        StringBuilder map = new StringBuilder(width * height * 3 + 32);
+        map.append(width).append(' ').append(height).append(" 32 32\n");
+        map.append("#map\n");
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (col > 0) map.append(',');
+                map.append(tileAt(col, row, width, height));
+            }//end nested for loop
+            map.append('\n');
+        }//end for loop
+        return map.toString();
+    }//end generate
+
+    /**
+     * Returns the tile code of a cell: walls around the edge, ground along the bottom and
+     * six-tile platforms with five-tile gaps on every fourth row, shifted on alternate rows.
+     */
+    private static int tileAt(int col, int row, int width, int height) {
+        if (row == 0 || row == height - 1 || col == 0 || col == width - 1) return WALL;
+        if (row == height - 2) return GROUND_TOP;
+
+        int fromGround = height - 2 - row;
+        if (fromGround % 4 != 0) return EMPTY;
+
+        int position = (col + (fromGround / 4) * 5) % 11;
+        if (position == 0) return PLATFORM_LEFT;
+        if (position < 5) return PLATFORM_MIDDLE;
+        if (position == 5) return PLATFORM_RIGHT;
+        return EMPTY;
+    }//end tileAt
+
+}//end class
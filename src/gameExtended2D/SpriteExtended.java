@@ -18,6 +18,10 @@ public class SpriteExtended extends Sprite {
     @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
     private AnimationExtended animationExtended;
 
+    //Where the sprite was at the start of the current tick, used to sweep collisions along its path
+    private float previousX;
+    private float previousY;
+
     /**
      * Constructs a new SpriteExtended with an empty {@link AnimationExtended}
      * and assigns it as the default animation.
@@ -28,6 +32,33 @@ public class SpriteExtended extends Sprite {
         super.setAnimation(this.animationExtended);
     }//end constructor
 
+    /**
+     * Remembers the sprite's current position as where it started this tick.
+     * Called before the sprite is updated so collision checks can follow the whole path it moved along.
+     */
+    public void storePreviousPosition() {
+        this.previousX = getX();
+        this.previousY = getY();
+    }//end storePreviousPosition
+
+    /**
+     * Returns the x-position stored by the last call to {@link #storePreviousPosition()}.
+     *
+     * @return the x-position at the start of the tick
+     */
+    public float getPreviousX() {
+        return previousX;
+    }//end getPreviousX
+
+    /**
+     * Returns the y-position stored by the last call to {@link #storePreviousPosition()}.
+     *
+     * @return the y-position at the start of the tick
+     */
+    public float getPreviousY() {
+        return previousY;
+    }//end getPreviousY
+
     public float getDrawX() {
         return getX() + getOffsetX();
     }//end getDrawX
@@ -41,7 +41,7 @@ public class TileExtended extends Tile {
 
     /**
      * Sets the tile's image using a file path and scales it based on the original dimensions
-     * and the global tile scale defined in {@link Settings}.
+     * and the image scale defined in {@link Settings}.
      *
      * @param imagePath      the path to the image file
      * @param originalWidth  the original width (in pixels) of the image
@@ -50,18 +50,19 @@ public class TileExtended extends Tile {
     public void setImage(String imagePath, int originalWidth, int originalHeight) {
         ImageIcon icon = new ImageIcon(imagePath);
         Image originalImage = icon.getImage();
-        int widthSize = originalWidth * Settings.getTileScale();
-        int heightSize = originalWidth * Settings.getTileScale();
+        int widthSize = originalWidth * Settings.getImageScale();
+        int heightSize = originalWidth * Settings.getImageScale();
         this.image = scaleImage(originalImage, widthSize, heightSize);
     }//end setImage
 
     /**
-     * Assigns a transparent image
+     * Assigns an image that is already loaded and scaled, e.g. the transparent image
+     * or one shared by every tile with the same code.
      *
      * @param image the image to assign
      */
     public void setImage(Image image) {
-        this.image = new ImageIcon(image).getImage();
+        this.image = image;
     }//end setImage
 
     /**
@@ -1,13 +1,18 @@
 package gameExtended2D;
 
 import game2D.TileMap;
+import navigation.FlowField;
+import navigation.NavigationGraph;
 import settings.Settings;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.HashMap;
 
 /**
  * An extended version of {@link TileMap} that supports {@link TileExtended} tiles,
@@ -18,10 +23,23 @@ import java.io.BufferedReader;
  */
 public class TileMapExtended extends TileMap {
 
+    // <editor-fold desc = "COLLISION FLAGS">
+    public static final byte FLAG_SOLID = 1;        //blocks movement from every side
+    public static final byte FLAG_PLATFORM = 1 << 1; //drawn and treated as a platform rather than ground
+    public static final byte FLAG_ONE_WAY = 1 << 2;  //reserved: only blocks from above
+    public static final byte FLAG_HAZARD = 1 << 3;   //reserved: hurts whatever touches it
+    public static final byte FLAG_LADDER = 1 << 4;   //reserved: can be climbed
+    //</editor-fold> COLLISION FLAGS
+
     protected TileExtended [][] tmap;
     private int platformEnds = 88;
     private int groundEnds = 181;
 
+    //Collision flags for every cell, row by row, built when the map loads so physics never touches tile objects
+    private byte[] collisionFlags = new byte[1];
+    private NavigationGraph navigationGraph;
+    private FlowField flowField;
+
     /**
      * Constructs a TileMapExtended with specified platform and ground code thresholds.
      *
@@ -38,10 +56,33 @@ public class TileMapExtended extends TileMap {
     public boolean loadMap(String folder, String mapfile) {
         // Create a full path to the tile map by sticking the folder and mapfile together
         String path = folder + "/mapLevels/" + mapfile;
+        try {
+            return loadMap(folder, new FileReader(path), path);
+        }//end try
+        catch (FileNotFoundException e) {
+            System.err.println("Failed to read in tile map '" + path + "':" + e);
+            return false;
+        }//end catch
+    }//end loadMap method
+
+    /**
+     * Loads a map in the map file format from any reader, e.g. one made by {@link MapGenerator}.
+     * <p>
+     * Every tile with the same code shares one scaled image, and every empty tile the same transparent image,
+     * so memory grows with the number of different tiles rather than the size of the map.
+     *
+     * @param folder the folder holding the {@code tilesImages} folder
+     * @param reader the map, closed once it has been read
+     * @param name   the name of the map, used in error messages
+     * @return true if the map was loaded
+     */
+    public boolean loadMap(String folder, Reader reader, String name) {
         int row=0;
+        HashMap<Integer, Image> tileImages = new HashMap<>(); //scaled image of every code loaded so far
+        Image transparentImage = null;
 
         try {
-            BufferedReader in = new BufferedReader(new FileReader(path));
+            BufferedReader in = new BufferedReader(reader);
             String line="";
             String trimmed="";
             String [] vals;
@@ -129,13 +170,20 @@ public class TileMapExtended extends TileMap {
                         int code = Integer.parseInt(rowTiles[col].trim());
                         //check if the tile is supposed to be empty or anything else
                         if (code == -1) {
-                            tile.setImage(createTransparentImage(tileWidth, tileHeight));
+                            if (transparentImage == null) {
+                                transparentImage = createTransparentImage(tileWidth / Settings.getAssetScale(), tileHeight / Settings.getAssetScale());
+                            }//end if
+                            tile.setImage(transparentImage);
                             tile.setType(TileExtended.TileType.EMPTY);
                         }//end if
                         else {
                             //IMAGE
                             //set the image depending on the number, using this just for the file assignment
-                            if ( code < 10){ //if it is under 10 we will need at add two zeros as the pictures have a 3 digit format
+                            Image tileImage = tileImages.get(code);
+                            if (tileImage != null) {
+                                tile.setImage(tileImage); //already loaded and scaled for an earlier tile
+                            }//end if
+                            else if ( code < 10){ //if it is under 10 we will need at add two zeros as the pictures have a 3 digit format
 //                                tile.setImage(folder + "/tile00" + rowTiles[col].trim() + ".png");
                                 tile.setImage(folder + "/tilesImages/" + "/tile00" + rowTiles[col].trim() + ".png", tileWidthOriginal, tileHeightOriginal);
                             }//end if
@@ -147,6 +195,7 @@ public class TileMapExtended extends TileMap {
 //                                tile.setImage(folder + "/tile" + rowTiles[col].trim() + ".png");
                                 tile.setImage(folder + "/tilesImages/" + "/tile" + rowTiles[col].trim() + ".png", tileWidthOriginal, tileHeightOriginal);
                             }//end else
+                            tileImages.put(code, tile.getImage());
 
                             //TYPE
                             if(code >= 0 && code < this.platformEnds){
@@ -171,7 +220,7 @@ public class TileMapExtended extends TileMap {
             in.close();
         }//end try
         catch (Exception e) {
-            System.err.println("Failed to read in tile map '" + path + "':" + e);
+            System.err.println("Failed to read in tile map '" + name + "':" + e);
             return false;
         }//end catch
 
@@ -179,9 +228,119 @@ public class TileMapExtended extends TileMap {
             System.err.println("Map failed to load. Incorrect rows in map");
             return false;
         }//end if
+        buildCollisionFlags();
+        this.navigationGraph = new NavigationGraph(this);
+        this.flowField = new FlowField(this.navigationGraph);
         return true;
     }//end loadMap method
 
+    /**
+     * Packs the type of every tile into the collision flag array.
+     * Ground becomes {@link #FLAG_SOLID} and platforms {@link #FLAG_SOLID} and {@link #FLAG_PLATFORM}.
+     * The map files have no codes for the other flags yet.
+     */
+    private void buildCollisionFlags() {
+        this.collisionFlags = new byte[Math.max(mapWidth * mapHeight, 1)];
+        for (int r = 0; r < mapHeight; r++) {
+            for (int c = 0; c < mapWidth; c++) {
+                TileExtended tile = tmap[c][r];
+                byte flags = 0;
+                if (tile != null && tile.getType() == TileExtended.TileType.GROUND) {
+                    flags = FLAG_SOLID;
+                }//end if
+                else if (tile != null && tile.getType() == TileExtended.TileType.PLATFORM) {
+                    flags = FLAG_SOLID | FLAG_PLATFORM;
+                }//end else if
+                this.collisionFlags[r * mapWidth + c] = flags;
+            }//end nested for loop
+        }//end for loop
+    }//end buildCollisionFlags
+
+    /**
+     * Returns the walkable spans and links of this map, built when it was loaded.
+     *
+     * @return the navigation graph, or null if no map has been loaded
+     */
+    public NavigationGraph getNavigationGraph() {
+        return this.navigationGraph;
+    }//end getNavigationGraph
+
+    /**
+     * Returns the flow field enemies use to chase the player across this map's navigation graph.
+     *
+     * @return the flow field, or null if no map has been loaded
+     */
+    public FlowField getFlowField() {
+        return this.flowField;
+    }//end getFlowField
+
+    /**
+     * Returns the collision flags of a cell without any branching.
+     * <p>
+     * If any of the column, row, or their distance from the far edge is negative the sign bit of the OR is set,
+     * and shifting it down gives a mask of all ones. That mask sends the index to 0 and clears the result,
+     * so cells outside the map read as empty without an if.
+     *
+     * @param column the tile column
+     * @param row    the tile row
+     * @return the flags of the cell, 0 if it is outside the map
+     */
+    public int getCollisionFlags(int column, int row) {
+        int outside = (column | row | (mapWidth - 1 - column) | (mapHeight - 1 - row)) >> 31;
+        return this.collisionFlags[(row * mapWidth + column) & ~outside] & ~outside;
+    }//end getCollisionFlags
+
+    /**
+     * Checks if a cell blocks movement.
+     *
+     * @param column the tile column
+     * @param row    the tile row
+     * @return true if the cell is solid, false if it is empty or outside the map
+     */
+    public boolean isSolid(int column, int row) {
+        return (getCollisionFlags(column, row) & FLAG_SOLID) != 0;
+    }//end isSolid
+
+    /**
+     * Finds the first cell in a row, between two columns, that has any of the given flags.
+     * The columns are searched from {@code fromColumn} towards {@code toColumn}, in whichever direction that is.
+     *
+     * @param row        the tile row
+     * @param fromColumn the first column to check
+     * @param toColumn   the last column to check
+     * @param mask       the flags to look for
+     * @return the first matching column, or -1 if there is none
+     */
+    public int findInRow(int row, int fromColumn, int toColumn, int mask) {
+        int step = fromColumn <= toColumn ? 1 : -1;
+        for (int column = fromColumn; column != toColumn + step; column += step) {
+            if ((getCollisionFlags(column, row) & mask) != 0) {
+                return column;
+            }//end if
+        }//end for loop
+        return -1;
+    }//end findInRow
+
+    /**
+     * Finds the first cell in a column, between two rows, that has any of the given flags.
+     * The rows are searched from {@code fromRow} towards {@code toRow}, in whichever direction that is.
+     *
+     * @param column  the tile column
+     * @param fromRow the first row to check
+     * @param toRow   the last row to check
+     * @param mask    the flags to look for
+     * @return the first matching row, or -1 if there is none
+     */
+    public int findInColumn(int column, int fromRow, int toRow, int mask) {
+        int step = fromRow <= toRow ? 1 : -1;
+        for (int row = fromRow; row != toRow + step; row += step) {
+            if ((getCollisionFlags(column, row) & mask) != 0) {
+                return row;
+            }//end if
+        }//end for loop
+        return -1;
+    }//end findInColumn
+
     /**
      * Creates a transparent image with the specified width and height.
      * Used to visually represent empty tiles.
@@ -3,6 +3,7 @@ package interactables;
 import entity.player.Player;
 import gameExtended2D.AnimationExtended;
 import gameExtended2D.SpriteExtended;
+import render.Layer;
 import settings.Settings;
 import states.GameStateManager;
 import states.GameStateType;
@@ -67,8 +68,10 @@ public class Portal extends SpriteExtended implements Interactable {
         drawTransformed(g);
 
         if (Settings.getDebugMode()) {
+            Layer.set(g, Layer.DEBUG);
             drawBoundingBox(g);
             drawBoundingCircle(g);
+            Layer.set(g, Layer.ENTITIES);
         }//end if
     }//end draw
 
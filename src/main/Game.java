@@ -2,14 +2,19 @@ package main;
 
 import entity.player.Player;
 import game2D.GameCore;
+import replay.InputSession;
 import settings.KeyHandler;
 import settings.Settings;
 import states.*;
+import stress.StressTest;
+import utilities.GameClock;
+import utilities.ResolutionScaler;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
 
 // Game demonstrates how we can override the GameCore class
 // to create our own 'game'. We usually need to implement at
@@ -23,7 +28,7 @@ import java.awt.event.MouseEvent;
  * The main class responsible for initializing and running the game.
  * Provides a {@link GameStateManager} to handle various game states.
  */
-public class Game extends GameCore {
+public class Game extends GameCore implements GameContext {
     private int currentLevel;
     private Player player;
 
@@ -32,6 +37,7 @@ public class Game extends GameCore {
 
 
     private KeyHandler keyHandler;
+    private final InputSession inputSession;
 
     /**
      * Application entry point. Creates and launches a new instance of the game.
@@ -47,8 +53,19 @@ public class Game extends GameCore {
      * and begins the primary game loop.
      */
     public Game() {
+        this(InputSession.live());
+    }//end constructor
+
+    /**
+     * Constructs a new Game that takes its input from an {@link InputSession}, e.g. to record or replay a run.
+     * A replay starts straight on the level it was recorded on.
+     *
+     * @param inputSession where the input of every tick comes from
+     */
+    public Game(InputSession inputSession) {
+        this.inputSession = inputSession;
         init();
-        run(Settings.getScreenFullScreen(), Settings.getScreenWidth(), Settings.getScreenHeight());
+        run(Settings.getScreenFullScreen(), Settings.getWindowWidth(), Settings.getWindowHeight());
     }//end constructor
 
     /**
@@ -67,20 +84,33 @@ public class Game extends GameCore {
         gameStateManager.addState(GameStateType.GAMEPLAY,   new GamePlayState(this, gameStateManager));
         gameStateManager.addState(GameStateType.GAMEOVER,   new GameOverState(this, gameStateManager));
 
-        //Starts in the TITLE state
-        gameStateManager.setState(GameStateType.TITLE);
-
-        //Set the size and frame visibility
-        this.setSize(Settings.getScreenWidth(), Settings.getScreenHeight());
-        this.setVisible(true);
-
-        //Centers the window on the screen
-        Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
-        int windowWidth = Settings.getScreenWidth();
-        int windowHeight = Settings.getScreenHeight();
-        int x = (screenSize.width - windowWidth) / 2;
-        int y = (screenSize.height - windowHeight) / 2;
-        setLocation(x, y);
+        //Starts in the TITLE state, a replay or stress test starts once the key handler exists
+        if (!inputSession.isReplaying() && !StressTest.isEnabled()) {
+            gameStateManager.setState(GameStateType.TITLE);
+        }//end if
+
+        //In low resolution the screen is drawn at the internal resolution, then upscaled to the window
+        if (Settings.getLowResolution()) {
+            setRenderTarget(Settings.INTERNAL_WIDTH, Settings.INTERNAL_HEIGHT, 1.0 / Settings.getAssetScale());
+        }//end if
+        if (Settings.getDynamicResolution()) {
+            setResolutionScaler(new ResolutionScaler(Settings.TARGET_FRAME_RATE));
+        }//end if
+        setThreadedRendering(Settings.getRenderThread());
+
+        //Set the size and frame visibility, in full screen the window is shown by GameCore once it covers the screen
+        if (!Settings.getScreenFullScreen()) {
+            this.setSize(Settings.getWindowWidth(), Settings.getWindowHeight());
+            this.setVisible(true);
+
+            //Centers the window on the screen
+            Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
+            int windowWidth = Settings.getWindowWidth();
+            int windowHeight = Settings.getWindowHeight();
+            int x = (screenSize.width - windowWidth) / 2;
+            int y = (screenSize.height - windowHeight) / 2;
+            setLocation(x, y);
+        }//end if
 
         //Adds a key handler for input processing
         this.keyHandler = new KeyHandler();
@@ -90,22 +120,51 @@ public class Game extends GameCore {
         this.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
-                gameStateManager.mousePressed(e);
+                gameStateManager.mousePressed(toScreen(e));
             }//end mousePressed
 
             @Override
             public void mouseReleased(MouseEvent e) {
-                gameStateManager.mouseReleased(e);
+                gameStateManager.mouseReleased(toScreen(e));
             }//end mouseReleased
 
             @Override
             public void mouseClicked(MouseEvent e) {
-                gameStateManager.mouseClicked(e);
+                gameStateManager.mouseClicked(toScreen(e));
             }//end mouseClicked
         });//end addMouseListener
 
+        //Mouse movement, so menus can highlight the button under the mouse
+        this.addMouseMotionListener(new MouseMotionAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                gameStateManager.mouseMoved(toScreen(e));
+            }//end mouseMoved
+        });//end addMouseMotionListener
+
+        if (inputSession.isReplaying() || StressTest.isEnabled()) {
+            if (StressTest.isEnabled()) {
+                this.currentLevel = 1; //skip the tutorial
+            }//end if
+            this.player = new Player(this.keyHandler);
+            gameStateManager.setState(GameStateType.GAMEPLAY);
+        }//end if
     }//end init
 
+    /**
+     * Converts a mouse event from window coordinates to screen coordinates,
+     * which differ when the game is drawn at a low resolution and upscaled, or centred in full screen.
+     *
+     * @param e the mouse event from the window
+     * @return the same event at the position the states draw at
+     */
+    private MouseEvent toScreen(MouseEvent e) {
+        Point p = toRenderPoint(e.getX(), e.getY());
+        if (p.x == e.getX() && p.y == e.getY()) return e;
+        return new MouseEvent(e.getComponent(), e.getID(), e.getWhen(), e.getModifiersEx(),
+                p.x, p.y, e.getClickCount(), e.isPopupTrigger(), e.getButton());
+    }//end toScreen
+
     /**
      * Called once per frame to update game logic. Goes to the
      * current state's update method.
@@ -114,6 +173,18 @@ public class Game extends GameCore {
      */
     @Override
     public void update(long elapsed) {
+        //apply this tick's input, a replay also decides how much time passes
+        elapsed = inputSession.tick(elapsed, keyHandler, gameStateManager.getCurrentState());
+        if (inputSession.isFinished()) {
+            stop();
+            return;
+        }//end if
+        if (StressTest.isEnabled() && StressTest.update(gameStateManager.getCurrentState())) {
+            stop(); //the report has been written
+            return;
+        }//end if
+
+        GameClock.advance(elapsed);
         gameStateManager.update(elapsed);
     }//end update
 
@@ -128,6 +199,17 @@ public class Game extends GameCore {
         gameStateManager.draw(g);
     }//end draw
 
+    /**
+     * Called once per frame after {@link #draw(Graphics2D)} to draw the HUD
+     * at full resolution. Goes to the current state's drawHud method.
+     *
+     * @param g The {@link Graphics2D} used for drawing.
+     */
+    @Override
+    public void drawHud(Graphics2D g) {
+        gameStateManager.drawHud(g);
+    }//end drawHud
+
     /**
      * Handles key press events. Goes the event to the current game state.
      *
@@ -154,6 +236,10 @@ public class Game extends GameCore {
         return keyHandler;
     }//end getKeyHandler
 
+    public InputSession getInputSession() {
+        return inputSession;
+    }//end getInputSession
+
     public int getCurrentLevel() {
         return currentLevel;
     }//end getCurrentLevel
@@ -0,0 +1,38 @@
+package main;
+
+import entity.player.Player;
+import replay.InputSession;
+import settings.KeyHandler;
+
+/**
+ * What the gameplay state needs from the game running it.
+ * <p>
+ * Implemented by the windowed {@link Game} and by {@link replay.HeadlessGame}, which plays a replay without
+ * opening a window.
+ */
+public interface GameContext {
+
+    KeyHandler getKeyHandler();
+
+    int getCurrentLevel();
+
+    void setCurrentLevel(int currentLevel);
+
+    Player getPlayer();
+
+    /**
+     * @return where this game's input comes from and goes to: live, recorded or replayed
+     */
+    InputSession getInputSession();
+
+    /**
+     * @return the current frames per second
+     */
+    float getFPS();
+
+    /**
+     * @return the scale the world is currently drawn at, 1 for full resolution
+     */
+    double getRenderScale();
+
+}//end interface
@@ -1,10 +1,17 @@
 package main;
 
+import debug.jfr.FlightRecording;
+import replay.InputSession;
 import settings.Settings;
+import stress.StressTest;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 //YOU CAN LAUNCH THE GAME EITHER WITH Game.java OR GameLauncher.java
@@ -32,6 +39,12 @@ public class GameLauncher {
         });//end invokeLater
     }//end main
 
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    //Stress test choices, 0 is off
+    private static final String[] STRESS_OPTIONS = {"Off", "100 enemies", "1,000 enemies", "5,000 enemies", "10,000 enemies", "25,000 enemies"};
+    private static final int[] STRESS_ENEMY_COUNTS = {0, 100, 1_000, 5_000, 10_000, 25_000};
+
     private JFrame frame;
 
     /**
@@ -43,7 +56,7 @@ public class GameLauncher {
     public void createLauncher() {
         frame = new JFrame("Endless Adventure - Launcher");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(600, 500);
+        frame.setSize(600, 650);
         frame.setLocationRelativeTo(null);
         frame.setLayout(new BorderLayout());
 
@@ -102,11 +115,16 @@ public class GameLauncher {
         gbc.gridy = 1;
         centerPanel.add(optionsLabel, gbc);
 
-        JCheckBox fullscreenBox = new JCheckBox("Fullscreen (not supported)");
+        JCheckBox fullscreenBox = new JCheckBox("Fullscreen");
+        JCheckBox lowResolutionBox = new JCheckBox("Low Resolution (640x360, upscaled)");
+        JCheckBox dynamicResolutionBox = new JCheckBox("Dynamic Resolution (keeps 60 FPS)");
+        JCheckBox renderThreadBox = new JCheckBox("Render Thread (draws while the next frame updates)");
         JCheckBox debugBox = new JCheckBox("Debug Mode");
         JCheckBox fastLoadingBox = new JCheckBox("Fast Loading Screens");
+        JCheckBox recordingBox = new JCheckBox("Flight Recording (saved to recordings/)");
+        JCheckBox inputRecordingBox = new JCheckBox("Record Input (saved to replays/)");
 
-        JCheckBox[] checkboxes = {fullscreenBox, debugBox, fastLoadingBox};
+        JCheckBox[] checkboxes = {fullscreenBox, lowResolutionBox, dynamicResolutionBox, renderThreadBox, debugBox, fastLoadingBox, recordingBox, inputRecordingBox};
         for (JCheckBox cb : checkboxes) {
             cb.setForeground(foregroundColor);
             cb.setBackground(backgroundColor);
@@ -114,15 +132,44 @@ public class GameLauncher {
             cb.setFocusable(false);
         }//end for loop
 
-        JPanel optionsPanel = new JPanel(new GridLayout(3, 1));
+        JPanel optionsPanel = new JPanel(new GridLayout(8, 1));
         optionsPanel.setOpaque(false);
         optionsPanel.add(fullscreenBox);
+        optionsPanel.add(lowResolutionBox);
+        optionsPanel.add(dynamicResolutionBox);
+        optionsPanel.add(renderThreadBox);
         optionsPanel.add(debugBox);
         optionsPanel.add(fastLoadingBox);
+        optionsPanel.add(recordingBox);
+        optionsPanel.add(inputRecordingBox);
 
         gbc.gridx = 1;
         centerPanel.add(optionsPanel, gbc);
 
+        //Stress test
+        JLabel stressLabel = new JLabel("Stress Test:");
+        stressLabel.setForeground(foregroundColor);
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        centerPanel.add(stressLabel, gbc);
+
+        JComboBox<String> stressEnemiesBox = new JComboBox<>(STRESS_OPTIONS);
+        stressEnemiesBox.setBackground(Color.DARK_GRAY);
+        stressEnemiesBox.setForeground(foregroundColor);
+        stressEnemiesBox.setOpaque(true);
+
+        JSpinner stressDurationSpinner = new JSpinner(new SpinnerNumberModel(60, 10, 600, 10));
+        JLabel stressDurationLabel = new JLabel("seconds");
+        stressDurationLabel.setForeground(foregroundColor);
+
+        JPanel stressPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        stressPanel.setOpaque(false);
+        stressPanel.add(stressEnemiesBox);
+        stressPanel.add(stressDurationSpinner);
+        stressPanel.add(stressDurationLabel);
+        gbc.gridx = 1;
+        centerPanel.add(stressPanel, gbc);
+
         frame.add(centerPanel, BorderLayout.CENTER);
 
         //BOTTOM PANEL
@@ -148,11 +195,32 @@ public class GameLauncher {
 
         startButton.addActionListener(e -> {
             Settings.setScreenResolution((Settings.Resolution) Objects.requireNonNull(resolutionBox.getSelectedItem()));
+            Settings.setLowResolution(lowResolutionBox.isSelected());
+            Settings.setDynamicResolution(dynamicResolutionBox.isSelected());
+            Settings.setRenderThread(renderThreadBox.isSelected());
             Settings.setDebugMode(debugBox.isSelected());
             Settings.setScreenFullscreen(fullscreenBox.isSelected());
             Settings.setLongLoadingScreen(!fastLoadingBox.isSelected()); // fast loading = false = skip long loading screen
+            if (recordingBox.isSelected()) {
+                FlightRecording.start("recordings"); //written out when the game closes
+            }//end if
+            int stressEnemies = STRESS_ENEMY_COUNTS[stressEnemiesBox.getSelectedIndex()];
+            if (stressEnemies > 0) {
+                StressTest.configure(stressEnemies, (Integer) stressDurationSpinner.getValue());
+            }//end if
+            InputSession inputSession = InputSession.live();
+            if (inputRecordingBox.isSelected()) {
+                Path file = Path.of("replays", "input_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".eai");
+                try {
+                    inputSession = InputSession.recording(file); //written out when the game closes
+                }//end try
+                catch (IOException ex) {
+                    System.err.println("Could not record input to " + file + ": " + ex.getMessage());
+                }//end catch
+            }//end if
             frame.dispose();
-            new Thread(() -> new Game()).start();
+            InputSession session = inputSession;
+            new Thread(() -> new Game(session)).start();
         });//end addActionListener
 
         exitButton.addActionListener(e -> System.exit(0));
@@ -0,0 +1,182 @@
+package navigation;
+
+import java.util.Arrays;
+
+/**
+ * A table telling every span of a {@link NavigationGraph} which link leads fastest towards one target span.
+ * <p>
+ * The field is filled by a single Dijkstra search run backwards from the target along the graph's links,
+ * so however many enemies are chasing the player, each one only looks up the entry for the span it stands on.
+ * The search only runs again when the target moves to a different span; while the player stays on one span,
+ * or is in the air between two, the field is left as it is.
+ * <p>
+ * The field is updated on the game thread before the enemy AI runs and only read while it runs,
+ * so the AI threads can share it without locking.
+ */
+public class FlowField {
+    private final NavigationGraph graph;
+
+    //links arriving at each span (incomingFirst[span] .. incomingFirst[span + 1] - 1 in incomingLinks)
+    private final int[] incomingFirst;
+    private final int[] incomingLinks;
+
+    private final int[] nextLink; //span -> the link to take next, or -1
+    private final int[] distance; //span -> cost of reaching the target
+    private int target = -1;
+
+    //search state, kept between searches so updating the field does not allocate
+    private final boolean[] closed;
+    private final int[] heap;
+    private final int[] heapPriority;
+
+    /**
+     * Constructs an empty flow field over a navigation graph.
+     *
+     * @param graph the graph to move through
+     */
+    public FlowField(NavigationGraph graph) {
+        this.graph = graph;
+        int spans = graph.getSpanCount();
+        int links = graph.getLinkCount();
+
+        //group the links by the span they arrive at
+        this.incomingFirst = new int[spans + 1];
+        this.incomingLinks = new int[links];
+        for (int link = 0; link < links; link++) {
+            this.incomingFirst[graph.getLinkTo(link) + 1]++;
+        }//end for loop
+        for (int span = 0; span < spans; span++) {
+            this.incomingFirst[span + 1] += this.incomingFirst[span];
+        }//end for loop
+        int[] fill = Arrays.copyOf(this.incomingFirst, spans);
+        for (int link = 0; link < links; link++) {
+            this.incomingLinks[fill[graph.getLinkTo(link)]++] = link;
+        }//end for loop
+
+        this.nextLink = new int[spans];
+        this.distance = new int[spans];
+        this.closed = new boolean[spans];
+        this.heap = new int[spans + links + 1];
+        this.heapPriority = new int[this.heap.length];
+        Arrays.fill(this.nextLink, -1);
+        Arrays.fill(this.distance, Integer.MAX_VALUE);
+    }//end constructor
+
+    /**
+     * Points the field at a new target span, recomputing it only if the target has changed.
+     *
+     * @param span the span to move towards, or -1 to keep the current target
+     * @return true if the field was recomputed
+     */
+    public boolean setTarget(int span) {
+        if (span < 0 || span == this.target) return false;
+        this.target = span;
+        compute();
+        return true;
+    }//end setTarget
+
+    /**
+     * Runs Dijkstra from the target, following links backwards, and records for each span the link it came through.
+     */
+    private void compute() {
+        Arrays.fill(this.nextLink, -1);
+        Arrays.fill(this.distance, Integer.MAX_VALUE);
+        Arrays.fill(this.closed, false);
+
+        int heapSize = 0;
+        this.distance[this.target] = 0;
+        this.heap[heapSize] = this.target;
+        this.heapPriority[heapSize++] = 0;
+
+        while (heapSize > 0) {
+            int span = this.heap[0];
+            heapSize--;
+            this.heap[0] = this.heap[heapSize];
+            this.heapPriority[0] = this.heapPriority[heapSize];
+            siftDown(heapSize);
+
+            if (this.closed[span]) continue;
+            this.closed[span] = true;
+
+            for (int i = this.incomingFirst[span]; i < this.incomingFirst[span + 1]; i++) {
+                int link = this.incomingLinks[i];
+                int previous = this.graph.getLinkFrom(link);
+                if (this.closed[previous]) continue;
+
+                int newDistance = this.distance[span] + this.graph.linkCost(link);
+                if (newDistance < this.distance[previous]) {
+                    this.distance[previous] = newDistance;
+                    this.nextLink[previous] = link;
+                    this.heap[heapSize] = previous;
+                    this.heapPriority[heapSize] = newDistance;
+                    siftUp(heapSize++);
+                }//end if
+            }//end for loop
+        }//end while loop
+    }//end compute
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+            if (this.heapPriority[parent] <= this.heapPriority[index]) break;
+            swap(parent, index);
+            index = parent;
+        }//end while loop
+    }//end siftUp
+
+    private void siftDown(int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = index * 2 + 1;
+            int right = left + 1;
+            if (left < size && this.heapPriority[left] < this.heapPriority[smallest]) smallest = left;
+            if (right < size && this.heapPriority[right] < this.heapPriority[smallest]) smallest = right;
+            if (smallest == index) return;
+            swap(smallest, index);
+            index = smallest;
+        }//end while loop
+    }//end siftDown
+
+    private void swap(int a, int b) {
+        int span = this.heap[a];
+        this.heap[a] = this.heap[b];
+        this.heap[b] = span;
+        int value = this.heapPriority[a];
+        this.heapPriority[a] = this.heapPriority[b];
+        this.heapPriority[b] = value;
+    }//end swap
+
+    // <editor-fold desc = "GETTERS">
+    /**
+     * Returns the link to take from a span to get closer to the target.
+     *
+     * @param span the span to start from
+     * @return the link to follow, or -1 if the span is the target, cannot reach it or there is no target yet
+     */
+    public int nextLink(int span) {
+        if (span < 0 || span >= this.nextLink.length) return -1;
+        return this.nextLink[span];
+    }//end nextLink
+
+    /**
+     * Returns the cost of reaching the target from a span, in the same units as the graph's path search.
+     *
+     * @param span the span to start from
+     * @return the cost, or Integer.MAX_VALUE if the target cannot be reached
+     */
+    public int getDistance(int span) {
+        if (span < 0 || span >= this.distance.length) return Integer.MAX_VALUE;
+        return this.distance[span];
+    }//end getDistance
+
+    public int getTarget() {
+        return target;
+    }//end getTarget
+
+    public NavigationGraph getGraph() {
+        return graph;
+    }//end getGraph
+    //</editor-fold> GETTERS
+
+}//end class
@@ -0,0 +1,310 @@
+package navigation;
+
+import gameExtended2D.TileMapExtended;
+
+import java.util.Arrays;
+
+/**
+ * A map of where enemies can walk, built once from the tile map's collision flags.
+ * <p>
+ * Every horizontal run of empty cells with solid ground underneath is a <b>span</b>.
+ * Spans are joined by <b>links</b>:
+ * <ul>
+ *   <li>DROP: walking off the end of a span and falling onto the span below</li>
+ *   <li>JUMP: jumping from a span onto another one up to {@link #MAX_JUMP_ROWS} rows higher
+ *   and {@link #MAX_JUMP_COLUMNS} columns away, including across gaps on the same row</li>
+ * </ul>
+ * Enemies chasing the player follow a {@link FlowField} built over the graph from the player's span.
+ * The graph never changes after it is built, so it can be read from the AI threads.
+ */
+public class NavigationGraph {
+    public static final byte LINK_DROP = 0;
+    public static final byte LINK_JUMP = 1;
+
+    public static final int MAX_JUMP_ROWS = 2;    //how many rows higher an enemy can jump to
+    public static final int MAX_JUMP_COLUMNS = 2; //how many columns across an enemy can jump
+    private static final int JUMP_COST = 3;       //extra cost so enemies prefer walking to jumping
+
+    private final int mapWidth;
+    private final int mapHeight;
+    private final int tileWidth;
+    private final int tileHeight;
+
+    //spans
+    private int spanCount = 0;
+    private int[] spanRow = new int[16];
+    private int[] spanStart = new int[16];
+    private int[] spanEnd = new int[16];
+    private final int[] spanAt; //cell (row * mapWidth + column) -> span, or -1
+
+    //links, grouped by the span they start from (linkFirst[span] .. linkFirst[span + 1] - 1)
+    private int linkCount = 0;
+    private int[] linkFrom = new int[16];
+    private int[] linkTo = new int[16];
+    private byte[] linkType = new byte[16];
+    private int[] linkTakeoff = new int[16];
+    private int[] linkLanding = new int[16];
+    private int[] linkFirst;
+
+    /**
+     * Builds the navigation graph of a tile map.
+     *
+     * @param tileMap the loaded tile map
+     */
+    public NavigationGraph(TileMapExtended tileMap) {
+        this.mapWidth = tileMap.getMapWidth();
+        this.mapHeight = tileMap.getMapHeight();
+        this.tileWidth = tileMap.getTileWidth();
+        this.tileHeight = tileMap.getTileHeight();
+        this.spanAt = new int[Math.max(this.mapWidth * this.mapHeight, 1)];
+        Arrays.fill(this.spanAt, -1);
+
+        findSpans(tileMap);
+        findLinks(tileMap);
+    }//end constructor
+
+    // <editor-fold desc = "BUILDING">
+    /**
+     * Finds every run of walkable cells, row by row.
+     *
+     * @param tileMap the tile map to read
+     */
+    private void findSpans(TileMapExtended tileMap) {
+        for (int row = 0; row < this.mapHeight; row++) {
+            int start = -1;
+            for (int column = 0; column <= this.mapWidth; column++) {
+                boolean walkable = column < this.mapWidth && !tileMap.isSolid(column, row) && tileMap.isSolid(column, row + 1);
+                if (walkable && start < 0) {
+                    start = column;
+                }//end if
+                else if (!walkable && start >= 0) {
+                    addSpan(row, start, column - 1);
+                    start = -1;
+                }//end else if
+            }//end nested for loop
+        }//end for loop
+    }//end findSpans
+
+    /**
+     * Adds a span and marks its cells.
+     *
+     * @param row   the row the span stands in
+     * @param start the first column of the span
+     * @param end   the last column of the span
+     */
+    private void addSpan(int row, int start, int end) {
+        if (this.spanCount == this.spanRow.length) {
+            int capacity = this.spanCount * 2;
+            this.spanRow = Arrays.copyOf(this.spanRow, capacity);
+            this.spanStart = Arrays.copyOf(this.spanStart, capacity);
+            this.spanEnd = Arrays.copyOf(this.spanEnd, capacity);
+        }//end if
+        this.spanRow[this.spanCount] = row;
+        this.spanStart[this.spanCount] = start;
+        this.spanEnd[this.spanCount] = end;
+        for (int column = start; column <= end; column++) {
+            this.spanAt[row * this.mapWidth + column] = this.spanCount;
+        }//end for loop
+        this.spanCount++;
+    }//end addSpan
+
+    /**
+     * Finds the drop and jump links leaving every span, then groups them by span.
+     *
+     * @param tileMap the tile map to read
+     */
+    private void findLinks(TileMapExtended tileMap) {
+        for (int a = 0; a < this.spanCount; a++) {
+            //DROP off either end
+            addDrop(tileMap, a, this.spanStart[a] - 1);
+            addDrop(tileMap, a, this.spanEnd[a] + 1);
+
+            //JUMP to spans on the same row or higher
+            for (int b = 0; b < this.spanCount; b++) {
+                int rise = this.spanRow[a] - this.spanRow[b];
+                if (a == b || rise < 0 || rise > MAX_JUMP_ROWS) continue;
+
+                //onto the left end of b, jumping right
+                int takeoff = Math.min(this.spanEnd[a], this.spanStart[b] - 1);
+                int distance = this.spanStart[b] - takeoff;
+                if (takeoff >= this.spanStart[a] && distance >= 1 && distance <= MAX_JUMP_COLUMNS
+                        && isJumpClear(tileMap, takeoff, this.spanStart[b], this.spanRow[a], this.spanRow[b])) {
+                    addLink(a, b, LINK_JUMP, takeoff, this.spanStart[b]);
+                }//end if
+
+                //onto the right end of b, jumping left
+                takeoff = Math.max(this.spanStart[a], this.spanEnd[b] + 1);
+                distance = takeoff - this.spanEnd[b];
+                if (takeoff <= this.spanEnd[a] && distance >= 1 && distance <= MAX_JUMP_COLUMNS
+                        && isJumpClear(tileMap, takeoff, this.spanEnd[b], this.spanRow[a], this.spanRow[b])) {
+                    addLink(a, b, LINK_JUMP, takeoff, this.spanEnd[b]);
+                }//end if
+            }//end nested for loop
+        }//end for loop
+
+        groupLinks();
+    }//end findLinks
+
+    /**
+     * Adds a drop link if walking off the span at a column falls onto another span.
+     *
+     * @param tileMap the tile map to read
+     * @param from    the span being left
+     * @param column  the column just past the end of the span
+     */
+    private void addDrop(TileMapExtended tileMap, int from, int column) {
+        int row = this.spanRow[from];
+        if (column < 0 || column >= this.mapWidth || tileMap.isSolid(column, row)) return;
+
+        int ground = tileMap.findInColumn(column, row + 1, this.mapHeight - 1, TileMapExtended.FLAG_SOLID);
+        if (ground <= 0) return;
+
+        int to = this.spanAt[(ground - 1) * this.mapWidth + column];
+        if (to >= 0 && to != from) {
+            addLink(from, to, LINK_DROP, column, column);
+        }//end if
+    }//end addDrop
+
+    /**
+     * Checks that nothing is in the way of a jump: the enemy needs room to rise above the takeoff column
+     * up to one row over the landing, and then to move across at that height to the landing column.
+     *
+     * @param tileMap     the tile map to read
+     * @param takeoff     the column the jump starts from
+     * @param landing     the column the jump ends in
+     * @param takeoffRow  the row of the span being left
+     * @param landingRow  the row of the span being landed on
+     * @return true if none of the cells the jump passes through are solid
+     */
+    private static boolean isJumpClear(TileMapExtended tileMap, int takeoff, int landing, int takeoffRow, int landingRow) {
+        int top = landingRow - 1;
+        if (tileMap.findInColumn(takeoff, top, takeoffRow, TileMapExtended.FLAG_SOLID) >= 0) {
+            return false;
+        }//end if
+        for (int row = top; row <= landingRow; row++) {
+            if (tileMap.findInRow(row, takeoff, landing, TileMapExtended.FLAG_SOLID) >= 0) {
+                return false;
+            }//end if
+        }//end for loop
+        return true;
+    }//end isJumpClear
+
+    /**
+     * Adds a link between two spans.
+     *
+     * @param from    the span the link starts from
+     * @param to      the span the link ends on
+     * @param type    LINK_DROP or LINK_JUMP
+     * @param takeoff the column to leave the first span from
+     * @param landing the column the enemy lands in
+     */
+    private void addLink(int from, int to, byte type, int takeoff, int landing) {
+        if (this.linkCount == this.linkFrom.length) {
+            int capacity = this.linkCount * 2;
+            this.linkFrom = Arrays.copyOf(this.linkFrom, capacity);
+            this.linkTo = Arrays.copyOf(this.linkTo, capacity);
+            this.linkType = Arrays.copyOf(this.linkType, capacity);
+            this.linkTakeoff = Arrays.copyOf(this.linkTakeoff, capacity);
+            this.linkLanding = Arrays.copyOf(this.linkLanding, capacity);
+        }//end if
+        this.linkFrom[this.linkCount] = from;
+        this.linkTo[this.linkCount] = to;
+        this.linkType[this.linkCount] = type;
+        this.linkTakeoff[this.linkCount] = takeoff;
+        this.linkLanding[this.linkCount] = landing;
+        this.linkCount++;
+    }//end addLink
+
+    /**
+     * Records where each span's links begin. Links are already added span by span, in order.
+     */
+    private void groupLinks() {
+        this.linkFirst = new int[this.spanCount + 1];
+        int link = 0;
+        for (int span = 0; span < this.spanCount; span++) {
+            this.linkFirst[span] = link;
+            while (link < this.linkCount && this.linkFrom[link] == span) {
+                link++;
+            }//end while loop
+        }//end for loop
+        this.linkFirst[this.spanCount] = this.linkCount;
+    }//end groupLinks
+    //</editor-fold> BUILDING
+
+    // <editor-fold desc = "COSTS">
+    /**
+     * Returns the cost of taking a link: the tiles walked to reach its takeoff, plus the tiles travelled, plus a penalty for jumping.
+     *
+     * @param link the link
+     * @return the cost of the link
+     */
+    int linkCost(int link) {
+        int from = this.linkFrom[link];
+        int to = this.linkTo[link];
+        int travel = Math.abs(this.linkLanding[link] - this.linkTakeoff[link]) + Math.abs(this.spanRow[to] - this.spanRow[from]);
+        int walk = Math.abs(this.linkTakeoff[link] - centre(from));
+        return walk + travel + (this.linkType[link] == LINK_JUMP ? JUMP_COST : 0);
+    }//end linkCost
+
+    private int centre(int span) {
+        return (this.spanStart[span] + this.spanEnd[span]) >> 1;
+    }//end centre
+    //</editor-fold> COSTS
+
+    // <editor-fold desc = "GETTERS">
+    /**
+     * Returns the span a box is standing on.
+     *
+     * @param centreX the x-coordinate of the middle of the box
+     * @param bottomY the y-coordinate of the bottom of the box
+     * @return the span under the box, or -1 if it is not standing on one
+     */
+    public int spanUnder(float centreX, float bottomY) {
+        int column = (int) Math.floor(centreX / this.tileWidth);
+        int row = (int) Math.floor((bottomY - 1) / this.tileHeight);
+        if (column < 0 || row < 0 || column >= this.mapWidth || row >= this.mapHeight) return -1;
+        return this.spanAt[row * this.mapWidth + column];
+    }//end spanUnder
+
+    public int getSpanCount() {
+        return spanCount;
+    }//end getSpanCount
+
+    public int getSpanRow(int span) {
+        return spanRow[span];
+    }//end getSpanRow
+
+    public int getSpanStart(int span) {
+        return spanStart[span];
+    }//end getSpanStart
+
+    public int getSpanEnd(int span) {
+        return spanEnd[span];
+    }//end getSpanEnd
+
+    public int getLinkCount() {
+        return linkCount;
+    }//end getLinkCount
+
+    public int getLinkFrom(int link) {
+        return linkFrom[link];
+    }//end getLinkFrom
+
+    public int getLinkTo(int link) {
+        return linkTo[link];
+    }//end getLinkTo
+
+    public byte getLinkType(int link) {
+        return linkType[link];
+    }//end getLinkType
+
+    public int getLinkTakeoff(int link) {
+        return linkTakeoff[link];
+    }//end getLinkTakeoff
+
+    public int getLinkLanding(int link) {
+        return linkLanding[link];
+    }//end getLinkLanding
+    //</editor-fold> GETTERS
+
+}//end class
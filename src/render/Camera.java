@@ -0,0 +1,141 @@
+package render;
+
+import settings.Settings;
+
+import java.awt.*;
+
+/**
+ * The part of the world on screen. It is moved once per tick, after everything else has moved, and everything
+ * that needs to know what the player can see asks it: the world passes are drawn through its offsets, and
+ * culling and enemy detail levels use its rectangles.
+ * <p>
+ * Horizontally the camera keeps the player in the middle, leading a little in the direction they are moving
+ * so more of what's ahead is on screen. Vertically it only moves when the player leaves a dead zone in the middle
+ * of the screen, so small jumps don't shake it. Both ease towards where they want to be instead of jumping there.
+ */
+public class Camera {
+    private static final float DEAD_ZONE_HEIGHT = 175;     //how tall the dead zone is
+    private static final float LOOK_AHEAD = 0.1f;           //how far the camera leads, as a share of the screen width
+    private static final float SMOOTHING = 60f;             //time constant of the easing in milliseconds, lower is stiffer
+    private static final float LOOK_AHEAD_SMOOTHING = 400f; //the lead builds up and turns around slowly
+    private static final int ACTIVE_MARGIN_TILES = 6;       //how far past the screen the active area reaches
+
+    private float x = 0; //top left of the view in world coordinates
+    private float y = 0;
+    private float lookAhead = 0;
+    private final Rectangle visible = new Rectangle();
+    private final Rectangle active = new Rectangle();
+
+    /**
+     * Moves the camera towards the player.
+     *
+     * @param targetX   the player's x-position
+     * @param targetY   the player's y-position
+     * @param velocityX the player's horizontal velocity, only its direction is used
+     * @param elapsed   the time since the last tick in milliseconds
+     */
+    public void update(float targetX, float targetY, float velocityX, long elapsed) {
+        float width = Settings.getScreenWidth();
+        float height = Settings.getScreenHeight();
+
+        //lead in the direction the player is moving, and keep the lead while they stand still
+        if (velocityX != 0) {
+            float lookAheadTarget = Math.signum(velocityX) * LOOK_AHEAD * width;
+            lookAhead += (lookAheadTarget - lookAhead) * ease(elapsed, LOOK_AHEAD_SMOOTHING);
+        }//end if
+        x += (targetX - width / 2f + lookAhead - x) * ease(elapsed, SMOOTHING);
+
+        //only follow vertically once the player leaves the dead zone
+        float screenCenterY = y + height / 2f;
+        float deadZoneTop = screenCenterY - DEAD_ZONE_HEIGHT / 2f;
+        float deadZoneBottom = screenCenterY + DEAD_ZONE_HEIGHT / 2f;
+        float moveY = 0;
+        if (targetY < deadZoneTop) {
+            moveY = targetY - deadZoneTop;
+        }//end if
+        else if (targetY > deadZoneBottom) {
+            moveY = targetY - deadZoneBottom;
+        }//end else if
+        y += moveY * ease(elapsed, SMOOTHING);
+
+        updateRectangles();
+    }//end update
+
+    /**
+     * Puts the camera straight on the player without easing, e.g. when a level starts.
+     *
+     * @param targetX the player's x-position
+     * @param targetY the player's y-position
+     */
+    public void snapTo(float targetX, float targetY) {
+        lookAhead = 0;
+        x = targetX - Settings.getScreenWidth() / 2f;
+        y = targetY - Settings.getScreenHeight() / 2f;
+        updateRectangles();
+    }//end snapTo
+
+    /**
+     * Checks if an area of the world, grown by a margin on every side, is on screen.
+     *
+     * @param x      the world x-coordinate of the left edge of the area
+     * @param y      the world y-coordinate of the top edge of the area
+     * @param width  the width of the area
+     * @param height the height of the area
+     * @param margin how far off screen the area can be and still count, e.g. for health bars drawn around a sprite
+     * @return true if any of the area is on screen
+     */
+    public boolean isVisible(float x, float y, float width, float height, int margin) {
+        return x + width > visible.x - margin && x < visible.x + visible.width + margin
+                && y + height > visible.y - margin && y < visible.y + visible.height + margin;
+    }//end isVisible
+
+    /**
+     * The screen is drawn at whole pixels, so the rectangles are rounded from the eased position.
+     */
+    private void updateRectangles() {
+        int width = Settings.getScreenWidth();
+        int height = Settings.getScreenHeight();
+        int margin = ACTIVE_MARGIN_TILES * Settings.getTileSize();
+        visible.setBounds(Math.round(x), Math.round(y), width, height);
+        active.setBounds(visible.x - margin, visible.y - margin, width + margin * 2, height + margin * 2);
+    }//end updateRectangles
+
+    /**
+     * @return how much of the way to its target the camera moves in this tick, between 0 and 1
+     */
+    private static float ease(long elapsed, float timeConstant) {
+        return 1f - (float) Math.exp(-elapsed / timeConstant);
+    }//end ease
+
+    //GETTERS
+
+    /**
+     * @return the part of the world on screen, in world coordinates. Don't change it
+     */
+    public Rectangle getVisible() {
+        return visible;
+    }//end getVisible
+
+    /**
+     * @return the part of the world near enough to the screen to be kept fully simulated, loaded or audible,
+     * in world coordinates. Don't change it
+     */
+    public Rectangle getActive() {
+        return active;
+    }//end getActive
+
+    /**
+     * @return how far to move world coordinates right to get screen coordinates
+     */
+    public int getOffsetX() {
+        return -visible.x;
+    }//end getOffsetX
+
+    /**
+     * @return how far to move world coordinates down to get screen coordinates
+     */
+    public int getOffsetY() {
+        return -visible.y;
+    }//end getOffsetY
+
+}//end class
@@ -0,0 +1,48 @@
+package render;
+
+import java.awt.*;
+
+/**
+ * The layers the world is drawn in. A {@link RecordingGraphics} replays its commands layer by layer, in this order,
+ * whatever order they were recorded in, so an entity can draw its health bar straight after its sprite and still have
+ * every health bar drawn after every sprite.
+ * <p>
+ * Within a layer commands are replayed in the order they were recorded, except in batched layers, where they are
+ * grouped by composite and then by image or colour, so each is set once for the whole group. Only layers whose
+ * commands never overlap each other, or overlap in a way where the order doesn't matter, are batched.
+ */
+public class Layer {
+    public static final int BACKGROUND = 0;
+    public static final int TILES = 1;       //batched, tiles never overlap
+    public static final int ENTITIES = 2;
+    public static final int EFFECTS = 3;
+    public static final int BAR_BACK = 4;    //batched, enemy health bars are drawn in three passes
+    public static final int BAR_FILL = 5;    //batched
+    public static final int BAR_BORDER = 6;  //batched
+    public static final int TEXT = 7;        //batched, floating text
+    public static final int DEBUG = 8;
+    static final int COUNT = 9;
+
+    private static final boolean[] BATCHED = { false, true, false, false, true, true, true, true, false };
+
+    /**
+     * Sets the layer the following draws go on, if the graphics context records. Drawing directly, it does nothing.
+     *
+     * @param g     the graphics context being drawn on
+     * @param layer one of the layer constants
+     */
+    public static void set(Graphics2D g, int layer) {
+        if (g instanceof RecordingGraphics recording) {
+            recording.setLayer(layer);
+        }//end if
+    }//end set
+
+    /**
+     * @param layer one of the layer constants
+     * @return true if the commands on the layer may be reordered to group them by state
+     */
+    static boolean isBatched(int layer) {
+        return BATCHED[layer];
+    }//end isBatched
+
+}//end class
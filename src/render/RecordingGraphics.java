@@ -0,0 +1,1110 @@
+package render;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A {@link Graphics2D} that records what is drawn on it instead of drawing it, so the frame can be drawn later,
+ * on another thread, with {@link #replay(Graphics2D)}.
+ * <p>
+ * Every draw is stored in primitive arrays as one command: its type, up to eight integer arguments and a reference
+ * to the image, text or shape it draws. The paint, font, composite, stroke, rendering hints, transform and clip
+ * it is drawn with are stored once per change in a state table, and each command points at its state.
+ * Everything a command refers to is immutable or copied, so a recording can be replayed while the game carries on.
+ * <p>
+ * Commands are drawn on the {@link Layer} set with {@link #setLayer(int)}, and replayed layer by layer. In batched layers
+ * they are also grouped by composite and then by image or colour, so the state changes once per group instead of once per draw.
+ * The sort key of every command is worked out as it is recorded, so sorting a frame is a single sort of a long array.
+ * <p>
+ * Commands can also be tagged with the {@link RenderGraph} pass that drew them, see {@link #setPass(int)}, and the replay
+ * times how long each pass's commands take to draw, see {@link #getReplayedPassNanos(int)}.
+ * <p>
+ * The state carries over from one recording to the next like it does on a real back buffer,
+ * see {@link #continueFrom(RecordingGraphics)} when several recordings take turns.
+ * Graphics made with {@link #create()} record into the same commands with a state of their own, like the children of a real
+ * graphics context draw on the same buffer. Resetting or replaying one of them resets or replays the whole recording.
+ * Only one thread may record at a time, and a recording must not be reset while it is being replayed.
+ */
+public class RecordingGraphics extends Graphics2D {
+    //Command types
+    static final int IMAGE = 0;             //x, y
+    static final int IMAGE_SCALED = 1;      //x, y, width, height
+    static final int IMAGE_AREA = 2;        //destination x1, y1, x2, y2, source x1, y1, x2, y2
+    static final int IMAGE_TRANSFORM = 3;   //the transform is in extra
+    static final int FILL_RECT = 4;
+    static final int DRAW_RECT = 5;
+    static final int CLEAR_RECT = 6;
+    static final int LINE = 7;              //x1, y1, x2, y2
+    static final int FILL_ROUND_RECT = 8;   //x, y, width, height, arc width, arc height
+    static final int DRAW_ROUND_RECT = 9;
+    static final int FILL_OVAL = 10;
+    static final int DRAW_OVAL = 11;
+    static final int FILL_ARC = 12;         //x, y, width, height, start angle, arc angle
+    static final int DRAW_ARC = 13;
+    static final int STRING = 14;           //x, y
+    static final int GLYPHS = 15;
+    static final int FILL_SHAPE = 16;
+    static final int DRAW_SHAPE = 17;
+    static final int COPY_AREA = 18;        //x, y, width, height, dx, dy
+
+    private static final int ARGS = 8;
+
+    //Sort key: layer, then composite and material in batched layers, then the order the command was recorded in
+    private static final int LAYER_SHIFT = 56;
+    private static final int COMPOSITE_SHIFT = 48;
+    private static final int MATERIAL_SHIFT = 24;
+    private static final int MAX_COMPOSITE = 0xFF;
+    private static final int MAX_MATERIAL = 0xFFFFFF;
+    private static final long INDEX_MASK = 0xFFFFFF;
+    private static final Rectangle EMPTY_CLIP = new Rectangle();
+
+    //The recording the commands go into, this one unless this graphics was made with create().
+    //Only the root's commands, state table and batching fields are used
+    private final RecordingGraphics root;
+
+    //Commands
+    private int count = 0;
+    int[] type;
+    int[] state;
+    int[] args;
+    Object[] ref;
+    Object[] extra;
+    long[] key;
+    int[] commandPass;
+
+    //Layers and batching
+    private int layer = Layer.BACKGROUND;
+    private int pass = -1;
+    private int highestLayer = Layer.BACKGROUND;
+    private boolean inOrder = true; //false if replaying in recorded order would be wrong
+    private long[] sortedKeys;
+    private Object[] materials; //images, paints and composites seen this frame, by identity and layer
+    private int[] materialLayers;
+    private int[] materialIds;
+    private int materialCount = 0;
+    private int[] layerMaterialCount;
+
+    //What the last replay did, for the profiler
+    private int replayedStateChanges = 0;
+    private int replayedImageChanges = 0;
+    private long[] replayedPassNanos;
+    private boolean replayed = false;             //the commands recorded since the last reset have been replayed
+    private boolean previousReplayed = false;     //the commands cleared by the last reset had been replayed
+
+    //State table
+    private int stateCount = 0;
+    private int resets = 0; //tells a graphics its last state was cleared with the commands
+    Paint[] statePaint;
+    Font[] stateFont;
+    Composite[] stateComposite;
+    Color[] stateXor;
+    Stroke[] stateStroke;
+    RenderingHints[] stateHints;
+    AffineTransform[] stateTransform;
+    Shape[] stateClip;
+    Color[] stateBackground;
+
+    //Current state. Objects are replaced rather than changed, so the state table can keep references to them
+    private Color color = Color.WHITE;
+    private Paint paint = Color.WHITE;
+    private Font font = new Font("Dialog", Font.PLAIN, 12);
+    private Composite composite = AlphaComposite.SrcOver;
+    private Color xorColor = null; //the XOR mode colour, null in paint mode
+    private Stroke stroke = new BasicStroke();
+    private RenderingHints hints = new RenderingHints(null);
+    private AffineTransform transform = new AffineTransform();
+    private Shape clip; //in the space of the graphics the recording is replayed on
+    private Color background = Color.BLACK;
+    private boolean stateChanged = true;
+    private int currentState = -1;  //the state table entry of the current state
+    private int currentResets = -1; //the root's resets when it was added
+
+    //Measures text for getFontMetrics, as the back buffer would
+    private final Graphics2D measure;
+    private final AffineTransform device; //the transform of the graphics the recording will be replayed on
+
+    /**
+     * @param width  the width of the area being recorded, the clip starts as this area
+     * @param height the height of the area being recorded
+     */
+    public RecordingGraphics(int width, int height) {
+        this(width, height, new AffineTransform());
+    }//end constructor
+
+    /**
+     * @param width  the width of the area being recorded, the clip starts as this area
+     * @param height the height of the area being recorded
+     * @param device the transform of the graphics the recording will be replayed on, e.g. a scale to a smaller
+     *               back buffer. Text is measured through it, since text doesn't scale exactly with its size
+     */
+    public RecordingGraphics(int width, int height, AffineTransform device) {
+        this.root = this;
+        this.clip = new Rectangle(0, 0, width, height);
+        this.device = new AffineTransform(device);
+        this.measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+        this.type = new int[256];
+        this.state = new int[256];
+        this.args = new int[256 * ARGS];
+        this.ref = new Object[256];
+        this.extra = new Object[256];
+        this.key = new long[256];
+        this.commandPass = new int[256];
+        this.replayedPassNanos = new long[16];
+        this.sortedKeys = new long[256];
+        this.materials = new Object[256];
+        this.materialLayers = new int[256];
+        this.materialIds = new int[256];
+        this.layerMaterialCount = new int[Layer.COUNT];
+
+        this.statePaint = new Paint[16];
+        this.stateFont = new Font[16];
+        this.stateComposite = new Composite[16];
+        this.stateXor = new Color[16];
+        this.stateStroke = new Stroke[16];
+        this.stateHints = new RenderingHints[16];
+        this.stateTransform = new AffineTransform[16];
+        this.stateClip = new Shape[16];
+        this.stateBackground = new Color[16];
+    }//end constructor
+
+    /**
+     * A graphics that records into the same commands as another, starting with a copy of its state and layer.
+     *
+     * @param parent the graphics it was made from
+     */
+    private RecordingGraphics(RecordingGraphics parent) {
+        this.root = parent.root;
+        this.device = parent.device;
+        this.measure = parent.measure;
+        continueFrom(parent);
+        this.layer = parent.layer;
+        this.pass = parent.pass;
+    }//end constructor
+
+    /**
+     * Clears the recorded commands to start a new frame. The current state is kept.
+     */
+    public void reset() {
+        if (root != this) {
+            root.reset();
+            layer = Layer.BACKGROUND;
+            pass = -1;
+            return;
+        }//end if
+        Arrays.fill(ref, 0, count, null);
+        Arrays.fill(extra, 0, count, null);
+        count = 0;
+        stateCount = 0;
+        resets++;
+        stateChanged = true;
+        layer = Layer.BACKGROUND;
+        pass = -1;
+        previousReplayed = replayed;
+        replayed = false;
+        highestLayer = Layer.BACKGROUND;
+        inOrder = true;
+        if (materialCount > 0) {
+            Arrays.fill(materials, null);
+            Arrays.fill(layerMaterialCount, 0);
+            materialCount = 0;
+        }//end if
+    }//end reset
+
+    /**
+     * Takes over the state another recording ended with, so a frame recorded here starts
+     * the way the previous frame left the back buffer.
+     *
+     * @param previous the recording of the previous frame
+     */
+    public void continueFrom(RecordingGraphics previous) {
+        this.color = previous.color;
+        this.paint = previous.paint;
+        this.font = previous.font;
+        this.composite = previous.composite;
+        this.xorColor = previous.xorColor;
+        this.stroke = previous.stroke;
+        this.hints = previous.hints;
+        this.transform = previous.transform;
+        this.clip = previous.clip;
+        this.background = previous.background;
+        this.stateChanged = true;
+    }//end continueFrom
+
+    /**
+     * @return the number of commands recorded since the last {@link #reset()}
+     */
+    public int getCommandCount() {
+        return root.count;
+    }//end getCommandCount
+
+    /**
+     * @return the number of state changes recorded since the last {@link #reset()}
+     */
+    public int getStateCount() {
+        return root.stateCount;
+    }//end getStateCount
+
+    /**
+     * @return the number of times the last replay changed the paint, font, composite, stroke, hints, transform or clip
+     */
+    public int getReplayedStateChanges() {
+        return root.replayedStateChanges;
+    }//end getReplayedStateChanges
+
+    /**
+     * @return the number of times the last replay drew a different image from the image drawn before it
+     */
+    public int getReplayedImageChanges() {
+        return root.replayedImageChanges;
+    }//end getReplayedImageChanges
+
+    /**
+     * Sets the layer the following commands are drawn on. Commands on a layer are drawn after every command
+     * on the layers below it, see {@link Layer}. The layer goes back to {@link Layer#BACKGROUND} on {@link #reset()}.
+     *
+     * @param layer one of the {@link Layer} constants
+     */
+    public void setLayer(int layer) {
+        if (layer < 0 || layer >= Layer.COUNT) throw new IllegalArgumentException("Unknown layer " + layer);
+        this.layer = layer;
+    }//end setLayer
+
+    public int getLayer() {
+        return layer;
+    }//end getLayer
+
+    /**
+     * Tags the following commands with the {@link RenderGraph} pass drawing them, so the replay can time each pass.
+     * The pass goes back to none on {@link #reset()}.
+     *
+     * @param pass the position of the pass in its graph, from 0, or -1 for none
+     */
+    public void setPass(int pass) {
+        if (pass >= root.replayedPassNanos.length) {
+            root.replayedPassNanos = Arrays.copyOf(root.replayedPassNanos, pass + 1);
+        }//end if
+        this.pass = pass;
+    }//end setPass
+
+    /**
+     * Returns how long the last replay took to draw the commands of a pass, set state included. The commands are timed
+     * when the replay moves from one pass's commands to another's, so a pass split across several layers adds up
+     * the time of every part. Taking the time of the replay rather than of the recording counts the real cost of the pass,
+     * drawing its pixels. Call it after {@link #reset()}, once the recording has been handed back to be recorded again.
+     *
+     * @param pass the position of the pass in its graph, from 0
+     * @return the time in nanoseconds, or -1 if the commands cleared by the last reset were never replayed
+     */
+    public long getReplayedPassNanos(int pass) {
+        RecordingGraphics r = root;
+        if (!r.previousReplayed) return -1;
+        return pass < r.replayedPassNanos.length ? r.replayedPassNanos[pass] : 0;
+    }//end getReplayedPassNanos
+
+    // <editor-fold desc = "REPLAY">
+    /**
+     * Draws the recorded commands on a graphics context, layer by layer and grouped by state in batched layers,
+     * only changing its state where it differs from the command drawn before.
+     * The context's transform and clip are the space the recording was made in, and are restored afterwards.
+     *
+     * @param g the graphics context to draw on
+     */
+    public void replay(Graphics2D g) {
+        if (root != this) {
+            root.replay(g);
+            return;
+        }//end if
+        AffineTransform base = g.getTransform();
+        Shape baseClip = g.getClip();
+        int applied = -1;
+        Object lastImage = null;
+        replayedStateChanges = 0;
+        replayedImageChanges = 0;
+        Arrays.fill(replayedPassNanos, 0);
+        int currentPass = -1;
+        long passStart = 0;
+
+        if (!inOrder) {
+            if (sortedKeys.length < count) sortedKeys = new long[key.length];
+            System.arraycopy(key, 0, sortedKeys, 0, count);
+            Arrays.sort(sortedKeys, 0, count);
+        }//end if
+
+        for (int n = 0; n < count; n++) {
+            int i = inOrder ? n : (int) (sortedKeys[n] & INDEX_MASK);
+            if (commandPass[i] != currentPass) {
+                long now = System.nanoTime();
+                if (currentPass >= 0) replayedPassNanos[currentPass] += now - passStart;
+                currentPass = commandPass[i];
+                passStart = now;
+            }//end if
+            int s = state[i];
+            if (s != applied) {
+                if (applyState(g, s, applied, base)) replayedStateChanges++;
+                applied = s;
+            }//end if
+            if (type[i] <= IMAGE_TRANSFORM && ref[i] != lastImage) {
+                lastImage = ref[i];
+                replayedImageChanges++;
+            }//end if
+            drawCommand(g, i);
+        }//end for loop
+        if (currentPass >= 0) replayedPassNanos[currentPass] += System.nanoTime() - passStart;
+        replayed = true;
+
+        g.setTransform(base);
+        g.setClip(baseClip);
+    }//end replay
+
+    /**
+     * Changes the parts of the graphics context's state that differ between two recorded states.
+     *
+     * @return true if anything was changed
+     */
+    boolean applyState(Graphics2D g, int s, int previous, AffineTransform base) {
+        boolean changed = false;
+        if (previous < 0 || stateHints[s] != stateHints[previous]) {
+            g.setRenderingHints(stateHints[s]);
+            changed = true;
+        }//end if
+        if (previous < 0 || statePaint[s] != statePaint[previous]) {
+            g.setPaint(statePaint[s]);
+            changed = true;
+        }//end if
+        if (previous < 0 || stateFont[s] != stateFont[previous]) {
+            g.setFont(stateFont[s]);
+            changed = true;
+        }//end if
+        if (previous < 0 || stateComposite[s] != stateComposite[previous] || stateXor[s] != stateXor[previous]) {
+            //setting a composite also leaves XOR mode
+            if (stateXor[s] != null) {
+                g.setXORMode(stateXor[s]);
+            }//end if
+            else {
+                g.setComposite(stateComposite[s]);
+            }//end else
+            changed = true;
+        }//end if
+        if (previous < 0 || stateStroke[s] != stateStroke[previous]) {
+            g.setStroke(stateStroke[s]);
+            changed = true;
+        }//end if
+        if (previous < 0 || stateBackground[s] != stateBackground[previous]) {
+            g.setBackground(stateBackground[s]);
+            changed = true;
+        }//end if
+        if (previous < 0 || stateTransform[s] != stateTransform[previous] || stateClip[s] != stateClip[previous]) {
+            g.setTransform(base);
+            g.setClip(stateClip[s]);
+            g.transform(stateTransform[s]);
+            changed = true;
+        }//end if
+        return changed;
+    }//end applyState
+
+    /**
+     * Draws one recorded command, assuming its state has been applied.
+     */
+    void drawCommand(Graphics2D g, int i) {
+        int a = i * ARGS;
+        switch (type[i]) {
+            case IMAGE -> g.drawImage((Image) ref[i], args[a], args[a + 1], null);
+            case IMAGE_SCALED -> g.drawImage((Image) ref[i], args[a], args[a + 1], args[a + 2], args[a + 3], null);
+            case IMAGE_AREA -> g.drawImage((Image) ref[i], args[a], args[a + 1], args[a + 2], args[a + 3],
+                    args[a + 4], args[a + 5], args[a + 6], args[a + 7], null);
+            case IMAGE_TRANSFORM -> g.drawImage((Image) ref[i], (AffineTransform) extra[i], null);
+            case FILL_RECT -> g.fillRect(args[a], args[a + 1], args[a + 2], args[a + 3]);
+            case DRAW_RECT -> g.drawRect(args[a], args[a + 1], args[a + 2], args[a + 3]);
+            case CLEAR_RECT -> g.clearRect(args[a], args[a + 1], args[a + 2], args[a + 3]);
+            case LINE -> g.drawLine(args[a], args[a + 1], args[a + 2], args[a + 3]);
+            case FILL_ROUND_RECT -> g.fillRoundRect(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+            case DRAW_ROUND_RECT -> g.drawRoundRect(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+            case FILL_OVAL -> g.fillOval(args[a], args[a + 1], args[a + 2], args[a + 3]);
+            case DRAW_OVAL -> g.drawOval(args[a], args[a + 1], args[a + 2], args[a + 3]);
+            case FILL_ARC -> g.fillArc(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+            case DRAW_ARC -> g.drawArc(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+            case STRING -> g.drawString((String) ref[i], args[a], args[a + 1]);
+            case GLYPHS -> g.drawGlyphVector((GlyphVector) ref[i], args[a], args[a + 1]);
+            case FILL_SHAPE -> g.fill((Shape) ref[i]);
+            case DRAW_SHAPE -> g.draw((Shape) ref[i]);
+            case COPY_AREA -> g.copyArea(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+            default -> throw new IllegalStateException("Unknown command " + type[i]);
+        }//end switch
+    }//end drawCommand
+    // </editor-fold> REPLAY
+
+    // <editor-fold desc = "RECORDING">
+    /**
+     * Adds a command with the current state to the root recording and returns the index of its first argument.
+     */
+    private int add(int commandType, Object reference) {
+        RecordingGraphics r = root;
+        if (stateChanged || currentResets != r.resets) {
+            pushState();
+        }//end if
+        if (r.count == r.type.length) {
+            int capacity = r.count * 2;
+            r.type = Arrays.copyOf(r.type, capacity);
+            r.state = Arrays.copyOf(r.state, capacity);
+            r.args = Arrays.copyOf(r.args, capacity * ARGS);
+            r.ref = Arrays.copyOf(r.ref, capacity);
+            r.extra = Arrays.copyOf(r.extra, capacity);
+            r.key = Arrays.copyOf(r.key, capacity);
+            r.commandPass = Arrays.copyOf(r.commandPass, capacity);
+        }//end if
+        r.type[r.count] = commandType;
+        r.state[r.count] = currentState;
+        r.ref[r.count] = reference;
+        r.commandPass[r.count] = pass;
+        //in XOR mode the colour is what the pixels are combined with, so it groups like a composite
+        Object compositeMaterial = xorColor != null ? xorColor : composite;
+        r.key[r.count] = r.sortKey(layer, compositeMaterial, commandType <= IMAGE_TRANSFORM ? reference : paint);
+        return r.count++ * ARGS;
+    }//end add
+
+    /**
+     * Works out where the next command goes when the frame is sorted, and notes if the frame needs sorting.
+     *
+     * @param layer     the layer the command is drawn on
+     * @param composite the composite the command draws with
+     * @param material  the image the command draws, or the paint it draws with
+     */
+    private long sortKey(int layer, Object composite, Object material) {
+        long sortKey = (long) layer << LAYER_SHIFT | count;
+        if (Layer.isBatched(layer)) {
+            sortKey |= (long) Math.min(materialId(composite, layer), MAX_COMPOSITE) << COMPOSITE_SHIFT;
+            sortKey |= (long) Math.min(materialId(material, layer), MAX_MATERIAL) << MATERIAL_SHIFT;
+            inOrder = false;
+        }//end if
+        else if (layer < highestLayer) {
+            inOrder = false;
+        }//end else if
+        highestLayer = Math.max(highestLayer, layer);
+        return sortKey;
+    }//end sortKey
+
+    /**
+     * Numbers the images, paints and composites of the current layer in the order they are first drawn with this frame,
+     * so groups in a batched layer are replayed in the order they first appeared in it.
+     * E.g. text outlines drawn before the text stay under it.
+     */
+    private int materialId(Object material, int layer) {
+        int mask = materials.length - 1;
+        int slot = materialSlot(material, layer) & mask;
+        while (materials[slot] != null) {
+            if (materials[slot] == material && materialLayers[slot] == layer) return materialIds[slot];
+            slot = (slot + 1) & mask;
+        }//end while loop
+        if (materialCount * 2 >= materials.length) {
+            growMaterials();
+            return materialId(material, layer);
+        }//end if
+        materials[slot] = material;
+        materialLayers[slot] = layer;
+        materialIds[slot] = layerMaterialCount[layer]++;
+        materialCount++;
+        return materialIds[slot];
+    }//end materialId
+
+    private static int materialSlot(Object material, int layer) {
+        return System.identityHashCode(material) ^ layer * 0x9E3779B9;
+    }//end materialSlot
+
+    private void growMaterials() {
+        Object[] oldMaterials = materials;
+        int[] oldLayers = materialLayers;
+        int[] oldIds = materialIds;
+        materials = new Object[oldMaterials.length * 2];
+        materialLayers = new int[oldMaterials.length * 2];
+        materialIds = new int[oldMaterials.length * 2];
+        int mask = materials.length - 1;
+        for (int i = 0; i < oldMaterials.length; i++) {
+            if (oldMaterials[i] == null) continue;
+            int slot = materialSlot(oldMaterials[i], oldLayers[i]) & mask;
+            while (materials[slot] != null) {
+                slot = (slot + 1) & mask;
+            }//end while loop
+            materials[slot] = oldMaterials[i];
+            materialLayers[slot] = oldLayers[i];
+            materialIds[slot] = oldIds[i];
+        }//end for loop
+    }//end growMaterials
+
+    private int add(int commandType, Object reference, int x, int y, int width, int height) {
+        int a = add(commandType, reference);
+        int[] args = root.args;
+        args[a] = x;
+        args[a + 1] = y;
+        args[a + 2] = width;
+        args[a + 3] = height;
+        return a;
+    }//end add
+
+    /**
+     * Adds the current state to the root's state table.
+     */
+    private void pushState() {
+        RecordingGraphics r = root;
+        if (r.stateCount == r.statePaint.length) {
+            int capacity = r.stateCount * 2;
+            r.statePaint = Arrays.copyOf(r.statePaint, capacity);
+            r.stateFont = Arrays.copyOf(r.stateFont, capacity);
+            r.stateComposite = Arrays.copyOf(r.stateComposite, capacity);
+            r.stateXor = Arrays.copyOf(r.stateXor, capacity);
+            r.stateStroke = Arrays.copyOf(r.stateStroke, capacity);
+            r.stateHints = Arrays.copyOf(r.stateHints, capacity);
+            r.stateTransform = Arrays.copyOf(r.stateTransform, capacity);
+            r.stateClip = Arrays.copyOf(r.stateClip, capacity);
+            r.stateBackground = Arrays.copyOf(r.stateBackground, capacity);
+        }//end if
+        int s = r.stateCount++;
+        r.statePaint[s] = paint;
+        r.stateFont[s] = font;
+        r.stateComposite[s] = composite;
+        r.stateXor[s] = xorColor;
+        r.stateStroke[s] = stroke;
+        r.stateHints[s] = hints;
+        r.stateTransform[s] = transform;
+        r.stateClip[s] = clip;
+        r.stateBackground[s] = background;
+        currentState = s;
+        currentResets = r.resets;
+        stateChanged = false;
+    }//end pushState
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        if (img != null) add(IMAGE, img, x, y, 0, 0);
+        return true;
+    }//end drawImage
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        if (img != null) add(IMAGE_SCALED, img, x, y, width, height);
+        return true;
+    }//end drawImage
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        if (img == null) return true;
+        Color oldColor = color;
+        setColor(bgcolor);
+        fillRect(x, y, img.getWidth(null), img.getHeight(null));
+        setColor(oldColor);
+        return drawImage(img, x, y, observer);
+    }//end drawImage
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+        if (img == null) return true;
+        Color oldColor = color;
+        setColor(bgcolor);
+        fillRect(x, y, width, height);
+        setColor(oldColor);
+        return drawImage(img, x, y, width, height, observer);
+    }//end drawImage
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+        if (img == null) return true;
+        int a = add(IMAGE_AREA, img);
+        int[] args = root.args;
+        args[a] = dx1;
+        args[a + 1] = dy1;
+        args[a + 2] = dx2;
+        args[a + 3] = dy2;
+        args[a + 4] = sx1;
+        args[a + 5] = sy1;
+        args[a + 6] = sx2;
+        args[a + 7] = sy2;
+        return true;
+    }//end drawImage
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) {
+        return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer);
+    }//end drawImage
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver observer) {
+        if (img == null) return true;
+        int a = add(IMAGE_TRANSFORM, img);
+        root.extra[a / ARGS] = new AffineTransform(xform);
+        return true;
+    }//end drawImage
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+        drawImage(op == null ? img : op.filter(img, null), x, y, null);
+    }//end drawImage
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        if (img instanceof Image image) {
+            drawImage(image, xform, null);
+            return;
+        }//end if
+
+        //copied into an image, since the recording is replayed later and the rendered image may have changed by then
+        ColorModel model = img.getColorModel();
+        WritableRaster raster = model.createCompatibleWritableRaster(img.getWidth(), img.getHeight());
+        img.copyData(raster.createWritableTranslatedChild(img.getMinX(), img.getMinY()));
+        AffineTransform imageTransform = new AffineTransform(xform);
+        imageTransform.translate(img.getMinX(), img.getMinY());
+        drawImage(new BufferedImage(model, raster, model.isAlphaPremultiplied(), null), imageTransform, null);
+    }//end drawRenderedImage
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+        drawRenderedImage(img.createDefaultRendering(), xform);
+    }//end drawRenderableImage
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        add(FILL_RECT, null, x, y, width, height);
+    }//end fillRect
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        add(DRAW_RECT, null, x, y, width, height);
+    }//end drawRect
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        add(CLEAR_RECT, null, x, y, width, height);
+    }//end clearRect
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        add(LINE, null, x1, y1, x2, y2);
+    }//end drawLine
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        int a = add(FILL_ROUND_RECT, null, x, y, width, height);
+        root.args[a + 4] = arcWidth;
+        root.args[a + 5] = arcHeight;
+    }//end fillRoundRect
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        int a = add(DRAW_ROUND_RECT, null, x, y, width, height);
+        root.args[a + 4] = arcWidth;
+        root.args[a + 5] = arcHeight;
+    }//end drawRoundRect
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        add(FILL_OVAL, null, x, y, width, height);
+    }//end fillOval
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        add(DRAW_OVAL, null, x, y, width, height);
+    }//end drawOval
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        int a = add(FILL_ARC, null, x, y, width, height);
+        root.args[a + 4] = startAngle;
+        root.args[a + 5] = arcAngle;
+    }//end fillArc
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        int a = add(DRAW_ARC, null, x, y, width, height);
+        root.args[a + 4] = startAngle;
+        root.args[a + 5] = arcAngle;
+    }//end drawArc
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        Path2D.Float path = new Path2D.Float();
+        if (nPoints <= 0) return;
+        path.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < nPoints; i++) {
+            path.lineTo(xPoints[i], yPoints[i]);
+        }//end for loop
+        add(DRAW_SHAPE, path);
+    }//end drawPolyline
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        add(DRAW_SHAPE, new Polygon(xPoints, yPoints, nPoints));
+    }//end drawPolygon
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        add(FILL_SHAPE, new Polygon(xPoints, yPoints, nPoints));
+    }//end fillPolygon
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        add(STRING, str, x, y, 0, 0);
+    }//end drawString
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        drawString(str, Math.round(x), Math.round(y));
+    }//end drawString
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+        drawString(iterator, (float) x, (float) y);
+    }//end drawString
+
+    /**
+     * Lays the text out as it would be on the graphics the recording is replayed on, and records the glyphs
+     * and underlines the layout draws, in the colours and fonts of its attributes.
+     */
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+        if (iterator.getBeginIndex() == iterator.getEndIndex()) return;
+        new TextLayout(iterator, getFontRenderContext()).draw(this, x, y);
+    }//end drawString
+
+    @Override
+    public void drawGlyphVector(GlyphVector glyphs, float x, float y) {
+        add(GLYPHS, glyphs, Math.round(x), Math.round(y), 0, 0);
+    }//end drawGlyphVector
+
+    @Override
+    public void fill(Shape shape) {
+        if (shape instanceof Rectangle r) {
+            fillRect(r.x, r.y, r.width, r.height);
+        }//end if
+        else {
+            add(FILL_SHAPE, new Path2D.Float(shape));
+        }//end else
+    }//end fill
+
+    @Override
+    public void draw(Shape shape) {
+        if (shape instanceof Rectangle r) {
+            drawRect(r.x, r.y, r.width, r.height);
+        }//end if
+        else {
+            add(DRAW_SHAPE, new Path2D.Float(shape));
+        }//end else
+    }//end draw
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+        int a = add(COPY_AREA, null, x, y, width, height);
+        root.args[a + 4] = dx;
+        root.args[a + 5] = dy;
+    }//end copyArea
+    // </editor-fold> RECORDING
+
+    // <editor-fold desc = "STATE">
+    @Override
+    public Color getColor() {
+        return color;
+    }//end getColor
+
+    @Override
+    public void setColor(Color c) {
+        if (c == null || c == paint) return;
+        color = c;
+        paint = c;
+        stateChanged = true;
+    }//end setColor
+
+    @Override
+    public Paint getPaint() {
+        return paint;
+    }//end getPaint
+
+    @Override
+    public void setPaint(Paint p) {
+        if (p == null || p == paint) return;
+        if (p instanceof Color c) {
+            color = c;
+        }//end if
+        paint = p;
+        stateChanged = true;
+    }//end setPaint
+
+    @Override
+    public Font getFont() {
+        return font;
+    }//end getFont
+
+    @Override
+    public void setFont(Font f) {
+        if (f == null || f == font) return;
+        font = f;
+        stateChanged = true;
+    }//end setFont
+
+    @Override
+    public Composite getComposite() {
+        return composite;
+    }//end getComposite
+
+    @Override
+    public void setComposite(Composite comp) {
+        if (comp == null || comp == composite && xorColor == null) return;
+        composite = comp;
+        xorColor = null;
+        stateChanged = true;
+    }//end setComposite
+
+    @Override
+    public Stroke getStroke() {
+        return stroke;
+    }//end getStroke
+
+    @Override
+    public void setStroke(Stroke s) {
+        if (s == null || s.equals(stroke)) return;
+        stroke = s;
+        stateChanged = true;
+    }//end setStroke
+
+    @Override
+    public Color getBackground() {
+        return background;
+    }//end getBackground
+
+    @Override
+    public void setBackground(Color c) {
+        if (c == null || c == background) return;
+        background = c;
+        stateChanged = true;
+    }//end setBackground
+
+    @Override
+    public void setPaintMode() {
+        setComposite(AlphaComposite.SrcOver);
+    }//end setPaintMode
+
+    @Override
+    public void setXORMode(Color c) {
+        if (c == null || c == xorColor) return;
+        xorColor = c;
+        stateChanged = true;
+    }//end setXORMode
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key hintKey) {
+        return hints.get(hintKey);
+    }//end getRenderingHint
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+        if (hintValue == null || hintValue.equals(hints.get(hintKey))) return;
+        RenderingHints changed = (RenderingHints) hints.clone();
+        changed.put(hintKey, hintValue);
+        hints = changed;
+        stateChanged = true;
+    }//end setRenderingHint
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hintMap) {
+        hints = new RenderingHints(null);
+        hints.putAll(hintMap);
+        stateChanged = true;
+    }//end setRenderingHints
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hintMap) {
+        RenderingHints changed = (RenderingHints) hints.clone();
+        changed.putAll(hintMap);
+        hints = changed;
+        stateChanged = true;
+    }//end addRenderingHints
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) hints.clone();
+    }//end getRenderingHints
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return measure().getFontMetrics(f);
+    }//end getFontMetrics
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return measure().getFontRenderContext();
+    }//end getFontRenderContext
+
+    /**
+     * @return the graphics that measures text, set up like the graphics the recording will be replayed on
+     */
+    private Graphics2D measure() {
+        measure.setRenderingHints(hints);
+        measure.setTransform(device);
+        measure.transform(transform);
+        return measure;
+    }//end measure
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return measure.getDeviceConfiguration();
+    }//end getDeviceConfiguration
+    // </editor-fold> STATE
+
+    // <editor-fold desc = "TRANSFORM AND CLIP">
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform(transform);
+    }//end getTransform
+
+    @Override
+    public void setTransform(AffineTransform tx) {
+        transform = new AffineTransform(tx);
+        stateChanged = true;
+    }//end setTransform
+
+    @Override
+    public void transform(AffineTransform tx) {
+        AffineTransform changed = new AffineTransform(transform);
+        changed.concatenate(tx);
+        transform = changed;
+        stateChanged = true;
+    }//end transform
+
+    @Override
+    public void translate(int x, int y) {
+        translate((double) x, (double) y);
+    }//end translate
+
+    @Override
+    public void translate(double tx, double ty) {
+        transform(AffineTransform.getTranslateInstance(tx, ty));
+    }//end translate
+
+    @Override
+    public void rotate(double theta) {
+        transform(AffineTransform.getRotateInstance(theta));
+    }//end rotate
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        transform(AffineTransform.getRotateInstance(theta, x, y));
+    }//end rotate
+
+    @Override
+    public void scale(double sx, double sy) {
+        transform(AffineTransform.getScaleInstance(sx, sy));
+    }//end scale
+
+    @Override
+    public void shear(double shx, double shy) {
+        transform(AffineTransform.getShearInstance(shx, shy));
+    }//end shear
+
+    @Override
+    public Shape getClip() {
+        if (clip == null) return null;
+        Shape user = toUser(clip);
+        return user != clip ? user : clip instanceof Rectangle2D r ? (Shape) r.clone() : new Path2D.Float(clip);
+    }//end getClip
+
+    @Override
+    public Rectangle getClipBounds() {
+        return clip == null ? null : toUser(clip).getBounds();
+    }//end getClipBounds
+
+    @Override
+    public void setClip(Shape shape) {
+        clip = shape == null ? null : toDevice(shape);
+        stateChanged = true;
+    }//end setClip
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        setClip(new Rectangle(x, y, width, height));
+    }//end setClip
+
+    @Override
+    public void clip(Shape shape) {
+        Shape added = toDevice(shape);
+        if (clip == null) {
+            clip = added;
+        }//end if
+        else {
+            Rectangle2D intersection = clip.getBounds2D().createIntersection(added.getBounds2D());
+            clip = intersection.isEmpty() ? EMPTY_CLIP : intersection;
+        }//end else
+        stateChanged = true;
+    }//end clip
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        clip(new Rectangle(x, y, width, height));
+    }//end clipRect
+
+    @Override
+    public boolean hit(Rectangle rect, Shape shape, boolean onStroke) {
+        Shape target = onStroke ? stroke.createStrokedShape(shape) : shape;
+        return transform.createTransformedShape(target).intersects(rect);
+    }//end hit
+
+    /**
+     * Converts a shape from the current user space to the space the recording is replayed in.
+     * Rectangles stay rectangles unless the transform rotates or shears, which keeps the clip fast to draw with.
+     */
+    private Shape toDevice(Shape shape) {
+        if (shape instanceof Rectangle2D r && (transform.getType() & (AffineTransform.TYPE_GENERAL_ROTATION
+                | AffineTransform.TYPE_QUADRANT_ROTATION | AffineTransform.TYPE_GENERAL_TRANSFORM)) == 0) {
+            Rectangle2D device = transform.createTransformedShape(r).getBounds2D();
+            if (device.getX() == Math.rint(device.getX()) && device.getY() == Math.rint(device.getY())
+                    && device.getWidth() == Math.rint(device.getWidth()) && device.getHeight() == Math.rint(device.getHeight())) {
+                return device.getBounds();
+            }//end if
+            return device;
+        }//end if
+        return transform.createTransformedShape(shape);
+    }//end toDevice
+
+    /**
+     * Converts a shape from the space the recording is replayed in to the current user space.
+     */
+    private Shape toUser(Shape shape) {
+        if (transform.isIdentity()) return shape;
+        try {
+            return transform.createInverse().createTransformedShape(shape);
+        }//end try
+        catch (NoninvertibleTransformException e) {
+            return EMPTY_CLIP;
+        }//end catch
+    }//end toUser
+    // </editor-fold> TRANSFORM AND CLIP
+
+    /**
+     * @return a graphics that records into the same commands, starting with a copy of this one's state and layer.
+     * Changing its state doesn't change this one's
+     */
+    @Override
+    public Graphics create() {
+        return new RecordingGraphics(this);
+    }//end create
+
+    /**
+     * Does nothing, the recording is reused every frame.
+     */
+    @Override
+    public void dispose() {
+    }//end dispose
+
+}//end class
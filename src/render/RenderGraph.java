@@ -0,0 +1,189 @@
+package render;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * The passes a frame is drawn in, in order. Each pass can be turned off on its own, static passes can be cached,
+ * and the time each one takes is kept, so the debug overlay shows exactly which part of the frame is over budget.
+ * <p>
+ * When the frame is being recorded (see {@link RecordingGraphics}) the graph sets each pass's {@link Layer} before drawing it
+ * and tags its commands with the pass, so replaying the recording times each pass's share of the replay.
+ * Each pass then has two times: recording it, and drawing its pixels when the recording is replayed. The replay may
+ * happen on the render thread, so its times are picked up the next time the same recording is recorded into,
+ * a frame or two late.
+ * <p>
+ * World passes are drawn through the {@link Camera}: the graph moves the graphics context by the camera's offsets
+ * once for each of them, so nothing they draw needs offsets of its own.
+ */
+public class RenderGraph {
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 170);
+    private static final Color DISABLED_COLOR = Color.GRAY;
+
+    private final ArrayList<RenderPass> passes = new ArrayList<>();
+
+    /**
+     * Adds a pass that draws in screen coordinates, drawn after every pass added before it.
+     *
+     * @param name   the name shown in the debug overlay
+     * @param layer  the {@link Layer} the pass draws on
+     * @param drawer draws the pass
+     * @return the new pass
+     */
+    public RenderPass add(String name, int layer, RenderPass.Drawer drawer) {
+        RenderPass pass = new RenderPass(name, layer, drawer, false, false);
+        passes.add(pass);
+        return pass;
+    }//end add
+
+    /**
+     * Adds a pass that draws the same thing in screen coordinates every frame, so it can be cached,
+     * drawn after every pass added before it.
+     *
+     * @param name   the name shown in the debug overlay
+     * @param layer  the {@link Layer} the pass draws on
+     * @param drawer draws the pass
+     * @return the new pass
+     */
+    public RenderPass addStatic(String name, int layer, RenderPass.Drawer drawer) {
+        RenderPass pass = new RenderPass(name, layer, drawer, false, true);
+        passes.add(pass);
+        return pass;
+    }//end addStatic
+
+    /**
+     * Adds a pass that draws in world coordinates, drawn after every pass added before it.
+     *
+     * @param name   the name shown in the debug overlay
+     * @param layer  the {@link Layer} the pass draws on
+     * @param drawer draws the pass
+     * @return the new pass
+     */
+    public RenderPass addWorld(String name, int layer, RenderPass.Drawer drawer) {
+        RenderPass pass = new RenderPass(name, layer, drawer, true, false);
+        passes.add(pass);
+        return pass;
+    }//end addWorld
+
+    /**
+     * Draws every pass that is turned on, in order, timing each one.
+     *
+     * @param g      the graphics context to draw on
+     * @param camera the camera the world passes are seen through
+     */
+    public void draw(Graphics2D g, Camera camera) {
+        RecordingGraphics recording = g instanceof RecordingGraphics r ? r : null;
+        for (int i = 0; i < passes.size(); i++) {
+            RenderPass pass = passes.get(i);
+            if (recording != null) {
+                long replayNanos = recording.getReplayedPassNanos(i);
+                if (replayNanos >= 0) pass.addDrawSample(replayNanos);
+            }//end if
+            if (!pass.isEnabled()) {
+                pass.addRecordSample(0);
+                if (recording == null) pass.addDrawSample(0);
+                continue;
+            }//end if
+            long start = System.nanoTime();
+            Layer.set(g, pass.getLayer());
+            if (recording != null) recording.setPass(i);
+            if (pass.isWorld()) {
+                g.translate(camera.getOffsetX(), camera.getOffsetY());
+                pass.draw(g);
+                g.translate(-camera.getOffsetX(), -camera.getOffsetY());
+            }//end if
+            else {
+                pass.draw(g);
+            }//end else
+            if (recording != null) {
+                pass.addRecordSample(System.nanoTime() - start);
+            }//end if
+            else {
+                //drawing directly, recording and drawing are the same thing
+                pass.addDrawSample(System.nanoTime() - start);
+            }//end else
+        }//end for loop
+        if (recording != null) recording.setPass(-1);
+    }//end draw
+
+    /**
+     * Turns a pass on or off.
+     *
+     * @param index the position of the pass, from 0
+     */
+    public void toggle(int index) {
+        if (index < 0 || index >= passes.size()) return;
+        RenderPass pass = passes.get(index);
+        pass.setEnabled(!pass.isEnabled());
+    }//end toggle
+
+    /**
+     * Turns caching a pass on or off. Only static passes are cached, the others are left as they are.
+     *
+     * @param index the position of the pass, from 0
+     */
+    public void toggleCached(int index) {
+        if (index < 0 || index >= passes.size()) return;
+        RenderPass pass = passes.get(index);
+        pass.setCached(!pass.isCached());
+    }//end toggleCached
+
+    /**
+     * Makes every cached pass draw itself again next frame.
+     */
+    public void invalidate() {
+        for (RenderPass pass : passes) {
+            pass.invalidate();
+        }//end for loop
+    }//end invalidate
+
+    /**
+     * Lists the passes with their number, whether they are cached (marked *, or + if they could be)
+     * and their average times to record and to draw.
+     * Passes that are off are grey.
+     *
+     * @param g     the graphics context to draw on
+     * @param x     the x-position of the top-left corner of the list
+     * @param y     the y-position of the top-left corner of the list
+     * @param width the width of the list
+     * @return the height of the list in pixels
+     */
+    public int drawOverlay(Graphics2D g, int x, int y, int width) {
+        Font oldFont = g.getFont();
+        g.setFont(FONT);
+        int lineHeight = g.getFontMetrics().getHeight();
+        int height = lineHeight * (passes.size() + 2) + 8;
+
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(x, y, width, height);
+
+        int textX = x + 4;
+        int textY = y + 2 + lineHeight;
+        g.setColor(Color.WHITE);
+        g.drawString("passes (1-9 on/off, shift cache)", textX, textY);
+        textY += lineHeight;
+        g.drawString(String.format("%-16s %6s %6s", "", "record", "draw"), textX, textY);
+        for (int i = 0; i < passes.size(); i++) {
+            RenderPass pass = passes.get(i);
+            textY += lineHeight;
+            g.setColor(pass.isEnabled() ? Color.WHITE : DISABLED_COLOR);
+            g.drawString(String.format("%d%s%-14s %6.2f %6.2f ms", i + 1, pass.isCached() ? "*" : pass.isCacheable() ? "+" : " ", pass.getName(),
+                    pass.getAverageRecordNanos() / 1_000_000.0, pass.getAverageDrawNanos() / 1_000_000.0), textX, textY);
+        }//end for loop
+
+        g.setFont(oldFont);
+        return height;
+    }//end drawOverlay
+
+    //GETTERS
+
+    public int getPassCount() {
+        return passes.size();
+    }//end getPassCount
+
+    public RenderPass getPass(int index) {
+        return passes.get(index);
+    }//end getPass
+
+}//end class
@@ -0,0 +1,178 @@
+package render;
+
+import settings.Settings;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * One named step of a {@link RenderGraph}, e.g. the tiles or the entities. A pass draws on its {@link Layer},
+ * can be turned off, and keeps the time it took over the last {@link #HISTORY} frames: the time to record it,
+ * and the time to draw it, which is when its pixels are drawn if the frame is recorded.
+ * <p>
+ * A static pass draws the same thing every frame, so it can be cached: it is drawn once into an image the size of
+ * the screen, in pixels of the buffer, and the image is drawn instead until {@link #invalidate()} is called.
+ * Any other pass may draw something different each frame, e.g. because it scrolls with the camera, and is never cached.
+ * <p>
+ * A world pass draws in world coordinates and is moved onto the screen by the {@link Camera}.
+ */
+public class RenderPass {
+    public static final int HISTORY = 60; //frames of timings kept, one second at 60 FPS
+
+    /**
+     * Draws a pass.
+     */
+    @FunctionalInterface
+    public interface Drawer {
+        void draw(Graphics2D g);
+    }//end interface
+
+    private final String name;
+    private final int layer;
+    private final Drawer drawer;
+    private final boolean world;
+    private final boolean cacheable;
+    private boolean enabled = true;
+    private boolean cached = false;
+    private BufferedImage cache = null;
+
+    private final long[] recordSamples = new long[HISTORY];
+    private int recordCursor = 0;
+    private int recordFilled = 0;
+    private final long[] drawSamples = new long[HISTORY];
+    private int drawCursor = 0;
+    private int drawFilled = 0;
+
+    /**
+     * @param name      the name shown in the debug overlay
+     * @param layer     the {@link Layer} the pass draws on
+     * @param drawer    draws the pass
+     * @param world     true if the pass draws in world coordinates rather than screen coordinates
+     * @param cacheable true if the pass draws the same thing every frame, in screen coordinates
+     */
+    public RenderPass(String name, int layer, Drawer drawer, boolean world, boolean cacheable) {
+        if (world && cacheable) {
+            throw new IllegalArgumentException("A world pass moves with the camera and can't be cached: " + name);
+        }//end if
+        this.name = name;
+        this.layer = layer;
+        this.drawer = drawer;
+        this.world = world;
+        this.cacheable = cacheable;
+    }//end constructor
+
+    /**
+     * Draws the pass, from its cache if it is cached.
+     *
+     * @param g the graphics context to draw on
+     */
+    void draw(Graphics2D g) {
+        if (!cached) {
+            drawer.draw(g);
+            return;
+        }//end if
+
+        int width = Settings.getScreenWidth();
+        int height = Settings.getScreenHeight();
+        int scale = Settings.getAssetScale();
+        if (cache == null || cache.getWidth() != width / scale || cache.getHeight() != height / scale) {
+            //a new image rather than drawing over the old one, a recorded frame may still be drawing it
+            cache = new BufferedImage(width / scale, height / scale, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D cacheGraphics = cache.createGraphics();
+            cacheGraphics.scale(1.0 / scale, 1.0 / scale);
+            cacheGraphics.setClip(0, 0, width, height);
+            drawer.draw(cacheGraphics);
+            cacheGraphics.dispose();
+        }//end if
+        g.drawImage(cache, 0, 0, width, height, null);
+    }//end draw
+
+    /**
+     * Adds the time the pass took to record this frame.
+     *
+     * @param nanos the time in nanoseconds, 0 if the pass was turned off
+     */
+    void addRecordSample(long nanos) {
+        recordSamples[recordCursor] = nanos;
+        recordCursor = (recordCursor + 1) % HISTORY;
+        recordFilled = Math.min(recordFilled + 1, HISTORY);
+    }//end addRecordSample
+
+    /**
+     * Adds the time the pass took to draw a frame.
+     *
+     * @param nanos the time in nanoseconds, 0 if the pass was turned off
+     */
+    void addDrawSample(long nanos) {
+        drawSamples[drawCursor] = nanos;
+        drawCursor = (drawCursor + 1) % HISTORY;
+        drawFilled = Math.min(drawFilled + 1, HISTORY);
+    }//end addDrawSample
+
+    /**
+     * Makes a cached pass draw itself again next frame, e.g. when what it draws has changed.
+     */
+    public void invalidate() {
+        cache = null;
+    }//end invalidate
+
+    /**
+     * @return the average time the pass took to record over the last {@link #HISTORY} frames, in nanoseconds
+     */
+    public long getAverageRecordNanos() {
+        return average(recordSamples, recordFilled);
+    }//end getAverageRecordNanos
+
+    /**
+     * @return the average time the pass took to draw over the last {@link #HISTORY} frames, in nanoseconds
+     */
+    public long getAverageDrawNanos() {
+        return average(drawSamples, drawFilled);
+    }//end getAverageDrawNanos
+
+    private static long average(long[] samples, int filled) {
+        if (filled == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < filled; i++) {
+            total += samples[i];
+        }//end for loop
+        return total / filled;
+    }//end average
+
+    //GETTERS AND SETTERS
+
+    public String getName() {
+        return name;
+    }//end getName
+
+    public int getLayer() {
+        return layer;
+    }//end getLayer
+
+    public boolean isWorld() {
+        return world;
+    }//end isWorld
+
+    public boolean isCacheable() {
+        return cacheable;
+    }//end isCacheable
+
+    public boolean isEnabled() {
+        return enabled;
+    }//end isEnabled
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }//end setEnabled
+
+    public boolean isCached() {
+        return cached;
+    }//end isCached
+
+    public void setCached(boolean cached) {
+        if (!cacheable) return;
+        this.cached = cached;
+        this.cache = null;
+    }//end setCached
+
+}//end class
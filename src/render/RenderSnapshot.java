@@ -0,0 +1,62 @@
+package render;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * Everything needed to draw one frame, recorded by the simulation thread and drawn by the render thread:
+ * the world, which may be drawn at a lower resolution, and the HUD drawn on top at full resolution.
+ */
+public class RenderSnapshot {
+    private final RecordingGraphics world;
+    private final RecordingGraphics hud;
+    private long frame;
+
+    /**
+     * @param width  the width of the screen in the units the game draws in
+     * @param height the height of the screen in the units the game draws in
+     * @param device the transform from those units to the back buffer's pixels
+     */
+    public RenderSnapshot(int width, int height, AffineTransform device) {
+        this.world = new RecordingGraphics(width, height, device);
+        this.hud = new RecordingGraphics(width, height, device);
+    }//end constructor
+
+    /**
+     * Clears both recordings to record a new frame. The world starts from the state the previous frame's HUD
+     * ended with, as it would on a back buffer that both are drawn on.
+     *
+     * @param frame    the number of the frame about to be recorded
+     * @param previous the snapshot of the previous frame, or null if this is the first
+     */
+    public void reset(long frame, RenderSnapshot previous) {
+        this.frame = frame;
+        this.world.reset();
+        this.hud.reset();
+        if (previous != null) {
+            this.world.continueFrom(previous.hud);
+        }//end if
+    }//end reset
+
+    /**
+     * Starts recording the HUD, from the state the world ended with. Call it once the world has been recorded.
+     *
+     * @return the recording to draw the HUD on
+     */
+    public RecordingGraphics beginHud() {
+        hud.continueFrom(world);
+        return hud;
+    }//end beginHud
+
+    public RecordingGraphics getWorld() {
+        return world;
+    }//end getWorld
+
+    public RecordingGraphics getHud() {
+        return hud;
+    }//end getHud
+
+    public long getFrame() {
+        return frame;
+    }//end getFrame
+
+}//end class
@@ -0,0 +1,61 @@
+package render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands values from one writer thread to one reader thread without locks, keeping only the newest.
+ * <p>
+ * There are three slots: the writer fills its back slot and {@link #publish()} swaps it with the middle one,
+ * the reader swaps the middle slot with its front slot in {@link #latest()} whenever something new was published.
+ * Neither thread ever waits for the other, and a slot is never written while it is being read.
+ * If the writer publishes faster than the reader reads, the older values are overwritten unread.
+ *
+ * @param <T> the type of value handed over, reused rather than allocated each time
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX = 0b11;
+    private static final int FRESH = 0b100; //set in middle when it holds a value the reader hasn't taken
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  //only used by the writer
+    private int front = 2; //only used by the reader
+
+    /**
+     * @param factory creates the three slots
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }//end for loop
+    }//end constructor
+
+    /**
+     * @return the slot the writer fills next, which the reader can't see until it's published
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }//end back
+
+    /**
+     * Makes the back slot the newest value and gives the writer another slot to fill.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }//end publish
+
+    /**
+     * Takes the newest published value. It stays the reader's until the next call.
+     *
+     * @return the newest value, or null if nothing was published since the last call
+     */
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if ((middle.get() & FRESH) == 0) return null;
+        front = middle.getAndSet(front) & INDEX;
+        return (T) slots[front];
+    }//end latest
+
+}//end class
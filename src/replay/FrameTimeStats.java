@@ -0,0 +1,142 @@
+package replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects the time of every frame of a replay and summarises it as mean, percentiles and worst frame,
+ * so runs of the same recording can be compared across builds and machines.
+ */
+public class FrameTimeStats {
+    private long[] frames = new long[4096]; //frame times in nanoseconds, grown as needed
+    private int count = 0;
+    private long simulatedMillis = 0;
+    private long startNanos = 0;
+    private long endNanos = 0;
+
+    /**
+     * Adds one frame.
+     *
+     * @param frameNanos the real time the frame took, in nanoseconds
+     * @param elapsed    the simulated time of the frame, in milliseconds
+     */
+    public void addFrame(long frameNanos, long elapsed) {
+        if (count == frames.length) {
+            frames = Arrays.copyOf(frames, frames.length * 2);
+        }//end if
+        frames[count++] = frameNanos;
+        simulatedMillis += elapsed;
+    }//end addFrame
+
+    /**
+     * Marks the start of the measured part of the run.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+    }//end start
+
+    /**
+     * Marks the end of the measured part of the run.
+     */
+    public void stop() {
+        endNanos = System.nanoTime();
+    }//end stop
+
+    public int getFrameCount() {
+        return count;
+    }//end getFrameCount
+
+    /**
+     * @return the mean frame time in milliseconds
+     */
+    public double getMean() {
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += frames[i];
+        }//end for loop
+        return total / (double) count / 1_000_000.0;
+    }//end getMean
+
+    /**
+     * @param percentile the percentile between 0 and 1, e.g. 0.99
+     * @return the frame time at the percentile in milliseconds
+     */
+    public double getPercentile(double percentile) {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(frames, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }//end getPercentile
+
+    /**
+     * @return the longest frame in milliseconds
+     */
+    public double getMax() {
+        return getPercentile(1.0);
+    }//end getMax
+
+    /**
+     * @return the real time of the measured run in seconds
+     */
+    public double getWallSeconds() {
+        return (endNanos - startNanos) / 1_000_000_000.0;
+    }//end getWallSeconds
+
+    /**
+     * @return the simulated time of the measured run in seconds
+     */
+    public double getSimulatedSeconds() {
+        return simulatedMillis / 1000.0;
+    }//end getSimulatedSeconds
+
+    /**
+     * @return a one line summary of the statistics
+     */
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%d frames, %.1f s simulated in %.1f s | frame mean %.2f ms, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms",
+                count, getSimulatedSeconds(), getWallSeconds(), getMean(),
+                getPercentile(0.50), getPercentile(0.95), getPercentile(0.99), getMax());
+    }//end summary
+
+    /**
+     * Writes the statistics as a JSON object.
+     *
+     * @param file      the file to write
+     * @param recording the recording that was replayed, stored in the file to tell runs apart
+     * @param mode      how the replay was run, "headless" or "windowed"
+     * @throws IOException if the file can't be written
+     */
+    public void writeJson(Path file, Path recording, String mode) throws IOException {
+        String json = String.format(Locale.ROOT, """
+                {
+                  "recording": "%s",
+                  "mode": "%s",
+                  "javaVersion": "%s",
+                  "frames": %d,
+                  "simulatedSeconds": %.3f,
+                  "wallSeconds": %.3f,
+                  "frameTimeMs": {
+                    "mean": %.4f,
+                    "p50": %.4f,
+                    "p95": %.4f,
+                    "p99": %.4f,
+                    "max": %.4f
+                  }
+                }
+                """,
+                recording.toString().replace("\\", "\\\\"), mode, System.getProperty("java.version"),
+                count, getSimulatedSeconds(), getWallSeconds(), getMean(),
+                getPercentile(0.50), getPercentile(0.95), getPercentile(0.99), getMax());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }//end if
+        Files.writeString(file, json);
+    }//end writeJson
+
+}//end class
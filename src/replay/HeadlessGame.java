@@ -0,0 +1,118 @@
+package replay;
+
+import entity.player.Player;
+import main.GameContext;
+import render.RenderSnapshot;
+import settings.KeyHandler;
+import settings.Settings;
+import states.GamePlayState;
+import states.GameStateManager;
+import states.GameStateType;
+import utilities.GameClock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Runs a replay without a window: the same update and draw as {@link main.Game}, drawn into an offscreen image,
+ * with no sleep between frames so the frame times measure only the game's own work.
+ * Like the game, each frame is recorded into a {@link RenderSnapshot} and then replayed into the image.
+ */
+public class HeadlessGame implements GameContext {
+    private final InputSession inputSession;
+    private final KeyHandler keyHandler = new KeyHandler();
+    private final GameStateManager gameStateManager = new GameStateManager();
+    private Player player;
+    private int currentLevel = 0;
+    private long frames = 0;
+    private long startTime;
+    private long currTime;
+
+    /**
+     * @param inputSession a replaying session, see {@link InputSession#replaying}
+     */
+    public HeadlessGame(InputSession inputSession) {
+        this.inputSession = inputSession;
+    }//end constructor
+
+    /**
+     * Plays the replay to the end. Only the gameplay state is registered, so dying or quitting ends the replay.
+     */
+    public void run() {
+        gameStateManager.addState(GameStateType.GAMEPLAY, new GamePlayState(this, gameStateManager));
+        this.player = new Player(this.keyHandler);
+        gameStateManager.setState(GameStateType.GAMEPLAY);
+
+        BufferedImage buffer;
+        Graphics2D g;
+        if (Settings.getLowResolution()) {
+            buffer = new BufferedImage(Settings.INTERNAL_WIDTH, Settings.INTERNAL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            g = buffer.createGraphics();
+            g.scale(1.0 / Settings.getAssetScale(), 1.0 / Settings.getAssetScale());
+        }//end if
+        else {
+            buffer = new BufferedImage(Settings.getScreenWidth(), Settings.getScreenHeight(), BufferedImage.TYPE_INT_RGB);
+            g = buffer.createGraphics();
+        }//end else
+        g.setClip(0, 0, Settings.getScreenWidth(), Settings.getScreenHeight());
+        RenderSnapshot snapshot = new RenderSnapshot(Settings.getScreenWidth(), Settings.getScreenHeight(), g.getTransform());
+        RenderSnapshot previous = null;
+
+        startTime = System.currentTimeMillis();
+        currTime = startTime;
+        while (!inputSession.isFinished()) {
+            long elapsed = System.currentTimeMillis() - currTime;
+            currTime += elapsed;
+
+            elapsed = inputSession.tick(elapsed, keyHandler, gameStateManager.getCurrentState());
+            if (inputSession.isFinished()) break;
+
+            GameClock.advance(elapsed);
+            gameStateManager.update(elapsed);
+            snapshot.reset(frames, previous);
+            gameStateManager.draw(snapshot.getWorld());
+            gameStateManager.drawHud(snapshot.beginHud());
+            snapshot.getWorld().replay(g);
+            snapshot.getHud().replay(g);
+            previous = snapshot;
+            frames++;
+        }//end while loop
+
+        g.dispose();
+        if (gameStateManager.getCurrentState() != null) {
+            gameStateManager.getCurrentState().exit(); //stops the music
+        }//end if
+    }//end run
+
+    //GETTERS AND SETTERS
+
+    public KeyHandler getKeyHandler() {
+        return keyHandler;
+    }//end getKeyHandler
+
+    public int getCurrentLevel() {
+        return currentLevel;
+    }//end getCurrentLevel
+
+    public void setCurrentLevel(int currentLevel) {
+        this.currentLevel = currentLevel;
+    }//end setCurrentLevel
+
+    public Player getPlayer() {
+        return player;
+    }//end getPlayer
+
+    public InputSession getInputSession() {
+        return inputSession;
+    }//end getInputSession
+
+    public float getFPS() {
+        if (currTime - startTime <= 0) return 0.0f;
+        return (float) frames / ((currTime - startTime) / 1000.0f);
+    }//end getFPS
+
+    public double getRenderScale() {
+        return 1;
+    }//end getRenderScale
+
+}//end class
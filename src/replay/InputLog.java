@@ -0,0 +1,29 @@
+package replay;
+
+/**
+ * The binary format of an input log, shared by {@link InputRecorder} and {@link InputReplay}.
+ * <p>
+ * A log starts with {@link #MAGIC}, {@link #VERSION}, the name of the screen resolution it was recorded at and whether
+ * the low resolution mode was on (what the camera sees decides which enemies get a full update),
+ * followed by one record per simulated tick.
+ * Every record starts with a variable-length header: the tick's elapsed time shifted left by two, with
+ * {@link #KEYS_CHANGED} and {@link #LEVEL_START} in the low bits.
+ * <ul>
+ *     <li>{@link #KEYS_CHANGED}: one byte with the new key state follows, otherwise the keys are as last tick</li>
+ *     <li>{@link #LEVEL_START}: a level was entered, the level's seed (8 bytes) and number (variable length) follow</li>
+ * </ul>
+ * Most ticks are 10 to 20 ms with unchanged keys, so a tick usually takes a single byte,
+ * about 20 KB for a five minute run.
+ */
+final class InputLog {
+    static final int MAGIC = 0x45414950; //"EAIP", Endless Adventure input
+    static final int VERSION = 2;
+
+    static final int KEYS_CHANGED = 1;
+    static final int LEVEL_START = 1 << 1;
+    static final int FLAG_BITS = 2;
+
+    private InputLog() {
+    }//end constructor
+
+}//end class
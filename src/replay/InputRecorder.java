@@ -0,0 +1,111 @@
+package replay;
+
+import settings.Settings;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the key state of every simulated tick to an input log (see {@link InputLog} for the format),
+ * along with the seed of every level, so {@link InputReplay} can play the run again exactly.
+ */
+public class InputRecorder {
+    private final Path file;
+    private final DataOutputStream out;
+    private int lastKeys = 0;
+    private long ticks = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates the log file and writes its header.
+     *
+     * @param file the file to write, its folder is created if it does not exist
+     * @throws IOException if the file can't be created
+     */
+    public InputRecorder(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }//end if
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.writeInt(InputLog.MAGIC);
+        out.writeByte(InputLog.VERSION);
+        out.writeUTF(Settings.getScreenResolution().name());
+        out.writeBoolean(Settings.getLowResolution());
+    }//end constructor
+
+    /**
+     * Records that a level was entered.
+     *
+     * @param seed  the seed the level is played with
+     * @param level the level number
+     */
+    public synchronized void writeLevel(long seed, int level) {
+        if (closed) return;
+        try {
+            writeVarLong(InputLog.LEVEL_START);
+            out.writeLong(seed);
+            writeVarLong(level);
+        }//end try
+        catch (IOException e) {
+            fail(e);
+        }//end catch
+    }//end writeLevel
+
+    /**
+     * Records one simulated tick.
+     *
+     * @param elapsed the elapsed time of the tick in milliseconds
+     * @param keys    the key state of the tick, see {@link settings.KeyHandler#getState()}
+     */
+    public synchronized void writeTick(long elapsed, int keys) {
+        if (closed) return;
+        try {
+            boolean changed = keys != lastKeys;
+            writeVarLong((Math.max(0, elapsed) << InputLog.FLAG_BITS) | (changed ? InputLog.KEYS_CHANGED : 0));
+            if (changed) {
+                out.writeByte(keys);
+                lastKeys = keys;
+            }//end if
+            ticks++;
+        }//end try
+        catch (IOException e) {
+            fail(e);
+        }//end catch
+    }//end writeTick
+
+    /**
+     * Flushes and closes the log. Further ticks are ignored.
+     */
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            out.close();
+            System.out.println("Input recording saved to " + file.toAbsolutePath() + " (" + ticks + " ticks)");
+        }//end try
+        catch (IOException e) {
+            System.err.println("Could not save the input recording: " + e.getMessage());
+        }//end catch
+    }//end close
+
+    /**
+     * Writes a non-negative number 7 bits at a time, lowest first, with the top bit set on every byte but the last.
+     */
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }//end while loop
+        out.writeByte((int) value);
+    }//end writeVarLong
+
+    private void fail(IOException e) {
+        System.err.println("Input recording stopped: " + e.getMessage());
+        closed = true;
+    }//end fail
+
+}//end class
@@ -0,0 +1,172 @@
+package replay;
+
+import settings.Settings;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads an input log written by {@link InputRecorder} back one record at a time.
+ * <p>
+ * {@link #nextLevel()} and {@link #nextTick()} must be called in the same order the records were written;
+ * a log that doesn't match the way the replay plays out fails with an {@link IllegalStateException}
+ * instead of silently desynchronising.
+ */
+public class InputReplay implements AutoCloseable {
+    private final DataInputStream in;
+    private final Settings.Resolution resolution;
+    private final boolean lowResolution;
+
+    private long header = -1; //the header of the next record, read ahead so the record type is known
+    private long elapsed;
+    private int keys = 0;
+    private long seed;
+    private int level;
+    private long ticks = 0;
+
+    /**
+     * Opens a log and checks its header.
+     *
+     * @param file the log to read
+     * @throws IOException if the file can't be read or isn't an input log of this version
+     */
+    public InputReplay(Path file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        if (in.readInt() != InputLog.MAGIC) {
+            in.close();
+            throw new IOException(file + " is not an input recording");
+        }//end if
+        int version = in.readUnsignedByte();
+        if (version != InputLog.VERSION) {
+            in.close();
+            throw new IOException(file + " is version " + version + ", expected " + InputLog.VERSION);
+        }//end if
+        try {
+            this.resolution = Settings.Resolution.valueOf(in.readUTF());
+            this.lowResolution = in.readBoolean();
+        }//end try
+        catch (IllegalArgumentException e) {
+            in.close();
+            throw new IOException(file + " was recorded at an unknown resolution");
+        }//end catch
+        readHeader();
+    }//end constructor
+
+    /**
+     * Reads the start of the next level.
+     *
+     * @return true if a level was read, false if the log has ended
+     */
+    public boolean nextLevel() throws IOException {
+        if (header < 0) return false;
+        if ((header & InputLog.LEVEL_START) == 0) {
+            throw new IllegalStateException("Replay out of sync: a level started at tick " + ticks + " but the recording has a tick there");
+        }//end if
+        seed = in.readLong();
+        level = (int) readVarLong();
+        readHeader();
+        return true;
+    }//end nextLevel
+
+    /**
+     * Reads the next tick.
+     *
+     * @return true if a tick was read, false if the log has ended
+     */
+    public boolean nextTick() throws IOException {
+        if (header < 0) return false;
+        if ((header & InputLog.LEVEL_START) != 0) {
+            throw new IllegalStateException("Replay out of sync: the recording starts a level at tick " + ticks);
+        }//end if
+        elapsed = header >>> InputLog.FLAG_BITS;
+        if ((header & InputLog.KEYS_CHANGED) != 0) {
+            keys = in.readUnsignedByte();
+        }//end if
+        ticks++;
+        readHeader();
+        return true;
+    }//end nextTick
+
+    /**
+     * @return the screen resolution the log was recorded at
+     */
+    public Settings.Resolution getResolution() {
+        return resolution;
+    }//end getResolution
+
+    /**
+     * @return true if the run was recorded in the low resolution mode
+     */
+    public boolean getLowResolution() {
+        return lowResolution;
+    }//end getLowResolution
+
+    /**
+     * @return the elapsed time of the last tick read, in milliseconds
+     */
+    public long getElapsed() {
+        return elapsed;
+    }//end getElapsed
+
+    /**
+     * @return the key state of the last tick read
+     */
+    public int getKeys() {
+        return keys;
+    }//end getKeys
+
+    /**
+     * @return the seed of the last level read
+     */
+    public long getSeed() {
+        return seed;
+    }//end getSeed
+
+    /**
+     * @return the number of the last level read
+     */
+    public int getLevel() {
+        return level;
+    }//end getLevel
+
+    /**
+     * @return how many ticks have been read
+     */
+    public long getTicks() {
+        return ticks;
+    }//end getTicks
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }//end close
+
+    /**
+     * Reads the header of the next record, or marks the end of the log.
+     */
+    private void readHeader() throws IOException {
+        try {
+            header = readVarLong();
+        }//end try
+        catch (EOFException e) {
+            header = -1;
+        }//end catch
+    }//end readHeader
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }//end readVarLong
+
+}//end class
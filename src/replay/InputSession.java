@@ -0,0 +1,204 @@
+package replay;
+
+import main.GameContext;
+import settings.KeyHandler;
+import settings.Settings;
+import states.GamePlayState;
+import states.InterfaceGameState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Decides where the input of every tick comes from: the keyboard ({@link #live()}), the keyboard while
+ * writing it to an input log ({@link #recording(Path)}), or an input log ({@link #replaying(Path, Path, String)}).
+ * <p>
+ * The game loop calls {@link #tick} before every update and {@link GamePlayState} calls {@link #beginLevel}
+ * whenever a level is entered. Only ticks where a level is being played are recorded; loading screens run
+ * with real time and pausing isn't recorded, since a paused tick doesn't simulate anything.
+ * A replay skips the "press any key" screen by itself and measures the time of every replayed frame.
+ */
+public class InputSession {
+    private final InputRecorder recorder; //null unless recording
+    private final InputReplay replay;     //null unless replaying
+    private final Path recordingFile;
+    private final Path statsFile;
+    private final String mode;
+    private final FrameTimeStats stats = new FrameTimeStats();
+
+    private long lastTickNanos = 0;
+    private boolean finished = false;
+    private boolean reported = false;
+
+    private InputSession(InputRecorder recorder, InputReplay replay, Path recordingFile, Path statsFile, String mode) {
+        this.recorder = recorder;
+        this.replay = replay;
+        this.recordingFile = recordingFile;
+        this.statsFile = statsFile;
+        this.mode = mode;
+    }//end constructor
+
+    /**
+     * @return a session that plays with the keyboard without recording
+     */
+    public static InputSession live() {
+        return new InputSession(null, null, null, null, null);
+    }//end live
+
+    /**
+     * Plays with the keyboard and records every tick to a file. The file is closed when the game exits.
+     *
+     * @param file the input log to write
+     * @return the session
+     * @throws IOException if the file can't be created
+     */
+    public static InputSession recording(Path file) throws IOException {
+        InputRecorder recorder = new InputRecorder(file);
+        Runtime.getRuntime().addShutdownHook(new Thread(recorder::close, "input-recording-close"));
+        System.out.println("Recording input to " + file.toAbsolutePath());
+        return new InputSession(recorder, null, file, null, null);
+    }//end recording
+
+    /**
+     * Plays an input log back instead of the keyboard, at the screen resolution it was recorded at.
+     * Must be created before the game.
+     *
+     * @param file      the input log to play
+     * @param statsFile where the frame time statistics are written when the replay ends, or null to only print them
+     * @param mode      how the replay is run, stored with the statistics
+     * @return the session
+     * @throws IOException if the log can't be read
+     */
+    public static InputSession replaying(Path file, Path statsFile, String mode) throws IOException {
+        InputReplay replay = new InputReplay(file);
+        Settings.setScreenResolution(replay.getResolution()); //play it on the screen it was recorded on
+        Settings.setLowResolution(replay.getLowResolution());
+        return new InputSession(null, replay, file, statsFile, mode);
+    }//end replaying
+
+    /**
+     * @return true if the input comes from an input log
+     */
+    public boolean isReplaying() {
+        return replay != null;
+    }//end isReplaying
+
+    /**
+     * @return true once a replay has played its whole log, or the game has left the level it was replaying
+     */
+    public boolean isFinished() {
+        return finished;
+    }//end isFinished
+
+    /**
+     * Picks the seed of a level that is being entered. Recording writes it to the log,
+     * replaying reads it and the level number back from the log.
+     *
+     * @param game the game entering the level, its current level is restored when replaying
+     * @return the seed to play the level with
+     */
+    public long beginLevel(GameContext game) {
+        if (replay != null) {
+            try {
+                if (replay.nextLevel()) {
+                    game.setCurrentLevel(replay.getLevel());
+                    return replay.getSeed();
+                }//end if
+                finish(); //the recording ended on a level change
+            }//end try
+            catch (IOException e) {
+                throw new UncheckedIOException("Could not read the replay", e);
+            }//end catch
+        }//end if
+
+        long seed = System.nanoTime();
+        if (recorder != null) {
+            recorder.writeLevel(seed, game.getCurrentLevel());
+        }//end if
+        return seed;
+    }//end beginLevel
+
+    /**
+     * Sets the key state for the next tick, recording or replaying it. Called by the game loop before every update.
+     *
+     * @param elapsed the real time since the last tick in milliseconds
+     * @param keys    the key handler the player reads
+     * @param state   the current game state
+     * @return the time to simulate this tick in milliseconds, the recorded one when replaying
+     */
+    public long tick(long elapsed, KeyHandler keys, InterfaceGameState state) {
+        GamePlayState gamePlay = state instanceof GamePlayState ? (GamePlayState) state : null;
+
+        if (replay == null) {
+            keys.poll();
+            if (recorder != null && gamePlay != null && gamePlay.isPlaying()) {
+                recorder.writeTick(elapsed, keys.getState());
+            }//end if
+            return elapsed;
+        }//end if
+
+        if (finished) return 0;
+        if (gamePlay == null) {
+            //the replayed run died or quit
+            finish();
+            return 0;
+        }//end if
+        if (gamePlay.isWaitingToContinue()) {
+            gamePlay.continueToPlay();
+        }//end if
+        if (!gamePlay.isPlaying()) {
+            return elapsed; //still loading
+        }//end if
+
+        try {
+            if (!replay.nextTick()) {
+                finish();
+                return 0;
+            }//end if
+        }//end try
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not read the replay", e);
+        }//end catch
+
+        long now = System.nanoTime();
+        if (lastTickNanos == 0) {
+            stats.start();
+        }//end if
+        else {
+            stats.addFrame(now - lastTickNanos, replay.getElapsed());
+        }//end else
+        lastTickNanos = now;
+
+        keys.setState(replay.getKeys());
+        return replay.getElapsed();
+    }//end tick
+
+    /**
+     * Ends a replay: prints the frame time statistics and writes them to the statistics file.
+     */
+    public void finish() {
+        if (replay == null || reported) return;
+        finished = true;
+        reported = true;
+        stats.stop();
+
+        System.out.println("Replay of " + recordingFile + " finished after " + replay.getTicks() + " ticks");
+        System.out.println(stats.summary());
+        try {
+            replay.close();
+            if (statsFile != null) {
+                stats.writeJson(statsFile, recordingFile, mode);
+                System.out.println("Frame time statistics written to " + statsFile.toAbsolutePath());
+            }//end if
+        }//end try
+        catch (IOException e) {
+            System.err.println("Could not write the frame time statistics: " + e.getMessage());
+        }//end catch
+    }//end finish
+
+    public FrameTimeStats getStats() {
+        return stats;
+    }//end getStats
+
+}//end class
@@ -0,0 +1,82 @@
+package replay;
+
+import main.Game;
+import settings.Settings;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Plays an input recording back and reports frame time statistics, to benchmark the same run across builds
+ * and machines.
+ * <p>
+ * Record a run by ticking "Record Input" in the launcher, then replay it from the project root with
+ * <pre>
+ *     java -cp engine/target/engine-1.0-SNAPSHOT.jar replay.ReplayRunner replays/input_2025-01-01_12-00-00.eai [--windowed] [--out stats.json]
+ * </pre>
+ * Headless (the default) runs the game loop as fast as it can without a window; {@code --windowed} plays it in
+ * the normal game window with the normal loop. The statistics are printed and written as JSON next to the
+ * recording unless {@code --out} says otherwise.
+ */
+public class ReplayRunner {
+
+    /**
+     * @param args the recording, optionally followed by {@code --windowed} and {@code --out <file>}
+     */
+    public static void main(String[] args) {
+        Path recording = null;
+        Path statsFile = null;
+        boolean windowed = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--windowed")) {
+                windowed = true;
+            }//end if
+            else if (args[i].equals("--out") && i + 1 < args.length) {
+                statsFile = Path.of(args[++i]);
+            }//end else if
+            else if (recording == null && !args[i].startsWith("--")) {
+                recording = Path.of(args[i]);
+            }//end else if
+            else {
+                printUsage();
+                return;
+            }//end else
+        }//end for loop
+        if (recording == null) {
+            printUsage();
+            return;
+        }//end if
+        if (statsFile == null) {
+            String name = recording.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+            statsFile = recording.resolveSibling(name + "_stats.json");
+        }//end if
+
+        if (!windowed) {
+            System.setProperty("java.awt.headless", "true");
+        }//end if
+        Settings.setLongLoadingScreen(false); //the loading screens aren't what is being measured
+
+        InputSession session;
+        try {
+            session = InputSession.replaying(recording, statsFile, windowed ? "windowed" : "headless");
+        }//end try
+        catch (IOException e) {
+            System.err.println("Could not open the recording: " + e.getMessage());
+            System.exit(1);
+            return;
+        }//end catch
+
+        if (windowed) {
+            new Game(session); //runs until the replay ends, then exits
+        }//end if
+        else {
+            new HeadlessGame(session).run();
+            System.exit(0);
+        }//end else
+    }//end main
+
+    private static void printUsage() {
+        System.out.println("Usage: ReplayRunner <recording> [--windowed] [--out <stats.json>]");
+    }//end printUsage
+
+}//end class
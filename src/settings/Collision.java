@@ -1,247 +1,265 @@
 package settings;
 
+import ecs.World;
 import game2D.Sprite;
 import gameExtended2D.SpriteExtended;
-import gameExtended2D.TileExtended;
 import gameExtended2D.TileExtended.TileType;
 import gameExtended2D.TileMapExtended;
+import utilities.GameRandom;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * Utility class for handling all sprite and tile-based collision logic.
  * <p>
  * Supports:
  * <ul>
- *   <li>Tile collisions (X and Y axis)</li>
+ *   <li>Tile collisions (X and Y axis), swept so fast sprites cannot tunnel</li>
  *   <li>Platform and ground interaction</li>
  *   <li>Bounding box and circular collision checks</li>
- *   <li>Precise collision detection and response between sprites</li>
+ *   <li>Precise collision detection and response between sprites, and between a sprite and a {@link World} entity</li>
  *   <li>Interaction-based collisions (e.g., portals)</li>
  * </ul>
  */
 public class Collision {
 
+    //How far inside its edges a box is checked on the axis it is not moving along,
+    //so a sprite standing on the ground does not catch on the floor when walking
+    private static final float SKIN = 2f;
+
     /**
      * Check and handles collisions with a tile map for the
      * given sprite 's'
+     * <p>
+     * The sprite's bounding box is swept from where it was at the start of the tick
+     * (see {@link SpriteExtended#storePreviousPosition()}) to where it is now plus one step of its velocity,
+     * so fast sprites and long frames cannot skip through thin tiles.
      *
      * @param sprite The Sprite to check collisions for
      * @param tileMap The tile map to check
-     * @param collidedTiles An array used for debug that will show the tiles that are colliding with the sprite/map
+     * @param contact Filled with the tiles the sprite touched, kept by the caller so nothing is allocated
      */
-    public static void collisionSpriteToTile(SpriteExtended sprite, TileMapExtended tileMap, ArrayList<TileExtended> collidedTiles) {
-        //clear previous collided tiles
-        collidedTiles.clear();
+    public static void collisionSpriteToTile(SpriteExtended sprite, TileMapExtended tileMap, TileContact contact) {
+        float x = sprite.getX();
+        float y = sprite.getY();
+        float startX = sprite.getPreviousX();
+        float startY = sprite.getPreviousY();
 
-        //sprite size and position
-        float spritePositionX = sprite.getX();
-        float spritePositionY = sprite.getY();
-        float spriteWidth = sprite.getWidth();
-        float spriteHeight = sprite.getHeight();
+        //how far the sprite moved this tick, plus the velocity used as a one step look ahead
+        float moveX = (x - startX) + sprite.getVelocityX();
+        float moveY = (y - startY) + sprite.getVelocityY();
 
-        //tile size
-        float tileWidth = tileMap.getTileWidth();
-        float tileHeight = tileMap.getTileHeight();
+        sweepTiles(tileMap, startX, startY, sprite.getWidth(), sprite.getHeight(), moveX, moveY, contact);
 
         //-----------------X AXIS COLLISION-----------------------
-        if (sprite.getVelocityX() != 0) {
-            //where the sprite will be next frame
-            float futureX = spritePositionX + sprite.getVelocityX();
-
-            //use the midpoint of the sprite (avoids false positives at top/bottom edges)
-            float midY = spritePositionY + spriteHeight / 2;
-
-            //determine the tile the sprite is about to move into (left or right)
-            int tileX;
-            if (sprite.getVelocityX() > 0) { //Moving right
-                //check the tile on the right edge
-                tileX = (int)((futureX + spriteWidth) / tileWidth);
-            }//end if
-            else { //Moving left
-                //check the tile on the left edge
-                tileX = (int)(futureX / tileWidth);
-            }//end else
-
-            int tileY = (int)(midY / tileHeight); //does not change (y-axis one)
-
-
-            //get the tile
-            TileExtended tile = tileMap.getTile(tileX, tileY);
-
-            //check if collision
-            if (tile != null && tile.getType() != TileType.EMPTY) {
-                pushSpriteX(sprite, tile, tileWidth);
-                collidedTiles.add(tile);
-            }//end if
+        if (contact.isHitX()) {
+            //only pull the sprite back, never forward into a wall it only touched in the look ahead
+            sprite.setX(moveX > 0 ? Math.min(x, contact.getX()) : Math.max(x, contact.getX()));
+            sprite.setVelocityX(0); //Stop horizontal movement
         }//end if
 
         //-----------------Y AXIS COLLISION-----------------------
-        if (sprite.getVelocityY() != 0) {
-            //TODO might need to remove
-            boolean isFalling = false;
-
-            //predict vertical position next frame
-            float futureY = spritePositionY + sprite.getVelocityY();
-
-            //Use near-left and near-right edges of the sprite for ceiling/floor checks
-            float leftX = spritePositionX + 2;             //Slightly inside left edge
-            float rightX = spritePositionX + spriteWidth - 2;       //Slightly inside right edge
-
-            //determine tile row for top or bottom edge depending on movement
-            int tileY;
-            if (sprite.getVelocityY() > 0) { //is falling
-                //check bottom edge
-                isFalling = true;
-                tileY = (int)((futureY + spriteHeight) / tileHeight);
-            }//end if
-            else { //is jumping
-                //check top edge
-                tileY = (int)(futureY / tileHeight);
-            }//end else
+        if (contact.isHitY()) {
+            sprite.setY(moveY > 0 ? Math.min(y, contact.getY()) : Math.max(y, contact.getY()));
+            sprite.setVelocityY(0); //Stop falling or jumping
 
+            if (contact.isOnFloor()) {
+                collidableEntitySetStates(sprite, contact.getTileYType());
+            }//end if
+        }//end if
+        else if (moveY > 0) {
+            collidableEntitySetStates(sprite, TileType.EMPTY);
+        }//end else if
+    }//end collisionSpriteToTile
 
-            //which tiles we're about to collide with horizontally
-            int xtileLeft = (int) (leftX / tileWidth);
-            int xtileRight = (int) (rightX / tileWidth);
-
-            //get tiles at top or bottom corners
-            TileExtended tileLeft = tileMap.getTile(xtileLeft, tileY);
-            TileExtended tileRight = tileMap.getTile(xtileRight, tileY);
+    /**
+     * Moves a box through the tile map and stops it against the first solid tiles in its way.
+     * <p>
+     * Each axis walks every tile column (or row) the box's leading edge crosses, in order, so nothing is skipped
+     * however far the box moves. The axis that would hit something sooner is resolved first, then the other
+     * axis is swept from the corrected position. A box that already overlaps a solid tile is pushed back out of it.
+     *
+     * @param tileMap the tile map to check
+     * @param x       the x-position the box starts from
+     * @param y       the y-position the box starts from
+     * @param width   the width of the box
+     * @param height  the height of the box
+     * @param moveX   how far the box wants to move horizontally
+     * @param moveY   how far the box wants to move vertically
+     * @param contact filled with where the box ended up and what it hit
+     */
+    public static void sweepTiles(TileMapExtended tileMap, float x, float y, float width, float height, float moveX, float moveY, TileContact contact) {
+        contact.reset(x, y);
 
-            //if there's a solid tile at either corner, resolve the vertical collision
-            if (tileLeft != null && tileLeft.getType() != TileExtended.TileType.EMPTY) {
-                pushSpriteY(sprite, tileLeft, tileHeight);
-                collidedTiles.add(tileLeft);
+        //time of impact on each axis, as a fraction of the move
+        float timeX = moveX == 0 ? 1f : sweepX(tileMap, x, y, width, height, moveX, null) / moveX;
+        float timeY = moveY == 0 ? 1f : sweepY(tileMap, x, y, width, height, moveY, null) / moveY;
 
-                //Check if is a colidable entity
-                collidableEntitySetStates(sprite, tileLeft);
-            }//end if
-            else if (tileRight != null && tileRight.getType() != TileExtended.TileType.EMPTY) {
-                pushSpriteY(sprite, tileRight, tileHeight);
-                collidedTiles.add(tileRight);
+        if (timeX <= timeY) {
+            if (moveX != 0) contact.moveX(sweepX(tileMap, x, y, width, height, moveX, contact));
+            if (moveY != 0) contact.moveY(sweepY(tileMap, contact.getX(), y, width, height, moveY, contact));
+        }//end if
+        else {
+            if (moveY != 0) contact.moveY(sweepY(tileMap, x, y, width, height, moveY, contact));
+            if (moveX != 0) contact.moveX(sweepX(tileMap, x, contact.getY(), width, height, moveX, contact));
+        }//end else
+    }//end sweepTiles
 
-                //Check if is a colidable entity
-                collidableEntitySetStates(sprite, tileRight);
-            }//end else if
-            else if (tileRight != null || tileLeft != null){
-                if (tileRight.getType() == TileExtended.TileType.EMPTY && tileLeft.getType() == TileExtended.TileType.EMPTY){
-                    if (isFalling){
-                        collidableEntitySetStates(sprite, tileRight);
-                    }//end if
+    /**
+     * Finds how far a box can move horizontally before its leading edge enters a solid tile.
+     *
+     * @param tileMap the tile map to check
+     * @param x       the x-position of the box
+     * @param y       the y-position of the box
+     * @param width   the width of the box
+     * @param height  the height of the box
+     * @param moveX   how far the box wants to move
+     * @param contact where to record the tile hit, or null to only measure
+     * @return the distance the box can move, which is negative if it has to be pushed back out
+     */
+    private static float sweepX(TileMapExtended tileMap, float x, float y, float width, float height, float moveX, TileContact contact) {
+        float tileWidth = tileMap.getTileWidth();
+        float tileHeight = tileMap.getTileHeight();
+        int rowTop = (int) Math.floor((y + SKIN) / tileHeight);
+        int rowBottom = (int) Math.floor((y + height - SKIN) / tileHeight);
+
+        if (moveX > 0) { //Moving right, leading edge is the right side
+            float edge = x + width;
+            int first = (int) Math.floor(edge / tileWidth);
+            int last = (int) Math.ceil((edge + moveX) / tileWidth) - 1;
+            for (int column = first; column <= last; column++) {
+                int row = tileMap.findInColumn(column, rowTop, rowBottom, TileMapExtended.FLAG_SOLID);
+                if (row >= 0) {
+                    if (contact != null) contact.setHitX(-1, column, row);
+                    return column * tileWidth - edge;
                 }//end if
-            }//end else if
-
+            }//end for loop
         }//end if
-    }//end collisionSpriteToTile
+        else { //Moving left, leading edge is the left side
+            int first = (int) Math.ceil(x / tileWidth) - 1;
+            int last = (int) Math.floor((x + moveX) / tileWidth);
+            for (int column = first; column >= last; column--) {
+                int row = tileMap.findInColumn(column, rowTop, rowBottom, TileMapExtended.FLAG_SOLID);
+                if (row >= 0) {
+                    if (contact != null) contact.setHitX(1, column, row);
+                    return (column + 1) * tileWidth - x;
+                }//end if
+            }//end for loop
+        }//end else
+        return moveX;
+    }//end sweepX
 
     /**
-     * Resolves horizontal (X-axis) collisions between a sprite and a solid tile.
-     * Pushes the sprite to the appropriate side of the tile and stops horizontal velocity.
+     * Finds how far a box can move vertically before its leading edge enters a solid tile.
      *
-     * @param sprite     the sprite being moved
-     * @param tile       the tile that the sprite collided with
-     * @param tileWidth  the width of the tile
+     * @param tileMap the tile map to check
+     * @param x       the x-position of the box
+     * @param y       the y-position of the box
+     * @param width   the width of the box
+     * @param height  the height of the box
+     * @param moveY   how far the box wants to move
+     * @param contact where to record the tile hit, or null to only measure
+     * @return the distance the box can move, which is negative if it has to be pushed back out
      */
-    private static void pushSpriteX(SpriteExtended sprite, TileExtended tile, float tileWidth){
-        float spritePositionX = sprite.getX(); //sprite's current X
-        float spriteWidth = sprite.getWidth(); //sprite width
-        float tilePositionX = tile.getXC(); //tile X
-
-        if (sprite.getVelocityX() > 0) {
-            //Moving right and hitting tile from the left
-            if (spritePositionX + spriteWidth > tilePositionX) {
-                //Snap sprite to the left edge of the tile
-                sprite.setX(tilePositionX - spriteWidth);
-                sprite.setVelocityX(0); //Stop horizontal movement
-            }//end if
-        } //end if
-        else if (sprite.getVelocityX() < 0) {
-            //Moving left and hitting tile from the right
-            if (spritePositionX < tilePositionX + tileWidth) {
-                //Snap sprite to the right edge of the tile
-                sprite.setX(tilePositionX + tileWidth);
-                sprite.setVelocityX(0); //Stop horizontal movement
-            }//end if
-        }//end else if
-    }//end pushSpriteX
-
+    private static float sweepY(TileMapExtended tileMap, float x, float y, float width, float height, float moveY, TileContact contact) {
+        float tileWidth = tileMap.getTileWidth();
+        float tileHeight = tileMap.getTileHeight();
+        int columnLeft = (int) Math.floor((x + SKIN) / tileWidth);
+        int columnRight = (int) Math.floor((x + width - SKIN) / tileWidth);
+
+        if (moveY > 0) { //Falling, leading edge is the bottom
+            float edge = y + height;
+            int first = (int) Math.floor(edge / tileHeight);
+            int last = (int) Math.ceil((edge + moveY) / tileHeight) - 1;
+            for (int row = first; row <= last; row++) {
+                int column = tileMap.findInRow(row, columnLeft, columnRight, TileMapExtended.FLAG_SOLID);
+                if (column >= 0) {
+                    if (contact != null) contact.setHitY(-1, column, row, tileTypeOf(tileMap, column, row));
+                    return row * tileHeight - edge;
+                }//end if
+            }//end for loop
+        }//end if
+        else { //Jumping, leading edge is the top
+            int first = (int) Math.ceil(y / tileHeight) - 1;
+            int last = (int) Math.floor((y + moveY) / tileHeight);
+            for (int row = first; row >= last; row--) {
+                int column = tileMap.findInRow(row, columnLeft, columnRight, TileMapExtended.FLAG_SOLID);
+                if (column >= 0) {
+                    if (contact != null) contact.setHitY(1, column, row, tileTypeOf(tileMap, column, row));
+                    return (row + 1) * tileHeight - y;
+                }//end if
+            }//end for loop
+        }//end else
+        return moveY;
+    }//end sweepY
 
     /**
-     * Resolves vertical (Y-axis) collisions between a sprite and a solid tile.
-     * Adjusts the sprite's Y position and zeroes out Y velocity.
+     * Works out the tile type of a cell from its collision flags.
      *
-     * @param sprite      the sprite being moved
-     * @param tile        the tile that the sprite collided with
-     * @param tileHeight  the height of the tile
+     * @param tileMap the tile map to check
+     * @param column  the tile column
+     * @param row     the tile row
+     * @return PLATFORM or GROUND for solid cells, EMPTY otherwise
      */
-    private static void pushSpriteY(SpriteExtended sprite, TileExtended tile, float tileHeight){
-        float spritePositionY = sprite.getY(); //sprite Y
-        float spriteHeight = sprite.getHeight(); //sprite height
-        float tilePositionY = tile.getYC();// tile Y
-
-        if (sprite.getVelocityY() > 0) {
-            //Falling downward onto the tile
-            if (spritePositionY + spriteHeight > tilePositionY) {
-                //Snap sprite on top of the tile
-                sprite.setY(tilePositionY - spriteHeight);
-                sprite.setVelocityY(0); //Stop falling
-            }//end if
-        }//end if
-        else if (sprite.getVelocityY() < 0) {
-            //Jumping upward into the tile (ceiling hit)
-            if (spritePositionY < tilePositionY + tileHeight) {
-                //Snap sprite to bottom of the ceiling tile
-                sprite.setY(tilePositionY + tileHeight);
-                sprite.setVelocityY(0); //Stop jumping
-            }//end if
-        }//end else if
-    }//end pushSpriteY
+    private static TileType tileTypeOf(TileMapExtended tileMap, int column, int row) {
+        int flags = tileMap.getCollisionFlags(column, row);
+        if ((flags & TileMapExtended.FLAG_PLATFORM) != 0) return TileType.PLATFORM;
+        if ((flags & TileMapExtended.FLAG_SOLID) != 0) return TileType.GROUND;
+        return TileType.EMPTY;
+    }//end tileTypeOf
 
     /**
      * Assigns the correct grounded/platform/falling state to a {@link CollidableEntity}
      * based on the type of tile it's colliding with.
      *
      * @param sprite the sprite implementing CollidableEntity
-     * @param tile   the tile the sprite is interacting with
+     * @param type   the type of tile the sprite is standing on, EMPTY if it is in the air
      */
-    private static void collidableEntitySetStates(SpriteExtended sprite, TileExtended tile){
+    private static void collidableEntitySetStates(SpriteExtended sprite, TileType type){
         //Check if is a colidable entity
         if (sprite instanceof CollidableEntity){
-            if (tile.getType() == TileType.PLATFORM){
+            if (type == TileType.PLATFORM){
                 ((CollidableEntity) sprite).setOnPlatform();
             }//end if
-            else if (tile.getType() == TileType.GROUND) {
+            else if (type == TileType.GROUND) {
                 ((CollidableEntity) sprite).setOnGround();
             }//end else if
-            else if (tile.getType() == TileType.EMPTY) {
+            else if (type == TileType.EMPTY) {
                 ((CollidableEntity) sprite).setFalling();
             }//end else if
         }//end if
     }//end
 
     /**
-     * Draws rectangles around tiles currently colliding with the sprite.
+     * Draws rectangles around the tiles a sprite is touching, with a short line showing which way it was pushed.
      * Used primarily for debugging visual collisions.
      *
-     * @param g              the graphics context
-     * @param map            the tile map
-     * @param xOffset        the x offset for camera or viewport
-     * @param yOffset        the y offset for camera or viewport
-     * @param collidedTiles  the list of tiles currently in collision
+     * @param g        the graphics context
+     * @param map      the tile map
+     * @param xOffset  the x offset for camera or viewport
+     * @param yOffset  the y offset for camera or viewport
+     * @param contact  the result of the sprite's last tile collision
      */
-    public static void drawCollidedTiles(Graphics2D g, TileMapExtended map, int xOffset, int yOffset, ArrayList<TileExtended> collidedTiles) {
-        if (!collidedTiles.isEmpty()) {
-            int tileWidth = map.getTileWidth();
-            int tileHeight = map.getTileHeight();
-
-            g.setColor(Color.blue);
-            for (TileExtended t : collidedTiles) {
-                g.drawRect(t.getXC()+xOffset, t.getYC()+yOffset, tileWidth, tileHeight);
-            }//end for
+    public static void drawTileContact(Graphics2D g, TileMapExtended map, int xOffset, int yOffset, TileContact contact) {
+        int tileWidth = map.getTileWidth();
+        int tileHeight = map.getTileHeight();
+
+        g.setColor(Color.blue);
+        if (contact.isHitX()) {
+            int tx = contact.getTileXColumn() * tileWidth + xOffset;
+            int ty = contact.getTileXRow() * tileHeight + yOffset;
+            g.drawRect(tx, ty, tileWidth, tileHeight);
+            int edgeX = contact.getNormalX() > 0 ? tx + tileWidth : tx;
+            g.drawLine(edgeX, ty + tileHeight / 2, edgeX + contact.getNormalX() * tileWidth / 4, ty + tileHeight / 2);
         }//end if
-    }//end drawCollidedTiles
+        if (contact.isHitY()) {
+            int tx = contact.getTileYColumn() * tileWidth + xOffset;
+            int ty = contact.getTileYRow() * tileHeight + yOffset;
+            g.drawRect(tx, ty, tileWidth, tileHeight);
+            int edgeY = contact.getNormalY() > 0 ? ty + tileHeight : ty;
+            g.drawLine(tx + tileWidth / 2, edgeY, tx + tileWidth / 2, edgeY + contact.getNormalY() * tileHeight / 4);
+        }//end if
+    }//end drawTileContact
 
     /**
      * Performs a basic axis-aligned bounding box collision check between two sprites.
@@ -300,6 +318,33 @@ public class Collision {
         return boundingBoxCollisionSpriteToSprite(a, b) && boundingCircleCollisionSpriteToSprite(a, b);
     }//end preciseCollision
 
+    /**
+     * Same check as {@link #preciseCollisionSpriteToSprite(Sprite, Sprite)} but on plain values,
+     * so it can be used against copies such as a player snapshot without touching the live sprite.
+     *
+     * @param ax      the x-position of the first box
+     * @param ay      the y-position of the first box
+     * @param aw      the width of the first box
+     * @param ah      the height of the first box
+     * @param aRadius the radius of the first box
+     * @param bx      the x-position of the second box
+     * @param by      the y-position of the second box
+     * @param bw      the width of the second box
+     * @param bh      the height of the second box
+     * @param bRadius the radius of the second box
+     * @return true if both AABB and circle collisions occur
+     */
+    public static boolean preciseCollision(float ax, float ay, float aw, float ah, float aRadius,
+                                           float bx, float by, float bw, float bh, float bRadius) {
+        boolean boxes = ax < bx + bw && ax + aw > bx && ay < by + bh && ay + ah > by;
+        if (!boxes) return false;
+
+        float deltaX = (ax + aw / 2f) - (bx + bw / 2f);
+        float deltaY = (ay + ah / 2f) - (by + bh / 2f);
+        float combinedRadius = aRadius + bRadius;
+        return deltaX * deltaX + deltaY * deltaY < combinedRadius * combinedRadius;
+    }//end preciseCollision
+
     /**
      * Resolves a collision between two sprites with position correction.
      * Handles vertical landings (bouncing), nudging, and horizontal pushback.
@@ -354,7 +399,7 @@ public class Collision {
                         }//end if
                         else {
                             //If standing still, nudge randomly
-                            a.setX(ax + (Math.random() > 0.5 ? nudge : -nudge));
+                            a.setX(ax + (GameRandom.nextBoolean() ? nudge : -nudge));
                         }//end else
                     }//end if
                 }//end if
@@ -382,6 +427,102 @@ public class Collision {
 
     }//end collisionSpriteToSprite
 
+    /**
+     * Same check as {@link #preciseCollisionSpriteToSprite(Sprite, Sprite)} against an entity stored in a {@link World}.
+     *
+     * @param a     the sprite
+     * @param world the world the entity is stored in
+     * @param slot  the slot of the entity
+     * @return true if both AABB and circle collisions occur
+     */
+    public static boolean preciseCollisionSpriteToEntity(Sprite a, World world, int slot) {
+        return preciseCollision(a.getX(), a.getY(), a.getWidth(), a.getHeight(), a.getRadius(),
+                world.getX(slot), world.getY(slot), world.getWidth(slot), world.getHeight(slot), world.getRadius(slot));
+    }//end preciseCollisionSpriteToEntity
+
+    /**
+     * Resolves a collision between a sprite and an entity stored in a {@link World},
+     * with the same response as {@link #collisionSpriteToSprite(Sprite, Sprite)}.
+     *
+     * @param a     the active/moving sprite
+     * @param world the world the entity is stored in
+     * @param slot  the slot of the static or collided-into entity
+     */
+    public static void collisionSpriteToEntity(Sprite a, World world, int slot) {
+        if (!preciseCollisionSpriteToEntity(a, world, slot)) return;
+
+        //Positions and dimensions
+        float ax = a.getX();
+        float ay = a.getY();
+        float aw = a.getWidth();
+        float ah = a.getHeight();
+
+        float bx = world.getX(slot);
+        float by = world.getY(slot);
+        float bw = world.getWidth(slot);
+        float bh = world.getHeight(slot);
+
+        //Center differences
+        float dx = (ax + aw / 2f) - (bx + bw / 2f);
+        float dy = (ay + ah / 2f) - (by + bh / 2f);
+
+        //Amount of overlap in each direction
+        float overlapX = (aw / 2f + bw / 2f) - Math.abs(dx);
+        float overlapY = (ah / 2f + bh / 2f) - Math.abs(dy);
+
+        final float OVERLAP_THRESHOLD = 0.5f; //Small buffer to break ties
+
+        if (overlapX > 0 && overlapY > 0) {
+            boolean isVertical = !(Math.abs(overlapX - overlapY) > OVERLAP_THRESHOLD) || overlapY < overlapX;
+
+            if (isVertical) {
+                if (dy < 0) {
+                    //Sprite 'a' landed on top of the entity
+                    float aBottom = ay + ah;
+                    if (aBottom > by) {
+                        //Snap a on top of the entity
+                        a.setY(by - ah);
+
+                        //Apply bounce
+                        a.setVelocityY(-1.2f); //Soft upward push
+
+                        //Apply gentle nudge to edge for natural fall
+                        float nudge = 1.2f;
+                        float vx = a.getVelocityX();
+                        if (vx != 0) {
+                            //Continue in movement direction
+                            a.setX(ax + (vx > 0 ? nudge : -nudge));
+                        }//end if
+                        else {
+                            //If standing still, nudge randomly
+                            a.setX(ax + (GameRandom.nextBoolean() ? nudge : -nudge));
+                        }//end else
+                    }//end if
+                }//end if
+                else {
+                    //The entity is on top of sprite 'a'
+                    float bBottom = by + bh;
+                    if (bBottom > ay) {
+                        world.setY(slot, ay - bh);          //Snap the entity on top of a
+                        world.setVelocityY(slot, 1.5f);     //Force it to fall
+                        world.setX(slot, bx + (dx < 0 ? 1.2f : -1.2f)); //Nudge off
+                    }//end if
+                }//end else
+            }//end if
+            else {
+                //Horizontal collision
+                if (dx > 0) {
+                    a.setX(ax + overlapX); //Push right
+                }//end if
+                else {
+                    a.setX(ax - overlapX); //Push left
+                }//end else
+                a.setVelocityX(0); //Stop horizontal movement
+            }//end else
+        }//end if
+
+    }//end collisionSpriteToEntity
+
     /**
      * Checks for interaction-type collision (e.g. portals, etc.)
      * between a player sprite and a list of interactables.
@@ -1,7 +1,10 @@
 package settings;
 
+import debug.Profiler;
+
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles player keyboard input using Java's {@link KeyListener}.
@@ -9,6 +12,10 @@ import java.awt.event.KeyListener;
  * Tracks key states for movement, combat, debug toggles, and testing inputs.
  * <p>
  * Intended to be passed to player or input-aware objects for real-time interaction.
+ * <p>
+ * Key events arrive on the AWT thread and are queued; {@link #poll()} applies them once per tick on the game loop,
+ * so the simulation only ever sees one key state per tick. That state is a small bit mask ({@link #getState()}),
+ * which is what the input recorder writes and the replayer feeds back with {@link #setState(int)}.
  */
 public class KeyHandler implements KeyListener {
     //arrow keys
@@ -19,50 +26,106 @@ public class KeyHandler implements KeyListener {
     public boolean hurt, die;
     //debug
     public boolean debugMode;
+    private boolean allocatorsKeyDown; //F10, switches the profiler to top allocators
+
+    //Keys as bits of the key state
+    public static final int UP = 1;
+    public static final int LEFT = 1 << 1;
+    public static final int DOWN = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int PHYSICAL_ATTACK = 1 << 4;
+    public static final int TEST_CASTING = 1 << 5;
+    public static final int HURT = 1 << 6;
+    public static final int DIE = 1 << 7;
+
+    private volatile int heldKeys = 0;                               //keys down right now, written by the AWT thread
+    private final AtomicInteger pressedKeys = new AtomicInteger(0); //keys pressed since the last poll, so a quick tap isn't lost
 
     public boolean noButtonPressed(){
         return !upPressed && !leftPressed && !downPressed && !rightPressed && !physicalAttackPressed && !testCastingPressed;
     }//end noButtonPressed method
 
+    /**
+     * Applies the keys pressed and released since the last call. Called once per tick by the game loop.
+     */
+    public void poll() {
+        setState(heldKeys | pressedKeys.getAndSet(0));
+    }//end poll
+
+    /**
+     * @return the key state of this tick as a bit mask of the key constants
+     */
+    public int getState() {
+        int state = 0;
+        if (upPressed) state |= UP;
+        if (leftPressed) state |= LEFT;
+        if (downPressed) state |= DOWN;
+        if (rightPressed) state |= RIGHT;
+        if (physicalAttackPressed) state |= PHYSICAL_ATTACK;
+        if (testCastingPressed) state |= TEST_CASTING;
+        if (hurt) state |= HURT;
+        if (die) state |= DIE;
+        return state;
+    }//end getState
+
+    /**
+     * Sets the key state of this tick, e.g. from a replay.
+     *
+     * @param state a bit mask of the key constants
+     */
+    public void setState(int state) {
+        this.upPressed = (state & UP) != 0;
+        this.leftPressed = (state & LEFT) != 0;
+        this.downPressed = (state & DOWN) != 0;
+        this.rightPressed = (state & RIGHT) != 0;
+        this.physicalAttackPressed = (state & PHYSICAL_ATTACK) != 0;
+        this.testCastingPressed = (state & TEST_CASTING) != 0;
+        this.hurt = (state & HURT) != 0;
+        this.die = (state & DIE) != 0;
+    }//end setState
+
+    /**
+     * Maps a key code to its bit in the key state.
+     *
+     * @param code the key code of a key event
+     * @return the bit of the key, or 0 if the key isn't part of the key state
+     */
+    private static int keyBit(int code) {
+        switch (code) {
+            case KeyEvent.VK_UP:      return UP;
+            case KeyEvent.VK_LEFT:    return LEFT;
+            case KeyEvent.VK_DOWN:    return DOWN;
+            case KeyEvent.VK_RIGHT:   return RIGHT;
+            case KeyEvent.VK_Z:       return PHYSICAL_ATTACK;
+            case KeyEvent.VK_X:       return TEST_CASTING;
+            case KeyEvent.VK_NUMPAD1: return HURT;
+            case KeyEvent.VK_NUMPAD2: return DIE;
+            default:                  return 0;
+        }//end switch
+    }//end keyBit
+
     @Override
     public void keyTyped(KeyEvent e) {
     }//end keyTyped
 
-    //TODO change this to use a use case instead, as it is more tidy
     @Override
     public void keyPressed(KeyEvent e)
     {
         int code = e.getKeyCode(); //return the number of the key that has been pressed
 
-        //CHECK WHAT KEYS HAVE BEEN PRESSED
-        if(code == KeyEvent.VK_UP) //UP ARROW KEY
-        {
-            this.upPressed = true;
-        }//end if
-        if(code == KeyEvent.VK_LEFT) //LEFT ARROW KEY
-        {
-            this.leftPressed = true;
-        }//end if
-        if(code == KeyEvent.VK_DOWN) //DOWN ARROW KEY
-        {
-            this.downPressed = true;
+        //queue the key for the next tick
+        int bit = keyBit(code);
+        if (bit != 0) {
+            heldKeys |= bit;
+            pressedKeys.getAndUpdate(keys -> keys | bit);
         }//end if
-        if(code == KeyEvent.VK_RIGHT) //RIGHT ARROW KEY
-        {
-            this.rightPressed = true;
-        }//end if
-        if(code == KeyEvent.VK_Z) {
-            this.physicalAttackPressed = true;
-        }//end if
-        if(code == KeyEvent.VK_X) {
-            this.testCastingPressed = true;
+
+        if(code == KeyEvent.VK_F10){
+            if (!allocatorsKeyDown && Settings.getDebugMode()) {
+                Profiler.toggleAllocators();
+            }//end if
+            allocatorsKeyDown = true;
         }//end if
-        if(code == KeyEvent.VK_NUMPAD1){
-            this.hurt = true;
-        }
-        if(code == KeyEvent.VK_NUMPAD2){
-            this.die = true;
-        }
         if(code == KeyEvent.VK_F11){
             if (!debugMode) {
                 Settings.setDebugMode(!Settings.getDebugMode());
@@ -77,37 +140,11 @@ public class KeyHandler implements KeyListener {
     {
         int code = e.getKeyCode(); //return the number of the key that has been pressed
 
-        //CHECK WHAT KEYS HAVE BEEN PRESSED
-        if(code == KeyEvent.VK_UP) //UP ARROW KEY
-        {
-            this.upPressed = false;
-        }//end if
-        if(code == KeyEvent.VK_LEFT) //LEFT ARROW KEY
-        {
-            this.leftPressed = false;
-        }//end if
-        if(code == KeyEvent.VK_DOWN) //DOWN ARROW KEY
-        {
-            this.downPressed = false;
-        }//end if
-        if(code == KeyEvent.VK_RIGHT) //RIGHT ARROW KEY
-        {
-            this.rightPressed = false;
-        }//end if
-        if(code == KeyEvent.VK_Z)
-        {
-            this.physicalAttackPressed = false;
-        }//end if
-        if(code == KeyEvent.VK_X)
-        {
-            this.testCastingPressed = false;
+        heldKeys &= ~keyBit(code);
+
+        if(code == KeyEvent.VK_F10){
+            this.allocatorsKeyDown = false;
         }//end if
-        if(code == KeyEvent.VK_NUMPAD1){
-            this.hurt = false;
-        }
-        if(code == KeyEvent.VK_NUMPAD2){
-            this.die = false;
-        }
         if(code == KeyEvent.VK_F11){
             this.debugMode = false;
         }//end if
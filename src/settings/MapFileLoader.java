@@ -1,10 +1,11 @@
 package settings;
 
+import utilities.GameRandom;
+
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 /**
  * MapFileLoader is responsible for scanning a given directory
@@ -21,7 +22,6 @@ import java.util.Random;
  */
 public class MapFileLoader {
     private List<String> mapFileNames;
-    private Random random;
 
     /**
      * Constructs a MapFileLoader and immediately loads all .txt from the folder specified
@@ -30,7 +30,6 @@ public class MapFileLoader {
      */
     public MapFileLoader(String folderPath) {
         mapFileNames = new ArrayList<>();
-        this.random = new Random();
         loadMapFileNames(folderPath);
     }//end constructor
 
@@ -84,7 +83,7 @@ public class MapFileLoader {
         if (mapFileNames.isEmpty()) {
             return null;
         }//end if
-        int index = random.nextInt(mapFileNames.size());
+        int index = GameRandom.nextInt(mapFileNames.size());
         if (index==0){
             index += 1;
         }//end if
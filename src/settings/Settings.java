@@ -52,6 +52,20 @@ public class Settings {
     private static int windowCol = screenResolution.height / tileSize;
     private static int screenWidth = windowRow * tileSize;
     private static int screenHeight = windowCol * tileSize;
+    private static int windowWidth = screenWidth;
+    private static int windowHeight = screenHeight;
+
+    //Low resolution: the world is drawn into a small buffer at the source size of the assets, then upscaled to the window
+    public static final int INTERNAL_WIDTH = 640;
+    public static final int INTERNAL_HEIGHT = 360;
+    private static boolean lowResolution = false;
+
+    //Dynamic resolution: the world is drawn at a lower scale while frames take longer than the target frame rate allows
+    public static final int TARGET_FRAME_RATE = 60;
+    private static boolean dynamicResolution = false;
+
+    //Render thread: frames are drawn on their own thread while the game loop updates the next one
+    private static boolean renderThread = false;
 
     private static boolean debugMode = false;
     private static boolean longLoadingScreen = false;
@@ -79,6 +93,10 @@ public class Settings {
         return tileSize;
     }//end getTileSize
 
+    public static Resolution getScreenResolution() {
+        return screenResolution;
+    }//end getScreenResolution
+
     public static int getScreenWidth() {
         return screenWidth;
     }//end getScreenWidth
@@ -87,6 +105,66 @@ public class Settings {
         return screenHeight;
     }//end getScreenHeight
 
+    /**
+     * @return the width of the game window in pixels, the same as {@link #getScreenWidth()} unless the low resolution mode is on
+     */
+    public static int getWindowWidth() {
+        return windowWidth;
+    }//end getWindowWidth
+
+    public static int getWindowHeight() {
+        return windowHeight;
+    }//end getWindowHeight
+
+    public static boolean getLowResolution() {
+        return lowResolution;
+    }//end getLowResolution
+
+    /**
+     * Turns the low resolution mode on or off. When on, the game is drawn into an {@link #INTERNAL_WIDTH} x {@link #INTERNAL_HEIGHT}
+     * buffer which is upscaled to the window by a whole number. The screen keeps its size in world units
+     * (the internal size times the tile scale) so the gameplay is the same, only the images are kept at their source size.
+     * <p>
+     * Call this method before the game starts, after {@link #setScreenResolution(Resolution)}.
+     * </p>
+     *
+     * @param lowResolution true to draw at the internal resolution
+     */
+    public static void setLowResolution(boolean lowResolution) {
+        Settings.lowResolution = lowResolution;
+        setScreenResolution(screenResolution);
+    }//end setLowResolution
+
+    public static boolean getDynamicResolution() {
+        return dynamicResolution;
+    }//end getDynamicResolution
+
+    public static void setDynamicResolution(boolean dynamicResolution) {
+        Settings.dynamicResolution = dynamicResolution;
+    }//end setDynamicResolution
+
+    public static boolean getRenderThread() {
+        return renderThread;
+    }//end getRenderThread
+
+    public static void setRenderThread(boolean renderThread) {
+        Settings.renderThread = renderThread;
+    }//end setRenderThread
+
+    /**
+     * @return how many screen pixels one pixel of a loaded image covers: the tile scale in low resolution mode, otherwise 1
+     */
+    public static int getAssetScale() {
+        return lowResolution ? tileScale : 1;
+    }//end getAssetScale
+
+    /**
+     * @return the scale images are resized by when they are loaded: 1 in low resolution mode, otherwise the tile scale
+     */
+    public static int getImageScale() {
+        return tileScale / getAssetScale();
+    }//end getImageScale
+
     public static int getTileScale() {
         return tileScale;
     }//end getTileScale
@@ -173,6 +251,16 @@ public class Settings {
         //Recalculate actual screen size based on how many full tiles can fit
         screenWidth = windowRow * tileSize;
         screenHeight = windowCol * tileSize;
+        windowWidth = screenWidth;
+        windowHeight = screenHeight;
+
+        //In low resolution the window keeps its size but the screen is the internal resolution in world units
+        if (lowResolution) {
+            screenWidth = INTERNAL_WIDTH * tileScale;
+            screenHeight = INTERNAL_HEIGHT * tileScale;
+            windowRow = screenWidth / tileSize;
+            windowCol = screenHeight / tileSize;
+        }//end if
     }//end setScreenResolution
 
 
@@ -0,0 +1,152 @@
+package settings;
+
+import gameExtended2D.TileExtended.TileType;
+
+/**
+ * The result of sweeping a box through the tile map with {@link Collision#sweepTiles}.
+ * <p>
+ * Holds where the box ended up and, for each axis, whether it was stopped, which way the surface it hit was facing
+ * and which tile it was. Callers keep one instance and pass it in every time, so collision checks never allocate.
+ */
+public class TileContact {
+    private float x;
+    private float y;
+
+    //X axis
+    private boolean hitX;
+    private int normalX; //1 if the box was pushed right (hit a wall on its left), -1 if pushed left
+    private int tileXColumn;
+    private int tileXRow;
+
+    //Y axis
+    private boolean hitY;
+    private int normalY; //-1 if the box landed on a floor, 1 if it hit a ceiling
+    private int tileYColumn;
+    private int tileYRow;
+    private TileType tileYType;
+
+    /**
+     * Clears the previous result.
+     *
+     * @param x the x-position the box starts from
+     * @param y the y-position the box starts from
+     */
+    void reset(float x, float y) {
+        this.x = x;
+        this.y = y;
+        this.hitX = false;
+        this.normalX = 0;
+        this.hitY = false;
+        this.normalY = 0;
+        this.tileYType = null;
+    }//end reset
+
+    /**
+     * Records that the box was stopped on the X axis.
+     *
+     * @param normal the direction the box was pushed in
+     * @param column the column of the tile that was hit
+     * @param row    the row of the tile that was hit
+     */
+    void setHitX(int normal, int column, int row) {
+        this.hitX = true;
+        this.normalX = normal;
+        this.tileXColumn = column;
+        this.tileXRow = row;
+    }//end setHitX
+
+    /**
+     * Records that the box was stopped on the Y axis.
+     *
+     * @param normal the direction the box was pushed in
+     * @param column the column of the tile that was hit
+     * @param row    the row of the tile that was hit
+     * @param type   the type of the tile that was hit
+     */
+    void setHitY(int normal, int column, int row, TileType type) {
+        this.hitY = true;
+        this.normalY = normal;
+        this.tileYColumn = column;
+        this.tileYRow = row;
+        this.tileYType = type;
+    }//end setHitY
+
+    void moveX(float distance) {
+        this.x += distance;
+    }//end moveX
+
+    void moveY(float distance) {
+        this.y += distance;
+    }//end moveY
+
+    // <editor-fold desc = "GETTERS">
+    /**
+     * Returns the x-position the box reached.
+     *
+     * @return the x-position after the sweep
+     */
+    public float getX() {
+        return x;
+    }//end getX
+
+    /**
+     * Returns the y-position the box reached.
+     *
+     * @return the y-position after the sweep
+     */
+    public float getY() {
+        return y;
+    }//end getY
+
+    public boolean isHitX() {
+        return hitX;
+    }//end isHitX
+
+    public int getNormalX() {
+        return normalX;
+    }//end getNormalX
+
+    public int getTileXColumn() {
+        return tileXColumn;
+    }//end getTileXColumn
+
+    public int getTileXRow() {
+        return tileXRow;
+    }//end getTileXRow
+
+    public boolean isHitY() {
+        return hitY;
+    }//end isHitY
+
+    public int getNormalY() {
+        return normalY;
+    }//end getNormalY
+
+    public int getTileYColumn() {
+        return tileYColumn;
+    }//end getTileYColumn
+
+    public int getTileYRow() {
+        return tileYRow;
+    }//end getTileYRow
+
+    /**
+     * Returns the type of tile the box landed on or bumped into on the Y axis.
+     *
+     * @return the tile type, or null if nothing was hit on the Y axis
+     */
+    public TileType getTileYType() {
+        return tileYType;
+    }//end getTileYType
+
+    /**
+     * Returns whether the box ended up standing on a floor.
+     *
+     * @return true if the box landed on a tile
+     */
+    public boolean isOnFloor() {
+        return hitY && normalY < 0;
+    }//end isOnFloor
+    //</editor-fold> GETTERS
+
+}//end class
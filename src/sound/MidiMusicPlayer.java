@@ -1,5 +1,6 @@
 package sound;
 
+import debug.jfr.SoundEvent;
 import settings.Settings;
 
 import javax.sound.midi.*;
@@ -42,6 +43,8 @@ public class MidiMusicPlayer {
      * @param loop         true to loop continuously, false for one-time play
      */
     public void playMidi(String midiFilePath, boolean loop) {
+        SoundEvent event = new SoundEvent();
+        event.begin();
         try {
             File midiFile = new File(midiFilePath);
             Sequence sequence = MidiSystem.getSequence(midiFile);
@@ -59,6 +62,9 @@ public class MidiMusicPlayer {
         } catch (Exception e) {
             System.out.println("Couldn't player midi player error: " + e);
         }//end try-catch
+        event.sound = midiFilePath;
+        event.kind = "music";
+        event.commit();
     }//end playMidi
 
     /**
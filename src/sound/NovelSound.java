@@ -82,23 +82,7 @@ public class NovelSound extends Thread {
 
             int bytesRead;
             while ((bytesRead = audioInputStream.read(buffer, 0, buffer.length)) != -1) {
-                //Process the buffer in blocks corresponding to each sample per channel
-                for (int i = 0; i < bytesRead; i += bytesPerSample * channels) {
-                    for (int ch = 0; ch < channels; ch++) {
-                        int index = i + ch * bytesPerSample;
-                        //Ensure we have a complete sample in the buffer
-                        if (index + 1 >= bytesRead) break;
-                        //For 16-bit little-endian, combine two bytes into one sample
-                        int sample = (buffer[index + 1] << 8) | (buffer[index] & 0xff);
-                        //Apply a simple low-pass filter: average with previous sample
-                        int filteredSample = (sample + prevSample[ch]) / 2;
-                        //Update previous sample for this channel
-                        prevSample[ch] = sample;
-                        //Write the filtered sample back into the output buffer
-                        filteredBuffer[index] = (byte)(filteredSample & 0xff);
-                        filteredBuffer[index + 1] = (byte)((filteredSample >> 8) & 0xff);
-                    }//end for loop
-                }//end for loop
+                lowPassFilter(buffer, filteredBuffer, bytesRead, bytesPerSample, channels, prevSample);
                 //Write the filtered data to the audio line
                 line.write(filteredBuffer, 0, bytesRead);
             }//end while loop
@@ -119,4 +103,35 @@ public class NovelSound extends Thread {
         }//end try-catch-finally
     }//end run
 
+    /**
+     * Applies the low-pass filter to a block of 16-bit little-endian audio by averaging every sample
+     * with the previous sample of the same channel.
+     *
+     * @param buffer         the audio read from the file
+     * @param filteredBuffer where the filtered audio is written, at least {@code length} bytes long
+     * @param length         how many bytes of the buffer to filter
+     * @param bytesPerSample the size of one sample in bytes
+     * @param channels       the number of channels
+     * @param prevSample     the last sample of each channel, carried over from the previous block and updated
+     */
+    public static void lowPassFilter(byte[] buffer, byte[] filteredBuffer, int length, int bytesPerSample, int channels, int[] prevSample) {
+        //Process the buffer in blocks corresponding to each sample per channel
+        for (int i = 0; i < length; i += bytesPerSample * channels) {
+            for (int ch = 0; ch < channels; ch++) {
+                int index = i + ch * bytesPerSample;
+                //Ensure we have a complete sample in the buffer
+                if (index + 1 >= length) break;
+                //For 16-bit little-endian, combine two bytes into one sample
+                int sample = (buffer[index + 1] << 8) | (buffer[index] & 0xff);
+                //Apply a simple low-pass filter: average with previous sample
+                int filteredSample = (sample + prevSample[ch]) / 2;
+                //Update previous sample for this channel
+                prevSample[ch] = sample;
+                //Write the filtered sample back into the output buffer
+                filteredBuffer[index] = (byte)(filteredSample & 0xff);
+                filteredBuffer[index + 1] = (byte)((filteredSample >> 8) & 0xff);
+            }//end for loop
+        }//end for loop
+    }//end lowPassFilter
+
 }//end class
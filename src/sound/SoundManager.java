@@ -1,5 +1,6 @@
 package sound;
 
+import debug.jfr.SoundEvent;
 import gameExtended2D.SoundExtended;
 
 import java.util.HashMap;
@@ -39,8 +40,13 @@ public class SoundManager {
     public static void playSound(String soundName) {
         String filePath = soundFiles.get(soundName);
         if (filePath != null) {
+            SoundEvent event = new SoundEvent();
+            event.begin();
             SoundExtended sound = new SoundExtended(filePath);
             sound.start();
+            event.sound = soundName;
+            event.kind = "effect";
+            event.commit();
         }//end if
     }//end playSound
 
@@ -52,8 +58,13 @@ public class SoundManager {
     public static void playFilteredSound(String soundName) {
         String filePath = soundFiles.get(soundName);
         if (filePath != null) {
+            SoundEvent event = new SoundEvent();
+            event.begin();
             NovelSound novelSounds = new NovelSound(filePath);
             novelSounds.start();
+            event.sound = soundName;
+            event.kind = "filtered effect";
+            event.commit();
         }//end if
     }//end playFilteredSound
 
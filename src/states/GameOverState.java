@@ -1,8 +1,10 @@
 package states;
 
 import main.Game;
+import settings.Settings;
 import sound.MidiMusicPlayer;
 import ui.ConfigUI;
+import ui.MenuPanel;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
@@ -21,6 +23,8 @@ public class GameOverState implements InterfaceGameState {
     private long timeSinceEnter = 0;
     private boolean inputAllowed = false;
 
+    private final MenuPanel panel = new MenuPanel(new Color(30, 30, 30, 200), this::paintPanel);
+
     /**
      * Constructs a new {@link GameOverState}.
      *
@@ -39,6 +43,7 @@ public class GameOverState implements InterfaceGameState {
         //reset timer on enter
         timeSinceEnter = 0;
         inputAllowed = false;
+        panel.invalidate();
         //music
         this.midiMusicPlayer = new MidiMusicPlayer();
         this.midiMusicPlayer.playMidi("sounds/music/gameoverMusic.mid", true);
@@ -57,40 +62,39 @@ public class GameOverState implements InterfaceGameState {
             timeSinceEnter += elapsed;
             if (timeSinceEnter >= INPUT_DELAY_MS) {
                 inputAllowed = true;
+                panel.invalidate(); //show the instruction
             }//end if
         }//end if
     }//end update
 
     @Override
     public void draw(Graphics2D g) {
-        //Dimmed Background Overlay
+        //Background, a dimmed overlay over black is still black so it's just filled
         g.setColor(Color.BLACK);
-        g.fillRect(0, 0, GAME.getWidth(), GAME.getHeight());
-
-        Composite original = g.getComposite();
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f));
-        g.setColor(new Color(0, 0, 0, 180));
-        g.fillRect(0, 0, GAME.getWidth(), GAME.getHeight());
-        g.setComposite(original);
+        g.fillRect(0, 0, Settings.getScreenWidth(), Settings.getScreenHeight());
 
         //Panel Dimensions
-        int panelWidth = GAME.getWidth() / 2;
-        int panelHeight = GAME.getHeight() / 4;
-        int panelX = (GAME.getWidth() - panelWidth) / 2;
-        int panelY = (GAME.getHeight() - panelHeight) / 2;
-
-        //Panel Background
-        g.setColor(new Color(30, 30, 30, 200));
-        g.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 20, 20);
-        g.setColor(Color.DARK_GRAY);
-        g.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 20, 20);
+        int panelWidth = Settings.getScreenWidth() / 2;
+        int panelHeight = Settings.getScreenHeight() / 4;
+        int panelX = (Settings.getScreenWidth() - panelWidth) / 2;
+        int panelY = (Settings.getScreenHeight() - panelHeight) / 2;
+        panel.draw(g, panelX, panelY, panelWidth, panelHeight);
+    }//end draw
 
+    /**
+     * Draws the title and, once input is allowed, the instruction onto the panel.
+     *
+     * @param g      the graphics context of the panel's image
+     * @param width  the width of the panel
+     * @param height the height of the panel
+     */
+    private void paintPanel(Graphics2D g, int width, int height) {
         //GAME OVER Title
         String title = "GAME OVER";
         g.setFont(ConfigUI.getTitleBoldScaledFont());
         FontMetrics titleFM = g.getFontMetrics();
-        int titleX = (GAME.getWidth() - titleFM.stringWidth(title)) / 2;
-        int titleY = panelY + titleFM.getAscent() + 40;
+        int titleX = (width - titleFM.stringWidth(title)) / 2;
+        int titleY = titleFM.getAscent() + 40;
         ConfigUI.drawShadowedText(g, title, titleX, titleY, Color.RED, Color.BLACK);
 
         //Instruction Text
@@ -98,11 +102,11 @@ public class GameOverState implements InterfaceGameState {
             String instruction = "Press any key to return to title";
             g.setFont(ConfigUI.getNormalPlainScaledFont());
             FontMetrics instFM = g.getFontMetrics();
-            int instX = (GAME.getWidth() - instFM.stringWidth(instruction)) / 2;
+            int instX = (width - instFM.stringWidth(instruction)) / 2;
             int instY = titleY + instFM.getHeight() + 20;
             ConfigUI.drawShadowedText(g, instruction, instX, instY, ConfigUI.TEXT_COLOR_WHITE, ConfigUI.TEXT_COLOR_BLACK);
         }//end if
-    }//end draw
+    }//end paintPanel
 
 
     @Override
@@ -1,26 +1,48 @@
 package states;
 
+import debug.MemoryTelemetry;
+import debug.Profiler;
+import debug.jfr.LoadingStepEvent;
 import entity.enemy.BasicEnemy;
-import entity.enemy.Enemy;
+import entity.enemy.EnemyAiScheduler;
+import entity.enemy.EnemyLodScheduler;
+import entity.enemy.EnemySystem;
 import entity.player.Player;
+import ecs.AnimationSystem;
+import ecs.GravitySystem;
+import ecs.MovementSystem;
+import ecs.RenderSystem;
+import ecs.SpriteAdapter;
+import ecs.TileCollisionSystem;
+import ecs.World;
+import fx.ParticleEmitter;
 import gameExtended2D.SpriteExtended;
 import gameExtended2D.TileExtended;
+import gameExtended2D.MapGenerator;
 import gameExtended2D.TileMapExtended;
 import interactables.Portal;
-import main.Game;
+import main.GameContext;
+import render.Camera;
+import render.Layer;
+import render.RenderGraph;
 import settings.Collision;
 import settings.KeyHandler;
 import settings.MapFileLoader;
 import settings.Settings;
+import settings.TileContact;
 import sound.MidiMusicPlayer;
+import stress.StressTest;
 import ui.ConfigUI;
 import ui.MenuButton;
+import ui.MenuPanel;
 import ui.ParallaxBackgroundLayer;
-import ui.StaticBackground;
+import ui.ParallaxCompositor;
+import utilities.GameRandom;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Iterator;
 //TODO java docs
@@ -60,12 +82,12 @@ public class GamePlayState implements InterfaceGameState {
     // <editor-fold desc = "VARIABLES: PAUSE SCREEN">
     private MenuButton resumeButton;
     private MenuButton quitButton;
+    private final MenuPanel pausePanel = new MenuPanel(new Color(30, 30, 30, 200), null);
     //</editor-fold> VARIABLES: PAUSE SCREEN
 
     // <editor-fold desc = "VARIABLES: CAMERA">
-    private float cameraY = 0;
-    @SuppressWarnings("FieldCanBeLocal")
-    private final int DEAD_ZONE_HEIGHT = 175;  //how tall the dead zone is
+    private final Camera camera = new Camera(); //moved every update, the world passes are drawn through it
+    private static final int CULL_MARGIN = 64;  //room for health bars and effects drawn around a sprite
 
     //</editor-fold> VARIABLES: CAMERA
 
@@ -76,17 +98,21 @@ public class GamePlayState implements InterfaceGameState {
     //</editor-fold> VARIABLES: GAME VARIABLES
 
     // <editor-fold desc = "GAME RESOURCES">
-    private final Game GAME;
+    private final GameContext GAME;
     private final GameStateManager GAME_STATE_MANAGER;
     private KeyHandler keyHandler;
     private MidiMusicPlayer midiMusicPlayer;
-    private static ArrayList<SpriteExtended> entities;
+    private static EnemySystem enemies;
+    private World world; //component storage for every entity, the enemies and the sprites linked to it
+    private final RenderGraph renderGraph; //the passes the world is drawn in
+    private final EnemyAiScheduler enemyAiScheduler = new EnemyAiScheduler();
+    private final EnemyLodScheduler enemyLodScheduler = new EnemyLodScheduler();
     private Player player;
-    private ArrayList<TileExtended> collidedTiles;
+    private final TileContact tileContact = new TileContact();       //reused for every entity's tile collision
+    private final TileContact playerTileContact = new TileContact(); //kept apart so debug mode can show it
     private TileMapExtended tileMap;
     private MapFileLoader mapFileLoader;
-    private StaticBackground staticBackground;
-    private ArrayList<ParallaxBackgroundLayer> parallaxBackgroundLayers;
+    private ParallaxCompositor background;
     private ArrayList<SpriteExtended> interactables;
     private Point portalPosition; //TODO the same but for the player and consider platforms as well, and do the same for the enemies cause why not
     private ArrayList<Point> enemyPossiblePositions;
@@ -98,13 +124,14 @@ public class GamePlayState implements InterfaceGameState {
     /**
      * Constructs a new GamePlayState for the main gameplay environment
      *
-     * @param game             The {@link Game} instance managing the application.
+     * @param game             The {@link GameContext} of the game running this state.
      * @param gameStateManager The {@link GameStateManager} responsible for
      *                         handling state transitions.
      */
-    public GamePlayState(Game game, GameStateManager gameStateManager) {
+    public GamePlayState(GameContext game, GameStateManager gameStateManager) {
         this.GAME = game;
         this.GAME_STATE_MANAGER = gameStateManager;
+        this.renderGraph = createRenderGraph();
     }//end constructor
 
     //</editor-fold> CONSTRUCTORS
@@ -130,8 +157,10 @@ public class GamePlayState implements InterfaceGameState {
         this.keyHandler = this.GAME.getKeyHandler();
 
         //create new instances of the variables
-        entities = new ArrayList<>();
-        this.collidedTiles = new ArrayList<>();
+        enemies = null;
+        this.world = new World(64);
+        ParticleEmitter.global().clear(); //don't carry floating texts over from the last level
+        ParticleEmitter.global().setSeed(GameRandom.getSeed());
 
         //other variables
         this.isGameFinished = false;
@@ -190,6 +219,8 @@ public class GamePlayState implements InterfaceGameState {
 
         //Check current stage
         this.loadingMessage = this.loadingMessages.get(this.currentLoadingStep);
+        LoadingStepEvent loadingEvent = new LoadingStepEvent();
+        loadingEvent.begin();
         switch (this.currentLoadingStep) {
             case 0: //Selecting map
                 this.mapFileLoader = new MapFileLoader("maps/mapLevels");
@@ -198,7 +229,11 @@ public class GamePlayState implements InterfaceGameState {
             case 1: //Loading map tiles
                 String selectedMap = this.mapFileLoader.getRandomMapFileName();
                 this.tileMap = new TileMapExtended(55, 181);
-                if (this.GAME.getCurrentLevel() == 0 ){
+                if (StressTest.isEnabled()) {
+                    String map = MapGenerator.generate(StressTest.getMapWidth(), StressTest.getMapHeight());
+                    tileMap.loadMap("maps", new StringReader(map), "stress test map");
+                }//end if
+                else if (this.GAME.getCurrentLevel() == 0 ){
                     tileMap.loadMap("maps", "map0.txt");
                 }//end if
                 else {
@@ -219,18 +254,18 @@ public class GamePlayState implements InterfaceGameState {
                 break;
 
             case 5:
-                //BACKGROUND
-                this.staticBackground = new StaticBackground("images/ParallaxBackground/type_1/bg.png");
+                //BACKGROUND, a layer that doesn't scroll
+                this.background = new ParallaxCompositor();
+                this.background.add(new ParallaxBackgroundLayer("images/ParallaxBackground/type_1/bg.png", 0f));
 
                 //PARALLAX
-                this.parallaxBackgroundLayers = new ArrayList<>();
-                ParallaxBackgroundLayer parallaxBackground;
                 //Layer 1
-                parallaxBackground = new ParallaxBackgroundLayer("images/ParallaxBackground/type_1/1.png", 0.3f);
-                this.parallaxBackgroundLayers.add(parallaxBackground);
+                this.background.add(new ParallaxBackgroundLayer("images/ParallaxBackground/type_1/1.png", 0.3f));
                 //Layer 2
-                parallaxBackground = new ParallaxBackgroundLayer("images/ParallaxBackground/type_1/2.png", 0.6f);
-                this.parallaxBackgroundLayers.add(parallaxBackground);
+                this.background.add(new ParallaxBackgroundLayer("images/ParallaxBackground/type_1/2.png", 0.6f));
+
+                //the layers in front hide rows of the sky, so a cached sky is drawn again once they are all added
+                this.renderGraph.invalidate();
 
                 break;
 
@@ -252,6 +287,10 @@ public class GamePlayState implements InterfaceGameState {
                 this.assetsLoaded = true;
                 break;
         }//end switch
+        loadingEvent.step = this.currentLoadingStep;
+        loadingEvent.message = this.loadingMessage;
+        loadingEvent.level = this.GAME.getCurrentLevel();
+        loadingEvent.commit();
 
         currentLoadingStep++; //move to the next loading
 
@@ -267,6 +306,7 @@ public class GamePlayState implements InterfaceGameState {
      * Spawning scales with the current game level.
      */
     private void initialiseEntities(){
+        enemies = new EnemySystem(this.world, new BasicEnemy(GAME.getCurrentLevel()), this.player, this.tileMap);
         this.enemyPossiblePositions = new ArrayList<>();
         this.enemyPositions = new ArrayList<>(); //Debug only
         findEnemyPlatformTilePositions(this.tileMap);
@@ -277,7 +317,7 @@ public class GamePlayState implements InterfaceGameState {
             return;
         }//end if
 
-        int noOfEnemies = this.GAME.getCurrentLevel();
+        int noOfEnemies = StressTest.isEnabled() ? StressTest.getEnemyCount() : this.GAME.getCurrentLevel();
 
         //Check we never have less than 1 enemy
         //Useless as I want to quickly show enemy numbers increasing each level
@@ -288,19 +328,20 @@ public class GamePlayState implements InterfaceGameState {
             noOfEnemies = 1;
         }//end if
 
-        //check we do not ask for more enemies than we can have
-        noOfEnemies = Math.min(noOfEnemies, enemyPossiblePositions.size());
+        //check we do not ask for more enemies than we can have, a stress test shares positions instead
+        if (!StressTest.isEnabled()) {
+            noOfEnemies = Math.min(noOfEnemies, enemyPossiblePositions.size());
+        }//end if
 
         for (int i = 0; i < noOfEnemies; i++) {
-            int index = (int)(Math.random() * enemyPossiblePositions.size());
+            int index = GameRandom.nextInt(enemyPossiblePositions.size());
             this.enemyPositions.add(enemyPossiblePositions.get(index)); //Add for debug drawing
-            Point tile = enemyPossiblePositions.remove(index);
+            Point tile = StressTest.isEnabled() ? enemyPossiblePositions.get(index) : enemyPossiblePositions.remove(index);
 
             float px = tile.x * tileMap.getTileWidth();
             float py = tile.y * tileMap.getTileHeight();
 
-            BasicEnemy enemy = new BasicEnemy(px, py, GAME.getCurrentLevel(), this.tileMap, this.player);
-            entities.add(enemy);
+            enemies.spawn(px, py);
         }//end for loop
     }//end initialiseEntities
 
@@ -320,7 +361,7 @@ public class GamePlayState implements InterfaceGameState {
         }//end else
         this.player.setVelocity(0,0);
         this.player.show();
-        entities.add(this.player);
+        SpriteAdapter.attach(this.world, this.player, World.KIND_PLAYER);
     }//end initialisePlayer
 
     /**
@@ -348,6 +389,8 @@ public class GamePlayState implements InterfaceGameState {
     @Override
     public void enter() {
         System.out.println("Entering GameplayState");
+        //seed the level, a replay also restores the level it was recorded on
+        GameRandom.setSeed(this.GAME.getInputSession().beginLevel(this.GAME));
         System.out.println("Level: " + this.GAME.getCurrentLevel());
         init();
     }//end enter
@@ -383,42 +426,62 @@ public class GamePlayState implements InterfaceGameState {
      * @param elapsed The time elapsed since the last update.
      */
     private void updateGamePlayState(long elapsed) {
-        Iterator<SpriteExtended> iterator = entities.iterator();
+        //sprites linked to the world (the player) still update and move themselves
+        //remember where they started so tile collisions can sweep along the whole move
+        for (int i = 0; i < this.world.getCount(); i++) {
+            SpriteExtended sprite = this.world.getSprite(i);
+            if (sprite != null) {
+                sprite.storePreviousPosition();
+                sprite.update(elapsed);
+            }//end if
+        }//end for loop
 
-        //entities
-        while (iterator.hasNext()) {
-            SpriteExtended entity = iterator.next();
-            entity.update(elapsed);
+        //enemies far from the camera only get a cheap patrol update every few ticks,
+        //and they do not fall either, they stay on the platform they were patrolling
+        Profiler.begin(Profiler.AI);
+        int activeEnemies = this.enemyLodScheduler.update(enemies, elapsed, this.camera);
 
-            //Add gravity
-            float checkGravity = entity.getVelocityY() + this.gravity;
-            if (checkGravity > Settings.getGravityLimit()) {
-                checkGravity = this.gravity;
-            }//end if
-            entity.setVelocityY(checkGravity);
-
-            Collision.collisionSpriteToTile(entity, this.tileMap, this.collidedTiles);
-
-            if (!(entity instanceof Player)) {
-                Collision.collisionSpriteToSprite(this.player, entity);
-
-                if (entity instanceof Enemy enemy) {
-                    if (enemy.checkIfDead()) {
-                        System.out.println("Enemy is dead — removing from world. Check for portal");
-                        iterator.remove();
-                        if(entities.size() == 1){
-                            if(entities.getFirst() instanceof Player){
-                                this.isGameFinished = true;
-                                spawnPortal(this.portalPosition);
-                            }//end if
-                        }//end if
-                    }//end if
-                }//end if
+        //enemy AI, spread across cores when there are many of them
+        this.enemyAiScheduler.update(enemies, this.enemyLodScheduler.getFullDetail(), activeEnemies, elapsed);
+        Profiler.end(Profiler.AI);
+
+        //Systems, these run over every entity in the world at once
+        MovementSystem.update(this.world, elapsed);
+        AnimationSystem.update(this.world, elapsed);
+        GravitySystem.update(this.world, this.gravity, Settings.getGravityLimit());
+        this.player.setVelocityY(GravitySystem.apply(this.player.getVelocityY(), this.gravity, Settings.getGravityLimit()));
+
+        Profiler.begin(Profiler.COLLISION);
+        TileCollisionSystem.update(this.world, this.tileMap, this.tileContact);
+        Collision.collisionSpriteToTile(this.player, this.tileMap, this.playerTileContact);
+
+        //the player bumps into the enemies near the camera, and the enemies that finished dying are removed
+        boolean enemyRemoved = false;
+        for (int i = 0; i < this.world.getCount(); i++) {
+            if (this.world.getKind(i) != World.KIND_ENEMY || !this.world.hasFlags(i, World.FULL_DETAIL)) continue;
+
+            Collision.collisionSpriteToEntity(this.player, this.world, i);
+
+            if (enemies.isDead(i)) {
+                System.out.println("Enemy is dead — removing from world. Check for portal");
+                this.world.destroyLater(this.world.getId(i));
+                enemyRemoved = true;
             }//end if
-        }//end while loop
+        }//end for loop
+        Profiler.end(Profiler.COLLISION);
+        this.world.flushDestroyed();
+
+        //last enemy killed, open the portal
+        if (enemyRemoved && this.world.getCount(World.KIND_ENEMY) == 0) {
+            this.isGameFinished = true;
+            spawnPortal(this.portalPosition);
+        }//end if
+
+        //floating texts and particles
+        ParticleEmitter.global().update(elapsed);
 
         //interactables
-        iterator = this.interactables.iterator();
+        Iterator<SpriteExtended> iterator = this.interactables.iterator();
         while(iterator.hasNext()){
             SpriteExtended interactable = iterator.next();
             interactable.update(elapsed);
@@ -438,8 +501,18 @@ public class GamePlayState implements InterfaceGameState {
             }//end if
         }//end if
 
+        //Camera, after everything has moved
+        this.camera.update(this.player.getX() + this.player.getWidth() / 2f, this.player.getY(), this.player.getVelocityX(), elapsed);
     }//end updateGamePlayerState
 
+    /**
+     * @param sprite a sprite in the world
+     * @return true if any of the sprite is on screen, so it needs drawing
+     */
+    private boolean isInView(SpriteExtended sprite) {
+        return this.camera.isVisible(sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(), CULL_MARGIN);
+    }//end isInView
+
     //</editor-fold> METHODS: UPDATES
 
     // <editor-fold desc = "DRAW">
@@ -447,7 +520,27 @@ public class GamePlayState implements InterfaceGameState {
     public void draw(Graphics2D g) {
         if (subState == SubState.PLAY){
             drawPlayState(g);
+        }//end if
+    }//end draw
+
+    /**
+     * Draws the HUD, the debug overlay, the tutorial text and the pause and loading screens,
+     * which stay at full resolution when the world is scaled down.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    @Override
+    public void drawHud(Graphics2D g) {
+        if (subState == SubState.PLAY){
+            Profiler.begin(Profiler.HUD);
+            if (GAME.getCurrentLevel() == 0) {
+                drawTutorialText(g, this.camera.getOffsetX(), this.camera.getOffsetY());
+            }//end if
             drawPlayStateUI(g);
+            if (Settings.getDebugMode()) {
+                drawDebugOverlay(g);
+            }//end if
+            Profiler.end(Profiler.HUD);
         }//end if
         else if (subState == SubState.PAUSE){
 //            drawPlayStateUI(g);
@@ -457,7 +550,7 @@ public class GamePlayState implements InterfaceGameState {
             drawLoadingStateUI(g);
         }//end else if
 
-    }//end draw
+    }//end drawHud
 
     /**
      * Draws the main game visuals during active gameplay.
@@ -465,121 +558,189 @@ public class GamePlayState implements InterfaceGameState {
      * @param g The {@link Graphics2D} used for drawing operations.
      */
     public void drawPlayState(Graphics2D g){
-        //Draw background image
-        this.staticBackground.draw(g);
-
-        //Parallax background
-        for (ParallaxBackgroundLayer layer : this.parallaxBackgroundLayers) {
-            layer.draw(g, player.getX());
-        }//end for loop
-
-        //Camera
-        float playerY = player.getY();
-        float screenCenterY = cameraY + Settings.getScreenHeight() / 2f;
-
-        //DEAD ZONE bounds
-        float deadZoneTop = screenCenterY - DEAD_ZONE_HEIGHT / 2f;
-        float deadZoneBottom = screenCenterY + DEAD_ZONE_HEIGHT / 2f;
-
-
-        //If player leaves vertical dead zone, move camera
-        if (playerY < deadZoneTop) {
-            cameraY -= (deadZoneTop - playerY);
-        }//end if
-        else if (playerY > deadZoneBottom) {
-            cameraY += (playerY - deadZoneBottom);
-        }//end else if
+        this.renderGraph.draw(g, this.camera);
+    }//end drawPlayState
 
-        //Final offsets for drawing
-        int xo = (int)(Settings.getScreenWidth()/2 - this.player.getX());
-        int yo = (int)(-cameraY);
+    /**
+     * Creates the passes the world is drawn in, in order. The debug overlay lists them with their times,
+     * and in debug mode the number keys turn them on and off. The sky doesn't move, so it can be cached;
+     * the parallax scrolls with the camera, and everything after it is drawn in world coordinates, through the camera.
+     *
+     * @return the render graph for the world
+     */
+    private RenderGraph createRenderGraph() {
+        RenderGraph graph = new RenderGraph();
+        graph.addStatic("sky", Layer.BACKGROUND, this::drawSky);
+        graph.add("parallax", Layer.BACKGROUND, this::drawParallax);
+        graph.addWorld("tiles", Layer.TILES, this::drawTiles);
+        graph.addWorld("entities", Layer.ENTITIES, this::drawEntities);
+        graph.addWorld("interactables", Layer.ENTITIES, this::drawInteractables);
+        graph.addWorld("effects", Layer.EFFECTS, this::drawEffects);
+        graph.addWorld("debug", Layer.DEBUG, this::drawDebug);
+        return graph;
+    }//end createRenderGraph
 
+    /**
+     * Draws the static background, the layers of the parallax that don't scroll.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawSky(Graphics2D g) {
+        this.background.drawStatic(g);
+    }//end drawSky
 
-        //Apply offsets to entity.player
-        this.player.setOffsets(xo, yo);
+    /**
+     * Draws the parallax layers, which scroll with the camera.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawParallax(Graphics2D g) {
+        this.background.drawScrolling(g, (float) this.camera.getVisible().getCenterX());
+    }//end drawParallax
 
-        //Apply offsets to tile map and draw  it
-        this.tileMap.draw(g,xo,yo);
+    /**
+     * Draws the tile map.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawTiles(Graphics2D g) {
+        Profiler.begin(Profiler.TILES);
+        this.tileMap.draw(g, 0, 0);
+        Profiler.end(Profiler.TILES);
+    }//end drawTiles
 
-        //Draw all the entities being displayed to the screen
-        for (SpriteExtended entity: entities){
-            entity.setOffsets(xo, yo);
-            entity.draw(g);
+    /**
+     * Draws the player, the enemies and every other entity in the world.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawEntities(Graphics2D g) {
+        Profiler.begin(Profiler.ENTITIES);
+        for (int i = 0; i < this.world.getCount(); i++){
+            SpriteExtended sprite = this.world.getSprite(i);
+            if (sprite != null && isInView(sprite)) {
+                sprite.draw(g);
+            }//end if
         }//end for loop
+        RenderSystem.draw(this.world, g, this.camera, CULL_MARGIN);
+        enemies.draw(g, this.camera, CULL_MARGIN);
+        Profiler.end(Profiler.ENTITIES);
+    }//end drawEntities
 
-        //interactables
+    /**
+     * Draws the interactables, e.g. the portal.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawInteractables(Graphics2D g) {
+        Profiler.begin(Profiler.ENTITIES);
         for (SpriteExtended interactable: this.interactables){
-            interactable.setOffsets(xo, yo);
+            if (!isInView(interactable)) continue;
             interactable.draw(g);
         }//end for loop
+        Profiler.end(Profiler.ENTITIES);
+    }//end drawInteractables
 
-        this.player.drawEffects(g, xo, yo);
+    /**
+     * Draws the player's effects, the particles and the floating text.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawEffects(Graphics2D g) {
+        Profiler.begin(Profiler.FX);
+        this.player.drawEffects(g);
+        ParticleEmitter.global().draw(g, this.camera);
+        Profiler.end(Profiler.FX);
+    }//end drawEffects
 
-        if (Settings.getDebugMode()) {
-            // When in debug mode, you could draw borders around objects
-            // and write messages to the screen with useful information.
-            // Try to avoid printing to the console since it will produce
-            // a lot of output and slow down your game.
-            g.setColor(Color.DARK_GRAY);
-            this.tileMap.drawBorder(g, xo, yo, Color.black);
+    /**
+     * In debug mode, draws the tile borders, the bounding shapes, the player's tile contacts and the enemy spawn points.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawDebug(Graphics2D g) {
+        if (!Settings.getDebugMode()) return;
 
-            g.setColor(Color.RED);
-            this.player.drawBoundingBox(g);
-            this.player.drawBoundingCircle(g);
+        g.setColor(Color.DARK_GRAY);
+        this.tileMap.drawBorder(g, 0, 0, Color.black);
 
-            for (SpriteExtended entity: entities){
-                entity.drawBoundingBox(g);
-                entity.drawBoundingCircle(g);
-            }//end for loop
+        g.setColor(Color.RED);
+        this.player.drawBoundingBox(g);
+        this.player.drawBoundingCircle(g);
 
-            Collision.drawCollidedTiles(g, this.tileMap, xo, yo, this.collidedTiles);
+        RenderSystem.drawBounds(this.world, g, this.camera, CULL_MARGIN);
 
-            //enemy spawn points
-            g.setColor(Color.BLUE);
-            for (Point p : enemyPositions) {
-                int px = (p.x * tileMap.getTileWidth()) + xo;
-                int py = (p.y * tileMap.getTileHeight()) + yo;
-                g.drawRect(px, py, tileMap.getTileWidth(), tileMap.getTileHeight());
-            }//end for loop
+        Collision.drawTileContact(g, this.tileMap, 0, 0, this.playerTileContact);
 
-            //Show fps
-            int fps = (int) this.GAME.getFPS();
-            String msg = String.format("FPS: %d", fps);
-            g.setColor(Color.GREEN);
-            g.setFont(ConfigUI.getNormalPlainScaledFont());
-            g.drawString(msg, this.GAME.getWidth() - 100, 40);
-        }//end if
+        //enemy spawn points
+        g.setColor(Color.BLUE);
+        for (Point p : enemyPositions) {
+            int px = p.x * tileMap.getTileWidth();
+            int py = p.y * tileMap.getTileHeight();
+            if (!this.camera.isVisible(px, py, tileMap.getTileWidth(), tileMap.getTileHeight(), 0)) continue;
+            g.drawRect(px, py, tileMap.getTileWidth(), tileMap.getTileHeight());
+        }//end for loop
+    }//end drawDebug
 
-        if (GAME.getCurrentLevel() == 0) {
-            g.setFont(ConfigUI.getNormalBoldScaledFont());
-            g.setColor(Color.WHITE);
-
-            //Message 1
-            String msg1 = "Use arrow keys to move";
-            int x1 = 2 * tileMap.getTileWidth(); // tile 3
-            int y1 = 5 * tileMap.getTileHeight(); // tile 5
-            g.drawString(msg1, x1 + xo, y1 + yo);
-
-            //Message 2
-            String msg2 = "Press Z to attack";
-            int x2 = 10 * tileMap.getTileWidth();
-            int y2 = 5 * tileMap.getTileHeight();
-            g.drawString(msg2, x2 + xo, y2 + yo);
-
-            //Message 3
-            String msg3 = "Portals will show up when all enemies are dead";
-            int x3 = 15 * tileMap.getTileWidth();
-            int y3 = 5 * tileMap.getTileHeight();
-            g.drawString(msg3, x3 + xo, y3 + yo);
-
-            //Message 4
-            String msg4 = "Enter portal to move to the next level";
-            int x4 = 24 * tileMap.getTileWidth();
-            int y4 = 5 * tileMap.getTileHeight();
-            g.drawString(msg4, x4 + xo, y4 + yo);
+    /**
+     * Draws the FPS, the world's render scale, the frame time breakdown, the allocations, the memory use and the render passes.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    private void drawDebugOverlay(Graphics2D g) {
+        //Show fps and the scale the world is drawn at
+        int fps = (int) this.GAME.getFPS();
+        String msg = String.format("FPS: %d", fps);
+        g.setColor(Color.GREEN);
+        g.setFont(ConfigUI.getNormalPlainScaledFont());
+        g.drawString(msg, Settings.getScreenWidth() - 100, 40);
+        if (this.GAME.getRenderScale() < 1) {
+            g.drawString(String.format("Scale: %d%%", Math.round(this.GAME.getRenderScale() * 100)), Settings.getScreenWidth() - 220, 40);
         }//end if
 
-    }//end drawPlayState
+        //frame time breakdown, allocations and memory
+        int overlayX = Settings.getScreenWidth() - Profiler.HISTORY - 30;
+        int overlayY = 50;
+        overlayY += Profiler.drawOverlay(g, overlayX, overlayY) + 6;
+        overlayY += MemoryTelemetry.drawOverlay(g, overlayX, overlayY) + 6;
+        this.renderGraph.drawOverlay(g, overlayX, overlayY, Profiler.HISTORY + 16);
+    }//end drawDebugOverlay
+
+    /**
+     * Draws the tutorial's instructions, placed in the world next to where they apply.
+     *
+     * @param g  The {@link Graphics2D} used for drawing operations.
+     * @param xo The horizontal camera offset
+     * @param yo The vertical camera offset
+     */
+    private void drawTutorialText(Graphics2D g, int xo, int yo) {
+        g.setFont(ConfigUI.getNormalBoldScaledFont());
+        g.setColor(Color.WHITE);
+
+        //Message 1
+        String msg1 = "Use arrow keys to move";
+        int x1 = 2 * tileMap.getTileWidth(); // tile 3
+        int y1 = 5 * tileMap.getTileHeight(); // tile 5
+        g.drawString(msg1, x1 + xo, y1 + yo);
+
+        //Message 2
+        String msg2 = "Press Z to attack";
+        int x2 = 10 * tileMap.getTileWidth();
+        int y2 = 5 * tileMap.getTileHeight();
+        g.drawString(msg2, x2 + xo, y2 + yo);
+
+        //Message 3
+        String msg3 = "Portals will show up when all enemies are dead";
+        int x3 = 15 * tileMap.getTileWidth();
+        int y3 = 5 * tileMap.getTileHeight();
+        g.drawString(msg3, x3 + xo, y3 + yo);
+
+        //Message 4
+        String msg4 = "Enter portal to move to the next level";
+        int x4 = 24 * tileMap.getTileWidth();
+        int y4 = 5 * tileMap.getTileHeight();
+        g.drawString(msg4, x4 + xo, y4 + yo);
+    }//end drawTutorialText
 
     /**
      * Draws the user interface elements specific to active gameplay.
@@ -687,10 +848,7 @@ public class GamePlayState implements InterfaceGameState {
         int boxY = titleY + 40;
 
         //Panel background
-        g.setColor(new Color(30, 30, 30, 200));
-        g.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
-        g.setColor(Color.DARK_GRAY);
-        g.drawRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
+        this.pausePanel.draw(g, boxX, boxY, boxWidth, boxHeight);
 
         //Buttons
         int buttonX = boxX + 20;
@@ -788,7 +946,7 @@ public class GamePlayState implements InterfaceGameState {
         }//end if
 
         // Pick a random point from the valid list
-        Point chosen = validGroundPositions.get((int)(Math.random() * validGroundPositions.size()));
+        Point chosen = validGroundPositions.get(GameRandom.nextInt(validGroundPositions.size()));
         System.out.println("Chosen portal position: " + chosen.x + "," + chosen.y);
         return chosen;
     }//end findRandomGroundTilePosition
@@ -879,6 +1037,30 @@ public class GamePlayState implements InterfaceGameState {
 
     //</editor-fold> METHODS: LOADING SCREEN
 
+    /**
+     * Leaves the loading screen once loading has finished and starts the level and its music.
+     */
+    public void continueToPlay() {
+        if (subState != SubState.WAITING_TO_CONTINUE) return;
+        this.midiMusicPlayer.playMidi("sounds/music/gameplayMusic.mid", true);
+        this.camera.snapTo(this.player.getX() + this.player.getWidth() / 2f, this.player.getY());
+        subState = SubState.PLAY;
+    }//end continueToPlay
+
+    /**
+     * @return true once loading has finished and the game waits for a key to start the level
+     */
+    public boolean isWaitingToContinue() {
+        return subState == SubState.WAITING_TO_CONTINUE;
+    }//end isWaitingToContinue
+
+    /**
+     * @return true while the level is being played, i.e. not loading or paused
+     */
+    public boolean isPlaying() {
+        return subState == SubState.PLAY;
+    }//end isPlaying
+
     @Override
     public void keyPressed(KeyEvent e) {
         int code = e.getKeyCode();
@@ -892,10 +1074,19 @@ public class GamePlayState implements InterfaceGameState {
             }//end if else
         }//end if
 
+        //in debug mode 1-9 turn the render passes on and off, with shift they turn caching on and off
+        if (Settings.getDebugMode() && code >= KeyEvent.VK_1 && code <= KeyEvent.VK_9) {
+            if (e.isShiftDown()) {
+                this.renderGraph.toggleCached(code - KeyEvent.VK_1);
+            }//end if
+            else {
+                this.renderGraph.toggle(code - KeyEvent.VK_1);
+            }//end else
+        }//end if
+
         //take any input for loading screen
         if (subState == SubState.WAITING_TO_CONTINUE) {
-            this.midiMusicPlayer.playMidi("sounds/music/gameplayMusic.mid", true);
-            subState = SubState.PLAY;
+            continueToPlay();
         }//end if
     }//end keyPressed
 
@@ -908,8 +1099,7 @@ public class GamePlayState implements InterfaceGameState {
     public void mousePressed(MouseEvent e) {
         //take any input for loading screen
         if (subState == SubState.WAITING_TO_CONTINUE) {
-            this.midiMusicPlayer.playMidi("sounds/music/gameplayMusic.mid", true);
-            subState = SubState.PLAY;
+            continueToPlay();
             return;
         }//end if
 
@@ -934,9 +1124,17 @@ public class GamePlayState implements InterfaceGameState {
 
     }//end mouseClicked
 
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        if (subState == SubState.PAUSE) {
+            if (resumeButton != null) resumeButton.updateHover(e.getPoint());
+            if (quitButton != null) quitButton.updateHover(e.getPoint());
+        }//end if
+    }//end mouseMoved
+
     //TODO remove the static and implement this better
-    public static ArrayList<SpriteExtended> getEntities(){
-        return entities;
-    }//end getEntities
+    public static EnemySystem getEnemies(){
+        return enemies;
+    }//end getEnemies
 
 }//end class
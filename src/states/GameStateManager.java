@@ -1,5 +1,7 @@
 package states;
 
+import debug.jfr.StateTransitionEvent;
+
 import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
@@ -18,6 +20,7 @@ public class GameStateManager {
 
     /** The state that is currently active. */
     private InterfaceGameState currentState;
+    private GameStateType currentType;
 
     /**
      * Adds a new state to the manager with the specified key.
@@ -36,6 +39,9 @@ public class GameStateManager {
      * @param type The enum key of the state to activate.
      */
     public void setState(GameStateType type) {
+        StateTransitionEvent event = new StateTransitionEvent();
+        event.begin();
+
         //Exit the old state if present
         if (currentState != null) {
             currentState.exit();
@@ -46,6 +52,11 @@ public class GameStateManager {
         if (currentState != null) {
             currentState.enter();
         }//end if
+
+        event.from = currentType == null ? null : currentType.name();
+        event.to = type.name();
+        event.commit();
+        currentType = type;
     }//end setState
 
     /**
@@ -79,6 +90,17 @@ public class GameStateManager {
         }//end if
     }//end draw
 
+    /**
+     * Draws the active state's full resolution visuals, after {@link #draw(Graphics2D)}.
+     *
+     * @param g The {@link Graphics2D} used for drawing.
+     */
+    public void drawHud(Graphics2D g) {
+        if (currentState != null) {
+            currentState.drawHud(g);
+        }//end if
+    }//end drawHud
+
     /**
      * Handles the event of a key being pressed.
      *
@@ -134,4 +156,15 @@ public class GameStateManager {
         }//end if
     }//end mouseClicked
 
+    /**
+     * Handles the mouse moving.
+     *
+     * @param e The {@link MouseEvent} for the mouse moving.
+     */
+    public void mouseMoved(MouseEvent e) {
+        if (currentState != null) {
+            currentState.mouseMoved(e);
+        }//end if
+    }//end mouseMoved
+
 }//end class
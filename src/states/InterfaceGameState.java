@@ -45,6 +45,15 @@ public interface InterfaceGameState {
      */
     void draw(Graphics2D g);
 
+    /**
+     * Renders the visuals that are drawn at full resolution on top of {@link #draw(Graphics2D)},
+     * such as the HUD and text, even while the world is drawn at a lower resolution.
+     *
+     * @param g The {@link Graphics2D} used for drawing operations.
+     */
+    default void drawHud(Graphics2D g) {
+    }//end drawHud
+
     /**
      * Called whenever a key is pressed.
      *
@@ -80,4 +89,12 @@ public interface InterfaceGameState {
      */
     void mouseClicked(MouseEvent e);
 
+    /**
+     * Called whenever the mouse moves without a button held, e.g. to highlight the button under it.
+     *
+     * @param e The {@link MouseEvent} about the mouse event.
+     */
+    default void mouseMoved(MouseEvent e) {
+    }//end mouseMoved
+
 }//end interface
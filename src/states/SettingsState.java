@@ -194,4 +194,15 @@ public class SettingsState implements InterfaceGameState {
         //nada
     }//end mouseClicked
 
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        Point mouse = e.getPoint();
+        for (MenuButton button : buttons) {
+            button.updateHover(mouse);
+        }//end for loop
+        gravityDecreaseButton.updateHover(mouse);
+        gravityIncreaseButton.updateHover(mouse);
+        backButton.updateHover(mouse);
+    }//end mouseMoved
+
 }//end class
\ No newline at end of file
@@ -6,7 +6,9 @@ import settings.KeyHandler;
 import settings.Settings;
 import sound.MidiMusicPlayer;
 import ui.ConfigUI;
+import ui.MenuBackground;
 import ui.MenuButton;
+import ui.MenuPanel;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -27,9 +29,15 @@ public class TitleState implements InterfaceGameState {
     private final Game game;
     private final GameStateManager gameStateManager;
 
+    private static final String TITLE = "Endless Adventure";
+
     private List<MenuButton> buttons;
-    private BufferedImage backgroundImage;
+    private MenuBackground background;
     private int backgroundX;
+    private MenuPanel panel; //the panel behind the title and buttons, with the title on it
+    private final Rectangle panelBounds = new Rectangle();
+    private int layoutWidth = -1;  //the screen size the panel and buttons were laid out for
+    private int layoutHeight = -1;
     private MidiMusicPlayer midiMusicPlayer;
 
     /**
@@ -48,6 +56,7 @@ public class TitleState implements InterfaceGameState {
      * Falls back to a generated gradient background if loading fails.
      */
     private void loadAssets() {
+        BufferedImage backgroundImage;
         try {
             backgroundImage = ImageIO.read(new File("images/UI/MainMenu/background_glacial_mountains.png"));
         }//end try
@@ -61,6 +70,9 @@ public class TitleState implements InterfaceGameState {
             g2.fillRect(0, 0, Settings.getScreenWidth(), Settings.getScreenHeight());
             g2.dispose();
         }//end catch
+        this.background = new MenuBackground(backgroundImage);
+        this.panel = new MenuPanel(new Color(30, 30, 30, 100), this::paintTitle);
+        this.layoutWidth = -1;
     }//end loadAssets
 
     /**
@@ -121,32 +133,37 @@ public class TitleState implements InterfaceGameState {
 
     @Override
     public void draw(Graphics2D g) {
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-
         //Draw animated background (looping)
-        g.drawImage(backgroundImage, backgroundX, 0, Settings.getScreenWidth(), Settings.getScreenHeight(), null);
-        g.drawImage(backgroundImage, backgroundX + Settings.getScreenWidth(), 0, Settings.getScreenWidth(), Settings.getScreenHeight(), null);
+        background.draw(g, -backgroundX);
 
         //Panel Behind Title + Buttons
+        if (layoutWidth != Settings.getScreenWidth() || layoutHeight != Settings.getScreenHeight()) {
+            layout(g);
+        }//end if
+        panel.draw(g, panelBounds.x, panelBounds.y, panelBounds.width, panelBounds.height);
+
+        for (MenuButton button : buttons) {
+            button.draw(g);
+        }//end for loop
+    }//end draw
+
+    /**
+     * Places the panel and the buttons for the current screen size. Only needed again if the resolution changes.
+     *
+     * @param g The {@link Graphics2D} used to measure the title.
+     */
+    private void layout(Graphics2D g) {
+        layoutWidth = Settings.getScreenWidth();
+        layoutHeight = Settings.getScreenHeight();
+
         int panelWidth = Settings.getScreenWidth() / 2;
         int panelHeight = Settings.getScreenHeight() / 2;
         int panelX = (Settings.getScreenWidth() - panelWidth) / 2;
         int panelY = (Settings.getScreenHeight() - panelHeight) / 2;
+        panelBounds.setBounds(panelX, panelY, panelWidth, panelHeight);
 
-        g.setColor(new Color(30, 30, 30, 100));
-        g.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 20, 20);
-        g.setColor(Color.DARK_GRAY);
-        g.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 20, 20);
-
-        //Title
-        String title = "Endless Adventure";
-        g.setFont(ConfigUI.getTitleBoldScaledFont());
-        FontMetrics titleFM = g.getFontMetrics();
-        int titleX = Settings.getScreenWidth() / 2 - titleFM.stringWidth(title) / 2;
-        int titleY = panelY + titleFM.getAscent() + 30;
-        ConfigUI.drawShadowedText(g, title, titleX, titleY, ConfigUI.TEXT_COLOR_WHITE, ConfigUI.TEXT_COLOR_BLACK);
-
-        //Reposition Buttons Dynamically
+        //Reposition Buttons under the title
+        FontMetrics titleFM = g.getFontMetrics(ConfigUI.getTitleBoldScaledFont());
         int buttonWidth = Settings.getScreenWidth() / 4;
         int buttonHeight = Settings.getScreenHeight() / 15;
         int spacing = Settings.getScreenHeight() / 30;
@@ -155,12 +172,25 @@ public class TitleState implements InterfaceGameState {
         int centerX = (Settings.getScreenWidth() - buttonWidth) / 2;
 
         for (int i = 0; i < buttons.size(); i++) {
-            MenuButton button = buttons.get(i);
             int buttonY = startY + i * (buttonHeight + spacing);
-            button.getBounds().setBounds(centerX, buttonY, buttonWidth, buttonHeight);
-            button.draw(g);
+            buttons.get(i).getBounds().setBounds(centerX, buttonY, buttonWidth, buttonHeight);
         }//end for loop
-    }//end draw
+    }//end layout
+
+    /**
+     * Draws the title onto the panel.
+     *
+     * @param g      the graphics context of the panel's image
+     * @param width  the width of the panel
+     * @param height the height of the panel
+     */
+    private void paintTitle(Graphics2D g, int width, int height) {
+        g.setFont(ConfigUI.getTitleBoldScaledFont());
+        FontMetrics titleFM = g.getFontMetrics();
+        int titleX = (width - titleFM.stringWidth(TITLE)) / 2;
+        int titleY = titleFM.getAscent() + 30;
+        ConfigUI.drawShadowedText(g, TITLE, titleX, titleY, ConfigUI.TEXT_COLOR_WHITE, ConfigUI.TEXT_COLOR_BLACK);
+    }//end paintTitle
 
     @Override
     public void keyPressed(KeyEvent e) {}//end keyPressed
@@ -183,4 +213,11 @@ public class TitleState implements InterfaceGameState {
     @Override
     public void mouseClicked(MouseEvent e) {}//end mouseClicked
 
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        for (MenuButton button : buttons) {
+            button.updateHover(e.getPoint());
+        }//end for loop
+    }//end mouseMoved
+
 }//end class
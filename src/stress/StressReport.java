@@ -0,0 +1,240 @@
+package stress;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+import replay.FrameTimeStats;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures a stress test run: the time of every frame, every garbage collection and how much memory
+ * the game allocated, and reports them as text and JSON.
+ * <p>
+ * Garbage collections are reported by the JVM as they finish. Collections the JVM reports as a cycle
+ * (the concurrent work of G1, ZGC and Shenandoah) run alongside the game, so they are counted apart from pauses.
+ * Allocations are counted per thread, so short-lived threads such as sound effects that end mid-run are left out.
+ */
+public class StressReport implements NotificationListener {
+    private final int enemyCount;
+    private final int mapWidth;
+    private final int mapHeight;
+    private final FrameTimeStats frames = new FrameTimeStats();
+    private final List<Long> pauses = new ArrayList<>();                       //pause durations in ms, written by the JMX thread
+    private final Map<String, long[]> collectors = new LinkedHashMap<>(); //name -> {count, total ms}
+    private final ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private long startNanos;
+    private long lastFrameNanos;
+    private long endNanos;
+    private long startAllocated;
+    private long allocated;
+    private MemoryUsage heap;
+
+    /**
+     * @param enemyCount the number of enemies spawned
+     * @param mapWidth   the width of the map in tiles
+     * @param mapHeight  the height of the map in tiles
+     */
+    public StressReport(int enemyCount, int mapWidth, int mapHeight) {
+        this.enemyCount = enemyCount;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+    }//end constructor
+
+    /**
+     * Starts measuring: listens for garbage collections and notes how much has been allocated so far.
+     */
+    public void start() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+            }//end if
+        }//end for loop
+        startAllocated = allocatedBytes();
+        startNanos = System.nanoTime();
+        lastFrameNanos = startNanos;
+    }//end start
+
+    /**
+     * Adds a frame, measured from the previous one. Called once per frame.
+     */
+    public void frame() {
+        long now = System.nanoTime();
+        frames.addFrame(now - lastFrameNanos, 0);
+        lastFrameNanos = now;
+    }//end frame
+
+    /**
+     * Stops measuring.
+     */
+    public void stop() {
+        endNanos = System.nanoTime();
+        allocated = allocatedBytes() - startAllocated;
+        heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(this);
+                }//end try
+                catch (Exception e) {
+                    //was never added
+                }//end catch
+            }//end if
+        }//end for loop
+    }//end stop
+
+    /**
+     * Records a finished garbage collection.
+     */
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) return;
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long duration = info.getGcInfo().getDuration();
+        synchronized (this) {
+            long[] collector = collectors.computeIfAbsent(info.getGcName(), name -> new long[2]);
+            collector[0]++;
+            collector[1] += duration;
+            if (!info.getGcAction().contains("cycle")) {
+                pauses.add(duration);
+            }//end if
+        }//end synchronized
+    }//end handleNotification
+
+    /**
+     * @return how long the test has been played, in seconds
+     */
+    public double getPlayedSeconds() {
+        return (lastFrameNanos - startNanos) / 1_000_000_000.0;
+    }//end getPlayedSeconds
+
+    /**
+     * @return the allocation rate in megabytes per second, or -1 if the JVM can't measure it
+     */
+    public double getAllocationRate() {
+        if (startAllocated < 0) return -1;
+        return allocated / 1_048_576.0 / ((endNanos - startNanos) / 1_000_000_000.0);
+    }//end getAllocationRate
+
+    /**
+     * Prints the report.
+     */
+    public synchronized void print() {
+        long[] sortedPauses = sortedPauses();
+        System.out.println("Stress test: " + enemyCount + " enemies on a " + mapWidth + "x" + mapHeight + " map");
+        System.out.println(String.format(Locale.ROOT, "  frames  %d in %.1f s, mean %.2f ms, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms",
+                frames.getFrameCount(), getPlayedSeconds(), frames.getMean(),
+                frames.getPercentile(0.50), frames.getPercentile(0.95), frames.getPercentile(0.99), frames.getMax()));
+        System.out.println(String.format(Locale.ROOT, "  gc      %d pauses, %d ms total, p99 %d ms, max %d ms",
+                sortedPauses.length, total(sortedPauses), percentile(sortedPauses, 0.99), percentile(sortedPauses, 1.0)));
+        for (Map.Entry<String, long[]> collector : collectors.entrySet()) {
+            System.out.println("          " + collector.getKey() + ": " + collector.getValue()[0] + " collections, " + collector.getValue()[1] + " ms");
+        }//end for loop
+        System.out.println(String.format(Locale.ROOT, "  memory  %.1f MB/s allocated, heap %d of %d MB used at the end",
+                getAllocationRate(), heap.getUsed() / 1_048_576, heap.getMax() / 1_048_576));
+    }//end print
+
+    /**
+     * Writes the report as a JSON object.
+     *
+     * @param file the file to write, its folder is created if it does not exist
+     */
+    public synchronized void writeJson(Path file) {
+        long[] sortedPauses = sortedPauses();
+        StringBuilder collectorJson = new StringBuilder();
+        for (Map.Entry<String, long[]> collector : collectors.entrySet()) {
+            if (!collectorJson.isEmpty()) collectorJson.append(",\n");
+            collectorJson.append(String.format(Locale.ROOT, "      { \"name\": \"%s\", \"count\": %d, \"totalMs\": %d }",
+                    collector.getKey(), collector.getValue()[0], collector.getValue()[1]));
+        }//end for loop
+
+        String json = String.format(Locale.ROOT, """
+                {
+                  "enemies": %d,
+                  "mapWidth": %d,
+                  "mapHeight": %d,
+                  "javaVersion": "%s",
+                  "availableProcessors": %d,
+                  "frames": %d,
+                  "seconds": %.3f,
+                  "frameTimeMs": { "mean": %.4f, "p50": %.4f, "p95": %.4f, "p99": %.4f, "max": %.4f },
+                  "gc": {
+                    "pauses": %d,
+                    "pauseTotalMs": %d,
+                    "pauseP99Ms": %d,
+                    "pauseMaxMs": %d,
+                    "collectors": [
+                %s
+                    ]
+                  },
+                  "allocationRateMBs": %.2f,
+                  "heapUsedMB": %d,
+                  "heapMaxMB": %d
+                }
+                """,
+                enemyCount, mapWidth, mapHeight, System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(),
+                frames.getFrameCount(), getPlayedSeconds(),
+                frames.getMean(), frames.getPercentile(0.50), frames.getPercentile(0.95), frames.getPercentile(0.99), frames.getMax(),
+                sortedPauses.length, total(sortedPauses), percentile(sortedPauses, 0.99), percentile(sortedPauses, 1.0),
+                collectorJson, getAllocationRate(), heap.getUsed() / 1_048_576, heap.getMax() / 1_048_576);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, json);
+            System.out.println("Stress test report written to " + file.toAbsolutePath());
+        }//end try
+        catch (IOException e) {
+            System.err.println("Could not write the stress test report: " + e.getMessage());
+        }//end catch
+    }//end writeJson
+
+    /**
+     * @return the bytes allocated so far by every live thread, or -1 if the JVM can't measure it
+     */
+    private long allocatedBytes() {
+        if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) return -1;
+        long total = 0;
+        for (long bytes : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }//end for loop
+        return total;
+    }//end allocatedBytes
+
+    private long[] sortedPauses() {
+        long[] sorted = new long[pauses.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = pauses.get(i);
+        }//end for loop
+        Arrays.sort(sorted);
+        return sorted;
+    }//end sortedPauses
+
+    private static long total(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }//end for loop
+        return total;
+    }//end total
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }//end percentile
+
+}//end class
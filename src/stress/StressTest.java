@@ -0,0 +1,118 @@
+package stress;
+
+import settings.Settings;
+import states.GamePlayState;
+import states.InterfaceGameState;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The stress test mode, chosen in the launcher: instead of a normal level the game generates a large map,
+ * spawns a fixed number of enemies on it and plays for a fixed time, then reports frame time percentiles,
+ * GC pauses and the allocation rate and closes.
+ * <p>
+ * The map grows with the enemy count so there are spawn points for them, and enemies share spawn points once
+ * there are more enemies than points. The player can't die during a stress test.
+ */
+public class StressTest {
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final String REPORT_FOLDER = "stress-reports";
+
+    private static final int MAP_HEIGHT = 40;        //nine rows of platforms above the ground
+    private static final int MIN_MAP_WIDTH = 100;
+    private static final int MAX_MAP_WIDTH = 5000;
+    private static final int ENEMIES_PER_COLUMN = 4; //how wide the map is for the enemy count
+
+    private static boolean enabled = false;
+    private static int enemyCount;
+    private static int durationSeconds;
+    private static StressReport report;
+
+    /**
+     * Turns the stress test on. Call before the game starts.
+     *
+     * @param enemyCount      how many enemies to spawn
+     * @param durationSeconds how long to play once the level has loaded, in seconds
+     */
+    public static void configure(int enemyCount, int durationSeconds) {
+        StressTest.enabled = true;
+        StressTest.enemyCount = enemyCount;
+        StressTest.durationSeconds = durationSeconds;
+        Settings.setIsPlayerInvincible(true);
+    }//end configure
+
+    /**
+     * Measures a frame of the stress test. Called by the game loop before every update.
+     * Skips the "press any key" screen and only measures frames where the level is being played.
+     *
+     * @param state the current game state
+     * @return true once the test has run for its duration, or the game has left the level
+     */
+    public static boolean update(InterfaceGameState state) {
+        if (!(state instanceof GamePlayState gamePlay)) {
+            if (report != null) {
+                finish(); //quit from the pause menu
+                return true;
+            }//end if
+            return false;
+        }//end if
+
+        if (gamePlay.isWaitingToContinue()) {
+            gamePlay.continueToPlay();
+        }//end if
+        if (!gamePlay.isPlaying()) return false;
+
+        if (report == null) {
+            report = new StressReport(enemyCount, getMapWidth(), MAP_HEIGHT);
+            report.start();
+            return false;
+        }//end if
+        report.frame();
+        if (report.getPlayedSeconds() >= durationSeconds) {
+            finish();
+            return true;
+        }//end if
+        return false;
+    }//end update
+
+    /**
+     * Ends the test and writes its report.
+     */
+    private static void finish() {
+        report.stop();
+        report.print();
+        report.writeJson(Path.of(REPORT_FOLDER,
+                "stress_" + enemyCount + "-enemies_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".json"));
+    }//end finish
+
+    //GETTERS
+
+    public static boolean isEnabled() {
+        return enabled;
+    }//end isEnabled
+
+    public static int getEnemyCount() {
+        return enemyCount;
+    }//end getEnemyCount
+
+    public static int getDurationSeconds() {
+        return durationSeconds;
+    }//end getDurationSeconds
+
+    /**
+     * @return the width of the generated map in tiles
+     */
+    public static int getMapWidth() {
+        return Math.max(MIN_MAP_WIDTH, Math.min(MAX_MAP_WIDTH, enemyCount / ENEMIES_PER_COLUMN));
+    }//end getMapWidth
+
+    /**
+     * @return the height of the generated map in tiles
+     */
+    public static int getMapHeight() {
+        return MAP_HEIGHT;
+    }//end getMapHeight
+
+}//end class
@@ -0,0 +1,49 @@
+package ui;
+
+import settings.Settings;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A background image that fills the screen behind a menu and scrolls sideways in a loop.
+ * <p>
+ * The image is scaled to the screen once, and again only if the resolution changes, so drawing it is a straight copy.
+ * It is scaled into an opaque image since nothing is drawn behind it, which is the cheapest kind to copy.
+ */
+public class MenuBackground {
+    private final BufferedImage original;
+    private BufferedImage scaledImage = null;
+
+    /**
+     * @param original the image at its own size
+     */
+    public MenuBackground(BufferedImage original) {
+        this.original = original;
+    }//end constructor
+
+    /**
+     * Draws the background scrolled to the left, drawing only the part of each loop of the image that is on screen.
+     *
+     * @param g       the graphics context to draw on
+     * @param scrollX how far the background has scrolled left, from 0 up to the screen width
+     */
+    public void draw(Graphics2D g, int scrollX) {
+        int width = Settings.getScreenWidth();
+        int height = Settings.getScreenHeight();
+        if (scaledImage == null || scaledImage.getWidth() != width || scaledImage.getHeight() != height) {
+            scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D scaledGraphics = scaledImage.createGraphics();
+            scaledGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            scaledGraphics.drawImage(original, 0, 0, width, height, null);
+            scaledGraphics.dispose();
+        }//end if
+
+        //the right part of the image on the left of the screen, then the left part of the next loop after it
+        g.drawImage(scaledImage, 0, 0, width - scrollX, height, scrollX, 0, width, height, null);
+        if (scrollX > 0) {
+            g.drawImage(scaledImage, width - scrollX, 0, width, height, 0, 0, scrollX, height, null);
+        }//end if
+    }//end draw
+
+}//end class
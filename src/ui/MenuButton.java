@@ -1,17 +1,29 @@
 package ui;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 /**
  * Represents a basic menu button with text, bounding box, and hover states.
+ * <p>
+ * The button is drawn into an image the first time, and the image is drawn from then on. It is only drawn again
+ * when its label, its hover state or its size changes.
  */
 public class MenuButton {
+    private static final Color BACKGROUND_COLOR = new Color(50, 50, 50, 200);
+    private static final Color HOVER_BACKGROUND_COLOR = new Color(80, 80, 80, 220);
+
     @SuppressWarnings("FieldMayBeFinal")
     private String text;
     @SuppressWarnings("FieldMayBeFinal")
     private Rectangle bounds;
     @SuppressWarnings("FieldMayBeFinal")
     private Runnable onClick;
+    private volatile boolean hovered = false; //set from the event thread when the mouse moves
+
+    private BufferedImage face = null; //the button as last drawn
+    private String faceText;           //what the face was drawn with
+    private boolean faceHovered;
 
     /**
      * Create a new {@link MenuButton} with specified text, position, size, and click action.
@@ -36,13 +48,31 @@ public class MenuButton {
      * @param g the graphics to use for rendering
      */
     public void draw(Graphics2D g) {
+        //the border is drawn on the right and bottom edges, one pixel outside the bounds
+        if (face == null || face.getWidth() != bounds.width + 1 || face.getHeight() != bounds.height + 1
+                || !text.equals(faceText) || hovered != faceHovered) {
+            drawFace();
+        }//end if
+        g.drawImage(face, bounds.x, bounds.y, null);
+    }//end draw
+
+    /**
+     * Draws the background, border and centered text of the button into a new image.
+     */
+    private void drawFace() {
+        //a new image rather than drawing over the old one, a recorded frame may still be drawing it
+        face = new BufferedImage(bounds.width + 1, bounds.height + 1, BufferedImage.TYPE_INT_ARGB);
+        faceText = text;
+        faceHovered = hovered;
+        Graphics2D g = face.createGraphics();
+
         //Background
-        g.setColor(new Color(50, 50, 50, 200));
-        g.fill(bounds);
+        g.setColor(hovered ? HOVER_BACKGROUND_COLOR : BACKGROUND_COLOR);
+        g.fillRect(0, 0, bounds.width, bounds.height);
 
         //Border
-        g.setColor(ConfigUI.BAR_BORDER_COLOR);
-        g.draw(bounds);
+        g.setColor(hovered ? ConfigUI.GOLD_TEXT_COLOR : ConfigUI.BAR_BORDER_COLOR);
+        g.drawRect(0, 0, bounds.width, bounds.height);
 
         //Text
         g.setFont(ConfigUI.getNormalBoldScaledFont());
@@ -50,11 +80,12 @@ public class MenuButton {
 
         int textWidth = g.getFontMetrics().stringWidth(text);
         int textHeight = g.getFontMetrics().getAscent();
-        int textX = bounds.x + (bounds.width - textWidth) / 2;
-        int textY = bounds.y + (bounds.height + textHeight) / 2 - 4;
+        int textX = (bounds.width - textWidth) / 2;
+        int textY = (bounds.height + textHeight) / 2 - 4;
 
         g.drawString(text, textX, textY);
-    }//end draw
+        g.dispose();
+    }//end drawFace
 
     /**
      * Checks whether the given point is within the bounds of the button.
@@ -66,6 +97,15 @@ public class MenuButton {
         return bounds.contains(p);
     }//end isHovered
 
+    /**
+     * Highlights the button while the mouse is over it.
+     *
+     * @param p the position of the mouse
+     */
+    public void updateHover(Point p) {
+        this.hovered = bounds.contains(p);
+    }//end updateHover
+
     /**
      * Gets the bounding rectangle of the button.
      *
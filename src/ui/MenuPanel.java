@@ -0,0 +1,70 @@
+package ui;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A rounded panel behind a menu, with whatever stays the same on it, e.g. the menu's title.
+ * <p>
+ * The panel is drawn into an image the first time, and the image is drawn from then on. It is only drawn again
+ * when its size changes, e.g. with the resolution, or when {@link #invalidate()} is called because what is on it changed.
+ */
+public class MenuPanel {
+    private static final int ARC = 20;
+
+    /**
+     * Draws what is on the panel, in the panel's own coordinates.
+     */
+    @FunctionalInterface
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }//end interface
+
+    private final Color fillColor;
+    private final Painter painter;
+    private BufferedImage image = null;
+
+    /**
+     * @param fillColor the colour of the panel, usually see-through
+     * @param painter   draws what is on the panel, or null for an empty panel
+     */
+    public MenuPanel(Color fillColor, Painter painter) {
+        this.fillColor = fillColor;
+        this.painter = painter;
+    }//end constructor
+
+    /**
+     * Draws the panel, from its image if it is still up to date.
+     *
+     * @param g      the graphics context to draw on
+     * @param x      the x-coordinate of the top-left corner of the panel
+     * @param y      the y-coordinate of the top-left corner of the panel
+     * @param width  the width of the panel
+     * @param height the height of the panel
+     */
+    public void draw(Graphics2D g, int x, int y, int width, int height) {
+        //the border is drawn on the right and bottom edges, one pixel outside the panel
+        if (image == null || image.getWidth() != width + 1 || image.getHeight() != height + 1) {
+            //a new image rather than drawing over the old one, a recorded frame may still be drawing it
+            image = new BufferedImage(width + 1, height + 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D imageGraphics = image.createGraphics();
+            imageGraphics.setColor(fillColor);
+            imageGraphics.fillRoundRect(0, 0, width, height, ARC, ARC);
+            imageGraphics.setColor(Color.DARK_GRAY);
+            imageGraphics.drawRoundRect(0, 0, width, height, ARC, ARC);
+            if (painter != null) {
+                painter.paint(imageGraphics, width, height);
+            }//end if
+            imageGraphics.dispose();
+        }//end if
+        g.drawImage(image, x, y, null);
+    }//end draw
+
+    /**
+     * Makes the panel draw itself again next time, e.g. when what is on it has changed.
+     */
+    public void invalidate() {
+        image = null;
+    }//end invalidate
+
+}//end class
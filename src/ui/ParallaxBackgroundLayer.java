@@ -8,6 +8,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Represents a single layer in a parallax scrolling background system.
@@ -15,11 +16,26 @@ import java.io.IOException;
  * Each layer scrolls horizontally at a different speed based on its parallax speed,
  * creating a depth illusion. The image is scaled once on initialization and drawn
  * as a seamless loop during gameplay.
+ * <p>
+ * The alpha of each row is checked once when the layer is loaded. A {@link ParallaxCompositor} uses it to work out
+ * which rows are hidden behind the layers in front, and the layer is then only drawn in spans: rectangles of the
+ * image that have something in them and can be seen. The spans are drawn where they land on screen, once or, across
+ * the seam where the image loops, twice.
  */
 public class ParallaxBackgroundLayer {
+    private static final byte TRANSPARENT = 0;
+    private static final byte PARTIAL = 1;
+    private static final byte OPAQUE = 2;
+    private static final int BAND_HEIGHT = 16; //the most rows of the image a span covers, shorter bands fit the shapes tighter
+    private static final int MIN_GAP = 8;      //transparent gaps narrower than this, in image pixels, are drawn anyway
+
     private final BufferedImage scaledImage;
     private final float parallaxSpeedX;
     private final int screenWidth;
+    private final int screenHeight;
+    private final byte[] rowAlpha; //TRANSPARENT, PARTIAL or OPAQUE for each row of the scaled image
+    private int[] spans = new int[0]; //x1, y1, x2, y2 of each span, in pixels of the scaled image
+    private int spanCount = 0;
 
     /**
      * Constructs a new parallax background layer with a specified image and scroll speed.
@@ -37,28 +53,172 @@ public class ParallaxBackgroundLayer {
 
         this.parallaxSpeedX = speedX;
         this.screenWidth = Settings.getScreenWidth();
+        this.screenHeight = Settings.getScreenHeight();
 
-        //Scale once and reuse to avoid runtime scaling
-        this.scaledImage = UtilityTool.scaleImage(originalImage, screenWidth, Settings.getScreenHeight());
+        //Scale once and reuse to avoid runtime scaling, in low resolution mode only to the internal resolution
+        this.scaledImage = UtilityTool.scaleImage(originalImage, screenWidth / Settings.getAssetScale(), screenHeight / Settings.getAssetScale());
+
+        this.rowAlpha = new byte[scaledImage.getHeight()];
+        int[] row = new int[scaledImage.getWidth()];
+        for (int y = 0; y < rowAlpha.length; y++) {
+            scaledImage.getRGB(0, y, row.length, 1, row, 0, row.length);
+            boolean transparent = true;
+            boolean opaque = true;
+            for (int pixel : row) {
+                int alpha = pixel >>> 24;
+                if (alpha != 0) transparent = false;
+                if (alpha != 255) opaque = false;
+            }//end for loop
+            rowAlpha[y] = transparent ? TRANSPARENT : opaque ? OPAQUE : PARTIAL;
+        }//end for loop
+        findSpans(new boolean[rowAlpha.length]);
     }//end constructor
 
+    /**
+     * Works out the spans to draw: every part of the image that isn't fully transparent, leaving out the rows hidden
+     * behind a layer in front. The rows left are grouped into bands, opaque bands are one span across the whole image,
+     * and the other bands are cut into the runs of columns that have something in them.
+     *
+     * @param hidden one flag for each row of the image, true if a layer in front is opaque there
+     */
+    void findSpans(boolean[] hidden) {
+        int width = scaledImage.getWidth();
+        int height = rowAlpha.length;
+        int[] column = new int[BAND_HEIGHT];
+        spanCount = 0;
+
+        int y = 0;
+        while (y < height) {
+            if (hidden[y] || rowAlpha[y] == TRANSPARENT) {
+                y++;
+                continue;
+            }//end if
+
+            //a band is rows of the same kind, all drawn
+            int bandStart = y;
+            byte kind = rowAlpha[y];
+            while (y < height && y - bandStart < BAND_HEIGHT && !hidden[y] && rowAlpha[y] == kind) {
+                y++;
+            }//end while loop
+
+            if (kind == OPAQUE) {
+                addSpan(0, bandStart, width, y);
+                continue;
+            }//end if
+
+            int runStart = -1; //the first column of the run being found
+            int runEnd = -1;   //one past the last column of it with something in it
+            for (int x = 0; x < width; x++) {
+                scaledImage.getRGB(x, bandStart, 1, y - bandStart, column, 0, 1);
+                boolean empty = true;
+                for (int i = 0; i < y - bandStart; i++) {
+                    if (column[i] >>> 24 != 0) {
+                        empty = false;
+                        break;
+                    }//end if
+                }//end for loop
+                if (empty) continue;
+
+                if (runStart >= 0 && x - runEnd >= MIN_GAP) {
+                    addSpan(runStart, bandStart, runEnd, y);
+                    runStart = -1;
+                }//end if
+                if (runStart < 0) runStart = x;
+                runEnd = x + 1;
+            }//end for loop
+            if (runStart >= 0) {
+                addSpan(runStart, bandStart, runEnd, y);
+            }//end if
+        }//end while loop
+    }//end findSpans
+
+    private void addSpan(int x1, int y1, int x2, int y2) {
+        if (spanCount * 4 == spans.length) {
+            spans = Arrays.copyOf(spans, Math.max(16, spans.length * 2));
+        }//end if
+        spans[spanCount * 4] = x1;
+        spans[spanCount * 4 + 1] = y1;
+        spans[spanCount * 4 + 2] = x2;
+        spans[spanCount * 4 + 3] = y2;
+        spanCount++;
+    }//end addSpan
+
+    /**
+     * Marks the rows the layer covers completely, so the layers behind it leave them out.
+     *
+     * @param hidden one flag for each row of the image, set to true where this layer is opaque
+     */
+    void hideOpaqueRows(boolean[] hidden) {
+        for (int y = 0; y < rowAlpha.length; y++) {
+            if (rowAlpha[y] == OPAQUE) hidden[y] = true;
+        }//end for loop
+    }//end hideOpaqueRows
+
     /**
      * Draws the parallax background layer based on the current camera position.
      * <p>
-     * Ensures seamless looping by drawing the image twice when necessary.
+     * Ensures seamless looping by drawing the image twice, each span only where it is on screen.
      *
      * @param g         The graphics context used to draw.
      * @param cameraX   The X position of the camera (or player) in the world.
      */
     public void draw(Graphics2D g, float cameraX) {
-        float positionX = -(cameraX * parallaxSpeedX) % screenWidth;
+        float position = -(cameraX * parallaxSpeedX) % screenWidth;
 
-        if (positionX > 0){
-            positionX -= screenWidth;
+        if (position > 0){
+            position -= screenWidth;
         }//end if
 
-        g.drawImage(scaledImage, (int) positionX, 0, null);
-        g.drawImage(scaledImage, (int) (positionX + screenWidth), 0, null);
+        //the image is drawn from positionX, and again one screen to the right of that
+        int positionX = (int) position;
+        int imageWidth = scaledImage.getWidth();
+        int imageHeight = scaledImage.getHeight();
+        for (int i = 0; i < spanCount * 4; i += 4) {
+            int x1 = spans[i] * screenWidth / imageWidth;
+            int y1 = spans[i + 1] * screenHeight / imageHeight;
+            int x2 = spans[i + 2] * screenWidth / imageWidth;
+            int y2 = spans[i + 3] * screenHeight / imageHeight;
+            if (positionX + x2 > 0) {
+                g.drawImage(scaledImage, positionX + x1, y1, positionX + x2, y2, spans[i], spans[i + 1], spans[i + 2], spans[i + 3], null);
+            }//end if
+            if (positionX + screenWidth + x1 < screenWidth) {
+                g.drawImage(scaledImage, positionX + screenWidth + x1, y1, positionX + screenWidth + x2, y2, spans[i], spans[i + 1], spans[i + 2], spans[i + 3], null);
+            }//end if
+        }//end for loop
     }//end draw
 
+    //GETTERS
+
+    /**
+     * @return true if the layer doesn't scroll, so it looks the same wherever the camera is
+     */
+    public boolean isStatic() {
+        return parallaxSpeedX == 0;
+    }//end isStatic
+
+    /**
+     * @return the height of the scaled image, the number of rows the compositor works with
+     */
+    int getRowCount() {
+        return rowAlpha.length;
+    }//end getRowCount
+
+    /**
+     * @return the number of rectangles the layer is drawn in, up to twice as many blits where it loops
+     */
+    public int getSpanCount() {
+        return spanCount;
+    }//end getSpanCount
+
+    /**
+     * @return the share of the screen the layer's spans cover, between 0 and 1
+     */
+    public float getCoverage() {
+        long area = 0;
+        for (int i = 0; i < spanCount * 4; i += 4) {
+            area += (long) (spans[i + 2] - spans[i]) * (spans[i + 3] - spans[i + 1]);
+        }//end for loop
+        return area / (float) (scaledImage.getWidth() * scaledImage.getHeight());
+    }//end getCoverage
+
 }//end class
@@ -0,0 +1,96 @@
+package ui;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * Draws a stack of {@link ParallaxBackgroundLayer}s, back to front, without drawing what can't be seen.
+ * <p>
+ * A row that is opaque in one layer hides that row of every layer behind it, wherever the layers have scrolled to,
+ * because each layer loops across the whole width of the screen. The compositor works out which rows of each layer
+ * are hidden when a layer is added, and each layer then only draws its spans that are neither transparent nor hidden.
+ * All the layers are scaled to the screen, so their rows line up.
+ * <p>
+ * The static layers at the back, the ones that don't scroll, can be drawn on their own with {@link #drawStatic(Graphics2D)}
+ * and the rest with {@link #drawScrolling(Graphics2D, float)}, so the static part can be drawn once and kept.
+ * What a layer draws depends on the layers in front of it, so whatever is kept must be drawn again when a layer is added.
+ */
+public class ParallaxCompositor {
+    private final ArrayList<ParallaxBackgroundLayer> layers = new ArrayList<>();
+
+    /**
+     * Adds a layer in front of every layer added before it, and works out again what each layer needs to draw.
+     *
+     * @param layer the layer to add
+     */
+    public void add(ParallaxBackgroundLayer layer) {
+        this.layers.add(layer);
+
+        //from the front, each layer is drawn where nothing in front of it is opaque
+        boolean[] hidden = new boolean[layer.getRowCount()];
+        for (int i = this.layers.size() - 1; i >= 0; i--) {
+            ParallaxBackgroundLayer current = this.layers.get(i);
+            current.findSpans(hidden);
+            current.hideOpaqueRows(hidden);
+        }//end for loop
+    }//end add
+
+    /**
+     * Draws every layer, back to front.
+     *
+     * @param g       The graphics context used to draw.
+     * @param cameraX The X position of the camera in the world.
+     */
+    public void draw(Graphics2D g, float cameraX) {
+        for (int i = 0; i < this.layers.size(); i++) {
+            this.layers.get(i).draw(g, cameraX);
+        }//end for loop
+    }//end draw
+
+    /**
+     * Draws the static layers at the back, the same wherever the camera is.
+     *
+     * @param g The graphics context used to draw.
+     */
+    public void drawStatic(Graphics2D g) {
+        int staticCount = getStaticCount();
+        for (int i = 0; i < staticCount; i++) {
+            this.layers.get(i).draw(g, 0);
+        }//end for loop
+    }//end drawStatic
+
+    /**
+     * Draws every layer in front of the static layers at the back, back to front.
+     *
+     * @param g       The graphics context used to draw.
+     * @param cameraX The X position of the camera in the world.
+     */
+    public void drawScrolling(Graphics2D g, float cameraX) {
+        for (int i = getStaticCount(); i < this.layers.size(); i++) {
+            this.layers.get(i).draw(g, cameraX);
+        }//end for loop
+    }//end drawScrolling
+
+    /**
+     * @return the number of layers at the back that don't scroll, a static layer in front of a scrolling one isn't counted
+     */
+    private int getStaticCount() {
+        int count = 0;
+        while (count < this.layers.size() && this.layers.get(count).isStatic()) {
+            count++;
+        }//end while loop
+        return count;
+    }//end getStaticCount
+
+    /**
+     * @return how many screens' worth of pixels the layers draw each frame, at most one per layer
+     */
+    public float getCoverage() {
+        float coverage = 0;
+        for (ParallaxBackgroundLayer layer : this.layers) {
+            coverage += layer.getCoverage();
+        }//end for loop
+        return coverage;
+    }//end getCoverage
+
+}//end class
@@ -0,0 +1,29 @@
+package utilities;
+
+/**
+ * The simulation clock, in milliseconds.
+ * <p>
+ * It only moves when the game loop advances it by the frame's elapsed time, so cooldowns measured with it
+ * depend on the simulated time rather than the wall clock. That keeps a replayed run identical to the
+ * recording, no matter how fast the machine replaying it is.
+ */
+public class GameClock {
+    private static volatile long now = 0; //read by the enemy AI threads
+
+    /**
+     * Moves the clock forward. Called once per frame by the game loop, before the update.
+     *
+     * @param elapsed the simulated time of the frame in milliseconds
+     */
+    public static void advance(long elapsed) {
+        now += elapsed;
+    }//end advance
+
+    /**
+     * @return the simulated time since the game started, in milliseconds
+     */
+    public static long now() {
+        return now;
+    }//end now
+
+}//end class
@@ -0,0 +1,57 @@
+package utilities;
+
+import java.util.Random;
+
+/**
+ * The single source of randomness for the game simulation: map choice, spawn and portal positions,
+ * enemy start directions and collision nudges.
+ * <p>
+ * Every level is started from a seed (see {@link replay.InputSession#beginLevel}), so a level played again
+ * with the same seed and the same input plays out exactly the same. Only call it from the game loop thread,
+ * anything random that is purely visual (particles) keeps its own generator so it can't shift the sequence,
+ * seeded from {@link #getSeed()} when the level starts.
+ */
+public class GameRandom {
+    private static final Random random = new Random();
+    private static long seed;
+
+    /**
+     * Restarts the sequence from a seed.
+     *
+     * @param seed the seed the next level is played with
+     */
+    public static void setSeed(long seed) {
+        GameRandom.seed = seed;
+        random.setSeed(seed);
+    }//end setSeed
+
+    /**
+     * @return the seed the current sequence was started from
+     */
+    public static long getSeed() {
+        return seed;
+    }//end getSeed
+
+    /**
+     * @return a random number between 0 (inclusive) and 1 (exclusive), like {@link Math#random()}
+     */
+    public static double nextDouble() {
+        return random.nextDouble();
+    }//end nextDouble
+
+    /**
+     * @param bound the upper bound (exclusive), must be positive
+     * @return a random number between 0 (inclusive) and bound (exclusive)
+     */
+    public static int nextInt(int bound) {
+        return random.nextInt(bound);
+    }//end nextInt
+
+    /**
+     * @return a random true or false
+     */
+    public static boolean nextBoolean() {
+        return random.nextBoolean();
+    }//end nextBoolean
+
+}//end class
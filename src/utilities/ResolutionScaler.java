@@ -0,0 +1,87 @@
+package utilities;
+
+/**
+ * Picks the scale the world is drawn at from how long the work on recent frames took, so a heavy fight costs resolution instead of frame rate.
+ * Only the work is counted, not the time the game loop sleeps between frames, which depends on the timer of the OS rather than the load.
+ * <p>
+ * Frame times are averaged over a window of {@link #WINDOW} frames. If a window is over budget the scale steps down straight away,
+ * but it only steps back up after several windows in a row with headroom. Every step up that is followed by a step down
+ * doubles the number of windows needed before the next step up, so a scene that sits on the edge of the budget settles
+ * on the lower scale instead of switching back and forth.
+ */
+public class ResolutionScaler {
+    private static final double[] SCALES = { 1.0, 0.85, 0.75, 0.6, 0.5 };
+    private static final int WINDOW = 30;               //frames averaged before deciding, half a second at 60 FPS
+    private static final double OVER_BUDGET = 1.1;      //step down when the average is over 110% of the target
+    private static final double HEADROOM = 0.8;         //step up when the average is under 80% of the target
+    private static final int HEADROOM_WINDOWS = 3;      //windows in a row with headroom before stepping up
+    private static final int MAX_HEADROOM_WINDOWS = 48; //about 25 seconds at 60 FPS
+
+    private final long targetFrame;
+    private int step = 0;
+    private long windowTotal = 0;
+    private int windowFrames = 0;
+    private int headroomWindows = 0;
+    private int requiredHeadroomWindows = HEADROOM_WINDOWS;
+    private boolean steppedUp = false; //the last change was a step up that hasn't held yet
+    private int windowsSinceStepUp = 0;
+
+    /**
+     * @param targetFrameRate the frame rate to keep, e.g. 60
+     */
+    public ResolutionScaler(int targetFrameRate) {
+        this.targetFrame = 1_000_000_000L / targetFrameRate;
+    }//end constructor
+
+    /**
+     * Adds the time of a frame and changes the scale if a window has been filled.
+     *
+     * @param frameNanos the time spent updating, drawing and showing the frame, in nanoseconds
+     */
+    public void addFrame(long frameNanos) {
+        windowTotal += frameNanos;
+        windowFrames++;
+        if (windowFrames < WINDOW) return;
+
+        long average = windowTotal / windowFrames;
+        windowTotal = 0;
+        windowFrames = 0;
+
+        if (average > targetFrame * OVER_BUDGET) {
+            headroomWindows = 0;
+            if (steppedUp) {
+                //the step up didn't fit, wait longer before trying again
+                requiredHeadroomWindows = Math.min(requiredHeadroomWindows * 2, MAX_HEADROOM_WINDOWS);
+                steppedUp = false;
+            }//end if
+            step = Math.min(step + 1, SCALES.length - 1);
+            return;
+        }//end if
+
+        if (steppedUp && ++windowsSinceStepUp >= requiredHeadroomWindows) {
+            //the step up held as long as it took to make it, go back to the normal wait
+            requiredHeadroomWindows = HEADROOM_WINDOWS;
+            steppedUp = false;
+        }//end if
+        if (average < targetFrame * HEADROOM) {
+            headroomWindows++;
+            if (step > 0 && headroomWindows >= requiredHeadroomWindows) {
+                step--;
+                steppedUp = true;
+                windowsSinceStepUp = 0;
+                headroomWindows = 0;
+            }//end if
+        }//end if
+        else {
+            headroomWindows = 0;
+        }//end else
+    }//end addFrame
+
+    /**
+     * @return the scale to draw the world at, from 1 (full resolution) down to 0.5
+     */
+    public double getScale() {
+        return SCALES[step];
+    }//end getScale
+
+}//end class